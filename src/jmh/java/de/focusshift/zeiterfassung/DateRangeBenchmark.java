@@ -0,0 +1,47 @@
+package de.focusshift.zeiterfassung;
+
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures.Period;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterating a {@link DateRange} of a week, a month and a year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DateRangeBenchmark {
+
+    @Param({"WEEK", "MONTH", "YEAR"})
+    Period period;
+
+    private DateRange dateRange;
+
+    @Setup
+    public void setUp() {
+        dateRange = new DateRange(period.from(), period.toExclusive().minusDays(1));
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (LocalDate date : dateRange) {
+            blackhole.consume(date);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package de.focusshift.zeiterfassung.benchmark;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.absence.AbsenceColor;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeCategory;
+import de.focusshift.zeiterfassung.absence.DayLength;
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.publicholiday.PublicHoliday;
+import de.focusshift.zeiterfassung.publicholiday.PublicHolidayCalendar;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.user.UserDateService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.workingtime.WorkingTime;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeId;
+import de.focusshift.zeiterfassung.workingtime.WorksOnPublicHoliday;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjuster;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BADEN_WUERTTEMBERG;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BAYERN;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BERLIN;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.temporal.TemporalAdjusters.previousOrSame;
+
+/**
+ * Synthetic, deterministic data for the benchmarks. Every user works monday to friday, has one time entry and
+ * one break per workday and a full day absence every few weeks.
+ */
+public final class BenchmarkFixtures {
+
+    public static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin");
+    public static final Year YEAR = Year.of(2024);
+
+    private static final List<FederalState> FEDERAL_STATES = List.of(GERMANY_BADEN_WUERTTEMBERG, GERMANY_BAYERN, GERMANY_BERLIN);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Reporting period of a benchmark, always starting at the first day of {@link #YEAR}.
+     */
+    public enum Period {
+
+        WEEK, MONTH, YEAR;
+
+        public LocalDate from() {
+            return BenchmarkFixtures.YEAR.atDay(1);
+        }
+
+        public LocalDate toExclusive() {
+            return switch (this) {
+                case WEEK -> from().plusWeeks(1);
+                case MONTH -> from().plusMonths(1);
+                case YEAR -> from().plusYears(1);
+            };
+        }
+    }
+
+    public static List<User> users(int count) {
+        final List<User> users = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            final UserIdComposite userIdComposite = new UserIdComposite(new UserId(UUID.nameUUIDFromBytes(("user-" + index).getBytes()).toString()), new UserLocalId((long) index));
+            users.add(new User(userIdComposite, "Given" + index, "Family" + index, new EMailAddress("user-%d@example.org".formatted(index)), Set.of()));
+        }
+        return users;
+    }
+
+    public static Map<UserIdComposite, List<WorkingTime>> workingTimes(List<User> users) {
+        final Map<UserIdComposite, List<WorkingTime>> workingTimes = new HashMap<>();
+        for (int index = 0; index < users.size(); index++) {
+            final UserIdComposite userIdComposite = users.get(index).userIdComposite();
+            workingTimes.put(userIdComposite, List.of(
+                WorkingTime.builder(userIdComposite, new WorkingTimeId(UUID.nameUUIDFromBytes(("working-time-" + index).getBytes())))
+                    .current(true)
+                    .federalState(FEDERAL_STATES.get(index % FEDERAL_STATES.size()))
+                    .worksOnPublicHoliday(WorksOnPublicHoliday.NO)
+                    .monday(8)
+                    .tuesday(8)
+                    .wednesday(8)
+                    .thursday(8)
+                    .friday(index % 2 == 0 ? 8 : 4)
+                    .build()
+            ));
+        }
+        return workingTimes;
+    }
+
+    /**
+     * Calendars with the planned working hours of {@link #workingTimes(List)}, ignoring public holidays.
+     */
+    public static Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars(List<User> users, LocalDate from, LocalDate toExclusive) {
+        final Map<UserIdComposite, WorkingTimeCalendar> calendars = new HashMap<>();
+        workingTimes(users).forEach((userIdComposite, workingTimes) -> {
+            final WorkingTime workingTime = workingTimes.getFirst();
+            final Map<LocalDate, PlannedWorkingHours> plannedWorkingHours = new HashMap<>();
+            for (LocalDate date = from; date.isBefore(toExclusive); date = date.plusDays(1)) {
+                plannedWorkingHours.put(date, workingTime.getForDayOfWeek(date.getDayOfWeek()));
+            }
+            calendars.put(userIdComposite, new WorkingTimeCalendar(plannedWorkingHours));
+        });
+        return calendars;
+    }
+
+    /**
+     * Time entries sorted by start ascending, one work entry and one break per workday.
+     */
+    public static Map<UserIdComposite, List<TimeEntry>> timeEntries(List<User> users, LocalDate from, LocalDate toExclusive) {
+        final Map<UserIdComposite, List<TimeEntry>> timeEntries = new LinkedHashMap<>();
+        long id = 0;
+        for (User user : users) {
+            final List<TimeEntry> entries = new ArrayList<>();
+            for (LocalDate date = from; date.isBefore(toExclusive); date = date.plusDays(1)) {
+                if (date.getDayOfWeek().compareTo(SATURDAY) < 0) {
+                    final ZonedDateTime start = ZonedDateTime.of(date, LocalTime.of(8, 0), ZONE_ID);
+                    entries.add(new TimeEntry(new TimeEntryId(++id), user.userIdComposite(), "work", start, start.plusHours(4), false));
+                    entries.add(new TimeEntry(new TimeEntryId(++id), user.userIdComposite(), "", start.plusHours(4), start.plusMinutes(270), true));
+                }
+            }
+            timeEntries.put(user.userIdComposite(), entries);
+        }
+        return timeEntries;
+    }
+
+    /**
+     * One full day absence every 17 days per user, shifted by the user index.
+     */
+    public static Map<UserIdComposite, List<Absence>> absences(List<User> users, LocalDate from, LocalDate toExclusive) {
+        final Map<UserIdComposite, List<Absence>> absences = new HashMap<>();
+        for (int index = 0; index < users.size(); index++) {
+            final User user = users.get(index);
+            final List<Absence> userAbsences = new ArrayList<>();
+            for (LocalDate date = from.plusDays(index % 17); date.isBefore(toExclusive); date = date.plusDays(17)) {
+                final ZonedDateTime start = date.atStartOfDay(ZONE_ID);
+                userAbsences.add(new Absence(user.userId(), start, start, DayLength.FULL, locale -> "Urlaub", AbsenceColor.YELLOW, AbsenceTypeCategory.HOLIDAY));
+            }
+            absences.put(user.userIdComposite(), userAbsences);
+        }
+        return absences;
+    }
+
+    public static Map<FederalState, PublicHolidayCalendar> publicHolidays(LocalDate from, LocalDate toExclusive, Collection<FederalState> federalStates) {
+        final Map<LocalDate, List<PublicHoliday>> publicHolidays = new HashMap<>();
+        for (int year = from.getYear(); year <= toExclusive.getYear(); year++) {
+            for (LocalDate date : List.of(LocalDate.of(year, 1, 1), LocalDate.of(year, 5, 1), LocalDate.of(year, 10, 3), LocalDate.of(year, 12, 25))) {
+                if (!date.isBefore(from) && date.isBefore(toExclusive)) {
+                    publicHolidays.put(date, List.of(new PublicHoliday(date, locale -> "Feiertag")));
+                }
+            }
+        }
+        final Map<FederalState, PublicHolidayCalendar> calendars = new HashMap<>();
+        for (FederalState federalState : federalStates) {
+            calendars.put(federalState, new PublicHolidayCalendar(federalState, publicHolidays));
+        }
+        return calendars;
+    }
+
+    /**
+     * {@link UserDateService} of users with monday as first day of week.
+     */
+    public static UserDateService userDateService() {
+        return new UserDateService() {
+            @Override
+            public TemporalAdjuster localDateToFirstDateOfWeekAdjuster() {
+                return previousOrSame(MONDAY);
+            }
+
+            @Override
+            public LocalDate localDateToFirstDateOfWeek(LocalDate localDate) {
+                return localDate.with(previousOrSame(MONDAY));
+            }
+
+            @Override
+            public LocalDate firstDayOfWeek(Year year, int weekOfYear) {
+                return year.atDay(4).with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, weekOfYear).with(previousOrSame(MONDAY));
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package de.focusshift.zeiterfassung.benchmark;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.absence.AbsenceService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link AbsenceService} filtering the absences of {@link BenchmarkFixtures#absences} by interval.
+ */
+public final class InMemoryAbsenceService implements AbsenceService {
+
+    private final Map<UserIdComposite, List<Absence>> absencesByUser;
+
+    public InMemoryAbsenceService(Map<UserIdComposite, List<Absence>> absencesByUser) {
+        this.absencesByUser = absencesByUser;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<Absence>> getAbsencesForAllUsers(LocalDate from, LocalDate toExclusive) {
+        final Map<UserIdComposite, List<Absence>> result = new HashMap<>();
+        absencesByUser.forEach((userIdComposite, absences) -> {
+            final List<Absence> overlapping = overlapping(absences, from, toExclusive);
+            if (!overlapping.isEmpty()) {
+                result.put(userIdComposite, overlapping);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<Absence>> getAbsencesByUserIds(List<UserLocalId> userLocalIds, LocalDate from, LocalDate toExclusive) {
+        final Map<UserIdComposite, List<Absence>> result = new HashMap<>();
+        absencesByUser.forEach((userIdComposite, absences) -> {
+            if (userLocalIds.contains(userIdComposite.localId())) {
+                result.put(userIdComposite, overlapping(absences, from, toExclusive));
+            }
+        });
+        return result;
+    }
+
+    private static List<Absence> overlapping(List<Absence> absences, LocalDate from, LocalDate toExclusive) {
+        return absences.stream()
+            .filter(absence -> absence.startDate().toLocalDate().isBefore(toExclusive) && !absence.endDate().toLocalDate().isBefore(from))
+            .toList();
+    }
+
+    @Override
+    public Map<LocalDate, List<Absence>> findAllAbsences(UserId userId, Instant from, Instant toExclusive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Absence> getAbsencesByUserId(UserId userId, LocalDate from, LocalDate toExclusive) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,112 @@
+package de.focusshift.zeiterfassung.benchmark;
+
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummary;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.time.DayOfWeek.SATURDAY;
+
+/**
+ * {@link DailyWorkSummaryService} with one summary per user and day, matching the time entries, absences and
+ * working times of {@link BenchmarkFixtures}. Summaries are held ordered by user and date like the database cursor.
+ */
+public final class InMemoryDailyWorkSummaryService implements DailyWorkSummaryService {
+
+    private final Map<UserIdComposite, List<DailyWorkSummary>> summaries = new LinkedHashMap<>();
+
+    public InMemoryDailyWorkSummaryService(List<User> users, LocalDate from, LocalDate toExclusive) {
+        final WorkDuration worked = new WorkDuration(Duration.ofHours(4));
+        final BreakDuration breakDuration = new BreakDuration(Duration.ofMinutes(30));
+
+        for (int index = 0; index < users.size(); index++) {
+            final UserIdComposite userIdComposite = users.get(index).userIdComposite();
+            final List<DailyWorkSummary> userSummaries = new ArrayList<>();
+            int day = 0;
+            for (LocalDate date = from; date.isBefore(toExclusive); date = date.plusDays(1), day++) {
+                final boolean workday = date.getDayOfWeek().compareTo(SATURDAY) < 0;
+                final double absenceFraction = (day - index % 17) % 17 == 0 && day >= index % 17 ? 1.0 : 0.0;
+                userSummaries.add(new DailyWorkSummary(userIdComposite, date,
+                    workday ? worked : WorkDuration.ZERO,
+                    workday ? breakDuration : BreakDuration.ZERO,
+                    workday ? PlannedWorkingHours.EIGHT : PlannedWorkingHours.ZERO,
+                    absenceFraction));
+            }
+            summaries.put(userIdComposite, userSummaries);
+        }
+    }
+
+    @Override
+    public Map<UserIdComposite, List<DailyWorkSummary>> getDailyWorkSummaries(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+        final Set<UserLocalId> localIds = new HashSet<>(userLocalIds);
+        final Map<UserIdComposite, List<DailyWorkSummary>> result = new HashMap<>();
+        summaries.forEach((userIdComposite, userSummaries) -> {
+            if (localIds.contains(userIdComposite.localId())) {
+                result.put(userIdComposite, filter(userSummaries, from, toExclusive));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<DailyWorkSummary>> getDailyWorkSummariesForAllUsers(LocalDate from, LocalDate toExclusive) {
+        final Map<UserIdComposite, List<DailyWorkSummary>> result = new HashMap<>();
+        summaries.forEach((userIdComposite, userSummaries) -> result.put(userIdComposite, filter(userSummaries, from, toExclusive)));
+        return result;
+    }
+
+    @Override
+    public void streamDailyWorkSummaries(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds, Consumer<DailyWorkSummary> consumer) {
+        final Set<UserLocalId> localIds = new HashSet<>(userLocalIds);
+        summaries.forEach((userIdComposite, userSummaries) -> {
+            if (localIds.contains(userIdComposite.localId())) {
+                stream(userSummaries, from, toExclusive, consumer);
+            }
+        });
+    }
+
+    @Override
+    public void streamDailyWorkSummariesForAllUsers(LocalDate from, LocalDate toExclusive, Consumer<DailyWorkSummary> consumer) {
+        summaries.values().forEach(userSummaries -> stream(userSummaries, from, toExclusive, consumer));
+    }
+
+    @Override
+    public void rebuild(LocalDate from, LocalDate toExclusive) {
+        // summaries are immutable
+    }
+
+    @Override
+    public void backfill(LocalDate from, LocalDate toExclusive) {
+        // every summary exists already
+    }
+
+    private static List<DailyWorkSummary> filter(List<DailyWorkSummary> userSummaries, LocalDate from, LocalDate toExclusive) {
+        final List<DailyWorkSummary> result = new ArrayList<>();
+        stream(userSummaries, from, toExclusive, result::add);
+        return result;
+    }
+
+    private static void stream(List<DailyWorkSummary> userSummaries, LocalDate from, LocalDate toExclusive, Consumer<DailyWorkSummary> consumer) {
+        for (DailyWorkSummary summary : userSummaries) {
+            if (!summary.date().isBefore(from) && summary.date().isBefore(toExclusive)) {
+                consumer.accept(summary);
+            }
+        }
+    }
+}
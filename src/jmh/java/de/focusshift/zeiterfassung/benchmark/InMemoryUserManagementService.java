@@ -0,0 +1,68 @@
+package de.focusshift.zeiterfassung.benchmark;
+
+import de.focusshift.zeiterfassung.security.SecurityRole;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link UserManagementService} backed by the users of {@link BenchmarkFixtures#users(int)}.
+ */
+public final class InMemoryUserManagementService implements UserManagementService {
+
+    private final List<User> users;
+    private final Map<UserId, User> userById = new HashMap<>();
+    private final Map<UserLocalId, User> userByLocalId = new HashMap<>();
+
+    public InMemoryUserManagementService(List<User> users) {
+        this.users = List.copyOf(users);
+        for (User user : users) {
+            userById.put(user.userId(), user);
+            userByLocalId.put(user.userLocalId(), user);
+        }
+    }
+
+    @Override
+    public Optional<User> findUserById(UserId userId) {
+        return Optional.ofNullable(userById.get(userId));
+    }
+
+    @Override
+    public Optional<User> findUserByLocalId(UserLocalId userId) {
+        return Optional.ofNullable(userByLocalId.get(userId));
+    }
+
+    @Override
+    public List<User> findAllUsers() {
+        return users;
+    }
+
+    @Override
+    public List<User> findAllUsers(String query) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<User> findAllUsersByIds(Collection<UserId> ids) {
+        return ids.stream().map(userById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<User> findAllUsersByLocalIds(Collection<UserLocalId> localIds) {
+        return localIds.stream().map(userByLocalId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public User updateUserPermissions(UserLocalId userLocalId, Set<SecurityRole> permissions) {
+        throw new UnsupportedOperationException();
+    }
+}
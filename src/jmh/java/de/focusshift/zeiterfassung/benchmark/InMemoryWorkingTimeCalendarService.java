@@ -0,0 +1,49 @@
+package de.focusshift.zeiterfassung.benchmark;
+
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link WorkingTimeCalendarService} returning calendars computed once for the whole benchmark period.
+ * The calendars cover more days than requested, which does not matter to callers looking up dates of the interval.
+ */
+public final class InMemoryWorkingTimeCalendarService implements WorkingTimeCalendarService {
+
+    private final Map<UserIdComposite, WorkingTimeCalendar> calendars;
+
+    public InMemoryWorkingTimeCalendarService(Map<UserIdComposite, WorkingTimeCalendar> calendars) {
+        this.calendars = calendars;
+    }
+
+    @Override
+    public WorkingTimeCalendar getWorkingTimeCalender(LocalDate from, LocalDate toExclusive, UserLocalId userLocalId) {
+        return calendars.entrySet().stream()
+            .filter(entry -> entry.getKey().localId().equals(userLocalId))
+            .map(Map.Entry::getValue)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Override
+    public Map<UserIdComposite, WorkingTimeCalendar> getWorkingTimeCalendarForAllUsers(LocalDate from, LocalDate toExclusive) {
+        return calendars;
+    }
+
+    @Override
+    public Map<UserIdComposite, WorkingTimeCalendar> getWorkingTimeCalendarForUsers(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+        final Map<UserIdComposite, WorkingTimeCalendar> result = new HashMap<>();
+        calendars.forEach((userIdComposite, calendar) -> {
+            if (userLocalIds.contains(userIdComposite.localId())) {
+                result.put(userIdComposite, calendar);
+            }
+        });
+        return result;
+    }
+}
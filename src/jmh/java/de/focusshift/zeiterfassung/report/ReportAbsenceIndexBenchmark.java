@@ -0,0 +1,64 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures;
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures.Period;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@link ReportAbsenceIndex} of a month and looking up the absences of every user and day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportAbsenceIndexBenchmark {
+
+    @Param({"1000", "5000"})
+    int users;
+
+    private final LocalDate from = Period.MONTH.from();
+    private final LocalDate toExclusive = Period.MONTH.toExclusive();
+
+    private Map<UserIdComposite, List<Absence>> absencesByUser;
+    private ReportAbsenceIndex index;
+
+    @Setup
+    public void setUp() {
+        absencesByUser = BenchmarkFixtures.absences(BenchmarkFixtures.users(users), from, toExclusive);
+        index = ReportAbsenceIndex.of(from, toExclusive, absencesByUser);
+    }
+
+    @Benchmark
+    public ReportAbsenceIndex build() {
+        return ReportAbsenceIndex.of(from, toExclusive, absencesByUser);
+    }
+
+    @Benchmark
+    public void absencesAt(Blackhole blackhole) {
+        for (UserIdComposite userIdComposite : absencesByUser.keySet()) {
+            for (LocalDate date = from; date.isBefore(toExclusive); date = date.plusDays(1)) {
+                blackhole.consume(index.absencesAt(userIdComposite, date));
+            }
+        }
+    }
+}
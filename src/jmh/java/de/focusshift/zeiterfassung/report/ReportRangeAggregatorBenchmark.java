@@ -0,0 +1,64 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures;
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures.Period;
+import de.focusshift.zeiterfassung.benchmark.InMemoryDailyWorkSummaryService;
+import de.focusshift.zeiterfassung.benchmark.InMemoryUserManagementService;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range reports of all users, compare the YEAR period with {@link ReportServiceRawBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ReportRangeAggregatorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int users;
+
+    @Param({"MONTH", "YEAR"})
+    Period period;
+
+    // generated benchmark code is not located in this package, the granularity is parsed in the setup
+    @Param({"DAY", "WEEK", "MONTH"})
+    String granularity;
+
+    private ReportRangeAggregator sut;
+    private ReportRangeGranularity reportRangeGranularity;
+
+    @Setup
+    public void setUp() {
+
+        final List<User> allUsers = BenchmarkFixtures.users(users);
+        reportRangeGranularity = ReportRangeGranularity.valueOf(granularity);
+
+        sut = new ReportRangeAggregator(
+            new InMemoryDailyWorkSummaryService(allUsers, period.from(), period.toExclusive()),
+            new InMemoryUserManagementService(allUsers),
+            BenchmarkFixtures.userDateService()
+        );
+    }
+
+    @Benchmark
+    public ReportRange rangeReportForAllUsers() {
+        return sut.aggregateForAllUsers(period.from(), period.toExclusive(), reportRangeGranularity);
+    }
+}
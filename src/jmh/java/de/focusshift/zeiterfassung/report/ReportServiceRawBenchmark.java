@@ -0,0 +1,79 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures;
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures.Period;
+import de.focusshift.zeiterfassung.benchmark.InMemoryAbsenceService;
+import de.focusshift.zeiterfassung.benchmark.InMemoryUserManagementService;
+import de.focusshift.zeiterfassung.benchmark.InMemoryWorkingTimeCalendarService;
+import de.focusshift.zeiterfassung.timeentry.InMemoryTimeEntryService;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports of all users for a week, a month and every month of a year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ReportServiceRawBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int users;
+
+    @Param({"WEEK", "MONTH", "YEAR"})
+    Period period;
+
+    private ReportServiceRaw sut;
+
+    @Setup
+    public void setUp() {
+
+        final LocalDate from = period.from();
+        // weeks of a month report start in the previous and end in the next month
+        final LocalDate toExclusive = period.toExclusive().plusWeeks(1);
+
+        final List<User> allUsers = BenchmarkFixtures.users(users);
+
+        sut = new ReportServiceRaw(
+            new InMemoryTimeEntryService(BenchmarkFixtures.timeEntries(allUsers, from, toExclusive)),
+            new InMemoryUserManagementService(allUsers),
+            BenchmarkFixtures.userDateService(),
+            new InMemoryWorkingTimeCalendarService(BenchmarkFixtures.workingTimeCalendars(allUsers, from.minusWeeks(1), toExclusive)),
+            new InMemoryAbsenceService(BenchmarkFixtures.absences(allUsers, from, toExclusive))
+        );
+    }
+
+    @Benchmark
+    public void reportForAllUsers(Blackhole blackhole) {
+        final LocalDate from = period.from();
+        switch (period) {
+            case WEEK -> blackhole.consume(sut.getReportWeekForAllUsers(BenchmarkFixtures.YEAR, from.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+            case MONTH -> blackhole.consume(sut.getReportMonthForAllUsers(YearMonth.from(from)));
+            case YEAR -> {
+                for (int month = 1; month <= 12; month++) {
+                    blackhole.consume(sut.getReportMonthForAllUsers(BenchmarkFixtures.YEAR.atMonth(month)));
+                }
+            }
+        }
+    }
+}
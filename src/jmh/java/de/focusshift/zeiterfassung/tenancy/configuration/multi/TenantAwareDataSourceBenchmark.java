@@ -0,0 +1,124 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactions per second of the {@link TenantAwareDataSource} with a {@code SET} and {@code RESET} of the tenant for
+ * every checkout compared to tagged connections. A transaction checks out a connection, executes one statement and
+ * closes the connection.
+ *
+ * <p>
+ * The database is simulated by a connection spinning {@code roundTripMicros} for every executed statement.
+ * With {@code tenants} greater than one, every transaction uses another tenant than the previous one, which is
+ * the worst case for tagged connections.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TenantAwareDataSourceBenchmark {
+
+    @Param({"false", "true"})
+    boolean taggedConnections;
+
+    @Param({"1", "10"})
+    int tenants;
+
+    @Param({"0", "100"})
+    long roundTripMicros;
+
+    private TenantAwareDataSource dataSource;
+    private Connection physicalConnection;
+    private TenantId[] tenantIds;
+    private int transaction;
+
+    @Setup
+    public void setUp() {
+        tenantIds = new TenantId[tenants];
+        for (int i = 0; i < tenants; i++) {
+            tenantIds[i] = new TenantId("tenant%d".formatted(i));
+        }
+
+        physicalConnection = simulatedConnection(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+            @Override
+            public Optional<TenantId> getCurrentTenantId() {
+                return Optional.of(tenantIds[transaction % tenantIds.length]);
+            }
+        };
+        dataSource = new TenantAwareDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() {
+                return physicalConnection;
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) {
+                return physicalConnection;
+            }
+        }, tenantContextHolder, taggedConnections);
+    }
+
+    @Benchmark
+    public boolean transaction() throws SQLException {
+        transaction++;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            return statement.execute();
+        }
+    }
+
+    private static Connection simulatedConnection(long roundTripNanos) {
+
+        final Object statement = Proxy.newProxyInstance(Statement.class.getClassLoader(),
+            new Class[]{PreparedStatement.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "execute" -> {
+                    roundTrip(roundTripNanos);
+                    yield true;
+                }
+                default -> null;
+            });
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class[]{Connection.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "createStatement", "prepareStatement" -> statement;
+                case "unwrap" -> proxy;
+                case "getAutoCommit" -> true;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> null;
+            });
+    }
+
+    private static void roundTrip(long nanos) {
+        final long until = System.nanoTime() + nanos;
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+}
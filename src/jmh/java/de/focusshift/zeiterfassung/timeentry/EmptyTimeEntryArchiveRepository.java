@@ -0,0 +1,98 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link TimeEntryArchiveRepository} without archived time entries, all benchmarked entries are live ones.
+ */
+class EmptyTimeEntryArchiveRepository implements TimeEntryArchiveRepository {
+
+    @Override
+    public Optional<TimeEntryArchiveEntity> findByOwnerAndMonth(String owner, LocalDate month) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<TimeEntryArchiveEntity> findFirstByOwnerOrderByMonthAsc(String owner) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Stream<TimeEntryArchiveEntity> streamAllByOwnerOrderByMonthAsc(String owner) {
+        return Stream.empty();
+    }
+
+    @Override
+    public List<TimeEntryArchiveEntity> findAllByOwnerIsInAndMonthGreaterThanEqualAndMonthLessThanEqual(Collection<String> owners, LocalDate from, LocalDate to) {
+        return List.of();
+    }
+
+    @Override
+    public List<TimeEntryArchiveEntity> findAllByMonthGreaterThanEqualAndMonthLessThanEqual(LocalDate from, LocalDate to) {
+        return List.of();
+    }
+
+    @Override
+    public <S extends TimeEntryArchiveEntity> S save(S entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends TimeEntryArchiveEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<TimeEntryArchiveEntity> findById(Long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return false;
+    }
+
+    @Override
+    public Iterable<TimeEntryArchiveEntity> findAll() {
+        return List.of();
+    }
+
+    @Override
+    public Iterable<TimeEntryArchiveEntity> findAllById(Iterable<Long> ids) {
+        return List.of();
+    }
+
+    @Override
+    public long count() {
+        return 0;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(TimeEntryArchiveEntity entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends TimeEntryArchiveEntity> entities) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteAll() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,155 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link TimeEntryRepository} answering interval queries from a list of entities sorted by start.
+ * Every query returns a new list, like the database does.
+ */
+class InMemoryTimeEntryRepository implements TimeEntryRepository {
+
+    private final List<TimeEntryEntity> entitiesSortedByStart;
+
+    InMemoryTimeEntryRepository(List<TimeEntryEntity> entities) {
+        this.entitiesSortedByStart = entities.stream().sorted(Comparator.comparing(TimeEntryEntity::getStart)).toList();
+    }
+
+    @Override
+    public List<TimeEntryEntity> findAllByStartGreaterThanEqualAndStartLessThan(Instant start, Instant endExclusive) {
+        return List.copyOf(entitiesSortedByStart.subList(firstIndexAtOrAfter(start), firstIndexAtOrAfter(endExclusive)));
+    }
+
+    @Override
+    public List<TimeEntryEntity> findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThan(List<String> owners, Instant start, Instant endExclusive) {
+        return entitiesSortedByStart.subList(firstIndexAtOrAfter(start), firstIndexAtOrAfter(endExclusive)).stream()
+            .filter(entity -> owners.contains(entity.getOwner()))
+            .toList();
+    }
+
+    @Override
+    public List<TimeEntryEntity> findAllByOwnerAndStartGreaterThanEqualAndStartLessThan(String owner, Instant start, Instant endExclusive) {
+        return findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThan(List.of(owner), start, endExclusive);
+    }
+
+    private int firstIndexAtOrAfter(Instant instant) {
+        int low = 0;
+        int high = entitiesSortedByStart.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (entitiesSortedByStart.get(mid).getStart().isBefore(instant)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public List<TimeEntryEntity> findAllByOwnerAndStartLessThan(String owner, Instant endExclusive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<String> findAllOwnersWithStartLessThan(Instant endExclusive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long countAllByOwner(String owner) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Long> findTimeEntryCountByOwner(String owner) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Window<TimeEntryEntity> findAllByOwnerOrderByStartDescIdDesc(String owner, ScrollPosition position, Limit limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<TimeEntryEntity> findFirstByOwnerOrderByStartAscIdAsc(String owner) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Stream<TimeEntryEntity> streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByOwnerAscStartAsc(List<String> owners, Instant start, Instant endExclusive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Stream<TimeEntryEntity> streamAllByOwnerOrderByStartAscIdAsc(String owner) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends TimeEntryEntity> S save(S entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends TimeEntryEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<TimeEntryEntity> findById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterable<TimeEntryEntity> findAll() {
+        return entitiesSortedByStart;
+    }
+
+    @Override
+    public Iterable<TimeEntryEntity> findAllById(Iterable<Long> ids) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long count() {
+        return entitiesSortedByStart.size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(TimeEntryEntity entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends TimeEntryEntity> entities) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteAll() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,124 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * {@link TimeEntryService} answering interval queries from {@link de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures#timeEntries} without copying them.
+ */
+public final class InMemoryTimeEntryService implements TimeEntryService {
+
+    // sorted by start ascending
+    private final Map<UserIdComposite, List<TimeEntry>> timeEntriesByUser;
+
+    public InMemoryTimeEntryService(Map<UserIdComposite, List<TimeEntry>> timeEntriesByUser) {
+        this.timeEntriesByUser = timeEntriesByUser;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<TimeEntry>> getEntriesForAllUsers(LocalDate from, LocalDate toExclusive) {
+        final Map<UserIdComposite, List<TimeEntry>> result = new HashMap<>();
+        timeEntriesByUser.forEach((userIdComposite, timeEntries) -> {
+            final List<TimeEntry> slice = slice(timeEntries, from, toExclusive);
+            if (!slice.isEmpty()) {
+                result.put(userIdComposite, slice);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<TimeEntry>> getEntriesByUserLocalIds(LocalDate from, LocalDate toExclusive, List<UserLocalId> userLocalIds) {
+        final Map<UserIdComposite, List<TimeEntry>> result = new HashMap<>();
+        timeEntriesByUser.forEach((userIdComposite, timeEntries) -> {
+            if (userLocalIds.contains(userIdComposite.localId())) {
+                result.put(userIdComposite, slice(timeEntries, from, toExclusive));
+            }
+        });
+        return result;
+    }
+
+    private static List<TimeEntry> slice(List<TimeEntry> sortedTimeEntries, LocalDate from, LocalDate toExclusive) {
+        return sortedTimeEntries.subList(firstIndexAtOrAfter(sortedTimeEntries, from), firstIndexAtOrAfter(sortedTimeEntries, toExclusive));
+    }
+
+    private static int firstIndexAtOrAfter(List<TimeEntry> sortedTimeEntries, LocalDate date) {
+        int low = 0;
+        int high = sortedTimeEntries.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedTimeEntries.get(mid).start().toLocalDate().isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public Optional<TimeEntry> findTimeEntry(long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<TimeEntry> findFirstTimeEntry(UserId userId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<TimeEntry> getEntries(LocalDate from, LocalDate toExclusive, UserId userId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void streamEntriesByUserLocalIds(LocalDate from, LocalDate toExclusive, List<UserLocalId> userLocalIds, Consumer<TimeEntry> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void streamEntries(UserId userId, Consumer<TimeEntry> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TimeEntryWeekPage getEntryWeekPage(UserId userId, int year, int weekOfYear) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TimeEntryHistoryPage getEntryHistoryPage(UserId userId, @Nullable String cursor, int pageSize) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TimeEntry createTimeEntry(UserId userId, String comment, ZonedDateTime start, ZonedDateTime end, boolean isBreak) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void createTimeEntries(UserId userId, List<NewTimeEntry> timeEntries) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TimeEntry updateTimeEntry(TimeEntryId id, String comment, @Nullable ZonedDateTime start, @Nullable ZonedDateTime end, @Nullable Duration duration, boolean isBreak) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteTimeEntry(long timeEntryId) {
+        throw new UnsupportedOperationException();
+    }
+}
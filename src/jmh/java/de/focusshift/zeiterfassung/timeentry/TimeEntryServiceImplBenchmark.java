@@ -0,0 +1,100 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures;
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures.Period;
+import de.focusshift.zeiterfassung.benchmark.InMemoryAbsenceService;
+import de.focusshift.zeiterfassung.benchmark.InMemoryUserManagementService;
+import de.focusshift.zeiterfassung.benchmark.InMemoryWorkingTimeCalendarService;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.user.UserSettingsProvider;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping the time entry entities of all users to {@link TimeEntry time entries} for a week, a month and a year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class TimeEntryServiceImplBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int users;
+
+    @Param({"WEEK", "MONTH", "YEAR"})
+    Period period;
+
+    private TimeEntryServiceImpl sut;
+
+    @Setup
+    public void setUp() {
+
+        final List<User> allUsers = BenchmarkFixtures.users(users);
+
+        final List<TimeEntryEntity> entities = BenchmarkFixtures.timeEntries(allUsers, period.from(), period.toExclusive())
+            .values()
+            .stream()
+            .flatMap(List::stream)
+            .map(TimeEntryServiceImplBenchmark::toEntity)
+            .toList();
+
+        final UserSettingsProvider userSettingsProvider = new UserSettingsProvider() {
+            @Override
+            public DayOfWeek firstDayOfWeek() {
+                return DayOfWeek.MONDAY;
+            }
+
+            @Override
+            public ZoneId zoneId() {
+                return BenchmarkFixtures.ZONE_ID;
+            }
+        };
+
+        final InMemoryTimeEntryRepository timeEntryRepository = new InMemoryTimeEntryRepository(entities);
+
+        sut = new TimeEntryServiceImpl(
+            timeEntryRepository,
+            new TimeEntryArchive(new EmptyTimeEntryArchiveRepository(), timeEntryRepository, null, Clock.systemUTC()),
+            new InMemoryUserManagementService(allUsers),
+            new InMemoryWorkingTimeCalendarService(Map.of()),
+            BenchmarkFixtures.userDateService(),
+            userSettingsProvider,
+            new InMemoryAbsenceService(Map.of()),
+            null,
+            event -> {
+            },
+            Clock.systemUTC()
+        );
+    }
+
+    @Benchmark
+    public Map<UserIdComposite, List<TimeEntry>> entriesForAllUsers() {
+        return sut.getEntriesForAllUsers(period.from(), period.toExclusive());
+    }
+
+    private static TimeEntryEntity toEntity(TimeEntry timeEntry) {
+        return new TimeEntryEntity(timeEntry.id().value(), timeEntry.userIdComposite().id().value(), timeEntry.comment(),
+            timeEntry.start().toInstant(), timeEntry.start().getZone(), timeEntry.end().toInstant(), timeEntry.end().getZone(),
+            timeEntry.start().toInstant(), timeEntry.isBreak());
+    }
+}
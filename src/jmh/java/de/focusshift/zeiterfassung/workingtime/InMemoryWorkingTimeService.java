@@ -0,0 +1,74 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import jakarta.annotation.Nullable;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link WorkingTimeService} backed by the working times of {@link de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures#workingTimes}.
+ */
+class InMemoryWorkingTimeService implements WorkingTimeService {
+
+    private final Map<UserIdComposite, List<WorkingTime>> workingTimesByUser;
+
+    InMemoryWorkingTimeService(Map<UserIdComposite, List<WorkingTime>> workingTimesByUser) {
+        this.workingTimesByUser = workingTimesByUser;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<WorkingTime>> getAllWorkingTimes(LocalDate from, LocalDate toExclusive) {
+        return workingTimesByUser;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<WorkingTime>> getWorkingTimesByUsers(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+        final Map<UserIdComposite, List<WorkingTime>> result = new HashMap<>();
+        workingTimesByUser.forEach((userIdComposite, workingTimes) -> {
+            if (userLocalIds.contains(userIdComposite.localId())) {
+                result.put(userIdComposite, workingTimes);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public List<UserLocalId> getAllUsersUsingGlobalFederalStateSettings() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<WorkingTime> getWorkingTimeById(WorkingTimeId workingTimeId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<WorkingTime> getAllWorkingTimesByUser(UserLocalId userLocalId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public WorkingTime createWorkingTime(UserLocalId userLocalId, LocalDate validFrom, FederalState federalState, @Nullable Boolean worksOnPublicHoliday, EnumMap<DayOfWeek, Duration> workdays) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public WorkingTime updateWorkingTime(WorkingTimeId workingTimeId, LocalDate validFrom, FederalState federalState, @Nullable Boolean worksOnPublicHoliday, EnumMap<DayOfWeek, Duration> workdays) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean deleteWorkingTime(WorkingTimeId workingTimeId) {
+        throw new UnsupportedOperationException();
+    }
+}
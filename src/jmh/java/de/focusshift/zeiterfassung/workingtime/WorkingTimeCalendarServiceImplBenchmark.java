@@ -0,0 +1,52 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures;
+import de.focusshift.zeiterfassung.benchmark.BenchmarkFixtures.Period;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Working time calendars of all users for a week, a month and a year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WorkingTimeCalendarServiceImplBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int users;
+
+    @Param({"WEEK", "MONTH", "YEAR"})
+    Period period;
+
+    private WorkingTimeCalendarServiceImpl sut;
+
+    @Setup
+    public void setUp() {
+        final Map<UserIdComposite, List<WorkingTime>> workingTimes = BenchmarkFixtures.workingTimes(BenchmarkFixtures.users(users));
+        sut = new WorkingTimeCalendarServiceImpl(new InMemoryWorkingTimeService(workingTimes), BenchmarkFixtures::publicHolidays);
+    }
+
+    @Benchmark
+    public Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarForAllUsers() {
+        return sut.getWorkingTimeCalendarForAllUsers(period.from(), period.toExclusive());
+    }
+}
@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.absence;
+
+import de.focusshift.zeiterfassung.user.UserId;
+
+import java.time.Instant;
+
+/**
+ * Published whenever an absence has been added, updated or deleted.
+ * An update publishes one event for the previous and one for the updated interval.
+ *
+ * @param userId user of the absence
+ * @param startDate start of the affected interval
+ * @param endDate end of the affected interval
+ */
+public record AbsenceChangedEvent(UserId userId, Instant startDate, Instant endDate) {
+}
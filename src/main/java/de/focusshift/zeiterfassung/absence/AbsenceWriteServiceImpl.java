@@ -1,7 +1,9 @@
 package de.focusshift.zeiterfassung.absence;
 
 import jakarta.transaction.Transactional;
+import de.focusshift.zeiterfassung.user.UserId;
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -15,9 +17,11 @@ class AbsenceWriteServiceImpl implements AbsenceWriteService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final AbsenceRepository repository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    AbsenceWriteServiceImpl(AbsenceRepository repository) {
+    AbsenceWriteServiceImpl(AbsenceRepository repository, ApplicationEventPublisher applicationEventPublisher) {
         this.repository = repository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -33,6 +37,7 @@ class AbsenceWriteServiceImpl implements AbsenceWriteService {
             final AbsenceWriteEntity entity = new AbsenceWriteEntity();
             setEntityFields(entity, absence);
             repository.save(entity);
+            publishChanged(entity);
             LOG.info("successfully persisted absence in database. sourceId={} type={}", sourceId, typeId);
         } else {
             LOG.info("did not persist absence because it exists already. sourceId={} type={}", sourceId, typeId);
@@ -50,8 +55,11 @@ class AbsenceWriteServiceImpl implements AbsenceWriteService {
 
         if (existing.isPresent()) {
             final AbsenceWriteEntity entity = existing.get();
+            final AbsenceChangedEvent previous = changedEvent(entity);
             setEntityFields(entity, absence);
             repository.save(entity);
+            applicationEventPublisher.publishEvent(previous);
+            publishChanged(entity);
             LOG.info("successfully updated absence in database. sourceId={} type={}", sourceId, typeId);
         } else {
             LOG.info("no absence found that could be updated, sourceId={} type={}", sourceId, typeId);
@@ -66,9 +74,11 @@ class AbsenceWriteServiceImpl implements AbsenceWriteService {
         final AbsenceTypeSourceId typeSourceId = absence.absenceTypeSourceId();
         final AbsenceTypeCategory category = absence.absenceTypeCategory();
 
+        final Optional<AbsenceWriteEntity> existing = findEntity(absence);
         final int countOfDeletedAbsences = repository.deleteBySourceIdAndType_Category(sourceId, category);
 
         if (countOfDeletedAbsences >= 1) {
+            existing.ifPresent(this::publishChanged);
             LOG.info("successfully deleted {} absences. sourceId={} typeSourceId={} typeCategory={}", countOfDeletedAbsences, sourceId, typeSourceId, category);
         } else {
             LOG.info("did not delete absence. sourceId={} typeSourceId={} typeCategory={}", sourceId, typeSourceId, category);
@@ -79,6 +89,14 @@ class AbsenceWriteServiceImpl implements AbsenceWriteService {
         return repository.findBySourceIdAndType_Category(absence.sourceId(), absence.absenceTypeCategory());
     }
 
+    private void publishChanged(AbsenceWriteEntity entity) {
+        applicationEventPublisher.publishEvent(changedEvent(entity));
+    }
+
+    private static AbsenceChangedEvent changedEvent(AbsenceWriteEntity entity) {
+        return new AbsenceChangedEvent(new UserId(entity.getUserId()), entity.getStartDate(), entity.getEndDate());
+    }
+
     private static void setEntityFields(AbsenceWriteEntity entity, AbsenceWrite absence) {
         entity.setSourceId(absence.sourceId());
         entity.setUserId(absence.userId().value());
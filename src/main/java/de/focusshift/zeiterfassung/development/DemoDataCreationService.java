@@ -24,7 +24,7 @@ class DemoDataCreationService {
 
     private static final LocalTime END_OF_WORK_DAY = LocalTime.of(17, 0);
 
-    private static final String[] comments = {
+    static final String[] comments = {
         "Telefonat mit Kunden zur Livegang \uD83D\uDE80",
         "Meeting zur Digitalisierung mit der Geschäftsführung",
         "Austausch zur Strategie für kommendes Jahr",
@@ -0,0 +1,34 @@
+package de.focusshift.zeiterfassung.development;
+
+import de.focusshift.zeiterfassung.absence.AbsenceTypeService;
+import de.focusshift.zeiterfassung.absence.AbsenceWriteService;
+import de.focusshift.zeiterfassung.tenancy.TenantConfigurationProperties;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(value = "zeiterfassung.development.loadtest.enabled", havingValue = "true")
+@EnableConfigurationProperties({LoadTestDataProperties.class, TenantConfigurationProperties.class})
+public class LoadTestDataConfiguration {
+
+    @Bean
+    LoadTestDataGenerator loadTestDataGenerator(TenantContextHolder tenantContextHolder, TenantService tenantService,
+                                                TenantUserService tenantUserService, WorkingTimeService workingTimeService,
+                                                AbsenceTypeService absenceTypeService, AbsenceWriteService absenceWriteService,
+                                                TimeEntryService timeEntryService,
+                                                TenantConfigurationProperties tenantConfigurationProperties,
+                                                LoadTestDataProperties loadTestDataProperties, Clock clock) {
+        return new LoadTestDataGenerator(tenantContextHolder, tenantService, tenantUserService, workingTimeService,
+            absenceTypeService, absenceWriteService, timeEntryService, tenantConfigurationProperties,
+            loadTestDataProperties, clock);
+    }
+}
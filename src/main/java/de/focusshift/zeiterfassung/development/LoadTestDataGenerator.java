@@ -0,0 +1,261 @@
+package de.focusshift.zeiterfassung.development;
+
+import de.focusshift.zeiterfassung.absence.AbsenceColor;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeCategory;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeService;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeSourceId;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeUpdate;
+import de.focusshift.zeiterfassung.absence.AbsenceWrite;
+import de.focusshift.zeiterfassung.absence.AbsenceWriteService;
+import de.focusshift.zeiterfassung.absence.DayLength;
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.security.SecurityRole;
+import de.focusshift.zeiterfassung.tenancy.TenantConfigurationProperties;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.timeentry.NewTimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static de.focusshift.zeiterfassung.tenancy.TenantConfigurationProperties.Mode.MULTI;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+
+/**
+ * Creates users with years of time entries, absences and working time changes to reproduce production load.
+ *
+ * <p>
+ * Every value is derived from {@link LoadTestDataProperties#seed()}, the tenant and the index of the user, so the
+ * same properties create the same data. Users which exist already are skipped, an interrupted run can be restarted.
+ * Time entries are written with {@link TimeEntryService#createTimeEntries(UserId, List)} in batches of
+ * {@link LoadTestDataProperties#batchSize()}.
+ */
+class LoadTestDataGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
+
+    private static final ZoneId EUROPE_BERLIN = ZoneId.of("Europe/Berlin");
+    private static final LocalTime EARLIEST_START = LocalTime.of(7, 0);
+    private static final Duration BREAK = Duration.ofMinutes(30);
+    private static final long MINIMUM_ENTRY_MINUTES = 1;
+    private static final AbsenceTypeSourceId HOLIDAY_TYPE = new AbsenceTypeSourceId(1_000_000L);
+
+    // weekly hours of monday to friday, a user picks one of them for every year
+    private static final List<int[]> WORKING_HOURS = List.of(
+        new int[]{8, 8, 8, 8, 8},
+        new int[]{8, 8, 8, 8, 6},
+        new int[]{6, 6, 6, 6, 6},
+        new int[]{8, 8, 8, 8, 0},
+        new int[]{4, 4, 4, 4, 4}
+    );
+
+    private final TenantContextHolder tenantContextHolder;
+    private final TenantService tenantService;
+    private final TenantUserService tenantUserService;
+    private final WorkingTimeService workingTimeService;
+    private final AbsenceTypeService absenceTypeService;
+    private final AbsenceWriteService absenceWriteService;
+    private final TimeEntryService timeEntryService;
+    private final TenantConfigurationProperties tenantConfigurationProperties;
+    private final LoadTestDataProperties properties;
+    private final Clock clock;
+
+    LoadTestDataGenerator(TenantContextHolder tenantContextHolder, TenantService tenantService,
+                          TenantUserService tenantUserService, WorkingTimeService workingTimeService,
+                          AbsenceTypeService absenceTypeService, AbsenceWriteService absenceWriteService,
+                          TimeEntryService timeEntryService, TenantConfigurationProperties tenantConfigurationProperties,
+                          LoadTestDataProperties properties, Clock clock) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.tenantService = tenantService;
+        this.tenantUserService = tenantUserService;
+        this.workingTimeService = workingTimeService;
+        this.absenceTypeService = absenceTypeService;
+        this.absenceWriteService = absenceWriteService;
+        this.timeEntryService = timeEntryService;
+        this.tenantConfigurationProperties = tenantConfigurationProperties;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() {
+
+        final LocalDate until = properties.until() == null ? LocalDate.now(clock) : properties.until();
+        final LocalDate from = until.minusYears(properties.years());
+
+        final List<TenantId> tenantIds = tenantIds();
+        LOG.info("creating load test data from={} until={} for {} users of {} tenants with seed={}",
+            from, until, properties.users(), tenantIds.size(), properties.seed());
+
+        for (int tenantIndex = 0; tenantIndex < tenantIds.size(); tenantIndex++) {
+            final int currentTenantIndex = tenantIndex;
+            tenantContextHolder.runInTenantIdContext(tenantIds.get(tenantIndex), tenantId -> {
+                absenceTypeService.updateAbsenceType(new AbsenceTypeUpdate(HOLIDAY_TYPE.value(), AbsenceTypeCategory.HOLIDAY,
+                    AbsenceColor.YELLOW, Map.of(Locale.GERMAN, "Erholungsurlaub", Locale.ENGLISH, "Holiday")));
+                for (int userIndex = 0; userIndex < properties.users(); userIndex++) {
+                    generateUser(currentTenantIndex, userIndex, from, until);
+                }
+                LOG.info("created load test data of tenantId={}", tenantId);
+            });
+        }
+
+        LOG.info("created load test data of {} tenants", tenantIds.size());
+    }
+
+    private List<TenantId> tenantIds() {
+
+        if (tenantConfigurationProperties.getMode() != MULTI) {
+            if (properties.tenants() > 1) {
+                LOG.warn("creating load test data for one tenant only, multiple tenants require multi tenant mode");
+            }
+            return List.of(tenantContextHolder.getCurrentTenantId().orElseThrow());
+        }
+
+        final List<TenantId> tenantIds = new ArrayList<>();
+        for (int tenantIndex = 0; tenantIndex < properties.tenants(); tenantIndex++) {
+            final String tenantId = "loadtest%d".formatted(tenantIndex);
+            if (tenantService.getTenantByTenantId(tenantId).isEmpty()) {
+                tenantService.create(tenantId);
+            }
+            tenantIds.add(new TenantId(tenantId));
+        }
+        return tenantIds;
+    }
+
+    void generateUser(int tenantIndex, int userIndex, LocalDate from, LocalDate until) {
+
+        final Random random = new Random(properties.seed() + 1_000_003L * tenantIndex + userIndex);
+        final String externalId = UUID.nameUUIDFromBytes("%d-%d-%d".formatted(properties.seed(), tenantIndex, userIndex)
+            .getBytes(StandardCharsets.UTF_8)).toString();
+        final UserId userId = new UserId(externalId);
+
+        if (tenantUserService.findById(userId).isPresent()) {
+            LOG.debug("skipping existing load test user={}", externalId);
+            return;
+        }
+
+        final TenantUser user = tenantUserService.createNewUser(externalId, "Load", "Test %d".formatted(userIndex),
+            new EMailAddress("loadtest-%d-%d@example.org".formatted(tenantIndex, userIndex)), Set.of(SecurityRole.ZEITERFASSUNG_USER));
+        final UserLocalId userLocalId = new UserLocalId(user.localId());
+
+        // initial working time has no validFrom, every following year starts with a new one
+        final List<int[]> hoursByYear = new ArrayList<>();
+        for (LocalDate validFrom = from; validFrom.isBefore(until); validFrom = validFrom.plusYears(1)) {
+            final int[] hours = WORKING_HOURS.get(random.nextInt(WORKING_HOURS.size()));
+            hoursByYear.add(hours);
+            workingTimeService.createWorkingTime(userLocalId, validFrom.equals(from) ? null : validFrom,
+                FederalState.GLOBAL, null, workdays(hours));
+        }
+
+        final List<NewTimeEntry> timeEntries = new ArrayList<>(properties.batchSize());
+        long absenceSourceId = userIndex * 100_000L;
+        LocalDate absenceStart = null;
+        boolean sick = false;
+
+        for (LocalDate date = from; date.isBefore(until); date = date.plusDays(1)) {
+
+            final int hours = hoursOf(hoursByYear.get(from.until(date).getYears()), date.getDayOfWeek());
+            if (hours == 0) {
+                continue;
+            }
+
+            if (random.nextDouble() < properties.absenceRate()) {
+                if (absenceStart == null) {
+                    absenceStart = date;
+                    sick = random.nextInt(3) == 0;
+                }
+                continue;
+            }
+
+            if (absenceStart != null) {
+                absence(userId, ++absenceSourceId, absenceStart, date.minusDays(1), sick);
+                absenceStart = null;
+            }
+
+            // entries of a day are never split across batches
+            if (!timeEntries.isEmpty() && timeEntries.size() + properties.entriesPerDay() > properties.batchSize()) {
+                timeEntryService.createTimeEntries(userId, List.copyOf(timeEntries));
+                timeEntries.clear();
+            }
+            workDay(date, hours, random, timeEntries);
+        }
+
+        if (absenceStart != null) {
+            absence(userId, ++absenceSourceId, absenceStart, until.minusDays(1), sick);
+        }
+        timeEntryService.createTimeEntries(userId, timeEntries);
+
+        LOG.info("created load test user={} of tenant index={}", externalId, tenantIndex);
+    }
+
+    /**
+     * Splits the working hours of the day into {@link LoadTestDataProperties#entriesPerDay()} time entries
+     * with a break in the middle of the day. Entries are jittered by up to 15 minutes but last at least one minute,
+     * even when many entries per day split a short working day.
+     */
+    private void workDay(LocalDate date, int hours, Random random, List<NewTimeEntry> timeEntries) {
+
+        final int entries = properties.entriesPerDay();
+        final long minutesPerEntry = Duration.ofHours(hours).toMinutes() / entries;
+
+        ZonedDateTime start = ZonedDateTime.of(date, EARLIEST_START.plusMinutes(random.nextInt(120)), EUROPE_BERLIN);
+        for (int entry = 0; entry < entries; entry++) {
+            final ZonedDateTime end = start.plusMinutes(Math.max(MINIMUM_ENTRY_MINUTES, minutesPerEntry + random.nextInt(31) - 15));
+            timeEntries.add(new NewTimeEntry(comment(random), start, end, false));
+            start = entry == (entries - 1) / 2 ? end.plus(BREAK) : end;
+        }
+    }
+
+    private void absence(UserId userId, long sourceId, LocalDate start, LocalDate end, boolean sick) {
+        final AbsenceWrite absence = sick
+            ? new AbsenceWrite(sourceId, userId, start.atStartOfDay(EUROPE_BERLIN).toInstant(), end.atStartOfDay(EUROPE_BERLIN).toInstant(), DayLength.FULL, AbsenceTypeCategory.SICK)
+            : new AbsenceWrite(sourceId, userId, start.atStartOfDay(EUROPE_BERLIN).toInstant(), end.atStartOfDay(EUROPE_BERLIN).toInstant(), DayLength.FULL, AbsenceTypeCategory.HOLIDAY, HOLIDAY_TYPE);
+        absenceWriteService.addAbsence(absence);
+    }
+
+    private static String comment(Random random) {
+        return DemoDataCreationService.comments[random.nextInt(DemoDataCreationService.comments.length)];
+    }
+
+    private static int hoursOf(int[] hours, DayOfWeek dayOfWeek) {
+        return dayOfWeek == SATURDAY || dayOfWeek == SUNDAY ? 0 : hours[dayOfWeek.ordinal()];
+    }
+
+    private static EnumMap<DayOfWeek, Duration> workdays(int[] hours) {
+        final EnumMap<DayOfWeek, Duration> workdays = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            workdays.put(dayOfWeek, Duration.ofHours(hoursOf(hours, dayOfWeek)));
+        }
+        return workdays;
+    }
+}
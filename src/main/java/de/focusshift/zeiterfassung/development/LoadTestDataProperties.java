@@ -0,0 +1,39 @@
+package de.focusshift.zeiterfassung.development;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDate;
+
+/**
+ * Volume of the data created by the {@link LoadTestDataGenerator}.
+ *
+ * @param enabled whether load test data is created on startup
+ * @param tenants number of tenants, only used in multi tenant mode
+ * @param users number of users per tenant
+ * @param years number of years of time entries, absences and working times per user
+ * @param entriesPerDay number of time entries per working day
+ * @param absenceRate probability of a working day to be an absence
+ * @param seed seed of the random values, the same seed creates the same data
+ * @param until last date (exclusive) of the created data, today when not set. Set it to get reproducible fixtures.
+ * @param batchSize number of time entries inserted within one transaction
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.development.loadtest")
+public record LoadTestDataProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1") @Min(1) int tenants,
+    @DefaultValue("100") @Min(1) int users,
+    @DefaultValue("1") @Min(1) int years,
+    @DefaultValue("3") @Min(1) int entriesPerDay,
+    @DefaultValue("0.05") @DecimalMin("0.0") @DecimalMax("1.0") double absenceRate,
+    @DefaultValue("42") long seed,
+    @Nullable LocalDate until,
+    @DefaultValue("1000") @Min(1) int batchSize
+) {
+}
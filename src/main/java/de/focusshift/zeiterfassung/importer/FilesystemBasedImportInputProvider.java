@@ -1,19 +1,42 @@
 package de.focusshift.zeiterfassung.importer;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import de.focusshift.zeiterfassung.importer.model.TenantExport;
+import de.focusshift.zeiterfassung.importer.model.UserExport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
 
-import java.io.FileInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads a tenant export from the filesystem with a streaming {@link JsonParser}. Only one {@link UserExport}
+ * is materialised at a time.
+ *
+ * <p>
+ * The file may be gzip or zstd compressed, which is detected by its magic bytes. Reading zstd requires
+ * {@code com.github.luben:zstd-jni} on the classpath.
+ */
 class FilesystemBasedImportInputProvider implements ImportInputProvider {
 
     private static final Logger LOG = LoggerFactory.getLogger(FilesystemBasedImportInputProvider.class);
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String ZSTD_INPUT_STREAM = "com.github.luben.zstd.ZstdInputStream";
+
     private final ObjectMapper objectMapper;
     private final Path path;
 
@@ -23,13 +46,130 @@ class FilesystemBasedImportInputProvider implements ImportInputProvider {
     }
 
     @Override
-    public Optional<TenantExport> fromExport() {
+    public Optional<TenantExportHeader> fromExport() {
         LOG.info("Going to read users to import from file={}", this.path.toAbsolutePath());
-        try (FileInputStream fos = new FileInputStream(path.toFile())) {
-            return Optional.of(objectMapper.readValue(fos, TenantExport.class));
+        try (JsonParser parser = createParser()) {
+
+            String tenantId = null;
+            Instant exportedAt = null;
+            int users = 0;
+            long timeEntries = 0;
+
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                switch (fieldName) {
+                    case "tenantId" -> tenantId = parser.getValueAsString();
+                    case "exportedAt" -> exportedAt = objectMapper.readValue(parser, Instant.class);
+                    case "users" -> {
+                        expect(value, JsonToken.START_ARRAY);
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            timeEntries += countTimeEntriesOfUser(parser);
+                            users++;
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (tenantId == null) {
+                LOG.error("Export file={} does not contain a tenantId", path.toAbsolutePath());
+                return Optional.empty();
+            }
+
+            return Optional.of(new TenantExportHeader(tenantId, exportedAt, users, timeEntries));
         } catch (IOException e) {
             LOG.error("Error occurred while deserializing the JSON object", e);
             return Optional.empty();
         }
     }
+
+    @Override
+    public void users(Consumer<UserExport> consumer) {
+        try (JsonParser parser = createParser()) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if ("users".equals(fieldName)) {
+                    expect(value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(objectMapper.readValue(parser, UserExport.class));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read users of export file=%s".formatted(path.toAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Counts the time entries of the user the parser points at, everything else of the user is skipped.
+     */
+    private static long countTimeEntriesOfUser(JsonParser parser) throws IOException {
+        long timeEntries = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("timeEntries".equals(fieldName) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    timeEntries++;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return timeEntries;
+    }
+
+    private JsonParser createParser() throws IOException {
+        final InputStream inputStream = decompress(new BufferedInputStream(Channels.newInputStream(FileChannel.open(path, READ)), BUFFER_SIZE));
+        return objectMapper.getFactory().createParser(inputStream);
+    }
+
+    private static InputStream decompress(BufferedInputStream inputStream) throws IOException {
+
+        inputStream.mark(4);
+        final byte[] magic = inputStream.readNBytes(4);
+        inputStream.reset();
+
+        try {
+            if (magic.length >= 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+                return new GZIPInputStream(inputStream, BUFFER_SIZE);
+            }
+            if (magic.length == 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5 && (magic[2] & 0xff) == 0x2f && (magic[3] & 0xff) == 0xfd) {
+                return zstd(inputStream);
+            }
+            return inputStream;
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    private static InputStream zstd(InputStream inputStream) throws IOException {
+
+        final ClassLoader classLoader = FilesystemBasedImportInputProvider.class.getClassLoader();
+        if (!ClassUtils.isPresent(ZSTD_INPUT_STREAM, classLoader)) {
+            throw new IOException("export file is zstd compressed, but %s is not on the classpath".formatted(ZSTD_INPUT_STREAM));
+        }
+
+        try {
+            return (InputStream) ClassUtils.forName(ZSTD_INPUT_STREAM, classLoader)
+                .getConstructor(InputStream.class)
+                .newInstance(inputStream);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("could not create %s".formatted(ZSTD_INPUT_STREAM), e);
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("expected %s but was %s".formatted(expected, actual));
+        }
+    }
 }
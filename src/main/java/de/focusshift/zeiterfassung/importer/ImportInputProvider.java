@@ -1,9 +1,28 @@
 package de.focusshift.zeiterfassung.importer;
 
-import de.focusshift.zeiterfassung.importer.model.TenantExport;
+import de.focusshift.zeiterfassung.importer.model.UserExport;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
+/**
+ * Source of a tenant export. The users of an export are not loaded at once but passed one after another,
+ * so memory consumption depends on the largest user and not on the whole tenant.
+ */
 interface ImportInputProvider {
-    Optional<TenantExport> fromExport();
+
+    /**
+     * Reads the tenant of the export and counts its users and time entries, without materialising them.
+     *
+     * @return the {@link TenantExportHeader}, or empty if the export cannot be read
+     */
+    Optional<TenantExportHeader> fromExport();
+
+    /**
+     * Passes every user of the export to the consumer, in the order of the export.
+     *
+     * @param consumer called once per user
+     * @throws java.io.UncheckedIOException if the export cannot be read
+     */
+    void users(Consumer<UserExport> consumer);
 }
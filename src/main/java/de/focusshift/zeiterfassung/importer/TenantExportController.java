@@ -0,0 +1,64 @@
+package de.focusshift.zeiterfassung.importer;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.format.DateTimeFormatter;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.ZoneOffset.UTC;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Streams the export of the current tenant as gzip compressed json, e.g. to move the tenant to another node
+ * with {@code curl ... | gunzip > export.json}.
+ */
+@Controller
+@PreAuthorize("hasAuthority('ZEITERFASSUNG_OPERATOR')")
+class TenantExportController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
+
+    private static final DateTimeFormatter FILENAME_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").withZone(UTC);
+
+    private final TenantExporter tenantExporter;
+    private final TenantContextHolder tenantContextHolder;
+    private final Clock clock;
+
+    TenantExportController(TenantExporter tenantExporter, TenantContextHolder tenantContextHolder, Clock clock) {
+        this.tenantExporter = tenantExporter;
+        this.tenantContextHolder = tenantContextHolder;
+        this.clock = clock;
+    }
+
+    @GetMapping("/tenant/export")
+    public void export(HttpServletResponse response) {
+
+        final TenantId tenantId = tenantContextHolder.getCurrentTenantId()
+            .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "No tenant."));
+
+        final String filename = "export_%s-%s.json.gz".formatted(tenantId.tenantId(), FILENAME_TIMESTAMP.format(clock.instant()));
+
+        response.setContentType("application/gzip");
+        response.setHeader("Content-disposition", "attachment;filename=" + filename);
+
+        try (OutputStream outputStream = response.getOutputStream()) {
+            tenantExporter.export(tenantId, outputStream);
+        } catch (IOException | UncheckedIOException exception) {
+            LOG.error("error while writing export of tenantId={}", tenantId.tenantId(), exception);
+            throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Could not write export.");
+        }
+    }
+}
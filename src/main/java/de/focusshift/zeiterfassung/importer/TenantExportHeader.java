@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.importer;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Everything of a {@link de.focusshift.zeiterfassung.importer.model.TenantExport} but its users.
+ *
+ * @param tenantId id of the exported tenant
+ * @param exportedAt point in time of the export, if known
+ * @param users number of exported users
+ * @param timeEntries number of exported time entries of all users
+ */
+record TenantExportHeader(String tenantId, @Nullable Instant exportedAt, int users, long timeEntries) {
+}
@@ -0,0 +1,183 @@
+package de.focusshift.zeiterfassung.importer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.focusshift.zeiterfassung.importer.model.OvertimeAccountDTO;
+import de.focusshift.zeiterfassung.importer.model.TenantExport;
+import de.focusshift.zeiterfassung.importer.model.TimeClockDTO;
+import de.focusshift.zeiterfassung.importer.model.TimeEntryDTO;
+import de.focusshift.zeiterfassung.importer.model.UserDTO;
+import de.focusshift.zeiterfassung.importer.model.UserExport;
+import de.focusshift.zeiterfassung.importer.model.WorkDayDTO;
+import de.focusshift.zeiterfassung.importer.model.WorkingTimeDTO;
+import de.focusshift.zeiterfassung.security.SecurityRole;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.timeclock.TimeClockService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.OvertimeAccount;
+import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountService;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTime;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+
+/**
+ * Writes the current tenant as gzip compressed {@link TenantExport} which can be read by the {@link TenantImporterComponent}.
+ *
+ * <p>
+ * The export is written with a streaming {@link JsonGenerator} user by user. Time entries are read with a database
+ * cursor and written one by one, so memory consumption does not grow with the number of time entries.
+ *
+ * <p>
+ * The interchange format knows one working time per user only, the currently valid one is exported.
+ */
+@Component
+class TenantExporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TenantExporter.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final TenantUserService tenantUserService;
+    private final OvertimeAccountService overtimeAccountService;
+    private final WorkingTimeService workingTimeService;
+    private final TimeClockService timeClockService;
+    private final TimeEntryService timeEntryService;
+    private final Clock clock;
+
+    TenantExporter(ObjectMapper objectMapper, TenantUserService tenantUserService,
+                   OvertimeAccountService overtimeAccountService, WorkingTimeService workingTimeService,
+                   TimeClockService timeClockService, TimeEntryService timeEntryService, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.tenantUserService = tenantUserService;
+        this.overtimeAccountService = overtimeAccountService;
+        this.workingTimeService = workingTimeService;
+        this.timeClockService = timeClockService;
+        this.timeEntryService = timeEntryService;
+        this.clock = clock;
+    }
+
+    /**
+     * Writes the export of the tenant of the current context to the given stream. The stream is not closed.
+     *
+     * @param tenantId tenant of the current context
+     * @param outputStream receiving the gzip compressed export
+     * @throws UncheckedIOException when the export could not be written
+     */
+    void export(TenantId tenantId, OutputStream outputStream) {
+
+        final List<TenantUser> users = tenantUserService.findAllUsers();
+        LOG.info("exporting {} users of tenantId={}", users.size(), tenantId.tenantId());
+
+        try {
+            final GZIPOutputStream gzip = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip, JsonEncoding.UTF8)) {
+                // the servlet output stream is owned by the container
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+                generator.writeStartObject();
+                generator.writeStringField("tenantId", tenantId.tenantId());
+                generator.writeFieldName("exportedAt");
+                objectMapper.writeValue(generator, clock.instant());
+                generator.writeArrayFieldStart("users");
+                for (TenantUser user : users) {
+                    writeUser(generator, user);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            gzip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not write export of tenantId=%s".formatted(tenantId.tenantId()), e);
+        }
+
+        LOG.info("exported {} users of tenantId={}", users.size(), tenantId.tenantId());
+    }
+
+    /**
+     * Writes the fields of {@link UserExport} in the order of the record, time entries are written last.
+     */
+    private void writeUser(JsonGenerator generator, TenantUser user) throws IOException {
+
+        final UserId userId = new UserId(user.id());
+        final UserLocalId userLocalId = new UserLocalId(user.localId());
+
+        generator.writeStartObject();
+        generator.writeObjectField("user", userDTO(user));
+        generator.writeObjectField("overtimeAccount", overtimeAccountDTO(overtimeAccountService.getOvertimeAccount(userLocalId)));
+        generator.writeObjectField("workingTime", workingTimeDTO(currentWorkingTime(userLocalId)));
+        generator.writeObjectField("timeClocks", timeClockService.findAllTimeClocks(userId).stream()
+            .map(timeClock -> new TimeClockDTO(timeClock.startedAt(), timeClock.comment(), timeClock.isBreak(), timeClock.stoppedAt()))
+            .toList());
+
+        generator.writeArrayFieldStart("timeEntries");
+        timeEntryService.streamEntries(userId, timeEntry -> {
+            try {
+                generator.writeObject(new TimeEntryDTO(timeEntry.comment(), timeEntry.start(), timeEntry.end(), timeEntry.isBreak()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.writeEndObject();
+
+        LOG.debug("exported user={}", user.id());
+    }
+
+    private WorkingTime currentWorkingTime(UserLocalId userLocalId) {
+        final List<WorkingTime> workingTimes = workingTimeService.getAllWorkingTimesByUser(userLocalId);
+        return workingTimes.stream()
+            .filter(WorkingTime::isCurrent)
+            .findFirst()
+            .orElseGet(workingTimes::getFirst);
+    }
+
+    private static UserDTO userDTO(TenantUser user) {
+        return new UserDTO(user.id(), user.givenName(), user.familyName(), user.eMail().value(), user.firstLoginAt(),
+            user.authorities().stream().map(SecurityRole::name).collect(Collectors.toSet()));
+    }
+
+    private static OvertimeAccountDTO overtimeAccountDTO(OvertimeAccount overtimeAccount) {
+        return new OvertimeAccountDTO(overtimeAccount.isAllowed(), overtimeAccount.getMaxAllowedOvertime().orElse(null));
+    }
+
+    private static WorkingTimeDTO workingTimeDTO(WorkingTime workingTime) {
+        return new WorkingTimeDTO(
+            workDay(workingTime, MONDAY),
+            workDay(workingTime, TUESDAY),
+            workDay(workingTime, WEDNESDAY),
+            workDay(workingTime, THURSDAY),
+            workDay(workingTime, FRIDAY),
+            workDay(workingTime, SATURDAY),
+            workDay(workingTime, SUNDAY)
+        );
+    }
+
+    private static WorkDayDTO workDay(WorkingTime workingTime, DayOfWeek dayOfWeek) {
+        return new WorkDayDTO(dayOfWeek.name(), workingTime.getForDayOfWeek(dayOfWeek).duration());
+    }
+}
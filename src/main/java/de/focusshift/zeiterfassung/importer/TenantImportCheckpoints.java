@@ -0,0 +1,87 @@
+package de.focusshift.zeiterfassung.importer;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+/**
+ * Persists the {@link TenantImportState} of every imported user of the current tenant.
+ *
+ * <p>
+ * Every import step is executed in one transaction together with its checkpoint, so the checkpoint
+ * describes exactly what has been committed. A restarted import continues with the first missing step.
+ */
+class TenantImportCheckpoints {
+
+    private final TenantImportStateRepository repository;
+    private final Clock clock;
+
+    TenantImportCheckpoints(TenantImportStateRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether an import has been started for the current tenant
+     */
+    @Transactional(readOnly = true)
+    public boolean exists() {
+        return repository.count() > 0;
+    }
+
+    /**
+     * @return checkpoints of the current tenant by external user id
+     */
+    @Transactional(readOnly = true)
+    public Map<String, TenantImportState> findAll() {
+        final Map<String, TenantImportState> states = new HashMap<>();
+        repository.findAll().forEach(entity -> states.put(entity.getExternalUserId(), toState(entity)));
+        return states;
+    }
+
+    /**
+     * Returns the checkpoint of the user, a new one is persisted if the import of the user has not been started yet.
+     *
+     * @param externalUserId id of the user in the export
+     * @return the checkpoint of the user
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    public TenantImportState start(String externalUserId) {
+        final TenantImportStateEntity entity = repository.findByExternalUserId(externalUserId)
+            .orElseGet(() -> repository.save(new TenantImportStateEntity(externalUserId, Instant.now(clock))));
+        return toState(entity);
+    }
+
+    /**
+     * Runs the import step and persists the checkpoint reached by it within one transaction.
+     *
+     * @param next checkpoint reached when the step has been executed
+     * @param step import step joining the transaction of the checkpoint
+     * @return the persisted checkpoint
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    public TenantImportState step(TenantImportState next, Runnable step) {
+
+        step.run();
+
+        final TenantImportStateEntity entity = repository.findById(next.id())
+            .orElseThrow(() -> new IllegalStateException("could not find tenant import state id=%s".formatted(next.id())));
+        entity.setWorkingTimeImported(next.workingTimeImported());
+        entity.setTimeClocksImported(next.timeClocksImported());
+        entity.setImportedTimeEntries(next.importedTimeEntries());
+        entity.setCompleted(next.completed());
+        entity.setUpdatedAt(Instant.now(clock));
+
+        return toState(repository.save(entity));
+    }
+
+    private static TenantImportState toState(TenantImportStateEntity entity) {
+        return new TenantImportState(entity.getId(), entity.getExternalUserId(), entity.isWorkingTimeImported(),
+            entity.isTimeClocksImported(), entity.getImportedTimeEntries(), entity.isCompleted());
+    }
+}
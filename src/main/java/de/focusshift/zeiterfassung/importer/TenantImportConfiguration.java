@@ -13,6 +13,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+
 @Configuration
 @ConditionalOnProperty(prefix = "zeiterfassung.tenant.import", name = "enabled", havingValue = "true")
 @EnableConfigurationProperties(TenantImportConfigurationProperties.class)
@@ -23,6 +25,21 @@ public class TenantImportConfiguration {
         return new FilesystemBasedImportInputProvider(objectMapper, tenantImportConfigurationProperties.filesystem().path());
     }
 
+    @Bean
+    TenantImportCheckpoints tenantImportCheckpoints(TenantImportStateRepository tenantImportStateRepository, Clock clock) {
+        return new TenantImportCheckpoints(tenantImportStateRepository, clock);
+    }
+
+    @Bean
+    TenantImportProgress tenantImportProgress(Clock clock) {
+        return new TenantImportProgress(clock);
+    }
+
+    @Bean
+    TenantImportEndpoint tenantImportEndpoint(TenantImportProgress tenantImportProgress) {
+        return new TenantImportEndpoint(tenantImportProgress);
+    }
+
     @Bean
     TenantImporterComponent tenantImporterComponent(TenantContextHolder tenantContextHolder,
                                                     TenantService tenantService,
@@ -31,8 +48,12 @@ public class TenantImportConfiguration {
                                                     TimeClockService timeClockService,
                                                     TimeEntryService timeEntryService,
                                                     WorkingTimeService workingTimeService,
-                                                    ImportInputProvider importInputProvider) {
+                                                    ImportInputProvider importInputProvider,
+                                                    TenantImportCheckpoints tenantImportCheckpoints,
+                                                    TenantImportProgress tenantImportProgress,
+                                                    TenantImportConfigurationProperties tenantImportConfigurationProperties) {
         return new TenantImporterComponent(tenantContextHolder, tenantService, tenantUserService,
-            overtimeAccountService, timeClockService, timeEntryService, workingTimeService, importInputProvider);
+            overtimeAccountService, timeClockService, timeEntryService, workingTimeService, importInputProvider,
+            tenantImportCheckpoints, tenantImportProgress, tenantImportConfigurationProperties.bulk());
     }
 }
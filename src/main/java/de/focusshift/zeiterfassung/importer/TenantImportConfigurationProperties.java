@@ -1,11 +1,30 @@
 package de.focusshift.zeiterfassung.importer;
 
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
 
+@Validated
 @ConfigurationProperties(prefix = "zeiterfassung.tenant.import")
-public record TenantImportConfigurationProperties(boolean enabled, FilesystemBased filesystem) {
+public record TenantImportConfigurationProperties(boolean enabled, FilesystemBased filesystem,
+                                                  @Valid @DefaultValue Bulk bulk) {
 
     public record FilesystemBased(String path) {
     }
+
+    /**
+     * Bulk import of large tenants. Time entries are inserted in JDBC batches and committed in chunks,
+     * users are imported in parallel.
+     *
+     * @param enabled whether the bulk import is used instead of creating every time entry on its own
+     * @param chunkSize number of time entries committed within one transaction
+     * @param parallelism number of users imported at the same time, each of them needs its own database connection
+     */
+    public record Bulk(@DefaultValue("false") boolean enabled,
+                       @DefaultValue("1000") @Min(1) int chunkSize,
+                       @DefaultValue("4") @Min(1) int parallelism) {
+    }
 }
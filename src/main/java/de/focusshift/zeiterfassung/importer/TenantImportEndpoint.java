@@ -0,0 +1,23 @@
+package de.focusshift.zeiterfassung.importer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint {@code /actuator/tenantimport} reporting the progress of the tenant import.
+ * It has to be exposed with {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "tenantimport")
+class TenantImportEndpoint {
+
+    private final TenantImportProgress progress;
+
+    TenantImportEndpoint(TenantImportProgress progress) {
+        this.progress = progress;
+    }
+
+    @ReadOperation
+    public TenantImportProgress.Snapshot progress() {
+        return progress.snapshot();
+    }
+}
@@ -0,0 +1,128 @@
+package de.focusshift.zeiterfassung.importer;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the running tenant import, updated by all importing threads.
+ *
+ * <p>
+ * Users and time entries skipped because they have been imported before a restart count as processed,
+ * but not into the throughput.
+ */
+class TenantImportProgress {
+
+    enum Status {
+        NOT_STARTED, RUNNING, FINISHED
+    }
+
+    /**
+     * @param tenantId imported tenant
+     * @param status status of the import
+     * @param startedAt start of the import
+     * @param finishedAt end of the import
+     * @param users number of users of the export
+     * @param processedUsers number of imported and skipped users
+     * @param failedUsers number of users which could not be imported
+     * @param timeEntries number of time entries of the export
+     * @param processedTimeEntries number of imported and skipped time entries
+     * @param timeEntriesPerSecond time entries imported per second since the start
+     * @param estimatedFinishAt estimated end of a running import, based on the throughput so far
+     */
+    record Snapshot(
+        @Nullable String tenantId,
+        Status status,
+        @Nullable Instant startedAt,
+        @Nullable Instant finishedAt,
+        int users,
+        int processedUsers,
+        int failedUsers,
+        long timeEntries,
+        long processedTimeEntries,
+        double timeEntriesPerSecond,
+        @Nullable Instant estimatedFinishAt
+    ) {
+    }
+
+    private final Clock clock;
+
+    private volatile String tenantId;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int users;
+    private volatile long timeEntries;
+    private final AtomicInteger processedUsers = new AtomicInteger();
+    private final AtomicInteger failedUsers = new AtomicInteger();
+    private final AtomicLong importedTimeEntries = new AtomicLong();
+    private final AtomicLong skippedTimeEntries = new AtomicLong();
+
+    TenantImportProgress(Clock clock) {
+        this.clock = clock;
+    }
+
+    void start(TenantExportHeader header) {
+        tenantId = header.tenantId();
+        users = header.users();
+        timeEntries = header.timeEntries();
+        processedUsers.set(0);
+        failedUsers.set(0);
+        importedTimeEntries.set(0);
+        skippedTimeEntries.set(0);
+        finishedAt = null;
+        startedAt = Instant.now(clock);
+    }
+
+    void finish() {
+        finishedAt = Instant.now(clock);
+    }
+
+    void timeEntriesImported(int count) {
+        importedTimeEntries.addAndGet(count);
+    }
+
+    void timeEntriesSkipped(int count) {
+        skippedTimeEntries.addAndGet(count);
+    }
+
+    void userProcessed() {
+        processedUsers.incrementAndGet();
+    }
+
+    void userFailed() {
+        failedUsers.incrementAndGet();
+    }
+
+    Snapshot snapshot() {
+
+        final Instant started = startedAt;
+        if (started == null) {
+            return new Snapshot(null, Status.NOT_STARTED, null, null, 0, 0, 0, 0, 0, 0, null);
+        }
+
+        final Instant finished = finishedAt;
+        final Instant now = finished == null ? Instant.now(clock) : finished;
+        final long imported = importedTimeEntries.get();
+        final long processed = imported + skippedTimeEntries.get();
+
+        final double seconds = Duration.between(started, now).toMillis() / 1000.0;
+        final double perSecond = seconds > 0 ? imported / seconds : 0;
+
+        final Instant estimatedFinishAt;
+        if (finished != null) {
+            estimatedFinishAt = finished;
+        } else if (perSecond > 0) {
+            final long remaining = Math.max(0, timeEntries - processed);
+            estimatedFinishAt = now.plusMillis((long) (remaining / perSecond * 1000));
+        } else {
+            estimatedFinishAt = null;
+        }
+
+        return new Snapshot(tenantId, finished == null ? Status.RUNNING : Status.FINISHED, started, finished,
+            users, processedUsers.get(), failedUsers.get(), timeEntries, processed, perSecond, estimatedFinishAt);
+    }
+}
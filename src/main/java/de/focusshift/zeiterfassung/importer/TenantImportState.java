@@ -0,0 +1,37 @@
+package de.focusshift.zeiterfassung.importer;
+
+/**
+ * Checkpoint of the import of one exported user.
+ *
+ * @param id id of the persisted checkpoint
+ * @param externalUserId id of the user in the export
+ * @param workingTimeImported whether overtime account and working time have been imported
+ * @param timeClocksImported whether the time clocks have been imported
+ * @param importedTimeEntries number of imported time entries, in the order of their start
+ * @param completed whether the user has been imported completely
+ */
+record TenantImportState(
+    Long id,
+    String externalUserId,
+    boolean workingTimeImported,
+    boolean timeClocksImported,
+    int importedTimeEntries,
+    boolean completed
+) {
+
+    TenantImportState withWorkingTimeImported() {
+        return new TenantImportState(id, externalUserId, true, timeClocksImported, importedTimeEntries, completed);
+    }
+
+    TenantImportState withTimeClocksImported() {
+        return new TenantImportState(id, externalUserId, workingTimeImported, true, importedTimeEntries, completed);
+    }
+
+    TenantImportState withImportedTimeEntries(int importedTimeEntries) {
+        return new TenantImportState(id, externalUserId, workingTimeImported, timeClocksImported, importedTimeEntries, completed);
+    }
+
+    TenantImportState withCompleted() {
+        return new TenantImportState(id, externalUserId, workingTimeImported, timeClocksImported, importedTimeEntries, true);
+    }
+}
@@ -0,0 +1,136 @@
+package de.focusshift.zeiterfassung.importer;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.AbstractTenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Table(name = "tenant_import_state")
+public class TenantImportStateEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @SequenceGenerator(name = "tenant_import_state_seq", sequenceName = "tenant_import_state_seq")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tenant_import_state_seq")
+    private Long id;
+
+    @Column(name = "external_user_id", nullable = false, updatable = false)
+    @NotNull
+    @Size(max = 255)
+    private String externalUserId;
+
+    /**
+     * Whether the overtime account and the working time of the user have been imported.
+     */
+    @Column(name = "working_time_imported", nullable = false)
+    private boolean workingTimeImported;
+
+    @Column(name = "time_clocks_imported", nullable = false)
+    private boolean timeClocksImported;
+
+    /**
+     * Number of imported time entries of the user, in the order of their start.
+     */
+    @Column(name = "imported_time_entries", nullable = false)
+    private int importedTimeEntries;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    @NotNull
+    private Instant updatedAt;
+
+    protected TenantImportStateEntity() {
+        super(null);
+    }
+
+    TenantImportStateEntity(String externalUserId, Instant updatedAt) {
+        super(null);
+        this.externalUserId = externalUserId;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getExternalUserId() {
+        return externalUserId;
+    }
+
+    public boolean isWorkingTimeImported() {
+        return workingTimeImported;
+    }
+
+    public void setWorkingTimeImported(boolean workingTimeImported) {
+        this.workingTimeImported = workingTimeImported;
+    }
+
+    public boolean isTimeClocksImported() {
+        return timeClocksImported;
+    }
+
+    public void setTimeClocksImported(boolean timeClocksImported) {
+        this.timeClocksImported = timeClocksImported;
+    }
+
+    public int getImportedTimeEntries() {
+        return importedTimeEntries;
+    }
+
+    public void setImportedTimeEntries(int importedTimeEntries) {
+        this.importedTimeEntries = importedTimeEntries;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TenantImportStateEntity that = (TenantImportStateEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "TenantImportStateEntity{" +
+            "id=" + id +
+            ", externalUserId='" + externalUserId + '\'' +
+            ", workingTimeImported=" + workingTimeImported +
+            ", timeClocksImported=" + timeClocksImported +
+            ", importedTimeEntries=" + importedTimeEntries +
+            ", completed=" + completed +
+            '}';
+    }
+}
@@ -0,0 +1,10 @@
+package de.focusshift.zeiterfassung.importer;
+
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+interface TenantImportStateRepository extends CrudRepository<TenantImportStateEntity, Long> {
+
+    Optional<TenantImportStateEntity> findByExternalUserId(String externalUserId);
+}
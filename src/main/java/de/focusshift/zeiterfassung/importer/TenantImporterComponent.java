@@ -1,6 +1,7 @@
 package de.focusshift.zeiterfassung.importer;
 
 
+import de.focusshift.zeiterfassung.importer.TenantImportConfigurationProperties.Bulk;
 import de.focusshift.zeiterfassung.importer.model.TimeClockDTO;
 import de.focusshift.zeiterfassung.importer.model.TimeEntryDTO;
 import de.focusshift.zeiterfassung.importer.model.UserDTO;
@@ -16,6 +17,7 @@ import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
 import de.focusshift.zeiterfassung.timeclock.TimeClock;
 import de.focusshift.zeiterfassung.timeclock.TimeClockService;
+import de.focusshift.zeiterfassung.timeentry.NewTimeEntry;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountService;
@@ -35,6 +37,9 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 import static java.time.DayOfWeek.FRIDAY;
@@ -44,6 +49,7 @@ import static java.time.DayOfWeek.SUNDAY;
 import static java.time.DayOfWeek.THURSDAY;
 import static java.time.DayOfWeek.TUESDAY;
 import static java.time.DayOfWeek.WEDNESDAY;
+import static java.util.Comparator.comparing;
 
 class TenantImporterComponent {
 
@@ -58,11 +64,15 @@ class TenantImporterComponent {
     private final TimeEntryService timeEntryService;
     private final WorkingTimeService workingTimeService;
     private final ImportInputProvider importInputProvider;
+    private final TenantImportCheckpoints checkpoints;
+    private final TenantImportProgress progress;
+    private final Bulk bulk;
 
     TenantImporterComponent(TenantContextHolder tenantContextHolder, TenantService tenantService,
                                    TenantUserService tenantUserService, OvertimeAccountService overtimeAccountService,
                                    TimeClockService timeClockService, TimeEntryService timeEntryService,
-                                   WorkingTimeService workingTimeService, ImportInputProvider importInputProvider) {
+                                   WorkingTimeService workingTimeService, ImportInputProvider importInputProvider,
+                                   TenantImportCheckpoints checkpoints, TenantImportProgress progress, Bulk bulk) {
         this.tenantContextHolder = tenantContextHolder;
         this.tenantService = tenantService;
         this.tenantUserService = tenantUserService;
@@ -71,6 +81,9 @@ class TenantImporterComponent {
         this.timeEntryService = timeEntryService;
         this.workingTimeService = workingTimeService;
         this.importInputProvider = importInputProvider;
+        this.checkpoints = checkpoints;
+        this.progress = progress;
+        this.bulk = bulk;
     }
 
     @Async
@@ -95,15 +108,30 @@ class TenantImporterComponent {
 
             tenantContextHolder.runInTenantIdContext(tenantId, passedTenantId -> {
                 try {
-                    if (!tenantUserService.findAllUsers().isEmpty()) {
+                    final boolean resume = checkpoints.exists();
+                    if (!tenantUserService.findAllUsers().isEmpty() && !resume) {
                         LOG.info("tenantId={} already has users, skipping import", passedTenantId);
                         return;
                     }
-                    LOG.info("tenantId={} has no users, starting import {} users!", passedTenantId, importerData.users().size());
-                    importerData.users().forEach(userToImport -> importUser(userToImport, new TenantId(passedTenantId)));
-                    LOG.info("finished importing {} users of tenantId={}", importerData.users().size(), passedTenantId);
+
+                    final Map<String, TenantImportState> states = checkpoints.findAll();
+                    if (resume) {
+                        LOG.info("tenantId={} has been imported partially, resuming import of {} users!", passedTenantId, importerData.users());
+                    } else {
+                        LOG.info("tenantId={} has no users, starting import {} users!", passedTenantId, importerData.users());
+                    }
+
+                    progress.start(importerData);
+                    if (bulk.enabled()) {
+                        importUsersInParallel(new TenantId(passedTenantId), states);
+                    } else {
+                        importInputProvider.users(userToImport -> importUser(userToImport, new TenantId(passedTenantId), states));
+                    }
+                    LOG.info("finished importing {} users of tenantId={}", importerData.users(), passedTenantId);
                 } catch (Exception e) {
                     LOG.error("Error occurred while importing users", e);
+                } finally {
+                    progress.finish();
                 }
             });
 
@@ -113,21 +141,83 @@ class TenantImporterComponent {
         }, () -> LOG.info("No export file found"));
     }
 
-    private void importUser(UserExport userToImport, TenantId tenantId) {
+    /**
+     * Imports every user in a task of its own on a bounded executor. Each task runs in the context of the tenant,
+     * which is bound to the importing thread. A failing user is logged and does not abort the import of the others.
+     *
+     * <p>
+     * Users are read from the export only when a thread is free, so at most {@code parallelism} users are held in memory.
+     */
+    private void importUsersInParallel(TenantId tenantId, Map<String, TenantImportState> states) {
+
+        final Semaphore inProgress = new Semaphore(bulk.parallelism());
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(bulk.parallelism(), Thread.ofPlatform().name("tenant-import-", 1).factory())) {
+            importInputProvider.users(userToImport -> {
+                inProgress.acquireUninterruptibly();
+                executor.execute(() -> tenantContextHolder.runInTenantIdContext(tenantId, passedTenantId -> {
+                    try {
+                        importUser(userToImport, tenantId, states);
+                    } catch (Exception e) {
+                        progress.userFailed();
+                        LOG.error("Error occurred while importing user={} of tenantId={}", userToImport.user().externalId(), passedTenantId, e);
+                    } finally {
+                        inProgress.release();
+                    }
+                }));
+            });
+        }
+
+        final int failed = progress.snapshot().failedUsers();
+        if (failed > 0) {
+            LOG.warn("could not import {} users of tenantId={}, restart to retry them", failed, tenantId.tenantId());
+        }
+    }
+
+    /**
+     * Imports the user starting with the first step missing in its checkpoint. Every step is idempotent with respect
+     * to its checkpoint: the user is looked up before creating it, all other steps commit together with the checkpoint.
+     */
+    private void importUser(UserExport userToImport, TenantId tenantId, Map<String, TenantImportState> states) {
         final UserDTO user = userToImport.user();
 
+        final TenantImportState existingState = states.get(user.externalId());
+        if (existingState != null && existingState.completed()) {
+            LOG.debug("skipping already imported user={} of tenantId={}", user.externalId(), tenantId.tenantId());
+            progress.timeEntriesSkipped(userToImport.timeEntries().size());
+            progress.userProcessed();
+            return;
+        }
+
         LOG.info("importing user={} of tenantId={}", user.externalId(), tenantId.tenantId());
 
-        final TenantUser createdUser = user(user, tenantId);
+        TenantImportState state = existingState == null ? checkpoints.start(user.externalId()) : existingState;
 
-        final UserLocalId userLocalId = new UserLocalId(createdUser.localId());
         final UserId externalUserId = new UserId(user.externalId());
+        final TenantUser createdUser = tenantUserService.findById(externalUserId).orElseGet(() -> user(user, tenantId));
+        final UserLocalId userLocalId = new UserLocalId(createdUser.localId());
+
+        if (!state.workingTimeImported()) {
+            state = checkpoints.step(state.withWorkingTimeImported(), () -> {
+                overtime(userToImport, tenantId, userLocalId);
+                workingTime(userToImport, tenantId, userLocalId);
+            });
+        }
+
+        if (!state.timeClocksImported()) {
+            state = checkpoints.step(state.withTimeClocksImported(), () -> timeClocks(tenantId, externalUserId, userToImport.timeClocks()));
+        }
+
+        state = timeEntries(externalUserId, tenantId, userToImport.timeEntries(), state);
+        checkpoints.step(state.withCompleted(), () -> {});
 
-        overtime(userToImport, tenantId, userLocalId);
-        workingTime(userToImport, tenantId, userLocalId);
-        timeClocks(tenantId, externalUserId, userToImport.timeClocks());
-        timeEntries(externalUserId, tenantId, userToImport.timeEntries());
         LOG.info("imported user={} of tenantId={}", user.externalId(), tenantId.tenantId());
+        progress.userProcessed();
+
+        final TenantImportProgress.Snapshot snapshot = progress.snapshot();
+        LOG.info("progress of tenantId={}: processed {}/{} users and {}/{} timeEntries ({} timeEntries/s)",
+            tenantId.tenantId(), snapshot.processedUsers(), snapshot.users(), snapshot.processedTimeEntries(),
+            snapshot.timeEntries(), Math.round(snapshot.timeEntriesPerSecond()));
     }
 
     private TenantUser user(UserDTO user, TenantId tenantId) {
@@ -141,10 +231,39 @@ class TenantImporterComponent {
         LOG.info("created timeClocks of user={} of tenantId={}", externalUserId.value(), tenantId.tenantId());
     }
 
-    private void timeEntries(UserId externalUserId, TenantId tenantId, List<TimeEntryDTO> timeEntryDTOS) {
-        LOG.info("creating {} timeEntries of user={} of tenantId={}", timeEntryDTOS.size(), externalUserId.value(), tenantId.tenantId());
-        timeEntryDTOS.forEach(timeEntry -> timeEntryService.createTimeEntry(externalUserId, timeEntry.comment(), adjustWithDefaultTimeZone(timeEntry.start()), adjustWithDefaultTimeZone(timeEntry.end()), timeEntry.isBreak()));
+    /**
+     * Creates the time entries not covered by the checkpoint yet, sorted by their start. In bulk mode the entries
+     * are inserted in chunks, otherwise one by one. The checkpoint is updated in the transaction of every chunk.
+     */
+    private TenantImportState timeEntries(UserId externalUserId, TenantId tenantId, List<TimeEntryDTO> timeEntryDTOS, TenantImportState state) {
+
+        final List<NewTimeEntry> newTimeEntries = timeEntryDTOS.stream()
+            .sorted(comparing(TimeEntryDTO::start))
+            .map(timeEntry -> new NewTimeEntry(timeEntry.comment(), adjustWithDefaultTimeZone(timeEntry.start()), adjustWithDefaultTimeZone(timeEntry.end()), timeEntry.isBreak()))
+            .toList();
+
+        final int alreadyImported = Math.min(state.importedTimeEntries(), newTimeEntries.size());
+        progress.timeEntriesSkipped(alreadyImported);
+
+        LOG.info("creating {} timeEntries of user={} of tenantId={}", newTimeEntries.size() - alreadyImported, externalUserId.value(), tenantId.tenantId());
+
+        // sorted chunks cover consecutive days, the daily work summaries are refreshed once per chunk
+        final int chunkSize = bulk.enabled() ? bulk.chunkSize() : 1;
+        TenantImportState current = state;
+        for (int from = alreadyImported; from < newTimeEntries.size(); from += chunkSize) {
+            final List<NewTimeEntry> chunk = newTimeEntries.subList(from, Math.min(from + chunkSize, newTimeEntries.size()));
+            current = checkpoints.step(current.withImportedTimeEntries(from + chunk.size()), () -> {
+                if (bulk.enabled()) {
+                    timeEntryService.createTimeEntries(externalUserId, chunk);
+                } else {
+                    chunk.forEach(timeEntry -> timeEntryService.createTimeEntry(externalUserId, timeEntry.comment(), timeEntry.start(), timeEntry.end(), timeEntry.isBreak()));
+                }
+            });
+            progress.timeEntriesImported(chunk.size());
+        }
+
         LOG.info("created timeEntries of user={} of tenantId={}", externalUserId.value(), tenantId.tenantId());
+        return current;
     }
 
     private void overtime(UserExport userToImport, TenantId tenantId, UserLocalId userLocalId) {
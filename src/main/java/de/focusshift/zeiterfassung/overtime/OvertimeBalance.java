@@ -0,0 +1,17 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Running overtime balance of a user, worked time minus should working hours of every day
+ * from the first time entry of the user until the given date.
+ *
+ * @param userIdComposite user
+ * @param toExclusive last date (exclusive) of the balance
+ * @param balance overtime, negative when less time has been worked than planned
+ */
+public record OvertimeBalance(UserIdComposite userIdComposite, LocalDate toExclusive, Duration balance) {
+}
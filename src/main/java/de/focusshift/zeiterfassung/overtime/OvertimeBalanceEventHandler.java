@@ -0,0 +1,35 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryChangedEvent;
+import org.slf4j.Logger;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Invalidates overtime balance snapshots when the daily work summaries they are calculated of have changed.
+ * Daily work summaries are updated whenever time entries, absences, working times or federal-state settings
+ * change, so snapshots are invalidated only after the summaries are up to date.
+ */
+@Component
+class OvertimeBalanceEventHandler {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final OvertimeBalanceServiceImpl overtimeBalanceService;
+
+    OvertimeBalanceEventHandler(OvertimeBalanceServiceImpl overtimeBalanceService) {
+        this.overtimeBalanceService = overtimeBalanceService;
+    }
+
+    @EventListener
+    void on(DailyWorkSummaryChangedEvent event) {
+        try {
+            overtimeBalanceService.invalidate(event.userIdComposite(), event.from());
+        } catch (RuntimeException e) {
+            LOG.error("could not invalidate overtime balance snapshots on {}", event, e);
+        }
+    }
+}
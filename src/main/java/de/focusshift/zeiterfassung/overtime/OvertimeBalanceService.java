@@ -0,0 +1,33 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Ledger of the overtime of every user.
+ *
+ * <p>
+ * The balance at the end of every closed month is kept as snapshot. A balance consists of the latest snapshot
+ * and the days after it, instead of every day since the first time entry. Snapshots are invalidated when
+ * time entries, absences, working times or federal-state settings of their month or an earlier month change,
+ * and are recalculated on the next access.
+ */
+public interface OvertimeBalanceService {
+
+    /**
+     * @param userLocalId user
+     * @param toExclusive last date (exclusive) of the balance, e.g. tomorrow for the current balance
+     * @return the balance of the user, empty when the user does not exist
+     */
+    Optional<OvertimeBalance> getBalance(UserLocalId userLocalId, LocalDate toExclusive);
+
+    /**
+     * @param userId user
+     * @param toExclusive last date (exclusive) of the balance, e.g. tomorrow for the current balance
+     * @return the balance of the user, empty when the user does not exist
+     */
+    Optional<OvertimeBalance> getBalance(UserId userId, LocalDate toExclusive);
+}
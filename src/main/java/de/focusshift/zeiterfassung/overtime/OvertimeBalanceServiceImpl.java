@@ -0,0 +1,157 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryService;
+import org.slf4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.temporal.ChronoUnit.MONTHS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Service
+class OvertimeBalanceServiceImpl implements OvertimeBalanceService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final OvertimeBalanceSnapshotRepository repository;
+    private final OvertimeBalanceSnapshotWriter writer;
+    private final DailyWorkSummaryService dailyWorkSummaryService;
+    private final TimeEntryService timeEntryService;
+    private final UserManagementService userManagementService;
+    private final Clock clock;
+
+    // incremented on every invalidation of the snapshots of a user, snapshots calculated meanwhile could already be
+    // outdated and are not stored.
+    private final Map<String, Long> invalidationsByUserId = new HashMap<>();
+
+    OvertimeBalanceServiceImpl(OvertimeBalanceSnapshotRepository repository, OvertimeBalanceSnapshotWriter writer,
+                               DailyWorkSummaryService dailyWorkSummaryService, TimeEntryService timeEntryService,
+                               UserManagementService userManagementService, Clock clock) {
+        this.repository = repository;
+        this.writer = writer;
+        this.dailyWorkSummaryService = dailyWorkSummaryService;
+        this.timeEntryService = timeEntryService;
+        this.userManagementService = userManagementService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<OvertimeBalance> getBalance(UserLocalId userLocalId, LocalDate toExclusive) {
+        return userManagementService.findUserByLocalId(userLocalId)
+            .map(user -> balance(user, toExclusive));
+    }
+
+    @Override
+    public Optional<OvertimeBalance> getBalance(UserId userId, LocalDate toExclusive) {
+        return userManagementService.findUserById(userId)
+            .map(user -> balance(user, toExclusive));
+    }
+
+    /**
+     * Deletes the snapshots of the user which contain the given date, they are recalculated on the next access.
+     *
+     * @param userIdComposite user
+     * @param from first date which has changed
+     */
+    void invalidate(UserIdComposite userIdComposite, LocalDate from) {
+        final String userId = userIdComposite.id().value();
+        synchronized (invalidationsByUserId) {
+            invalidationsByUserId.merge(userId, 1L, Long::sum);
+        }
+        writer.deleteFrom(userId, from.withDayOfMonth(1));
+    }
+
+    private OvertimeBalance balance(User user, LocalDate toExclusive) {
+
+        final Optional<LocalDate> maybeFirstDate = timeEntryService.findFirstTimeEntry(user.userId())
+            .map(TimeEntry::start)
+            .map(ZonedDateTime::toLocalDate);
+
+        if (maybeFirstDate.isEmpty() || !maybeFirstDate.get().isBefore(toExclusive)) {
+            return new OvertimeBalance(user.userIdComposite(), toExclusive, Duration.ZERO);
+        }
+
+        final String userId = user.userId().value();
+        final long invalidationsBeforeLoading = invalidations(userId);
+        final LocalDate firstDate = maybeFirstDate.get();
+        final YearMonth openMonth = YearMonth.from(toExclusive.minusDays(1));
+
+        final Optional<OvertimeBalanceSnapshotEntity> snapshot = repository
+            .findFirstByUserIdAndMonthLessThanOrderByMonthDesc(userId, openMonth.atDay(1))
+            .filter(entity -> !entity.getMonth().isBefore(firstDate.withDayOfMonth(1)));
+
+        final YearMonth firstMonth = snapshot.map(entity -> YearMonth.from(entity.getMonth()).plusMonths(1)).orElse(YearMonth.from(firstDate));
+        final LocalDate from = snapshot.isPresent() ? firstMonth.atDay(1) : firstDate;
+
+        // worked minus should seconds of every month from the first month to the open month
+        final long[] monthSeconds = new long[(int) firstMonth.until(openMonth, MONTHS) + 1];
+        dailyWorkSummaryService.streamDailyWorkSummaries(from, toExclusive, List.of(user.userLocalId()), summary -> {
+            final int month = (int) firstMonth.until(YearMonth.from(summary.date()), MONTHS);
+            monthSeconds[month] += summary.workDuration().duration().toSeconds() - summary.shouldWorkingHours().duration().toSeconds();
+        });
+
+        final YearMonth currentMonth = YearMonth.now(clock);
+        final List<OvertimeBalanceSnapshotEntity> snapshots = new ArrayList<>();
+
+        long balanceSeconds = snapshot.map(OvertimeBalanceSnapshotEntity::getBalanceSeconds).orElse(0L);
+        for (int index = 0; index < monthSeconds.length; index++) {
+            balanceSeconds += monthSeconds[index];
+            final YearMonth month = firstMonth.plusMonths(index);
+            // only closed months are stored, the current month still changes without any event
+            if (month.isBefore(openMonth) && month.isBefore(currentMonth)) {
+                snapshots.add(new OvertimeBalanceSnapshotEntity(userId, month.atDay(1), balanceSeconds));
+            }
+        }
+
+        save(userId, invalidationsBeforeLoading, snapshots);
+
+        return new OvertimeBalance(user.userIdComposite(), toExclusive, Duration.ofSeconds(balanceSeconds));
+    }
+
+    private void save(String userId, long invalidationsBeforeLoading, List<OvertimeBalanceSnapshotEntity> snapshots) {
+
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        // the snapshots are written while holding the lock. an invalidation is counted either before, then the
+        // outdated snapshots are not written at all, or afterward, then they are deleted by the invalidation.
+        synchronized (invalidationsByUserId) {
+            if (invalidations(userId) != invalidationsBeforeLoading) {
+                LOG.debug("not persisting overtime balance snapshots of user={}, they have been invalidated meanwhile.", userId);
+                return;
+            }
+            try {
+                writer.save(snapshots);
+            } catch (DataIntegrityViolationException e) {
+                // another request stored the same snapshots meanwhile, the calculated balance is still valid
+                LOG.debug("could not persist overtime balance snapshots, they have been persisted concurrently.", e);
+            }
+        }
+    }
+
+    private long invalidations(String userId) {
+        synchronized (invalidationsByUserId) {
+            return invalidationsByUserId.getOrDefault(userId, 0L);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.AbstractTenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "overtime_balance_snapshot")
+public class OvertimeBalanceSnapshotEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @SequenceGenerator(name = "overtime_balance_snapshot_seq", sequenceName = "overtime_balance_snapshot_seq")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "overtime_balance_snapshot_seq")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    @NotNull
+    @Size(max = 255)
+    private String userId;
+
+    /**
+     * First date of the month of this snapshot.
+     */
+    @Column(name = "month", nullable = false)
+    @NotNull
+    private LocalDate month;
+
+    /**
+     * Balance from the first time entry of the user until the end of the month.
+     */
+    @Column(name = "balance_seconds", nullable = false)
+    private long balanceSeconds;
+
+    protected OvertimeBalanceSnapshotEntity() {
+        super(null);
+    }
+
+    OvertimeBalanceSnapshotEntity(String userId, LocalDate month, long balanceSeconds) {
+        super(null);
+        this.userId = userId;
+        this.month = month;
+        this.balanceSeconds = balanceSeconds;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public long getBalanceSeconds() {
+        return balanceSeconds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OvertimeBalanceSnapshotEntity that = (OvertimeBalanceSnapshotEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OvertimeBalanceSnapshotEntity{" +
+            "id=" + id +
+            ", userId='" + userId + '\'' +
+            ", month=" + month +
+            ", balanceSeconds=" + balanceSeconds +
+            '}';
+    }
+}
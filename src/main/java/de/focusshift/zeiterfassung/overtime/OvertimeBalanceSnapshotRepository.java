@@ -0,0 +1,13 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+interface OvertimeBalanceSnapshotRepository extends CrudRepository<OvertimeBalanceSnapshotEntity, Long> {
+
+    Optional<OvertimeBalanceSnapshotEntity> findFirstByUserIdAndMonthLessThanOrderByMonthDesc(String userId, LocalDate monthExclusive);
+
+    void deleteAllByUserIdAndMonthGreaterThanEqual(String userId, LocalDate month);
+}
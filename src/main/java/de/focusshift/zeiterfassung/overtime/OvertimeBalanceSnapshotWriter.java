@@ -0,0 +1,42 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+@Component
+class OvertimeBalanceSnapshotWriter {
+
+    private final OvertimeBalanceSnapshotRepository repository;
+
+    OvertimeBalanceSnapshotWriter(OvertimeBalanceSnapshotRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Inserts the given snapshots. Runs in its own transaction, snapshots are calculated on read
+     * and a failing write must not break the read.
+     *
+     * @param snapshots snapshots to persist
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    public void save(List<OvertimeBalanceSnapshotEntity> snapshots) {
+        repository.saveAll(snapshots);
+    }
+
+    /**
+     * Deletes the snapshots of the user starting with the month of the given date. Runs in its own transaction,
+     * since it is called after the change invalidating the snapshots has been committed.
+     *
+     * @param userId user
+     * @param month first date of the first month to delete
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    public void deleteFrom(String userId, LocalDate month) {
+        repository.deleteAllByUserIdAndMonthGreaterThanEqual(userId, month);
+    }
+}
@@ -1,9 +1,15 @@
 package de.focusshift.zeiterfassung.publicholiday;
 
 import de.focus_shift.jollyday.core.HolidayManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+import java.time.Year;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +18,7 @@ import static de.focus_shift.jollyday.core.HolidayManager.getInstance;
 import static de.focus_shift.jollyday.core.ManagerParameters.create;
 
 @Configuration
+@EnableConfigurationProperties(PublicHolidayConfigurationProperties.class)
 class PublicHolidayConfiguration {
 
     private static final List<String> COUNTRIES = List.of("de", "at", "ch", "gb", "gr", "mt", "it", "hr", "es", "nl", "lt", "be", "pl");
@@ -22,4 +29,18 @@ class PublicHolidayConfiguration {
         COUNTRIES.forEach(country -> countryMap.put(country, getInstance(create(country))));
         return countryMap;
     }
+
+    @Bean
+    PublicHolidaysCache publicHolidaysCache(Map<String, HolidayManager> holidayManagerMap, PublicHolidayConfigurationProperties properties) {
+        return new PublicHolidaysCache(holidayManagerMap, properties.getCache().getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "zeiterfassung.public-holidays.cache", name = "warm-up", havingValue = "true")
+    ApplicationListener<ApplicationReadyEvent> publicHolidaysCacheWarmUp(PublicHolidaysCache publicHolidaysCache, Clock clock) {
+        return event -> {
+            final Year currentYear = Year.now(clock);
+            publicHolidaysCache.warmUp(List.of(currentYear, currentYear.plusYears(1)));
+        };
+    }
 }
@@ -0,0 +1,50 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.public-holidays")
+public class PublicHolidayConfigurationProperties {
+
+    private Cache cache = new Cache();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public static class Cache {
+
+        /**
+         * Maximum number of cached (federal state, year) entries in total, shared by all federal states.
+         */
+        @Min(1)
+        private int maxSize = 1024;
+
+        /**
+         * Calculates public holidays of all federal states for the current and the next year on application start.
+         */
+        private boolean warmUp = false;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
+        public void setWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+        }
+    }
+}
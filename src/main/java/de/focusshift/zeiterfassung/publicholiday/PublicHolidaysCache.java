@@ -0,0 +1,123 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import de.focus_shift.jollyday.core.HolidayManager;
+import org.slf4j.Logger;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toUnmodifiableList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded least-recently-used cache of {@link PublicHoliday}s per {@link FederalState} and {@link Year}.
+ *
+ * <p>
+ * Public holidays of a federal state and year never change at runtime. Therefore, every year is calculated once with
+ * the {@link HolidayManager} and requested intervals are sliced out of the cached years.
+ */
+class PublicHolidaysCache {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private record Key(FederalState federalState, int year) {
+    }
+
+    private final Map<String, HolidayManager> holidayManagers;
+    private final Map<Key, NavigableMap<LocalDate, List<PublicHoliday>>> holidaysByKey;
+
+    PublicHolidaysCache(Map<String, HolidayManager> holidayManagers, int maxSize) {
+        this.holidayManagers = holidayManagers;
+        this.holidaysByKey = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, NavigableMap<LocalDate, List<PublicHoliday>>> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Public holidays of the federal state between {@code from} and {@code to}, both inclusive.
+     *
+     * @param federalState federal state, must not be {@link FederalState#GLOBAL}
+     * @param from first date of the interval
+     * @param to last date (inclusive) of the interval
+     * @return unmodifiable map of public holidays by date
+     */
+    Map<LocalDate, List<PublicHoliday>> holidays(FederalState federalState, LocalDate from, LocalDate to) {
+
+        if (FederalState.NONE.equals(federalState) || to.isBefore(from)) {
+            return Map.of();
+        }
+
+        if (from.getYear() == to.getYear()) {
+            return Collections.unmodifiableNavigableMap(yearHolidays(federalState, from.getYear()).subMap(from, true, to, true));
+        }
+
+        final NavigableMap<LocalDate, List<PublicHoliday>> holidays = new TreeMap<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            holidays.putAll(yearHolidays(federalState, year).subMap(from, true, to, true));
+        }
+
+        return Collections.unmodifiableNavigableMap(holidays);
+    }
+
+    /**
+     * Calculates and caches the public holidays of all federal states with a configured {@link HolidayManager}
+     * for the given years.
+     *
+     * @param years years to calculate
+     */
+    void warmUp(Collection<Year> years) {
+        for (Year year : years) {
+            for (FederalState federalState : FederalState.values()) {
+                if (holidayManagers.containsKey(federalState.getCountry())) {
+                    yearHolidays(federalState, year.getValue());
+                }
+            }
+        }
+        LOG.info("warmed up public holidays cache for years={}", years);
+    }
+
+    private NavigableMap<LocalDate, List<PublicHoliday>> yearHolidays(FederalState federalState, int year) {
+
+        final Key key = new Key(federalState, year);
+
+        final NavigableMap<LocalDate, List<PublicHoliday>> cached = holidaysByKey.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // calculated outside the lock. concurrent calculations of the same year yield the same result.
+        final NavigableMap<LocalDate, List<PublicHoliday>> holidays = calculateYearHolidays(federalState, year);
+        holidaysByKey.put(key, holidays);
+
+        return holidays;
+    }
+
+    private NavigableMap<LocalDate, List<PublicHoliday>> calculateYearHolidays(FederalState federalState, int year) {
+
+        final HolidayManager holidayManager = holidayManagers.get(federalState.getCountry());
+        if (holidayManager == null) {
+            LOG.warn("no holiday manager configured for federalState={}", federalState);
+            return Collections.emptyNavigableMap();
+        }
+
+        final NavigableMap<LocalDate, List<PublicHoliday>> holidays = holidayManager.getHolidays(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), PUBLIC_HOLIDAY, federalState.getCodes())
+            .stream()
+            .map(holiday -> new PublicHoliday(holiday.getDate(), holiday::getDescription))
+            .collect(groupingBy(PublicHoliday::date, TreeMap::new, toUnmodifiableList()));
+
+        return Collections.unmodifiableNavigableMap(holidays);
+    }
+}
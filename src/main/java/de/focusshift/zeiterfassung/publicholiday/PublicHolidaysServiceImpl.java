@@ -1,28 +1,21 @@
 package de.focusshift.zeiterfassung.publicholiday;
 
-import de.focus_shift.jollyday.core.HolidayManager;
-import de.focusshift.zeiterfassung.CachedSupplier;
 import de.focusshift.zeiterfassung.settings.FederalStateSettingsService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
-
-import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
-import static java.util.stream.Collectors.groupingBy;
 
 @Service
 class PublicHolidaysServiceImpl implements PublicHolidaysService {
 
-    private final Map<String, HolidayManager> holidayManagers;
+    private final PublicHolidaysCache publicHolidaysCache;
     private final FederalStateSettingsService federalStateSettingsService;
 
-    PublicHolidaysServiceImpl(Map<String, HolidayManager> holidayManagers, FederalStateSettingsService federalStateSettingsService) {
-        this.holidayManagers = holidayManagers;
+    PublicHolidaysServiceImpl(PublicHolidaysCache publicHolidaysCache, FederalStateSettingsService federalStateSettingsService) {
+        this.publicHolidaysCache = publicHolidaysCache;
         this.federalStateSettingsService = federalStateSettingsService;
     }
 
@@ -32,27 +25,12 @@ class PublicHolidaysServiceImpl implements PublicHolidaysService {
         final LocalDate to = toExclusive.minusDays(1);
         final Map<FederalState, PublicHolidayCalendar> calendar = new EnumMap<>(FederalState.class);
 
-        final Supplier<FederalState> globalFederalStateSupplier =
-            new CachedSupplier<>(() -> federalStateSettingsService.getFederalStateSettings().federalState());
-
         for (FederalState federalState : federalStates) {
-            federalState = FederalState.GLOBAL.equals(federalState) ? globalFederalStateSupplier.get() : federalState;
-            calendar.put(federalState, new PublicHolidayCalendar(federalState, holidays(from, to, federalState)));
+            // global federal state settings are cached per tenant by the settings service
+            federalState = FederalState.GLOBAL.equals(federalState) ? federalStateSettingsService.getFederalStateSettings().federalState() : federalState;
+            calendar.put(federalState, new PublicHolidayCalendar(federalState, publicHolidaysCache.holidays(federalState, from, to)));
         }
 
         return calendar;
     }
-
-    private Map<LocalDate, List<PublicHoliday>> holidays(LocalDate from, LocalDate to, FederalState federalState) {
-
-        if (FederalState.NONE.equals(federalState)) {
-            return Map.of();
-        }
-
-        final HolidayManager holidayManager = holidayManagers.get(federalState.getCountry());
-        return holidayManager.getHolidays(from, to, PUBLIC_HOLIDAY, federalState.getCodes())
-            .stream()
-            .map(holiday -> new PublicHoliday(holiday.getDate(), holiday::getDescription))
-            .collect(groupingBy(PublicHoliday::date));
-    }
 }
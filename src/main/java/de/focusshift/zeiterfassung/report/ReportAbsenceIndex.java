@@ -0,0 +1,105 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Absences of a report bucketed by user and day. The index is built once per report, looking up the absences
+ * of a user at a date is an array access afterward instead of filtering every absence of the user again.
+ *
+ * <p>
+ * Dates outside the indexed interval are answered by filtering the absences of the user, which is the same
+ * result, just not as fast.
+ */
+class ReportAbsenceIndex {
+
+    private final LocalDate from;
+    private final int days;
+    private final Map<UserIdComposite, List<Absence>> absencesByUser;
+    private final Map<UserIdComposite, List<Absence>[]> absencesByUserAndDay;
+
+    private ReportAbsenceIndex(LocalDate from, int days, Map<UserIdComposite, List<Absence>> absencesByUser,
+                               Map<UserIdComposite, List<Absence>[]> absencesByUserAndDay) {
+        this.from = from;
+        this.days = days;
+        this.absencesByUser = absencesByUser;
+        this.absencesByUserAndDay = absencesByUserAndDay;
+    }
+
+    /**
+     * Creates the index for the interval {@code from} and {@code toExclusive}.
+     *
+     * @param from first date of the indexed interval
+     * @param toExclusive last date (exclusive) of the indexed interval
+     * @param absencesByUser absences to index, {@code null} values are treated as no absences
+     * @return the index
+     */
+    static ReportAbsenceIndex of(LocalDate from, LocalDate toExclusive, Map<UserIdComposite, List<Absence>> absencesByUser) {
+
+        final int days = (int) Math.max(0, DAYS.between(from, toExclusive));
+        final Map<UserIdComposite, List<Absence>[]> absencesByUserAndDay = new HashMap<>();
+
+        for (Map.Entry<UserIdComposite, List<Absence>> entry : absencesByUser.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            final List<Absence>[] buckets = new List[days];
+
+            for (Absence absence : entry.getValue()) {
+                final long firstOffset = Math.max(0, DAYS.between(from, absence.startDate().toLocalDate()));
+                final long lastOffset = Math.min(days - 1L, DAYS.between(from, absence.endDate().toLocalDate()));
+                for (int offset = (int) firstOffset; offset <= lastOffset; offset++) {
+                    if (buckets[offset] == null) {
+                        buckets[offset] = new ArrayList<>(1);
+                    }
+                    buckets[offset].add(absence);
+                }
+            }
+
+            absencesByUserAndDay.put(entry.getKey(), buckets);
+        }
+
+        return new ReportAbsenceIndex(from, days, absencesByUser, absencesByUserAndDay);
+    }
+
+    /**
+     * @param userIdComposite user to get absences for
+     * @param date date of interest
+     * @return absences of the user intersecting the given date, never {@code null}
+     */
+    List<Absence> absencesAt(UserIdComposite userIdComposite, LocalDate date) {
+
+        final long offset = DAYS.between(from, date);
+        if (offset < 0 || offset >= days) {
+            return absencesOutsideOfIndex(userIdComposite, date);
+        }
+
+        final List<Absence>[] buckets = absencesByUserAndDay.get(userIdComposite);
+        if (buckets == null) {
+            return List.of();
+        }
+
+        final List<Absence> absences = buckets[(int) offset];
+        return absences == null ? List.of() : absences;
+    }
+
+    private List<Absence> absencesOutsideOfIndex(UserIdComposite userIdComposite, LocalDate date) {
+        final List<Absence> absences = absencesByUser.get(userIdComposite);
+        if (absences == null) {
+            return List.of();
+        }
+        return absences.stream()
+            .filter(absence -> !absence.startDate().toLocalDate().isAfter(date) && !absence.endDate().toLocalDate().isBefore(date))
+            .toList();
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.stereotype.Controller;
@@ -18,6 +19,7 @@ import org.threeten.extra.YearWeek;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.Year;
 import java.time.YearMonth;
 import java.util.List;
@@ -26,6 +28,7 @@ import java.util.Optional;
 import java.util.function.Consumer;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
@@ -34,6 +37,8 @@ class ReportCsvController {
 
     private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
 
+    private static final int MAX_RANGE_YEARS = 1;
+
     private final ReportCsvService reportCsvService;
     private final MessageSource messageSource;
 
@@ -90,6 +95,29 @@ class ReportCsvController {
         writeCsv(fileName, response, csvWriteConsumer);
     }
 
+    @GetMapping(value = "/report/range", params = {"csv"})
+    public void rangeReportCsv(
+        @RequestParam("from") @DateTimeFormat(iso = DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DATE) LocalDate to,
+        @RequestParam(value = "granularity", defaultValue = "MONTH") ReportRangeGranularity granularity,
+        @RequestParam(value = "user", required = false) Optional<List<Long>> optionalUserIds,
+        Locale locale,
+        HttpServletResponse response
+    ) {
+
+        // `to` is inclusive, a quarter is requested as from=2024-01-01&to=2024-03-31
+        final LocalDate toExclusive = to.plusDays(1);
+        if (!from.isBefore(toExclusive) || from.plusYears(MAX_RANGE_YEARS).isBefore(toExclusive)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid range.");
+        }
+
+        final List<UserLocalId> userLocalIds = optionalUserIds.orElse(List.of()).stream().map(UserLocalId::new).toList();
+        final String fileName = messageSource.getMessage("report.range.csv.filename", new Object[]{from.toString(), to.toString()}, locale);
+
+        writeCsv(fileName, response,
+            writer -> reportCsvService.writeRangeReportCsv(from, toExclusive, granularity, locale, userLocalIds, writer));
+    }
+
     private void writeCsv(String filename, HttpServletResponse response, Consumer<PrintWriter> csvConsumer) {
         response.setContentType("text/csv");
         response.setCharacterEncoding("utf-8");
@@ -1,30 +1,50 @@
 package de.focusshift.zeiterfassung.report;
 
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.DateFormatter;
 import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 
 import java.io.PrintWriter;
 import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Month;
 import java.time.Year;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 
 @Service
 class ReportCsvService {
 
     private static final int FRACTION_DIGITS = 3;
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
     private final ReportService reportService;
+    private final ReportPermissionService reportPermissionService;
+    private final TimeEntryService timeEntryService;
+    private final UserManagementService userManagementService;
     private final DateFormatter dateFormatter;
     private final MessageSource messageSource;
 
-    ReportCsvService(ReportService reportService, DateFormatter dateFormatter, MessageSource messageSource) {
+    ReportCsvService(ReportService reportService, ReportPermissionService reportPermissionService,
+                     TimeEntryService timeEntryService, UserManagementService userManagementService,
+                     DateFormatter dateFormatter, MessageSource messageSource) {
         this.reportService = reportService;
+        this.reportPermissionService = reportPermissionService;
+        this.timeEntryService = timeEntryService;
+        this.userManagementService = userManagementService;
         this.dateFormatter = dateFormatter;
         this.messageSource = messageSource;
     }
@@ -44,9 +64,58 @@ class ReportCsvService {
         writeMonthCsv(reportMonth, yearMonth, locale, writer);
     }
 
+    /**
+     * Writes the month csv for the given users without creating a {@link ReportMonth}. Time entries are read with a
+     * database cursor ordered by user and start, every entry is written as soon as it is read and the writer is
+     * flushed in chunks. Therefore, memory consumption does not depend on the number of users or entries.
+     */
     void writeMonthReportCsvForUserLocalIds(YearMonth yearMonth, Locale locale, List<UserLocalId> userLocalIds, PrintWriter writer) {
-        final ReportMonth reportMonth = reportService.getReportMonth(yearMonth, userLocalIds);
-        writeMonthCsv(reportMonth, yearMonth, locale, writer);
+
+        writeHeader(locale, writer);
+
+        final List<UserLocalId> permittedUserLocalIds =
+            reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userLocalIds);
+
+        if (permittedUserLocalIds.isEmpty()) {
+            return;
+        }
+
+        final Map<UserLocalId, User> userByLocalId = userManagementService.findAllUsersByLocalIds(permittedUserLocalIds)
+            .stream()
+            .collect(toMap(User::userLocalId, identity()));
+
+        final LocalDate from = yearMonth.atDay(1);
+        final LocalDate toExclusive = from.plusMonths(1);
+
+        final Consumer<TimeEntry> csvLineWriter = new ChunkedCsvLineWriter(yearMonth, userByLocalId, numberFormat(locale), writer);
+        timeEntryService.streamEntriesByUserLocalIds(from, toExclusive, permittedUserLocalIds, csvLineWriter);
+
+        writer.flush();
+    }
+
+    /**
+     * Writes one line per user and bucket of the {@link ReportRange}, followed by one line with the total of every user.
+     */
+    void writeRangeReportCsv(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity, Locale locale,
+                             List<UserLocalId> userLocalIds, PrintWriter writer) {
+
+        final ReportRange reportRange = userLocalIds.isEmpty()
+            ? reportService.getReportRangeForAllUsers(from, toExclusive, granularity)
+            : reportService.getReportRange(from, toExclusive, granularity, userLocalIds);
+
+        writeRangeHeader(locale, writer);
+
+        final NumberFormat numberFormat = numberFormat(locale);
+        for (ReportRangeUser reportRangeUser : reportRange.users()) {
+            for (ReportRangeBucket bucket : reportRangeUser.buckets()) {
+                writer.println(reportRangeBucketToCsvLine(reportRangeUser.user(), bucket, numberFormat));
+            }
+            if (reportRangeUser.buckets().size() > 1) {
+                writer.println(reportRangeBucketToCsvLine(reportRangeUser.user(), reportRangeUser.total(), numberFormat));
+            }
+        }
+
+        writer.flush();
     }
 
     private void writeWeekCsv(ReportWeek reportWeek, Locale locale, PrintWriter writer) {
@@ -84,11 +153,37 @@ class ReportCsvService {
         writer.println(String.format("%s;%s;%s;%s;%s;%s;%s;%s", date, givenName, familyName, start, end, workedHours, comment, isBreak));
     }
 
+    private void writeRangeHeader(Locale locale, PrintWriter writer) {
+        final String givenName = messageSource.getMessage("report.csv.header.person.givenName", new Object[]{}, locale);
+        final String familyName = messageSource.getMessage("report.csv.header.person.familyName", new Object[]{}, locale);
+        final String start = messageSource.getMessage("report.csv.header.start", new Object[]{}, locale);
+        final String end = messageSource.getMessage("report.csv.header.end", new Object[]{}, locale);
+        final String workedHours = messageSource.getMessage("report.csv.header.workedHours", new Object[]{}, locale);
+        final String breakHours = messageSource.getMessage("report.csv.header.breakHours", new Object[]{}, locale);
+        final String plannedHours = messageSource.getMessage("report.csv.header.plannedHours", new Object[]{}, locale);
+        final String shouldHours = messageSource.getMessage("report.csv.header.shouldHours", new Object[]{}, locale);
+        final String deltaHours = messageSource.getMessage("report.csv.header.deltaHours", new Object[]{}, locale);
+
+        writer.println(String.format("%s;%s;%s;%s;%s;%s;%s;%s;%s", givenName, familyName, start, end, workedHours, breakHours, plannedHours, shouldHours, deltaHours));
+    }
+
+    private String reportRangeBucketToCsvLine(User user, ReportRangeBucket bucket, NumberFormat numberFormat) {
+        final String start = dateFormatter.formatDate(bucket.from());
+        final String end = dateFormatter.formatDate(bucket.toExclusive().minusDays(1));
+        final double worked = bucket.workDuration().hoursDoubleValue();
+        final double should = bucket.shouldWorkingHours().hoursDoubleValue();
+        final String workedHours = numberFormat.format(worked);
+        final String breakHours = numberFormat.format(bucket.breakDuration().hoursDoubleValue());
+        final String plannedHours = numberFormat.format(bucket.plannedWorkingHours().hoursDoubleValue());
+        final String shouldHours = numberFormat.format(should);
+        final String deltaHours = numberFormat.format(worked - should);
+
+        return String.format("%s;%s;%s;%s;%s;%s;%s;%s;%s", user.givenName(), user.familyName(), start, end, workedHours, breakHours, plannedHours, shouldHours, deltaHours);
+    }
+
     private void writeWeek(ReportWeek reportWeek, Locale locale, PrintWriter writer) {
 
-        final NumberFormat numberFormat = NumberFormat.getInstance(locale);
-        numberFormat.setMaximumFractionDigits(FRACTION_DIGITS);
-        numberFormat.setMinimumFractionDigits(FRACTION_DIGITS);
+        final NumberFormat numberFormat = numberFormat(locale);
 
         reportWeek.reportDays()
             .stream()
@@ -110,4 +205,52 @@ class ReportCsvService {
 
         return String.format("%s;%s;%s;%s;%s;%s;%s;%s", date, givenName, familyName, start, end, hoursWorked, comment, isBreak);
     }
+
+    private static NumberFormat numberFormat(Locale locale) {
+        final NumberFormat numberFormat = NumberFormat.getInstance(locale);
+        numberFormat.setMaximumFractionDigits(FRACTION_DIGITS);
+        numberFormat.setMinimumFractionDigits(FRACTION_DIGITS);
+        return numberFormat;
+    }
+
+    /**
+     * Writes every consumed {@link TimeEntry} as csv line and flushes the writer every {@link #FLUSH_CHUNK_SIZE} lines.
+     * Entries not starting in the given month are skipped, like the days of adjacent months in the {@link ReportMonth} view.
+     */
+    private class ChunkedCsvLineWriter implements Consumer<TimeEntry> {
+
+        private final YearMonth yearMonth;
+        private final Map<UserLocalId, User> userByLocalId;
+        private final NumberFormat numberFormat;
+        private final PrintWriter writer;
+        private int linesSinceFlush = 0;
+
+        ChunkedCsvLineWriter(YearMonth yearMonth, Map<UserLocalId, User> userByLocalId, NumberFormat numberFormat, PrintWriter writer) {
+            this.yearMonth = yearMonth;
+            this.userByLocalId = userByLocalId;
+            this.numberFormat = numberFormat;
+            this.writer = writer;
+        }
+
+        @Override
+        public void accept(TimeEntry timeEntry) {
+
+            if (!YearMonth.from(timeEntry.start()).equals(yearMonth)) {
+                return;
+            }
+
+            final User user = userByLocalId.get(timeEntry.userIdComposite().localId());
+            if (user == null) {
+                return;
+            }
+
+            final ReportDayEntry reportDayEntry = new ReportDayEntry(user, timeEntry.comment(), timeEntry.start(), timeEntry.end(), timeEntry.isBreak());
+            writer.println(reportDayEntryToCsvLine(reportDayEntry, numberFormat));
+
+            if (++linesSinceFlush >= FLUSH_CHUNK_SIZE) {
+                writer.flush();
+                linesSinceFlush = 0;
+            }
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Report of an arbitrary interval, e.g. a quarter or the current year, aggregated per user into buckets
+ * of the given granularity. In contrast to {@link ReportMonth} it does not contain single time entries.
+ *
+ * @param from first date
+ * @param toExclusive last date (exclusive)
+ * @param granularity size of the buckets
+ * @param users users sorted like they have been requested
+ */
+record ReportRange(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity, List<ReportRangeUser> users) {
+}
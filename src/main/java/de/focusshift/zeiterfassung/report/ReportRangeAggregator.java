@@ -0,0 +1,181 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserDateService;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummary;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Aggregates the {@link DailyWorkSummary daily work summaries} of an arbitrary interval into a {@link ReportRange}.
+ *
+ * <p>
+ * The summaries are consumed one by one, ordered by user and date, and added to plain sums per user and bucket.
+ * Neither time entries nor objects per day are kept, so memory consumption only depends on the number of users
+ * and buckets.
+ */
+@Component
+class ReportRangeAggregator {
+
+    private final DailyWorkSummaryService dailyWorkSummaryService;
+    private final UserManagementService userManagementService;
+    private final UserDateService userDateService;
+
+    ReportRangeAggregator(DailyWorkSummaryService dailyWorkSummaryService, UserManagementService userManagementService,
+                          UserDateService userDateService) {
+        this.dailyWorkSummaryService = dailyWorkSummaryService;
+        this.userManagementService = userManagementService;
+        this.userDateService = userDateService;
+    }
+
+    ReportRange aggregate(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity, List<UserLocalId> userLocalIds) {
+        final Buckets buckets = buckets(from, toExclusive, granularity);
+        final Sums sums = new Sums(userManagementService.findAllUsersByLocalIds(userLocalIds), buckets);
+        dailyWorkSummaryService.streamDailyWorkSummaries(from, toExclusive, userLocalIds, sums);
+        return sums.toReportRange(from, toExclusive, granularity);
+    }
+
+    ReportRange aggregateForAllUsers(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity) {
+        final Buckets buckets = buckets(from, toExclusive, granularity);
+        final Sums sums = new Sums(userManagementService.findAllUsers(), buckets);
+        dailyWorkSummaryService.streamDailyWorkSummariesForAllUsers(from, toExclusive, sums);
+        return sums.toReportRange(from, toExclusive, granularity);
+    }
+
+    private Buckets buckets(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity) {
+
+        if (!from.isBefore(toExclusive)) {
+            throw new IllegalArgumentException("from=%s must be before toExclusive=%s".formatted(from, toExclusive));
+        }
+
+        final int days = Math.toIntExact(toExclusive.toEpochDay() - from.toEpochDay());
+        final int[] bucketOfDay = new int[days];
+        final List<LocalDate> starts = new ArrayList<>();
+
+        LocalDate previousKey = null;
+        LocalDate date = from;
+        for (int day = 0; day < days; day++, date = date.plusDays(1)) {
+            final LocalDate key = switch (granularity) {
+                case DAY -> date;
+                case WEEK -> userDateService.localDateToFirstDateOfWeek(date);
+                case MONTH -> date.withDayOfMonth(1);
+            };
+            if (!key.equals(previousKey)) {
+                starts.add(date);
+                previousKey = key;
+            }
+            bucketOfDay[day] = starts.size() - 1;
+        }
+
+        return new Buckets(from.toEpochDay(), bucketOfDay, starts, toExclusive);
+    }
+
+    /**
+     * @param fromEpochDay epoch day of the first date of the range
+     * @param bucketOfDay index of the bucket of every day of the range
+     * @param starts first date of every bucket
+     * @param toExclusive last date (exclusive) of the range
+     */
+    private record Buckets(long fromEpochDay, int[] bucketOfDay, List<LocalDate> starts, LocalDate toExclusive) {
+
+        int size() {
+            return starts.size();
+        }
+
+        LocalDate to(int bucket) {
+            return bucket + 1 < starts.size() ? starts.get(bucket + 1) : toExclusive;
+        }
+    }
+
+    /**
+     * Seconds per user and bucket, stored in flat arrays indexed by {@code userIndex * buckets + bucket}.
+     */
+    private static final class Sums implements Consumer<DailyWorkSummary> {
+
+        private final List<User> users;
+        private final Buckets buckets;
+        private final Map<UserIdComposite, Integer> indexByUser;
+        private final long[] workedSeconds;
+        private final long[] breakSeconds;
+        private final long[] plannedSeconds;
+        private final long[] shouldSeconds;
+
+        // summaries are ordered by user, the index lookup is only necessary when the user changes
+        private UserIdComposite currentUser;
+        private int currentOffset = -1;
+
+        Sums(List<User> users, Buckets buckets) {
+            this.users = users;
+            this.buckets = buckets;
+            this.indexByUser = new HashMap<>(users.size() * 2);
+            for (int index = 0; index < users.size(); index++) {
+                indexByUser.put(users.get(index).userIdComposite(), index);
+            }
+
+            final int size = users.size() * buckets.size();
+            this.workedSeconds = new long[size];
+            this.breakSeconds = new long[size];
+            this.plannedSeconds = new long[size];
+            this.shouldSeconds = new long[size];
+        }
+
+        @Override
+        public void accept(DailyWorkSummary summary) {
+
+            if (!summary.userIdComposite().equals(currentUser)) {
+                currentUser = summary.userIdComposite();
+                final Integer index = indexByUser.get(currentUser);
+                currentOffset = index == null ? -1 : index * buckets.size();
+            }
+
+            final long day = summary.date().toEpochDay() - buckets.fromEpochDay();
+            if (currentOffset < 0 || day < 0 || day >= buckets.bucketOfDay().length) {
+                return;
+            }
+
+            final int slot = currentOffset + buckets.bucketOfDay()[(int) day];
+            workedSeconds[slot] += summary.workDuration().duration().toSeconds();
+            breakSeconds[slot] += summary.breakDuration().duration().toSeconds();
+            plannedSeconds[slot] += summary.plannedWorkingHours().duration().toSeconds();
+            shouldSeconds[slot] += summary.shouldWorkingHours().duration().toSeconds();
+        }
+
+        ReportRange toReportRange(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity) {
+
+            final List<ReportRangeUser> rangeUsers = new ArrayList<>(users.size());
+
+            for (int index = 0; index < users.size(); index++) {
+                final List<ReportRangeBucket> userBuckets = new ArrayList<>(buckets.size());
+                for (int bucket = 0; bucket < buckets.size(); bucket++) {
+                    final int slot = index * buckets.size() + bucket;
+                    userBuckets.add(new ReportRangeBucket(
+                        buckets.starts().get(bucket),
+                        buckets.to(bucket),
+                        new WorkDuration(Duration.ofSeconds(workedSeconds[slot])),
+                        new BreakDuration(Duration.ofSeconds(breakSeconds[slot])),
+                        new PlannedWorkingHours(Duration.ofSeconds(plannedSeconds[slot])),
+                        new ShouldWorkingHours(Duration.ofSeconds(shouldSeconds[slot]))
+                    ));
+                }
+                rangeUsers.add(new ReportRangeUser(users.get(index), userBuckets));
+            }
+
+            return new ReportRange(from, toExclusive, granularity, rangeUsers);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.HasWorkedHoursRatio;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Sums of a user within one day, week or month of a {@link ReportRange}.
+ * Weeks and months at the borders of the range are cut to the range.
+ *
+ * @param from first date
+ * @param toExclusive last date (exclusive)
+ * @param workDuration sum of worked time
+ * @param breakDuration sum of break time
+ * @param plannedWorkingHours sum of planned working hours
+ * @param shouldWorkingHours sum of planned working hours reduced by absences
+ */
+record ReportRangeBucket(
+    LocalDate from,
+    LocalDate toExclusive,
+    WorkDuration workDuration,
+    BreakDuration breakDuration,
+    PlannedWorkingHours plannedWorkingHours,
+    ShouldWorkingHours shouldWorkingHours
+) implements HasWorkedHoursRatio {
+
+    /**
+     * @return worked time minus should working hours, negative when less time has been worked than planned
+     */
+    Duration deltaDuration() {
+        return workDuration.duration().minus(shouldWorkingHours.duration());
+    }
+}
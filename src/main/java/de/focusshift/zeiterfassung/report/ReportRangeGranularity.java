@@ -0,0 +1,10 @@
+package de.focusshift.zeiterfassung.report;
+
+/**
+ * Size of the buckets a {@link ReportRange} is aggregated into.
+ */
+enum ReportRangeGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+}
@@ -0,0 +1,39 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+
+import java.util.List;
+
+/**
+ * Buckets of one user of a {@link ReportRange}.
+ *
+ * @param user user
+ * @param buckets buckets sorted by date, gapless from the first to the last date of the range, never empty
+ */
+record ReportRangeUser(User user, List<ReportRangeBucket> buckets) {
+
+    /**
+     * @return sums of all buckets
+     */
+    ReportRangeBucket total() {
+
+        WorkDuration workDuration = WorkDuration.ZERO;
+        BreakDuration breakDuration = BreakDuration.ZERO;
+        PlannedWorkingHours plannedWorkingHours = PlannedWorkingHours.ZERO;
+        ShouldWorkingHours shouldWorkingHours = ShouldWorkingHours.ZERO;
+
+        for (ReportRangeBucket bucket : buckets) {
+            workDuration = workDuration.plus(bucket.workDuration());
+            breakDuration = breakDuration.plus(bucket.breakDuration());
+            plannedWorkingHours = plannedWorkingHours.plus(bucket.plannedWorkingHours());
+            shouldWorkingHours = shouldWorkingHours.plus(bucket.shouldWorkingHours());
+        }
+
+        return new ReportRangeBucket(buckets.getFirst().from(), buckets.getLast().toExclusive(),
+            workDuration, breakDuration, plannedWorkingHours, shouldWorkingHours);
+    }
+}
@@ -3,6 +3,7 @@ package de.focusshift.zeiterfassung.report;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 
+import java.time.LocalDate;
 import java.time.Year;
 import java.time.YearMonth;
 import java.util.List;
@@ -24,4 +25,8 @@ interface ReportService {
     ReportMonth getReportMonth(YearMonth yearMonth, List<UserLocalId> userLocalIds);
 
     ReportMonth getReportMonthForAllUsers(YearMonth yearMonth);
+
+    ReportRange getReportRange(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity, List<UserLocalId> userLocalIds);
+
+    ReportRange getReportRangeForAllUsers(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity);
 }
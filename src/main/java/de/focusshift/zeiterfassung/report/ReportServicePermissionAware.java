@@ -4,6 +4,7 @@ import de.focusshift.zeiterfassung.user.UserDateService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Year;
@@ -20,15 +21,19 @@ class ReportServicePermissionAware implements ReportService {
 
     private final ReportPermissionService reportPermissionService;
     private final ReportServiceRaw reportServiceRaw;
+    private final ReportRangeAggregator reportRangeAggregator;
     private final UserDateService userDateService;
 
-    ReportServicePermissionAware(ReportPermissionService reportPermissionService, ReportServiceRaw reportServiceRaw, UserDateService userDateService) {
+    ReportServicePermissionAware(ReportPermissionService reportPermissionService, ReportServiceRaw reportServiceRaw,
+                                 ReportRangeAggregator reportRangeAggregator, UserDateService userDateService) {
         this.reportPermissionService = reportPermissionService;
         this.reportServiceRaw = reportServiceRaw;
+        this.reportRangeAggregator = reportRangeAggregator;
         this.userDateService = userDateService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReportWeek getReportWeek(Year year, int week, UserId userId) {
 
         // UserId is considered trustworthy since it is created on server side only (without client input, at least for time of writing this...)
@@ -36,6 +41,7 @@ class ReportServicePermissionAware implements ReportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReportWeek getReportWeek(Year year, int week, List<UserLocalId> userLocalIds) {
 
         final List<UserLocalId> permittedUserLocalIds =
@@ -49,6 +55,7 @@ class ReportServicePermissionAware implements ReportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReportWeek getReportWeekForAllUsers(Year year, int week) {
 
         final boolean permittedForAll = reportPermissionService.currentUserHasPermissionForAllUsers();
@@ -63,6 +70,7 @@ class ReportServicePermissionAware implements ReportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReportMonth getReportMonth(YearMonth yearMonth, UserId userId) {
 
         // UserId is considered trustworthy since it is created on server side only (without client input, at least for time of writing this...)
@@ -70,6 +78,7 @@ class ReportServicePermissionAware implements ReportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReportMonth getReportMonth(YearMonth yearMonth, List<UserLocalId> userLocalIds) {
 
         final List<UserLocalId> permittedUserLocalIds =
@@ -83,6 +92,7 @@ class ReportServicePermissionAware implements ReportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReportMonth getReportMonthForAllUsers(YearMonth yearMonth) {
 
         final boolean permittedForAll = reportPermissionService.currentUserHasPermissionForAllUsers();
@@ -96,6 +106,35 @@ class ReportServicePermissionAware implements ReportService {
         return reportMonthForPermittedUserIds(yearMonth, permittedUserLocalIds);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ReportRange getReportRange(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity, List<UserLocalId> userLocalIds) {
+
+        final List<UserLocalId> permittedUserLocalIds =
+            reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userLocalIds);
+
+        if (permittedUserLocalIds.isEmpty()) {
+            return new ReportRange(from, toExclusive, granularity, List.of());
+        }
+
+        return reportRangeAggregator.aggregate(from, toExclusive, granularity, permittedUserLocalIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReportRange getReportRangeForAllUsers(LocalDate from, LocalDate toExclusive, ReportRangeGranularity granularity) {
+
+        final boolean permittedForAll = reportPermissionService.currentUserHasPermissionForAllUsers();
+        if (permittedForAll) {
+            return reportRangeAggregator.aggregateForAllUsers(from, toExclusive, granularity);
+        }
+
+        final List<UserLocalId> permittedUserLocalIds =
+            reportPermissionService.findAllPermittedUserLocalIdsForCurrentUser();
+
+        return reportRangeAggregator.aggregate(from, toExclusive, granularity, permittedUserLocalIds);
+    }
+
     private ReportWeek reportWeekForPermittedUserIds(Year year, int week, List<UserLocalId> permittedUserLocalIds) {
         return reportServiceRaw.getReportWeek(year, week, permittedUserLocalIds);
     }
@@ -29,7 +29,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -127,24 +126,28 @@ class ReportServiceRaw {
 
         final Map<UserId, User> userById = userByIdFor(timeEntries, absenceEntries);
 
-        final Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars = workingTimeCalendarProvider.apply(period);
-        final Function<LocalDate, Map<UserIdComposite, PlannedWorkingHours>> plannedWorkingTimeByDate = plannedWorkingTimeForDate(workingTimeCalendars, absenceEntries);
+        final ReportAbsenceIndex absenceIndex = ReportAbsenceIndex.of(period.from(), period.toExclusive(), absenceEntries);
 
+        final Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars = workingTimeCalendarProvider.apply(period);
+        final Function<LocalDate, Map<UserIdComposite, PlannedWorkingHours>> plannedWorkingTimeByDate = plannedWorkingTimeForDate(workingTimeCalendars, absenceIndex);
 
-        return reportWeek(firstDateOfWeek, timeEntries, userById, plannedWorkingTimeByDate, absenceEntries);
+        return reportWeek(firstDateOfWeek, timeEntries, userById, plannedWorkingTimeByDate, absenceEntries.keySet(), absenceIndex);
     }
 
-    private Function<LocalDate, Map<UserIdComposite, List<ReportDayAbsence>>> getLocalDateMapFunction(Map<UserIdComposite, List<Absence>> absenceEntries, Map<UserId, User> userById) {
-        return date -> absenceEntries.entrySet().stream()
-            .collect(
-                toMap(
-                    Map.Entry::getKey,
-                    entry -> entry.getValue()
-                        .stream()
-                        .filter(isInAbsencePeriod(date))
-                        .map(absence -> new ReportDayAbsence(userById.get(absence.userId()), absence))
-                        .toList())
-            );
+    private Function<LocalDate, Map<UserIdComposite, List<ReportDayAbsence>>> getLocalDateMapFunction(Collection<UserIdComposite> absenceUsers,
+                                                                                                   ReportAbsenceIndex absenceIndex,
+                                                                                                   Map<UserId, User> userById) {
+        return date -> {
+            final Map<UserIdComposite, List<ReportDayAbsence>> absencesByUser = new HashMap<>();
+            for (UserIdComposite userIdComposite : absenceUsers) {
+                final List<ReportDayAbsence> reportDayAbsences = absenceIndex.absencesAt(userIdComposite, date)
+                    .stream()
+                    .map(absence -> new ReportDayAbsence(userById.get(absence.userId()), absence))
+                    .toList();
+                absencesByUser.put(userIdComposite, reportDayAbsences);
+            }
+            return absencesByUser;
+        };
     }
 
     private ReportMonth createReportMonth(YearMonth yearMonth,
@@ -161,10 +164,17 @@ class ReportServiceRaw {
 
         final Map<UserId, User> userById = userByIdFor(timeEntries, absenceEntries);
 
+        final List<LocalDate> startOfWeekDates = getStartOfWeekDatesForMonth(yearMonth);
+
+        // weeks of the month may start in the previous and end in the next month
+        final LocalDate indexFrom = startOfWeekDates.getFirst();
+        final LocalDate indexToExclusive = startOfWeekDates.getLast().plusWeeks(1);
+        final ReportAbsenceIndex absenceIndex = ReportAbsenceIndex.of(indexFrom, indexToExclusive, absenceEntries);
+
         final Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars = workingTimeCalendarProvider.apply(period);
-        final Function<LocalDate, Map<UserIdComposite, PlannedWorkingHours>> plannedWorkingTimeForDate = plannedWorkingTimeForDate(workingTimeCalendars, absenceEntries);
+        final Function<LocalDate, Map<UserIdComposite, PlannedWorkingHours>> plannedWorkingTimeForDate = plannedWorkingTimeForDate(workingTimeCalendars, absenceIndex);
 
-        final List<ReportWeek> weeks = getStartOfWeekDatesForMonth(yearMonth)
+        final List<ReportWeek> weeks = startOfWeekDates
             .stream()
             .map(startOfWeekDate ->
                 reportWeek(
@@ -172,7 +182,8 @@ class ReportServiceRaw {
                     timeEntries,
                     userById,
                     plannedWorkingTimeForDate,
-                    absenceEntries
+                    absenceEntries.keySet(),
+                    absenceIndex
                 )
             )
             .toList();
@@ -181,7 +192,7 @@ class ReportServiceRaw {
     }
 
     private Function<LocalDate, Map<UserIdComposite, PlannedWorkingHours>> plannedWorkingTimeForDate(
-        Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars, Map<UserIdComposite, List<Absence>> absenceEntries) {
+        Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars, ReportAbsenceIndex absenceIndex) {
 
         return date ->
             workingTimeCalendars.entrySet()
@@ -194,30 +205,17 @@ class ReportServiceRaw {
                             final PlannedWorkingHours plannedWorkingHours = entry.getValue().plannedWorkingHours(date)
                                 .orElse(PlannedWorkingHours.ZERO);
 
-                            if (absenceEntries != null) {
-
-                                final List<Absence> absences = absenceEntries.get(entry.getKey());
-                                if (absences != null) {
-                                    final List<Absence> absencesAtDate = absences.stream()
-                                        .filter(isInAbsencePeriod(date))
-                                        .toList();
-                                    if (!absencesAtDate.isEmpty()) {
-                                        return calculatePlannedWorkingHoursWithAbsences(plannedWorkingHours, absencesAtDate);
-                                    }
-                                }
-
+                            final List<Absence> absencesAtDate = absenceIndex.absencesAt(entry.getKey(), date);
+                            if (!absencesAtDate.isEmpty()) {
+                                return calculatePlannedWorkingHoursWithAbsences(plannedWorkingHours, absencesAtDate);
                             }
+
                             return plannedWorkingHours;
                         }
                     )
                 );
     }
 
-    private Predicate<Absence> isInAbsencePeriod(LocalDate date) {
-        return absence -> (absence.startDate().toLocalDate().isBefore(date) || absence.startDate().toLocalDate().equals(date)) &&
-            (absence.endDate().toLocalDate().isAfter(date) || absence.endDate().toLocalDate().equals(date));
-    }
-
     private static PlannedWorkingHours calculatePlannedWorkingHoursWithAbsences(PlannedWorkingHours actuallyPlanned, List<Absence> absences) {
 
         final double absenceDayLengthValue = absences.stream()
@@ -247,7 +245,8 @@ class ReportServiceRaw {
                                   final Map<UserIdComposite, List<TimeEntry>> timeEntriesByUserLocalId,
                                   final Map<UserId, User> userById,
                                   final Function<LocalDate, Map<UserIdComposite, PlannedWorkingHours>> plannedWorkingHoursProvider,
-                                  final Map<UserIdComposite, List<Absence>> absenceEntries) {
+                                  final Collection<UserIdComposite> absenceUsers,
+                                  final ReportAbsenceIndex absenceIndex) {
 
         final Map<LocalDate, Map<UserIdComposite, List<ReportDayEntry>>> reportEntriesByDate = new HashMap<>();
         for (Map.Entry<UserIdComposite, List<TimeEntry>> entry : timeEntriesByUserLocalId.entrySet()) {
@@ -274,7 +273,7 @@ class ReportServiceRaw {
             (LocalDate date) -> reportEntriesByDate.getOrDefault(date, Map.of());
 
         final Function<LocalDate, Map<UserIdComposite, List<ReportDayAbsence>>> absencesProvider =
-            getLocalDateMapFunction(absenceEntries, userById);
+            getLocalDateMapFunction(absenceUsers, absenceIndex, userById);
 
         final List<ReportDay> reportDays = IntStream.rangeClosed(0, 6)
             .mapToObj(daysToAdd ->
@@ -1,5 +1,11 @@
 package de.focusshift.zeiterfassung.security;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
@@ -9,21 +15,70 @@ import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.MapSession;
 import org.springframework.session.Session;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-import static java.util.stream.Collectors.toMap;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
 
-class IndexNameMapSessionRepository implements FindByIndexNameSessionRepository<Session> {
+/**
+ * In memory {@link FindByIndexNameSessionRepository} which indexes sessions by the configured attribute names.
+ *
+ * <p>
+ * The index maps the value of an indexed attribute to the ids of the sessions having this value,
+ * so looking up sessions by index value does not depend on the number of active sessions.
+ * Attributes which are not indexed, like the security context, are not held twice.
+ *
+ * <p>
+ * Expired sessions are removed periodically and on access. The number of sessions is bounded,
+ * the least recently accessed sessions are evicted when the limit is exceeded.
+ */
+class IndexNameMapSessionRepository implements FindByIndexNameSessionRepository<Session>, MeterBinder {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final int RETAINED_BYTES_SAMPLE_SIZE = 64;
+
+    private final Set<String> indexedAttributeNames;
+    private final int maxSessions;
+    private final Clock clock;
 
     // <SessionId, Session>
     private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
-    // <AttributeName, <SessionId, AttributeValue>>
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> indexMap = new ConcurrentHashMap<>();
+    // <AttributeName, <AttributeValue, SessionIds>>
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Set<String>>> indexMap = new ConcurrentHashMap<>();
+    // <SessionId, <AttributeName, AttributeValue>> values currently referenced by the index, used to clean up the index
+    private final ConcurrentHashMap<String, Map<String, String>> indexedValuesBySessionId = new ConcurrentHashMap<>();
+
+    private final AtomicLong expiredSessions = new AtomicLong();
+    private final AtomicLong evictedSessions = new AtomicLong();
+    private final AtomicLong approximateRetainedBytes = new AtomicLong();
+
+    IndexNameMapSessionRepository(Set<String> indexedAttributeNames, int maxSessions, Clock clock) {
+        this.indexedAttributeNames = Set.copyOf(indexedAttributeNames);
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+    }
 
     @Override
     public Session findById(String id) {
-        return sessions.get(id);
+        final Session session = sessions.get(id);
+        if (session != null && isExpired(session, clock.instant())) {
+            expire(id);
+            return null;
+        }
+        return session;
     }
 
     @Override
@@ -42,33 +97,232 @@ class IndexNameMapSessionRepository implements FindByIndexNameSessionRepository<
         }
 
         sessions.put(session.getId(), session);
-        for (final String attributeName : session.getAttributeNames()) {
-            indexMap.computeIfAbsent(attributeName, k -> new ConcurrentHashMap<>())
-                .put(session.getId(), session.getAttribute(attributeName).toString());
+        updateIndex(session.getId(), indexedValues(session));
+
+        if (sessions.size() > maxSessions) {
+            evictLeastRecentlyAccessedSessions();
         }
     }
 
     @Override
     public void deleteById(final String id) {
-        final Session session = sessions.remove(id);
-        if (session != null) {
-            for (final String attributeName : session.getAttributeNames()) {
-                final ConcurrentHashMap<String, String> index = indexMap.get(attributeName);
-                if (index != null) {
-                    index.remove(id);
-                }
+        remove(id);
+    }
+
+    @Override
+    public Map<String, Session> findByIndexNameAndIndexValue(final String indexName, final String indexValue) {
+        final ConcurrentHashMap<String, Set<String>> index = indexMap.get(indexName);
+        if (index == null) {
+            return Map.of();
+        }
+
+        final Set<String> sessionIds = index.get(indexValue);
+        if (sessionIds == null) {
+            return Map.of();
+        }
+
+        final Map<String, Session> sessionsById = new HashMap<>();
+        for (String sessionId : sessionIds) {
+            final Session session = sessions.get(sessionId);
+            if (session != null) {
+                sessionsById.put(sessionId, session);
             }
         }
+        return sessionsById;
+    }
+
+    /**
+     * Removes all expired sessions and updates the approximate memory used by the remaining sessions. The delay between
+     * two runs is read from the bound {@link SessionConfigurationProperties#getExpirySweepInterval()}.
+     */
+    @Scheduled(fixedDelayString = "#{@'zeiterfassung.security.session-de.focusshift.zeiterfassung.security.SessionConfigurationProperties'.expirySweepInterval.toString()}")
+    void removeExpiredSessions() {
+
+        final Instant now = clock.instant();
+
+        int removed = 0;
+        for (Session session : sessions.values()) {
+            if (isExpired(session, now) && expire(session.getId())) {
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            LOG.debug("removed {} expired sessions", removed);
+        }
+
+        approximateRetainedBytes.set(estimateRetainedBytes());
     }
 
     @Override
-    public Map<String, Session> findByIndexNameAndIndexValue(final String indexName, final String indexValue) {
-        final ConcurrentHashMap<String, String> index = indexMap.get(indexName);
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("zeiterfassung.sessions", sessions, Map::size)
+            .description("sessions held in memory")
+            .register(registry);
+        Gauge.builder("zeiterfassung.sessions.retained", approximateRetainedBytes, AtomicLong::get)
+            .description("approximate memory retained by sessions, extrapolated from serialized samples")
+            .baseUnit("bytes")
+            .register(registry);
+        FunctionCounter.builder("zeiterfassung.sessions.removed", expiredSessions, AtomicLong::get)
+            .description("sessions removed from memory")
+            .tag("reason", "expired")
+            .register(registry);
+        FunctionCounter.builder("zeiterfassung.sessions.removed", evictedSessions, AtomicLong::get)
+            .description("sessions removed from memory")
+            .tag("reason", "evicted")
+            .register(registry);
+    }
+
+    private synchronized void evictLeastRecentlyAccessedSessions() {
+
+        final int overflow = sessions.size() - maxSessions;
+        if (overflow <= 0) {
+            return;
+        }
+
+        // evict a few more sessions than necessary to not scan all sessions again on the next save
+        final int toEvict = overflow + maxSessions / 100;
+
+        // max-heap of the `toEvict` least recently accessed sessions
+        final PriorityQueue<Session> leastRecentlyAccessed =
+            new PriorityQueue<>(toEvict, Comparator.comparing(Session::getLastAccessedTime).reversed());
+
+        for (Session session : sessions.values()) {
+            leastRecentlyAccessed.offer(session);
+            if (leastRecentlyAccessed.size() > toEvict) {
+                leastRecentlyAccessed.poll();
+            }
+        }
+
+        for (Session session : leastRecentlyAccessed) {
+            if (remove(session.getId())) {
+                evictedSessions.incrementAndGet();
+            }
+        }
+
+        LOG.info("evicted {} least recently accessed sessions, limit of {} sessions exceeded", leastRecentlyAccessed.size(), maxSessions);
+    }
+
+    private boolean expire(String id) {
+        final boolean removed = remove(id);
+        if (removed) {
+            expiredSessions.incrementAndGet();
+        }
+        return removed;
+    }
+
+    private boolean remove(String id) {
+        final Session session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        updateIndex(id, Map.of());
+        return true;
+    }
+
+    private static boolean isExpired(Session session, Instant now) {
+        final Duration maxInactiveInterval = session.getMaxInactiveInterval();
+        if (maxInactiveInterval.isNegative()) {
+            return false;
+        }
+        return !now.minus(maxInactiveInterval).isBefore(session.getLastAccessedTime());
+    }
+
+    private long estimateRetainedBytes() {
+
+        final int sessionCount = sessions.size();
+        if (sessionCount == 0) {
+            return 0;
+        }
+
+        long sampledBytes = 0;
+        int sampled = 0;
+        for (Session session : sessions.values()) {
+            if (sampled == RETAINED_BYTES_SAMPLE_SIZE) {
+                break;
+            }
+            sampledBytes += serializedSize(session);
+            sampled++;
+        }
+
+        return sampledBytes / sampled * sessionCount;
+    }
+
+    private static long serializedSize(Session session) {
+        final CountingOutputStream counter = new CountingOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(session);
+        } catch (IOException e) {
+            LOG.debug("could not serialize session to estimate its size", e);
+        }
+        return counter.count;
+    }
+
+    private Map<String, String> indexedValues(Session session) {
+        final Map<String, String> values = new HashMap<>();
+        for (String attributeName : indexedAttributeNames) {
+            final Object value = session.getAttribute(attributeName);
+            if (value != null) {
+                values.put(attributeName, value.toString());
+            }
+        }
+        return values;
+    }
+
+    private void updateIndex(String sessionId, Map<String, String> nextValues) {
+        // computing per session id serializes concurrent updates of the same session
+        indexedValuesBySessionId.compute(sessionId, (id, previousValues) -> {
+
+            if (previousValues != null) {
+                previousValues.forEach((attributeName, previousValue) -> {
+                    if (!previousValue.equals(nextValues.get(attributeName))) {
+                        removeFromIndex(attributeName, previousValue, id);
+                    }
+                });
+            }
+
+            nextValues.forEach((attributeName, nextValue) ->
+                indexMap.computeIfAbsent(attributeName, k -> new ConcurrentHashMap<>())
+                    .compute(nextValue, (value, sessionIds) -> {
+                        final Set<String> next = sessionIds == null ? ConcurrentHashMap.newKeySet() : sessionIds;
+                        next.add(id);
+                        return next;
+                    }));
+
+            return nextValues.isEmpty() ? null : nextValues;
+        });
+    }
+
+    private void removeFromIndex(String attributeName, String value, String sessionId) {
+        final ConcurrentHashMap<String, Set<String>> index = indexMap.get(attributeName);
         if (index != null) {
-            return index.entrySet().stream()
-                    .filter(entry -> entry.getValue().equals(indexValue))
-                    .collect(toMap(Map.Entry::getKey, entry -> sessions.get(entry.getKey())));
+            index.computeIfPresent(value, (v, sessionIds) -> {
+                sessionIds.remove(sessionId);
+                return sessionIds.isEmpty() ? null : sessionIds;
+            });
+        }
+    }
+
+    /**
+     * @return number of distinct values of the given indexed attribute, visible for testing
+     */
+    int indexSize(String indexName) {
+        final ConcurrentHashMap<String, Set<String>> index = indexMap.get(indexName);
+        return index == null ? 0 : index.size();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
         }
-        return Map.of();
     }
 }
@@ -1,17 +1,19 @@
 package de.focusshift.zeiterfassung.security;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.session.FindByIndexNameSessionRepository;
-import org.springframework.session.Session;
 import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
 
+import java.time.Clock;
+
 @Configuration
 @EnableSpringHttpSession
+@EnableConfigurationProperties(SessionConfigurationProperties.class)
 class SessionConfiguration {
 
     @Bean
-    FindByIndexNameSessionRepository<Session> sessionRepository() {
-        return new IndexNameMapSessionRepository();
+    IndexNameMapSessionRepository sessionRepository(SessionConfigurationProperties properties, Clock clock) {
+        return new IndexNameMapSessionRepository(properties.getIndexedAttributes(), properties.getMaxSessions(), clock);
     }
 }
@@ -0,0 +1,60 @@
+package de.focusshift.zeiterfassung.security;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.springframework.session.FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.security.session")
+public class SessionConfigurationProperties {
+
+    /**
+     * Maximum number of sessions held in memory. The least recently accessed sessions are evicted first.
+     */
+    @Min(1)
+    private int maxSessions = 10_000;
+
+    /**
+     * Delay between two runs removing expired sessions.
+     */
+    @NotNull
+    private Duration expirySweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Names of the session attributes sessions can be looked up by. The principal name is required to find and
+     * invalidate the sessions of a user.
+     */
+    @NotEmpty
+    private Set<String> indexedAttributes = Set.of(PRINCIPAL_NAME_INDEX_NAME);
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    public Duration getExpirySweepInterval() {
+        return expirySweepInterval;
+    }
+
+    public void setExpirySweepInterval(Duration expirySweepInterval) {
+        this.expirySweepInterval = expirySweepInterval;
+    }
+
+    public Set<String> getIndexedAttributes() {
+        return indexedAttributes;
+    }
+
+    public void setIndexedAttributes(Set<String> indexedAttributes) {
+        this.indexedAttributes = indexedAttributes;
+    }
+}
@@ -1,19 +1,42 @@
 package de.focusshift.zeiterfassung.security.oidc.clientregistration;
 
+import org.slf4j.Logger;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static de.focusshift.zeiterfassung.tenancy.TenantConfigurationProperties.MULTI;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * {@link ClientRegistrationRepository} of the oidc clients of all tenants.
+ *
+ * <p>
+ * Built {@link ClientRegistration}s are kept in memory by tenant id, so logins, token refreshes and logouts
+ * do not query the database. The cache is populated when the application is ready and updated whenever
+ * a client is added or deleted by this repository. Unknown tenants are not cached and looked up again.
+ */
 @Component
 @ConditionalOnProperty(value = "zeiterfassung.tenant.mode", havingValue = MULTI)
 class JdbcClientRegistrationRepository implements ClientRegistrationRepository {
 
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
     private final OidcClientEntityRepository oidcClientEntityRepository;
     private final OidcClientEntityToClientRegistrationConverter converter;
 
+    // <TenantId, ClientRegistration>
+    private final ConcurrentHashMap<String, ClientRegistration> clientRegistrationByTenantId = new ConcurrentHashMap<>();
+    // incremented on every deletion, a client registration loaded meanwhile could already be deleted and is not cached.
+    private final AtomicLong deletions = new AtomicLong();
+
     JdbcClientRegistrationRepository(OidcClientEntityRepository oidcClientEntityRepository,
                                      OidcClientEntityToClientRegistrationConverter oidcClientEntityToClientRegistrationConverter) {
         this.converter = oidcClientEntityToClientRegistrationConverter;
@@ -22,29 +45,81 @@ class JdbcClientRegistrationRepository implements ClientRegistrationRepository {
 
     @Override
     public ClientRegistration findByRegistrationId(String tenantId) {
-        final OidcClientEntity byTenantId = oidcClientEntityRepository.findByTenantId(tenantId);
-        return converter.convert(byTenantId);
+
+        if (tenantId == null) {
+            return null;
+        }
+
+        final ClientRegistration cached = clientRegistrationByTenantId.get(tenantId);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long deletionsBeforeLoading = deletions.get();
+
+        final OidcClientEntity oidcClientEntity = oidcClientEntityRepository.findByTenantId(tenantId);
+        if (oidcClientEntity == null) {
+            return null;
+        }
+
+        final ClientRegistration clientRegistration = converter.convert(oidcClientEntity);
+        clientRegistrationByTenantId.put(tenantId, clientRegistration);
+        if (deletions.get() != deletionsBeforeLoading) {
+            clientRegistrationByTenantId.remove(tenantId, clientRegistration);
+        }
+
+        return clientRegistration;
+    }
+
+    /**
+     * Builds and caches the {@link ClientRegistration}s of all existing oidc clients.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        final long deletionsBeforeLoading = deletions.get();
+        for (OidcClientEntity oidcClientEntity : oidcClientEntityRepository.findAll()) {
+            clientRegistrationByTenantId.putIfAbsent(oidcClientEntity.getTenantId(), converter.convert(oidcClientEntity));
+        }
+        if (deletions.get() != deletionsBeforeLoading) {
+            // cannot tell which client has been deleted meanwhile, load lazily instead
+            clientRegistrationByTenantId.clear();
+        }
+        LOG.info("cached client registrations of {} tenants", clientRegistrationByTenantId.size());
     }
 
     ClientRegistration addNewClient(String tenantId, String clientSecret) {
-        if (!existsClient(tenantId)) {
-            final OidcClientEntity oidcClientEntity = new OidcClientEntity();
-            oidcClientEntity.setTenantId(tenantId);
-            oidcClientEntity.setClientSecret(clientSecret);
-            oidcClientEntityRepository.save(oidcClientEntity);
+
+        final ClientRegistration existing = findByRegistrationId(tenantId);
+        if (existing != null) {
+            return existing;
         }
 
-        return findByRegistrationId(tenantId);
+        final OidcClientEntity oidcClientEntity = new OidcClientEntity();
+        oidcClientEntity.setTenantId(tenantId);
+        oidcClientEntity.setClientSecret(clientSecret);
+
+        final ClientRegistration clientRegistration = converter.convert(oidcClientEntityRepository.save(oidcClientEntity));
+        clientRegistrationByTenantId.put(tenantId, clientRegistration);
+
+        return clientRegistration;
     }
 
     void deleteExistingClient(String tenantId) {
-        if (!existsClient(tenantId)) {
+
+        if (tenantId == null) {
             return;
         }
-        oidcClientEntityRepository.delete(oidcClientEntityRepository.findByTenantId(tenantId));
+
+        final OidcClientEntity oidcClientEntity = oidcClientEntityRepository.findByTenantId(tenantId);
+        if (oidcClientEntity != null) {
+            oidcClientEntityRepository.delete(oidcClientEntity);
+        }
+
+        deletions.incrementAndGet();
+        clientRegistrationByTenantId.remove(tenantId);
     }
 
     boolean existsClient(String tenantId) {
-        return tenantId != null && oidcClientEntityRepository.findByTenantId(tenantId) != null;
+        return findByRegistrationId(tenantId) != null;
     }
 }
@@ -0,0 +1,9 @@
+package de.focusshift.zeiterfassung.settings;
+
+/**
+ * Published whenever the global {@link FederalStateSettings} of a tenant have been changed.
+ *
+ * @param federalStateSettings the persisted settings
+ */
+public record FederalStateSettingsChangedEvent(FederalStateSettings federalStateSettings) {
+}
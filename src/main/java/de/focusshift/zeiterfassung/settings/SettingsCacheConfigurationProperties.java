@@ -0,0 +1,27 @@
+package de.focusshift.zeiterfassung.settings;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.settings.cache")
+public class SettingsCacheConfigurationProperties {
+
+    /**
+     * Duration cached settings of a tenant are used until they are loaded again.
+     * Changes of this application instance evict the settings immediately.
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+}
@@ -0,0 +1,9 @@
+package de.focusshift.zeiterfassung.settings;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SettingsCacheConfigurationProperties.class)
+class SettingsConfiguration {
+}
@@ -1,8 +1,18 @@
 package de.focusshift.zeiterfassung.settings;
 
 import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.util.stream.StreamSupport.stream;
@@ -10,10 +20,30 @@ import static java.util.stream.StreamSupport.stream;
 @Service
 class SettingsService implements FederalStateSettingsService {
 
+    private record CachedFederalStateSettings(FederalStateSettings settings, Instant expiresAt) {
+    }
+
     private final FederalStateSettingsRepository federalStateSettingsRepository;
+    private final TenantContextHolder tenantContextHolder;
+    private final Clock clock;
+    private final Duration timeToLive;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // settings are read for every public holiday calculation. they are changed by this service only, but possibly
+    // on another instance of the application, therefore cached settings expire.
+    private final Map<TenantId, CachedFederalStateSettings> federalStateSettingsByTenantId = new HashMap<>();
 
-    SettingsService(FederalStateSettingsRepository federalStateSettingsRepository) {
+    // incremented on every invalidation, settings loaded meanwhile could already be outdated and are not cached.
+    private long invalidations = 0;
+
+    SettingsService(FederalStateSettingsRepository federalStateSettingsRepository, TenantContextHolder tenantContextHolder,
+                    Clock clock, SettingsCacheConfigurationProperties properties,
+                    ApplicationEventPublisher applicationEventPublisher) {
         this.federalStateSettingsRepository = federalStateSettingsRepository;
+        this.tenantContextHolder = tenantContextHolder;
+        this.clock = clock;
+        this.timeToLive = properties.getTimeToLive();
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     private static FederalStateSettings toFederalStateSettings(FederalStateSettingsEntity federalStateSettingsEntity) {
@@ -25,9 +55,33 @@ class SettingsService implements FederalStateSettingsService {
 
     @Override
     public FederalStateSettings getFederalStateSettings() {
-        return getFederalStateEntity()
-            .map(SettingsService::toFederalStateSettings)
-            .orElse(FederalStateSettings.DEFAULT);
+
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        if (tenantId.isEmpty()) {
+            return loadFederalStateSettings();
+        }
+
+        final Instant now = clock.instant();
+
+        final long invalidationsBeforeLoading;
+        synchronized (federalStateSettingsByTenantId) {
+            final CachedFederalStateSettings cached = federalStateSettingsByTenantId.get(tenantId.get());
+            if (cached != null && cached.expiresAt().isAfter(now)) {
+                return cached.settings();
+            }
+            invalidationsBeforeLoading = invalidations;
+        }
+
+        // loading happens outside the lock to not block lookups of other tenants
+        final FederalStateSettings federalStateSettings = loadFederalStateSettings();
+
+        synchronized (federalStateSettingsByTenantId) {
+            if (invalidations == invalidationsBeforeLoading) {
+                federalStateSettingsByTenantId.put(tenantId.get(), new CachedFederalStateSettings(federalStateSettings, now.plus(timeToLive)));
+            }
+        }
+
+        return federalStateSettings;
     }
 
     FederalStateSettings updateFederalStateSettings(FederalState federalState, boolean worksOnPublicHoliday) {
@@ -37,8 +91,41 @@ class SettingsService implements FederalStateSettingsService {
         entity.setWorksOnPublicHoliday(worksOnPublicHoliday);
 
         final FederalStateSettingsEntity saved = federalStateSettingsRepository.save(entity);
+        evictCurrentTenant();
+
+        final FederalStateSettings federalStateSettings = toFederalStateSettings(saved);
+        // published after the eviction, listeners running after commit must not see the cached old settings
+        applicationEventPublisher.publishEvent(new FederalStateSettingsChangedEvent(federalStateSettings));
+
+        return federalStateSettings;
+    }
+
+    private void evictCurrentTenant() {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> {
+            evict(tenantId);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // the change is not visible to other transactions yet, which could have cached the old settings meanwhile
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evict(tenantId);
+                    }
+                });
+            }
+        });
+    }
 
-        return toFederalStateSettings(saved);
+    private void evict(TenantId tenantId) {
+        synchronized (federalStateSettingsByTenantId) {
+            invalidations++;
+            federalStateSettingsByTenantId.remove(tenantId);
+        }
+    }
+
+    private FederalStateSettings loadFederalStateSettings() {
+        return getFederalStateEntity()
+            .map(SettingsService::toFederalStateSettings)
+            .orElse(FederalStateSettings.DEFAULT);
     }
 
     private Optional<FederalStateSettingsEntity> getFederalStateEntity() {
@@ -0,0 +1,74 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when the current user of the current tenant committed a write last, so that reads of the user can be
+ * served by the primary until the read replica has caught up.
+ *
+ * <p>
+ * Writes without an authenticated user, e.g. of scheduled jobs, are remembered for the tenant as a whole
+ * and count as recent write of every user of the tenant.
+ */
+class RecentWrites {
+
+    // remembered writes are purged once there are more, expired entries are not needed anymore
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final TenantContextHolder tenantContextHolder;
+    private final Duration window;
+    private final Clock clock;
+    private final Map<String, Instant> lastWriteByKey = new ConcurrentHashMap<>();
+
+    RecentWrites(TenantContextHolder tenantContextHolder, Duration window, Clock clock) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.window = window;
+        this.clock = clock;
+    }
+
+    void recordWrite() {
+        if (lastWriteByKey.size() > PURGE_THRESHOLD) {
+            final Instant expired = Instant.now(clock).minus(window);
+            lastWriteByKey.values().removeIf(lastWrite -> lastWrite.isBefore(expired));
+        }
+        lastWriteByKey.put(currentKey(), Instant.now(clock));
+    }
+
+    /**
+     * @return {@code true} when the current user or a write without user committed a write to the current tenant
+     * within the configured window
+     */
+    boolean hasRecentWrite() {
+        final String tenantKey = tenantKey();
+        final String currentKey = currentKey(tenantKey);
+        return isRecent(lastWriteByKey.get(currentKey)) || (!currentKey.equals(tenantKey) && isRecent(lastWriteByKey.get(tenantKey)));
+    }
+
+    private boolean isRecent(Instant lastWrite) {
+        return lastWrite != null && !lastWrite.plus(window).isBefore(Instant.now(clock));
+    }
+
+    private String currentKey() {
+        return currentKey(tenantKey());
+    }
+
+    private static String currentKey(String tenantKey) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final String name = authentication == null ? "" : authentication.getName();
+        return tenantKey + name;
+    }
+
+    // key of writes without an authenticated user
+    private String tenantKey() {
+        return tenantContextHolder.getCurrentTenantId().map(TenantId::tenantId).orElse("") + '/';
+    }
+}
@@ -0,0 +1,26 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Records every committed read-write transaction as write of the current user, see {@link RecentWrites}.
+ */
+class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    private final transient RecentWrites recentWrites;
+
+    ReplicaAwareTransactionManager(EntityManagerFactory entityManagerFactory, RecentWrites recentWrites) {
+        super(entityManagerFactory);
+        this.recentWrites = recentWrites;
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            recentWrites.recordWrite();
+        }
+    }
+}
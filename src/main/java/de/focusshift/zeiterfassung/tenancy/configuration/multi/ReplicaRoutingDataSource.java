@@ -0,0 +1,31 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Serves read-only connections by the read replica, unless the current user committed a write recently which may not
+ * have been replicated yet.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final RecentWrites recentWrites;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, RecentWrites recentWrites) {
+        this.recentWrites = recentWrites;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return recentWrites.hasRecentWrite() ? PRIMARY : REPLICA;
+    }
+}
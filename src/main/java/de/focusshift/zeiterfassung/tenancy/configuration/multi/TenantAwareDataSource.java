@@ -4,53 +4,129 @@ import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
 import javax.sql.DataSource;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
+/**
+ * Sets {@code app.tenant_id} of the current tenant on every connection, which is used by the row level security
+ * policies of the database.
+ *
+ * <p>
+ * By default the parameter is set on checkout and reset on close, two additional round-trips per transaction.
+ * With {@code taggedConnections} the tenant last set on each physical connection is remembered, {@code SET} is only
+ * issued when the tenant differs and there is no reset at all. As every checkout of the pool passes this data source,
+ * a connection never serves a tenant other than the one set last.
+ *
+ * <p>
+ * With a {@link TenantConnectionQuota} a checkout first waits for a free connection slot of the current tenant.
+ */
 class TenantAwareDataSource extends DelegatingDataSource {
 
     private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
     private static final String FALLBACK_TENANT_ID = "DEFAULT";
 
     private final TenantContextHolder tenantContextHolder;
+    private final boolean taggedConnections;
+    @Nullable
+    private final TenantConnectionQuota connectionQuota;
+
+    // <physical connection, tenantId set last>, entries vanish with connections evicted by the pool
+    private final Map<Connection, String> tenantIdByConnection = Collections.synchronizedMap(new WeakHashMap<>());
 
     TenantAwareDataSource(DataSource targetDataSource, TenantContextHolder tenantContextHolder) {
+        this(targetDataSource, tenantContextHolder, false);
+    }
+
+    TenantAwareDataSource(DataSource targetDataSource, TenantContextHolder tenantContextHolder, boolean taggedConnections) {
+        this(targetDataSource, tenantContextHolder, taggedConnections, null);
+    }
+
+    TenantAwareDataSource(DataSource targetDataSource, TenantContextHolder tenantContextHolder, boolean taggedConnections,
+                          @Nullable TenantConnectionQuota connectionQuota) {
         super(targetDataSource);
         this.tenantContextHolder = tenantContextHolder;
+        this.taggedConnections = taggedConnections;
+        this.connectionQuota = connectionQuota;
     }
 
     @NonNull
     @Override
     public Connection getConnection() throws SQLException {
-        final Connection connection = getTargetDataSource().getConnection();
-        setTenantId(connection);
-        return getTenantAwareConnectionProxy(connection);
+        return tenantAwareConnection(DataSource::getConnection);
     }
 
     @NonNull
     @Override
     public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
-        final Connection connection = getTargetDataSource().getConnection(username, password);
-        setTenantId(connection);
-        return getTenantAwareConnectionProxy(connection);
+        return tenantAwareConnection(targetDataSource -> targetDataSource.getConnection(username, password));
     }
 
-    private void setTenantId(Connection connection) throws SQLException {
+    @FunctionalInterface
+    private interface Checkout {
+        Connection from(DataSource targetDataSource) throws SQLException;
+    }
+
+    private Connection tenantAwareConnection(Checkout checkout) throws SQLException {
+
+        final String tenantId = resolveTenantId();
+        final TenantConnectionQuota.Permit permit = connectionQuota == null
+            ? TenantConnectionQuota.Permit.NONE
+            : connectionQuota.acquire(tenantId);
+
+        final Connection connection;
+        try {
+            connection = checkout.from(obtainTargetDataSource());
+        } catch (SQLException | RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+
+        try {
+            return tenantAware(connection, tenantId, permit);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.close();
+            } finally {
+                permit.release();
+            }
+            throw e;
+        }
+    }
+
+    private Connection tenantAware(Connection connection, String tenantId, TenantConnectionQuota.Permit permit) throws SQLException {
+
+        if (!taggedConnections) {
+            setTenantId(connection, tenantId);
+            return new TenantAwareConnection(connection, TenantAwareDataSource::clearTenantId, permit);
+        }
+
+        final Connection physicalConnection = connection.unwrap(Connection.class);
+        if (!tenantId.equals(tenantIdByConnection.get(physicalConnection))) {
+            setTenantId(connection, tenantId);
+            // SET within a transaction is undone by a rollback, only remember it when committed right away
+            if (connection.getAutoCommit()) {
+                tenantIdByConnection.put(physicalConnection, tenantId);
+            } else {
+                tenantIdByConnection.remove(physicalConnection);
+            }
+        }
+        return new TenantAwareConnection(connection, TenantAwareConnection.CloseHandler.NONE, permit);
+    }
+
+    private static void setTenantId(Connection connection, String tenantId) throws SQLException {
         try (final Statement sql = connection.createStatement()) {
-            final String tenantId = resolveTenantId();
             if (LOG.isDebugEnabled()) {
                 LOG.debug("setting parameter app.tenant_id={}", tenantId);
             }
@@ -58,6 +134,15 @@ class TenantAwareDataSource extends DelegatingDataSource {
         }
     }
 
+    private static void clearTenantId(Connection connection) throws SQLException {
+        try (final PreparedStatement sql = connection.prepareStatement("RESET app.tenant_id")) {
+            sql.execute();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("parameter app.tenant_id has been reset");
+        }
+    }
+
     private String resolveTenantId() {
         return tenantContextHolder.getCurrentTenantId().map(TenantId::tenantId)
             .orElseGet(() -> {
@@ -65,56 +150,4 @@ class TenantAwareDataSource extends DelegatingDataSource {
                 return FALLBACK_TENANT_ID;
             });
     }
-
-    // Connection Proxy that intercepts close() to reset the tenant_id
-    protected Connection getTenantAwareConnectionProxy(Connection connection) {
-        return (Connection) Proxy.newProxyInstance(
-            ConnectionProxy.class.getClassLoader(),
-            new Class[]{ConnectionProxy.class},
-            new TenantAwareInvocationHandler(connection));
-    }
-
-    private record TenantAwareInvocationHandler(Connection target) implements InvocationHandler {
-
-        @Nullable
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            switch (method.getName()) {
-                case "equals":
-                    return proxy == args[0];
-                case "hashCode":
-                    return System.identityHashCode(proxy);
-                case "toString":
-                    return "Tenant-aware proxy for target Connection [" + this.target.toString() + "]";
-                case "unwrap":
-                    if (((Class) args[0]).isInstance(proxy)) {
-                        return proxy;
-                    } else {
-                        return method.invoke(target, args);
-                    }
-                case "isWrapperFor":
-                    if (((Class) args[0]).isInstance(proxy)) {
-                        return true;
-                    } else {
-                        return method.invoke(target, args);
-                    }
-                case "getTargetConnection":
-                    return target;
-                default:
-                    if (method.getName().equals("close")) {
-                        // this is the main purpose of this invocation handler!
-                        clearTenantId(target);
-                    }
-                    return method.invoke(target, args);
-            }
-        }
-
-        private void clearTenantId(Connection connection) throws SQLException {
-            try (final PreparedStatement sql = connection.prepareStatement("RESET app.tenant_id")) {
-                sql.execute();
-            }
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("parameter app.tenant_id has been reset");
-            }
-        }
-    }
 }
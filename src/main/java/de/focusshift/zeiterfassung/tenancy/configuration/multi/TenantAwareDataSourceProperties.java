@@ -0,0 +1,53 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @param taggedConnections       whether {@code app.tenant_id} is only set when the tenant of a pooled connection changes
+ *                                instead of setting and resetting it for every checkout
+ * @param partitioned             whether a single tenant may only hold {@code maxConnectionsPerTenant} connections of
+ *                                the shared pool at once
+ * @param maxConnectionsPerTenant threads of a tenant which may hold connections at once in partitioned mode, nested
+ *                                transactions of a thread share its slot. Should be less than half of the maximum pool
+ *                                size, as a thread may hold two connections.
+ * @param acquireTimeout          time a checkout waits for a free connection slot of its tenant in partitioned mode
+ * @param replica                 read replica for read-only transactions
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.tenant.datasource")
+public record TenantAwareDataSourceProperties(
+    @DefaultValue("false") boolean taggedConnections,
+    @DefaultValue("false") boolean partitioned,
+    @DefaultValue("4") @Min(1) int maxConnectionsPerTenant,
+    @DefaultValue("30s") Duration acquireTimeout,
+    @DefaultValue @Valid Replica replica
+) {
+
+    /**
+     * @param url                  jdbc url of the read replica, read-only transactions run on the primary without it
+     * @param username             username of the read replica, the same as of the primary if not set
+     * @param password             password of the read replica, the same as of the primary if not set
+     * @param maximumPoolSize      maximum number of pooled connections to the read replica
+     * @param readYourWritesWindow read-only transactions of a user run on the primary for this time after the user
+     *                             committed a write, to not show stale data due to the replication lag
+     */
+    public record Replica(
+        @Nullable String url,
+        @Nullable String username,
+        @Nullable String password,
+        @DefaultValue("10") @Min(1) int maximumPoolSize,
+        @DefaultValue("5s") Duration readYourWritesWindow
+    ) {
+
+        boolean enabled() {
+            return url != null && !url.isBlank();
+        }
+    }
+}
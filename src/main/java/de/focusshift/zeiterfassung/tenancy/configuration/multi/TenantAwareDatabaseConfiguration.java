@@ -3,6 +3,8 @@ package de.focusshift.zeiterfassung.tenancy.configuration.multi;
 import com.zaxxer.hikari.HikariDataSource;
 import de.focusshift.zeiterfassung.absence.AbsenceTypeEntity;
 import de.focusshift.zeiterfassung.absence.AbsenceWriteEntity;
+import de.focusshift.zeiterfassung.importer.TenantImportStateEntity;
+import de.focusshift.zeiterfassung.overtime.OvertimeBalanceSnapshotEntity;
 import de.focusshift.zeiterfassung.settings.FederalStateSettingsEntity;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUserEntity;
@@ -10,15 +12,21 @@ import de.focusshift.zeiterfassung.timeclock.TimeClockEntity;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryEntity;
 import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountEntity;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeEntity;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.hibernate5.SpringBeanContainer;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -26,6 +34,8 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Clock;
 import java.util.Map;
 
 import static de.focusshift.zeiterfassung.tenancy.TenantConfigurationProperties.MULTI;
@@ -43,12 +53,16 @@ import static org.hibernate.cfg.AvailableSettings.BEAN_CONTAINER;
         TenantUserEntity.class,
         WorkingTimeEntity.class,
         OvertimeAccountEntity.class,
-        FederalStateSettingsEntity.class
+        FederalStateSettingsEntity.class,
+        OvertimeBalanceSnapshotEntity.class,
+        TenantImportStateEntity.class,
+        DailyWorkSummaryEntity.class
     },
     entityManagerFactoryRef = "tenantAwareEntityManagerFactory",
     transactionManagerRef = "tenantAwareTransactionManager"
 )
 @ConditionalOnProperty(value = "zeiterfassung.tenant.mode", havingValue = MULTI)
+@EnableConfigurationProperties(TenantAwareDataSourceProperties.class)
 class TenantAwareDatabaseConfiguration {
 
     @Bean
@@ -58,16 +72,58 @@ class TenantAwareDatabaseConfiguration {
         return new DataSourceProperties();
     }
 
+    @Bean
+    RecentWrites tenantAwareRecentWrites(TenantContextHolder tenantContextHolder, TenantAwareDataSourceProperties tenantDataSourceProperties,
+                                         Clock clock) {
+        return new RecentWrites(tenantContextHolder, tenantDataSourceProperties.replica().readYourWritesWindow(), clock);
+    }
+
     @Bean
     @Primary
     @ConfigurationProperties("spring.datasource.hikari")
-    DataSource tenantAwareDataSource(DataSourceProperties tenantAwareDataSourceProperties, TenantContextHolder tenantContextHolder) {
+    DataSource tenantAwareDataSource(DataSourceProperties tenantAwareDataSourceProperties, TenantContextHolder tenantContextHolder,
+                                     TenantAwareDataSourceProperties tenantDataSourceProperties, MeterRegistry meterRegistry,
+                                     RecentWrites tenantAwareRecentWrites) {
         final HikariDataSource dataSource = tenantAwareDataSourceProperties
             .initializeDataSourceBuilder()
             .type(HikariDataSource.class)
             .build();
         dataSource.setPoolName("tenantAwareDataSource");
-        return new TenantAwareDataSource(dataSource, tenantContextHolder);
+
+        // shared by primary and replica, the quota limits the connections of a tenant in total
+        final TenantConnectionQuota connectionQuota = tenantDataSourceProperties.partitioned()
+            ? new TenantConnectionQuota(tenantDataSourceProperties.maxConnectionsPerTenant(), tenantDataSourceProperties.acquireTimeout(), meterRegistry)
+            : null;
+
+        final boolean taggedConnections = tenantDataSourceProperties.taggedConnections();
+        final TenantAwareDataSource primary = new TenantAwareDataSource(dataSource, tenantContextHolder, taggedConnections, connectionQuota);
+
+        final TenantAwareDataSourceProperties.Replica replica = tenantDataSourceProperties.replica();
+        if (!replica.enabled()) {
+            return primary;
+        }
+
+        final HikariDataSource replicaDataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.url())
+            .username(replica.username() == null ? tenantAwareDataSourceProperties.determineUsername() : replica.username())
+            .password(replica.password() == null ? tenantAwareDataSourceProperties.determinePassword() : replica.password())
+            .build();
+        replicaDataSource.setPoolName("tenantAwareReplicaDataSource");
+        replicaDataSource.setMaximumPoolSize(replica.maximumPoolSize());
+        replicaDataSource.setReadOnly(true);
+
+        final TenantAwareDataSource replicaTenantAware = new TenantAwareDataSource(replicaDataSource, tenantContextHolder, taggedConnections, connectionQuota);
+
+        // connections are fetched on first use, after the transaction has been marked as read-only
+        final LazyConnectionDataSourceProxy lazyConnectionDataSource = new LazyConnectionDataSourceProxy();
+        lazyConnectionDataSource.setTargetDataSource(primary);
+        lazyConnectionDataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicaTenantAware, tenantAwareRecentWrites));
+        // defaults of hikari and postgres, otherwise a connection would be fetched without tenant just to determine them
+        lazyConnectionDataSource.setDefaultAutoCommit(true);
+        lazyConnectionDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        lazyConnectionDataSource.afterPropertiesSet();
+        return lazyConnectionDataSource;
     }
 
     @Bean
@@ -87,7 +143,10 @@ class TenantAwareDatabaseConfiguration {
                 TenantUserEntity.class,
                 WorkingTimeEntity.class,
                 OvertimeAccountEntity.class,
-                FederalStateSettingsEntity.class
+                FederalStateSettingsEntity.class,
+                OvertimeBalanceSnapshotEntity.class,
+                TenantImportStateEntity.class,
+                DailyWorkSummaryEntity.class
             )
             .persistenceUnit("tenantAware")
             // enable hibernate to access spring beans and inject them into jpa entity lifecycle events
@@ -97,7 +156,13 @@ class TenantAwareDatabaseConfiguration {
 
     @Bean
     @Primary
-    PlatformTransactionManager tenantAwareTransactionManager(LocalContainerEntityManagerFactoryBean tenantAwareEntityManagerFactory) {
-        return new JpaTransactionManager(requireNonNull(tenantAwareEntityManagerFactory.getObject()));
+    PlatformTransactionManager tenantAwareTransactionManager(LocalContainerEntityManagerFactoryBean tenantAwareEntityManagerFactory,
+                                                             TenantAwareDataSourceProperties tenantDataSourceProperties,
+                                                             RecentWrites tenantAwareRecentWrites) {
+        final EntityManagerFactory entityManagerFactory = requireNonNull(tenantAwareEntityManagerFactory.getObject());
+        if (tenantDataSourceProperties.replica().enabled()) {
+            return new ReplicaAwareTransactionManager(entityManagerFactory, tenantAwareRecentWrites);
+        }
+        return new JpaTransactionManager(entityManagerFactory);
     }
 }
@@ -0,0 +1,166 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * Limits the connections a single tenant may hold concurrently of the shared pool, so one tenant with heavy
+ * queries can not starve all others.
+ *
+ * <p>
+ * Every tenant has its own fair semaphore, waiting checkouts of a tenant are served in order of arrival and only
+ * compete with checkouts of the same tenant. Wait time, active connections and rejected checkouts are published
+ * per tenant.
+ *
+ * <p>
+ * The quota is reentrant per thread: a checkout of a thread already holding a connection of the tenant, like the
+ * one of a {@code REQUIRES_NEW} transaction within another transaction, shares the slot of the outer checkout.
+ * Otherwise threads holding one slot each and waiting for a second one would block each other until the timeout.
+ */
+class TenantConnectionQuota {
+
+    private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
+
+    @FunctionalInterface
+    interface Permit {
+
+        Permit NONE = () -> {};
+
+        void release();
+    }
+
+    private final int maxConnectionsPerTenant;
+    private final Duration acquireTimeout;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    // <tenantId, slot>, slots held by the current thread
+    private final ThreadLocal<Map<String, Slot>> slotsOfThread = ThreadLocal.withInitial(ConcurrentHashMap::new);
+
+    TenantConnectionQuota(int maxConnectionsPerTenant, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.maxConnectionsPerTenant = maxConnectionsPerTenant;
+        this.acquireTimeout = acquireTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Waits up to the configured timeout for a free connection slot of the given tenant.
+     *
+     * @param tenantId tenant requesting a connection
+     * @return permit to release as soon as the connection is handed back to the pool
+     * @throws SQLTransientConnectionException if the tenant holds its maximum of connections for the whole timeout
+     */
+    Permit acquire(String tenantId) throws SQLException {
+
+        final Partition partition = partitions.computeIfAbsent(tenantId, this::newPartition);
+
+        final Map<String, Slot> slots = slotsOfThread.get();
+        final Slot heldSlot = slots.get(tenantId);
+        if (heldSlot != null && heldSlot.join()) {
+            partition.active.incrementAndGet();
+            return permit(partition, slots, tenantId, heldSlot);
+        }
+
+        final long start = System.nanoTime();
+        final boolean acquired;
+        try {
+            acquired = partition.semaphore.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("interrupted while waiting for a connection of tenantId=%s".formatted(tenantId), e);
+        } finally {
+            partition.waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            partition.rejected.increment();
+            LOG.warn("tenantId={} holds {} connections, no connection available within {}", tenantId, maxConnectionsPerTenant, acquireTimeout);
+            throw new SQLTransientConnectionException("tenantId=%s holds %d connections, no connection available within %s"
+                .formatted(tenantId, maxConnectionsPerTenant, acquireTimeout));
+        }
+
+        final Slot slot = new Slot();
+        slots.put(tenantId, slot);
+        partition.active.incrementAndGet();
+        return permit(partition, slots, tenantId, slot);
+    }
+
+    int activeConnections(String tenantId) {
+        final Partition partition = partitions.get(tenantId);
+        return partition == null ? 0 : partition.active.get();
+    }
+
+    private static Permit permit(Partition partition, Map<String, Slot> slots, String tenantId, Slot slot) {
+        final AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                partition.active.decrementAndGet();
+                if (slot.leave()) {
+                    slots.remove(tenantId, slot);
+                    partition.semaphore.release();
+                }
+            }
+        };
+    }
+
+    private Partition newPartition(String tenantId) {
+
+        final AtomicInteger active = new AtomicInteger();
+        Gauge.builder("zeiterfassung.datasource.tenant.connections.active", active, AtomicInteger::get)
+            .description("Connections currently held by the tenant")
+            .tag("tenant", tenantId)
+            .register(meterRegistry);
+
+        final Timer waitTime = Timer.builder("zeiterfassung.datasource.tenant.connections.wait")
+            .description("Time waited for a connection slot of the tenant")
+            .tag("tenant", tenantId)
+            .register(meterRegistry);
+
+        final Counter rejected = Counter.builder("zeiterfassung.datasource.tenant.connections.rejected")
+            .description("Checkouts failed because the tenant held its maximum of connections")
+            .tag("tenant", tenantId)
+            .register(meterRegistry);
+
+        return new Partition(new Semaphore(maxConnectionsPerTenant, true), active, waitTime, rejected);
+    }
+
+    /**
+     * Slot of the semaphore held by one thread, shared by all its checkouts of the tenant.
+     */
+    private static final class Slot {
+
+        private final AtomicInteger holders = new AtomicInteger(1);
+
+        /**
+         * @return {@code false} if the slot has already been released by its last holder
+         */
+        boolean join() {
+            return holders.getAndUpdate(count -> count == 0 ? 0 : count + 1) > 0;
+        }
+
+        /**
+         * @return {@code true} if this was the last holder and the slot has to be released
+         */
+        boolean leave() {
+            return holders.decrementAndGet() == 0;
+        }
+    }
+
+    private record Partition(Semaphore semaphore, AtomicInteger active, Timer waitTime, Counter rejected) {
+    }
+}
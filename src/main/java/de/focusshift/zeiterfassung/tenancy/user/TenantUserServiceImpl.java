@@ -61,7 +61,10 @@ class TenantUserServiceImpl implements TenantUserService {
 
         final TenantUserEntity persisted = tenantUserRepository.save(next);
 
-        return entityToTenantUser(persisted);
+        final TenantUser tenantUser = entityToTenantUser(persisted);
+
+        applicationEventPublisher.publishEvent(new TenantUserUpdatedEvent(tenantUser));
+        return tenantUser;
     }
 
     @Override
@@ -106,7 +109,9 @@ class TenantUserServiceImpl implements TenantUserService {
         final TenantUserEntity next =
             new TenantUserEntity(current.getId(), current.getUuid(), current.getFirstLoginAt(), current.getLastLoginAt(), current.getGivenName(), current.getFamilyName(), current.getEmail(), current.getAuthorities(), current.getCreatedAt(), now, current.getDeactivatedAt(), now, UserStatus.DELETED);
 
-        tenantUserRepository.save(next);
+        final TenantUserEntity persisted = tenantUserRepository.save(next);
+
+        applicationEventPublisher.publishEvent(new TenantUserUpdatedEvent(entityToTenantUser(persisted)));
     }
 
     @Override
@@ -123,7 +128,9 @@ class TenantUserServiceImpl implements TenantUserService {
         final TenantUserEntity next =
             new TenantUserEntity(current.getId(), current.getUuid(), current.getFirstLoginAt(), current.getLastLoginAt(), current.getGivenName(), current.getFamilyName(), current.getEmail(), current.getAuthorities(), current.getCreatedAt(), now, current.getDeactivatedAt(), current.getDeletedAt(), UserStatus.ACTIVE);
 
-        tenantUserRepository.save(next);
+        final TenantUserEntity persisted = tenantUserRepository.save(next);
+
+        applicationEventPublisher.publishEvent(new TenantUserUpdatedEvent(entityToTenantUser(persisted)));
     }
 
     @Override
@@ -136,7 +143,9 @@ class TenantUserServiceImpl implements TenantUserService {
         final TenantUserEntity next =
             new TenantUserEntity(current.getId(), current.getUuid(), current.getFirstLoginAt(), current.getLastLoginAt(), current.getGivenName(), current.getFamilyName(), current.getEmail(), current.getAuthorities(), current.getCreatedAt(), now, now, current.getDeletedAt(), UserStatus.DEACTIVATED);
 
-        tenantUserRepository.save(next);
+        final TenantUserEntity persisted = tenantUserRepository.save(next);
+
+        applicationEventPublisher.publishEvent(new TenantUserUpdatedEvent(entityToTenantUser(persisted)));
     }
 
     private Optional<TenantUser> mapToTenantUser(Optional<TenantUserEntity> optional) {
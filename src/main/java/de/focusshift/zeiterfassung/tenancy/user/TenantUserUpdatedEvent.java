@@ -0,0 +1,9 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+/**
+ * Published when an existing {@link TenantUser} has been changed, e.g. updated, activated, deactivated or deleted.
+ *
+ * @param tenantUser the persisted state of the user
+ */
+public record TenantUserUpdatedEvent(TenantUser tenantUser) {
+}
@@ -0,0 +1,10 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.user.UserId;
+
+class TimeClockAlreadyStartedException extends Exception {
+
+    TimeClockAlreadyStartedException(UserId userId) {
+        super("time clock for userId=%s is running already.".formatted(userId));
+    }
+}
@@ -0,0 +1,144 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded least-recently-used cache of the running {@link TimeClock} of users, scoped by tenant.
+ *
+ * <p>
+ * The cache is written through by {@link TimeClockService} on every change of a time clock. An empty
+ * {@link Optional} is cached as well, meaning the user has no running time clock. Other instances of the
+ * application are notified via the {@link TimeClockCacheInvalidationBroadcaster} after the change has been committed.
+ *
+ * <p>
+ * Without a tenant context nothing is cached.
+ */
+class TimeClockCache {
+
+    private record Key(TenantId tenantId, UserId userId) {
+    }
+
+    private final TenantContextHolder tenantContextHolder;
+    private final TimeClockCacheInvalidationBroadcaster broadcaster;
+    private final Map<Key, Optional<TimeClock>> runningTimeClockByKey;
+
+    // incremented on every change, a time clock loaded meanwhile could already be outdated and is not cached.
+    private long changes = 0;
+
+    TimeClockCache(TenantContextHolder tenantContextHolder, TimeClockCacheInvalidationBroadcaster broadcaster, int maxSize) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.broadcaster = broadcaster;
+        this.runningTimeClockByKey = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Optional<TimeClock>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the running time clock of the user. The time clock is loaded with the given loader when it is not cached yet.
+     *
+     * @param userId user to get the running time clock for
+     * @param loader loads the running time clock of the user
+     * @return the running time clock of the user, empty when the user has no running time clock
+     */
+    Optional<TimeClock> runningTimeClock(UserId userId, Supplier<Optional<TimeClock>> loader) {
+
+        final Optional<TenantId> maybeTenantId = tenantContextHolder.getCurrentTenantId();
+        if (maybeTenantId.isEmpty()) {
+            return loader.get();
+        }
+
+        final Key key = new Key(maybeTenantId.get(), userId);
+
+        final long changesBeforeLoading;
+        synchronized (runningTimeClockByKey) {
+            final Optional<TimeClock> cached = runningTimeClockByKey.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            changesBeforeLoading = changes;
+        }
+
+        // loading happens outside the lock to not block lookups of other users
+        final Optional<TimeClock> runningTimeClock = loader.get();
+
+        synchronized (runningTimeClockByKey) {
+            if (changes == changesBeforeLoading) {
+                runningTimeClockByKey.put(key, runningTimeClock);
+            }
+        }
+
+        return runningTimeClock;
+    }
+
+    /**
+     * Caches the running time clock of the user after it has been changed.
+     *
+     * @param userId user the time clock belongs to
+     * @param runningTimeClock the running time clock, empty when the user has no running time clock anymore
+     */
+    void put(UserId userId, Optional<TimeClock> runningTimeClock) {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> {
+            final Key key = new Key(tenantId, userId);
+            synchronized (runningTimeClockByKey) {
+                changes++;
+                runningTimeClockByKey.put(key, runningTimeClock);
+            }
+            afterCommit(tenantId, userId);
+        });
+    }
+
+    /**
+     * Evicts the running time clock of the user after it has been changed in an unknown way.
+     *
+     * @param userId user the time clock belongs to
+     */
+    void evict(UserId userId) {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> {
+            evictLocally(tenantId, userId);
+            afterCommit(tenantId, userId);
+        });
+    }
+
+    /**
+     * Evicts the running time clock of the user without notifying other instances, e.g. when another instance has changed it.
+     *
+     * @param tenantId tenant of the user
+     * @param userId user the time clock belongs to
+     */
+    void evictLocally(TenantId tenantId, UserId userId) {
+        synchronized (runningTimeClockByKey) {
+            changes++;
+            runningTimeClockByKey.remove(new Key(tenantId, userId));
+        }
+    }
+
+    private void afterCommit(TenantId tenantId, UserId userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        broadcaster.broadcast(tenantId, userId);
+                    } else {
+                        // the cached change has not been persisted
+                        evictLocally(tenantId, userId);
+                    }
+                }
+            });
+        } else {
+            broadcaster.broadcast(tenantId, userId);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.time-clock.cache")
+public class TimeClockCacheConfigurationProperties {
+
+    /**
+     * Maximum number of users with a cached running time clock. The least recently used user is evicted first.
+     */
+    @Min(1)
+    private int maxSize = 10_000;
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
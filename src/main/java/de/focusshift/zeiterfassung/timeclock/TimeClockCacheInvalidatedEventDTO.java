@@ -0,0 +1,9 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+/**
+ * @param origin id of the application instance which has changed the time clock
+ * @param tenantId tenant of the user
+ * @param userId user the time clock belongs to
+ */
+record TimeClockCacheInvalidatedEventDTO(String origin, String tenantId, String userId) {
+}
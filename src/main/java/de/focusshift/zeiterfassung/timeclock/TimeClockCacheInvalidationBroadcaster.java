@@ -0,0 +1,18 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+
+/**
+ * Notifies other instances of the application that the running {@link TimeClock} of a user has changed,
+ * so they evict it from their {@link TimeClockCache}.
+ */
+interface TimeClockCacheInvalidationBroadcaster {
+
+    /**
+     * Broadcaster of a single instance setup, nobody has to be notified.
+     */
+    TimeClockCacheInvalidationBroadcaster NONE = (tenantId, userId) -> {};
+
+    void broadcast(TenantId tenantId, UserId userId);
+}
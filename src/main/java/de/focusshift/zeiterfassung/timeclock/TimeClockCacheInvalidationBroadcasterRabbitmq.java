@@ -0,0 +1,35 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import org.slf4j.Logger;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+class TimeClockCacheInvalidationBroadcasterRabbitmq implements TimeClockCacheInvalidationBroadcaster {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final String origin;
+
+    TimeClockCacheInvalidationBroadcasterRabbitmq(RabbitTemplate rabbitTemplate, String exchange, String origin) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.origin = origin;
+    }
+
+    @Override
+    public void broadcast(TenantId tenantId, UserId userId) {
+        try {
+            rabbitTemplate.convertAndSend(exchange, "", new TimeClockCacheInvalidatedEventDTO(origin, tenantId.tenantId(), userId.value()));
+        } catch (AmqpException e) {
+            // the change itself has been persisted already, other instances may show an outdated time clock
+            LOG.warn("could not broadcast changed time clock of userId={} and tenantId={}", userId.value(), tenantId.tenantId(), e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import org.slf4j.Logger;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+class TimeClockCacheInvalidationEventHandlerRabbitmq {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final TimeClockCache timeClockCache;
+    private final String origin;
+
+    TimeClockCacheInvalidationEventHandlerRabbitmq(TimeClockCache timeClockCache, String origin) {
+        this.timeClockCache = timeClockCache;
+        this.origin = origin;
+    }
+
+    @RabbitListener(queues = "#{timeClockCacheInvalidationQueue.name}")
+    public void handleEvent(TimeClockCacheInvalidatedEventDTO event) {
+
+        if (origin.equals(event.origin())) {
+            // this instance has already updated its cache
+            return;
+        }
+
+        LOG.debug("Received timeClockCacheInvalidatedEvent for userId={} and tenantId={}", event.userId(), event.tenantId());
+        timeClockCache.evictLocally(new TenantId(event.tenantId()), new UserId(event.userId()));
+    }
+}
@@ -0,0 +1,58 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Every instance of the application binds an exclusive queue to a fanout exchange, so a changed time clock
+ * evicts the cached time clock of all other instances.
+ */
+@Configuration
+@ConditionalOnProperty(value = "zeiterfassung.time-clock.cache.rabbitmq.enabled", havingValue = "true")
+@EnableConfigurationProperties(TimeClockCacheRabbitmqConfigurationProperties.class)
+class TimeClockCacheRabbitmqConfiguration {
+
+    // identifies this instance of the application, its own broadcasts are ignored
+    private final String origin = UUID.randomUUID().toString();
+
+    private final TimeClockCacheRabbitmqConfigurationProperties properties;
+
+    TimeClockCacheRabbitmqConfiguration(TimeClockCacheRabbitmqConfigurationProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    TimeClockCacheInvalidationBroadcaster timeClockCacheInvalidationBroadcasterRabbitmq(RabbitTemplate rabbitTemplate) {
+        return new TimeClockCacheInvalidationBroadcasterRabbitmq(rabbitTemplate, properties.getExchange(), origin);
+    }
+
+    @Bean
+    TimeClockCacheInvalidationEventHandlerRabbitmq timeClockCacheInvalidationEventHandlerRabbitmq(TimeClockCache timeClockCache) {
+        return new TimeClockCacheInvalidationEventHandlerRabbitmq(timeClockCache, origin);
+    }
+
+    @Bean
+    FanoutExchange timeClockCacheInvalidationExchange() {
+        return new FanoutExchange(properties.getExchange(), true, false);
+    }
+
+    @Bean
+    Queue timeClockCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Binding bindTimeClockCacheInvalidationQueue() {
+        return BindingBuilder.bind(timeClockCacheInvalidationQueue()).to(timeClockCacheInvalidationExchange());
+    }
+}
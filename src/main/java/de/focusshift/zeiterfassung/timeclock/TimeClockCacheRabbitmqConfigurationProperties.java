@@ -0,0 +1,37 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.time-clock.cache.rabbitmq")
+class TimeClockCacheRabbitmqConfigurationProperties {
+
+    /**
+     * Notifies other instances of the application about changed time clocks via RabbitMQ.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Fanout exchange every instance binds its own exclusive queue to.
+     */
+    @NotEmpty
+    private String exchange = "zeiterfassung.time-clock.cache.invalidation";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public void setExchange(String exchange) {
+        this.exchange = exchange;
+    }
+}
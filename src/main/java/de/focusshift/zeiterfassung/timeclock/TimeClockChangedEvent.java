@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+
+import java.util.Optional;
+
+/**
+ * The time clock of a user has been started, updated or stopped.
+ *
+ * @param tenantId tenant of the user
+ * @param userId user the time clock belongs to
+ * @param runningTimeClock the running time clock, empty when the time clock has been stopped
+ */
+record TimeClockChangedEvent(TenantId tenantId, UserId userId, Optional<TimeClock> runningTimeClock) {
+}
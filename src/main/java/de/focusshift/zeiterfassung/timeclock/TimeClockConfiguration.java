@@ -0,0 +1,24 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({TimeClockCacheConfigurationProperties.class, TimeClockEventsConfigurationProperties.class})
+class TimeClockConfiguration {
+
+    @Bean
+    TimeClockCache timeClockCache(TenantContextHolder tenantContextHolder,
+                                  ObjectProvider<TimeClockCacheInvalidationBroadcaster> broadcaster,
+                                  TimeClockCacheConfigurationProperties properties) {
+        return new TimeClockCache(tenantContextHolder, broadcaster.getIfAvailable(() -> TimeClockCacheInvalidationBroadcaster.NONE), properties.getMaxSize());
+    }
+
+    @Bean
+    TimeClockEventEmitters timeClockEventEmitters(TenantContextHolder tenantContextHolder, TimeClockEventsConfigurationProperties properties) {
+        return new TimeClockEventEmitters(tenantContextHolder, properties.getMaxEmittersPerUser(), properties.getTimeout());
+    }
+}
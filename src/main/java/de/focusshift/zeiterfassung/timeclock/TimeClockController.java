@@ -48,6 +48,15 @@ class TimeClockController implements HasTimeClock, HasLaunchpad {
         return "timeclock/timeclock-edit";
     }
 
+    /**
+     * Renders the time clock part of the navigation only, for browser tabs getting notified about
+     * a time clock that has been started or stopped elsewhere.
+     */
+    @GetMapping("/navigation")
+    public String timeClockNavigation() {
+        return "_navigation::time-clock";
+    }
+
     @PostMapping
     public ModelAndView editTimeClock(@Valid @ModelAttribute("timeClockUpdate") TimeClockDto timeClockUpdateDto, BindingResult errors,
                                 @AuthenticationPrincipal DefaultOidcUser principal, HttpServletRequest request,
@@ -78,14 +87,12 @@ class TimeClockController implements HasTimeClock, HasLaunchpad {
 
         final UserId userId = principalToUserId(principal);
 
-        // TODO should we do this in the service?
-        final Optional<TimeClock> maybeCurrentTimeClock = timeClockService.getCurrentTimeClock(userId);
-        if (maybeCurrentTimeClock.isPresent()) {
+        try {
+            timeClockService.startTimeClock(userId);
+        } catch (TimeClockAlreadyStartedException e) {
             throw new ResponseStatusException(CONFLICT, "Time clock has been started already.");
         }
 
-        timeClockService.startTimeClock(userId);
-
         return redirectToPreviousPage(request);
     }
 
@@ -23,7 +23,7 @@ public class TimeClockEntity extends AbstractTenantAwareEntity {
 
     @Id
     @Column(name = "id", unique = true, nullable = false, updatable = false)
-    @SequenceGenerator(name = "time_clock_seq", sequenceName = "time_clock_seq")
+    @SequenceGenerator(name = "time_clock_seq", sequenceName = "time_clock_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_clock_seq")
     protected Long id;
 
@@ -0,0 +1,39 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.user.UserId;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
+/**
+ * Pushes changes of the time clock to all open browser tabs of the user, so the navigation is up-to-date
+ * without reloading or polling.
+ */
+@Controller
+@RequestMapping("timeclock")
+class TimeClockEventController {
+
+    private final TimeClockService timeClockService;
+    private final TimeClockEventEmitters timeClockEventEmitters;
+
+    TimeClockEventController(TimeClockService timeClockService, TimeClockEventEmitters timeClockEventEmitters) {
+        this.timeClockService = timeClockService;
+        this.timeClockEventEmitters = timeClockEventEmitters;
+    }
+
+    @GetMapping(path = "/events", produces = TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter timeClockEvents(@AuthenticationPrincipal DefaultOidcUser principal) {
+
+        final UserId userId = new UserId(principal.getUserInfo().getSubject());
+        final TimeClockEventDto current = TimeClockEventDto.of(timeClockService.getCurrentTimeClock(userId));
+
+        return timeClockEventEmitters.register(userId, current);
+    }
+}
@@ -0,0 +1,21 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Optional;
+
+/**
+ * State of the time clock pushed to the browser.
+ *
+ * @param startedAt ISO-8601 instant the running time clock has been started at, {@code null} when no time clock is running
+ * @param comment comment of the running time clock
+ * @param isBreak whether the running time clock is a break
+ */
+record TimeClockEventDto(@Nullable String startedAt, String comment, boolean isBreak) {
+
+    static TimeClockEventDto of(Optional<TimeClock> runningTimeClock) {
+        return runningTimeClock
+            .map(timeClock -> new TimeClockEventDto(timeClock.startedAt().toInstant().toString(), timeClock.comment(), timeClock.isBreak()))
+            .orElseGet(() -> new TimeClockEventDto(null, "", false));
+    }
+}
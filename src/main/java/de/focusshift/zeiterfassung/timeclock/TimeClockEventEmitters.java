@@ -0,0 +1,138 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Server-sent event channels of the open browser tabs of users, used to push the state of their time clock.
+ *
+ * <p>
+ * The number of channels per user is bounded, the oldest channel of a user is completed when the limit is exceeded.
+ * An open channel does not occupy a request thread, it is written to by the thread changing the time clock.
+ *
+ * <p>
+ * Channels are scoped by tenant, user ids are only unique within a tenant.
+ */
+class TimeClockEventEmitters implements MeterBinder {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    static final String EVENT_NAME = "timeclock";
+
+    private record Key(TenantId tenantId, UserId userId) {
+    }
+
+    private final TenantContextHolder tenantContextHolder;
+    private final int maxEmittersPerUser;
+    private final Duration timeout;
+
+    // <Key, Emitters> lists are replaced on every change and never modified
+    private final ConcurrentHashMap<Key, List<SseEmitter>> emittersByKey = new ConcurrentHashMap<>();
+
+    TimeClockEventEmitters(TenantContextHolder tenantContextHolder, int maxEmittersPerUser, Duration timeout) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.maxEmittersPerUser = maxEmittersPerUser;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Opens a new channel for the user of the current tenant and sends the current state of the time clock.
+     *
+     * @param userId user to open the channel for
+     * @param current current state of the time clock of the user
+     * @return the new channel
+     */
+    SseEmitter register(UserId userId, TimeClockEventDto current) {
+
+        final TenantId tenantId = tenantContextHolder.getCurrentTenantId()
+            .orElseThrow(() -> new IllegalStateException("expected a tenant context to register time clock events of userId=%s".formatted(userId.value())));
+        final Key key = new Key(tenantId, userId);
+
+        final SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> remove(key, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(throwable -> remove(key, emitter));
+
+        final List<SseEmitter> evicted = new ArrayList<>();
+        emittersByKey.compute(key, (id, emitters) -> {
+            final List<SseEmitter> next = emitters == null ? new ArrayList<>() : new ArrayList<>(emitters);
+            next.add(emitter);
+            while (next.size() > maxEmittersPerUser) {
+                evicted.add(next.removeFirst());
+            }
+            return List.copyOf(next);
+        });
+        evicted.forEach(SseEmitter::complete);
+
+        send(key, emitter, SseEmitter.event().name(EVENT_NAME).data(current, APPLICATION_JSON));
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(TimeClockChangedEvent event) {
+        final Key key = new Key(event.tenantId(), event.userId());
+        final TimeClockEventDto data = TimeClockEventDto.of(event.runningTimeClock());
+        for (SseEmitter emitter : emittersByKey.getOrDefault(key, List.of())) {
+            send(key, emitter, SseEmitter.event().name(EVENT_NAME).data(data, APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Keeps idle channels open through proxies and detects channels of closed browser tabs.
+     */
+    @Scheduled(fixedDelayString = "${zeiterfassung.time-clock.events.heartbeat-interval:PT30S}")
+    void heartbeat() {
+        emittersByKey.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("zeiterfassung.timeclock.events.emitters", this, TimeClockEventEmitters::size)
+            .description("open server-sent event channels for time clock changes")
+            .register(registry);
+    }
+
+    private void send(Key key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            LOG.debug("could not send time clock event, removing channel of userId={} and tenantId={}", key.userId().value(), key.tenantId().tenantId(), e);
+            remove(key, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Key key, SseEmitter emitter) {
+        emittersByKey.computeIfPresent(key, (id, emitters) -> {
+            final List<SseEmitter> next = emitters.stream().filter(existing -> existing != emitter).toList();
+            return next.isEmpty() ? null : next;
+        });
+    }
+
+    int size() {
+        return emittersByKey.values().stream().mapToInt(List::size).sum();
+    }
+}
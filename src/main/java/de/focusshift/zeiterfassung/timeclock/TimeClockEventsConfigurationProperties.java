@@ -0,0 +1,55 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.time-clock.events")
+public class TimeClockEventsConfigurationProperties {
+
+    /**
+     * Maximum number of open browser tabs per user receiving time clock changes. The oldest one is closed first.
+     */
+    @Min(1)
+    private int maxEmittersPerUser = 5;
+
+    /**
+     * Duration a browser tab is connected until it has to reconnect.
+     */
+    @NotNull
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval of heartbeats keeping idle connections open.
+     */
+    @NotNull
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    public int getMaxEmittersPerUser() {
+        return maxEmittersPerUser;
+    }
+
+    public void setMaxEmittersPerUser(int maxEmittersPerUser) {
+        this.maxEmittersPerUser = maxEmittersPerUser;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+}
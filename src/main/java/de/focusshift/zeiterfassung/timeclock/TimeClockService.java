@@ -1,8 +1,10 @@
 package de.focusshift.zeiterfassung.timeclock;
 
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserSettingsProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.ZoneId;
@@ -16,22 +18,47 @@ public class TimeClockService {
     private final TimeClockRepository timeClockRepository;
     private final TimeEntryService timeEntryService;
     private final UserSettingsProvider userSettingsProvider;
+    private final TimeClockCache timeClockCache;
+    private final TenantContextHolder tenantContextHolder;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    TimeClockService(TimeClockRepository timeClockRepository, TimeEntryService timeEntryService, UserSettingsProvider userSettingsProvider) {
+    TimeClockService(TimeClockRepository timeClockRepository, TimeEntryService timeEntryService,
+                     UserSettingsProvider userSettingsProvider, TimeClockCache timeClockCache,
+                     TenantContextHolder tenantContextHolder, ApplicationEventPublisher applicationEventPublisher) {
         this.timeClockRepository = timeClockRepository;
         this.timeEntryService = timeEntryService;
         this.userSettingsProvider = userSettingsProvider;
+        this.timeClockCache = timeClockCache;
+        this.tenantContextHolder = tenantContextHolder;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
+    /**
+     * Get the running {@linkplain TimeClock} of the given user for rendering.
+     *
+     * <p>
+     * The running time clock is cached node-locally and may lag behind changes made on another node.
+     * Changes of the time clock must therefore not be based on it, they read the running time clock from the database.
+     *
+     * @param userId external user id
+     * @return the running {@linkplain TimeClock}, empty when the user has not started one
+     */
     Optional<TimeClock> getCurrentTimeClock(UserId userId) {
-        return timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value()).map(TimeClockService::toTimeClock);
+        return timeClockCache.runningTimeClock(userId,
+            () -> timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value()).map(TimeClockService::toTimeClock));
     }
 
-    void startTimeClock(UserId userId) {
+    void startTimeClock(UserId userId) throws TimeClockAlreadyStartedException {
+
+        if (timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value()).isPresent()) {
+            throw new TimeClockAlreadyStartedException(userId);
+        }
+
         final ZonedDateTime now = ZonedDateTime.now(userSettingsProvider.zoneId());
         final TimeClock timeClock = new TimeClock(userId, now);
 
-        timeClockRepository.save(toEntity(timeClock));
+        final TimeClock startedTimeClock = toTimeClock(timeClockRepository.save(toEntity(timeClock)));
+        changed(userId, Optional.of(startedTimeClock));
     }
 
     /**
@@ -40,7 +67,12 @@ public class TimeClockService {
      * @param timeClock to import
      */
     public void importTimeClock(TimeClock timeClock) {
-        timeClockRepository.save(toEntity(timeClock));
+        final TimeClock importedTimeClock = toTimeClock(timeClockRepository.save(toEntity(timeClock)));
+        if (importedTimeClock.stoppedAt().isEmpty()) {
+            timeClockCache.put(importedTimeClock.userId(), Optional.of(importedTimeClock));
+        } else {
+            timeClockCache.evict(importedTimeClock.userId());
+        }
     }
 
     /**
@@ -62,28 +94,42 @@ public class TimeClockService {
 
     TimeClock updateTimeClock(UserId userId, TimeClockUpdate timeClockUpdate) throws TimeClockNotStartedException {
 
-        final TimeClock timeClock = getCurrentTimeClock(userId)
+        final TimeClock timeClock = timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value())
+            .map(TimeClockService::toTimeClock)
             .map(existingTimeClock -> prepareTimeClockUpdate(existingTimeClock, timeClockUpdate))
             .orElseThrow(() -> new TimeClockNotStartedException(userId));
 
         final TimeClockEntity timeClockEntity = toEntity(timeClock);
 
-        return toTimeClock(timeClockRepository.save(timeClockEntity));
+        final TimeClock updatedTimeClock = toTimeClock(timeClockRepository.save(timeClockEntity));
+        changed(userId, Optional.of(updatedTimeClock));
+
+        return updatedTimeClock;
     }
 
     void stopTimeClock(UserId userId) {
-        timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value())
+        final Optional<TimeClock> stoppedTimeClock = timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value())
             .map(entity -> timeClockEntityWithStoppedAt(entity, ZonedDateTime.now(userSettingsProvider.zoneId())))
             .map(timeClockRepository::save)
-            .map(TimeClockService::toTimeClock)
-            .ifPresent(timeClock -> {
+            .map(TimeClockService::toTimeClock);
+
+        changed(userId, Optional.empty());
 
-                final ZonedDateTime start = timeClock.startedAt();
-                final ZonedDateTime end = timeClock.stoppedAt()
-                    .orElseThrow(() -> new IllegalStateException("expected stoppedAt to contain a value."));
+        stoppedTimeClock.ifPresent(timeClock -> {
+
+            final ZonedDateTime start = timeClock.startedAt();
+            final ZonedDateTime end = timeClock.stoppedAt()
+                .orElseThrow(() -> new IllegalStateException("expected stoppedAt to contain a value."));
+
+            timeEntryService.createTimeEntry(userId, timeClock.comment(), start, end, timeClock.isBreak());
+        });
+    }
 
-                timeEntryService.createTimeEntry(userId, timeClock.comment(), start, end, timeClock.isBreak());
-            });
+    private void changed(UserId userId, Optional<TimeClock> runningTimeClock) {
+        timeClockCache.put(userId, runningTimeClock);
+        // channels of browser tabs are registered within a tenant context only, there is no one to notify without it
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId ->
+            applicationEventPublisher.publishEvent(new TimeClockChangedEvent(tenantId, userId, runningTimeClock)));
     }
 
     private static TimeClockEntity toEntity(TimeClock timeClock) {
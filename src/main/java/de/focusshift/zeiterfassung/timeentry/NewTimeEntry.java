@@ -0,0 +1,14 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Time entry which does not exist yet, used to create many {@linkplain TimeEntry time entries} at once.
+ *
+ * @param comment comment of the time entry
+ * @param start start of the time entry
+ * @param end end of the time entry
+ * @param isBreak whether it is a break or not
+ */
+public record NewTimeEntry(String comment, ZonedDateTime start, ZonedDateTime end, boolean isBreak) {
+}
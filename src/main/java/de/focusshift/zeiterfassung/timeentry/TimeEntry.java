@@ -6,15 +6,23 @@ import de.focusshift.zeiterfassung.workingtime.ZeitDuration;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 
+/**
+ * @param archived whether the time entry has been moved to the archive of closed years, it can not be changed anymore
+ */
 public record TimeEntry(
     TimeEntryId id,
     UserIdComposite userIdComposite,
     String comment,
     ZonedDateTime start,
     ZonedDateTime end,
-    boolean isBreak
+    boolean isBreak,
+    boolean archived
 ) {
 
+    public TimeEntry(TimeEntryId id, UserIdComposite userIdComposite, String comment, ZonedDateTime start, ZonedDateTime end, boolean isBreak) {
+        this(id, userIdComposite, comment, start, end, isBreak, false);
+    }
+
     /**
      * Returns the exact duration between {@code start} and {@code end} date.
      * Consider using {@linkplain TimeEntry#durationInMinutes()} if you are interested in a value rounded to minutes.
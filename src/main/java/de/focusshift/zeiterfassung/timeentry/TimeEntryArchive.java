@@ -0,0 +1,165 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Cold storage of time entries of closed years. The time entries of one owner and month are stored compressed in one
+ * {@link TimeEntryArchiveEntity} and removed from {@code time_entry}, which keeps the table and its indexes small.
+ *
+ * <p>
+ * Only years before the current one are archived. Reads of a range starting in the current year therefore never
+ * touch the archive.
+ */
+@Component
+class TimeEntryArchive {
+
+    private static final Comparator<TimeEntryEntity> BY_START_AND_ID = comparing(TimeEntryEntity::getStart).thenComparing(TimeEntryEntity::getId);
+
+    private final TimeEntryArchiveRepository timeEntryArchiveRepository;
+    private final TimeEntryRepository timeEntryRepository;
+    private final EntityManager entityManager;
+    private final Clock clock;
+
+    TimeEntryArchive(TimeEntryArchiveRepository timeEntryArchiveRepository, TimeEntryRepository timeEntryRepository,
+                     EntityManager entityManager, Clock clock) {
+        this.timeEntryArchiveRepository = timeEntryArchiveRepository;
+        this.timeEntryRepository = timeEntryRepository;
+        this.entityManager = entityManager;
+        this.clock = clock;
+    }
+
+    /**
+     * Archived time entries of the given owners starting within the given range, sorted by start and id.
+     */
+    List<TimeEntryEntity> findAllByOwnerIsIn(Collection<String> owners, Instant from, Instant toExclusive) {
+        if (owners.isEmpty() || !mayContain(from)) {
+            return List.of();
+        }
+        final List<TimeEntryArchiveEntity> archives = timeEntryArchiveRepository
+            .findAllByOwnerIsInAndMonthGreaterThanEqualAndMonthLessThanEqual(owners, monthOf(from), monthOf(toExclusive));
+        return decode(archives.stream(), from, toExclusive);
+    }
+
+    /**
+     * Archived time entries of all owners starting within the given range, sorted by start and id.
+     */
+    List<TimeEntryEntity> findAll(Instant from, Instant toExclusive) {
+        if (!mayContain(from)) {
+            return List.of();
+        }
+        final List<TimeEntryArchiveEntity> archives = timeEntryArchiveRepository
+            .findAllByMonthGreaterThanEqualAndMonthLessThanEqual(monthOf(from), monthOf(toExclusive));
+        return decode(archives.stream(), from, toExclusive);
+    }
+
+    /**
+     * All archived time entries of the owner, sorted by start and id. Archived months are read and decoded one after
+     * another, only the time entries of the current month are held in memory.
+     *
+     * <p>
+     * The returned stream must be consumed within a transaction and closed afterwards.
+     */
+    Stream<TimeEntryEntity> streamAllByOwner(String owner) {
+        return timeEntryArchiveRepository.streamAllByOwnerOrderByMonthAsc(owner)
+            .flatMap(archive -> {
+                final List<TimeEntryEntity> entries = TimeEntryArchiveCodec.decode(archive.getTenantId(), archive.getOwner(), archive.getEntries());
+                // the compressed month is not needed anymore, do not let the persistence context grow with every month
+                entityManager.detach(archive);
+                return entries.stream().sorted(BY_START_AND_ID);
+            });
+    }
+
+    Optional<TimeEntryEntity> findFirstByOwner(String owner) {
+        return timeEntryArchiveRepository.findFirstByOwnerOrderByMonthAsc(owner)
+            .flatMap(archive -> TimeEntryArchiveCodec.decode(archive.getTenantId(), archive.getOwner(), archive.getEntries()).stream()
+                .min(BY_START_AND_ID));
+    }
+
+    /**
+     * Start of the first year which is not archived when keeping the given number of years, including the current one.
+     */
+    Instant archiveBefore(int retainedYears) {
+        return Year.now(clock.withZone(UTC)).minusYears(retainedYears - 1L).atDay(1).atStartOfDay(UTC).toInstant();
+    }
+
+    List<String> findOwnersWithEntriesBefore(Instant before) {
+        return timeEntryRepository.findAllOwnersWithStartLessThan(before);
+    }
+
+    /**
+     * Moves all time entries of the owner starting before the given instant into the archive. Time entries are
+     * added to already archived time entries of the same month.
+     *
+     * @return number of archived time entries
+     */
+    @Transactional
+    public int archiveEntriesOfOwner(String owner, Instant before) {
+
+        final List<TimeEntryEntity> entries = timeEntryRepository.findAllByOwnerAndStartLessThan(owner, before);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        final Map<LocalDate, List<TimeEntryEntity>> entriesByMonth = entries.stream()
+            .collect(groupingBy(entry -> monthOf(entry.getStart()), LinkedHashMap::new, toList()));
+
+        final Instant now = Instant.now(clock);
+        entriesByMonth.forEach((month, monthEntries) -> {
+            final TimeEntryArchiveEntity archive = timeEntryArchiveRepository.findByOwnerAndMonth(owner, month)
+                .orElseGet(() -> new TimeEntryArchiveEntity(owner, month));
+
+            final List<TimeEntryEntity> archived = new ArrayList<>(monthEntries);
+            if (archive.getEntries() != null) {
+                final Set<Long> ids = monthEntries.stream().map(TimeEntryEntity::getId).collect(toSet());
+                TimeEntryArchiveCodec.decode(archive.getTenantId(), owner, archive.getEntries()).stream()
+                    .filter(entry -> !ids.contains(entry.getId()))
+                    .forEach(archived::add);
+            }
+            archived.sort(BY_START_AND_ID);
+
+            archive.setEntries(TimeEntryArchiveCodec.encode(archived), archived.size(), now);
+            timeEntryArchiveRepository.save(archive);
+        });
+
+        timeEntryRepository.deleteAll(entries);
+        return entries.size();
+    }
+
+    private boolean mayContain(Instant from) {
+        return from.isBefore(archiveBefore(1));
+    }
+
+    private static List<TimeEntryEntity> decode(Stream<TimeEntryArchiveEntity> archives, Instant from, Instant toExclusive) {
+        return archives
+            .flatMap(archive -> TimeEntryArchiveCodec.decode(archive.getTenantId(), archive.getOwner(), archive.getEntries()).stream())
+            .filter(entry -> !entry.getStart().isBefore(from) && entry.getStart().isBefore(toExclusive))
+            .sorted(BY_START_AND_ID)
+            .toList();
+    }
+
+    private static LocalDate monthOf(Instant instant) {
+        return LocalDate.ofInstant(instant, UTC).withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,118 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compact binary format of archived time entries, gzip compressed.
+ *
+ * <p>
+ * Every entry is written as id, comment, start, start zone, end, end zone, updated at and break flag. Instants are
+ * written as epoch seconds and nanos. The first byte is the version of the format.
+ */
+final class TimeEntryArchiveCodec {
+
+    private static final byte VERSION = 1;
+
+    private TimeEntryArchiveCodec() {
+    }
+
+    static byte[] encode(List<TimeEntryEntity> entries) {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            out.writeInt(entries.size());
+            for (TimeEntryEntity entry : entries) {
+                out.writeLong(entry.getId());
+                writeComment(out, entry.getComment());
+                writeInstant(out, entry.getStart());
+                out.writeUTF(entry.getStartZoneId());
+                writeInstant(out, entry.getEnd());
+                out.writeUTF(entry.getEndZoneId());
+                writeInstant(out, entry.getUpdatedAt());
+                out.writeBoolean(entry.isBreak());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not encode archived time entries", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return detached time entries marked as archived, changes are not persisted
+     */
+    static List<TimeEntryEntity> decode(String tenantId, String owner, byte[] archived) {
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(archived)))) {
+            final byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("unknown version=%d of archived time entries".formatted(version));
+            }
+            final int count = in.readInt();
+            final List<TimeEntryEntity> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final long id = in.readLong();
+                final String comment = readComment(in);
+                final Instant start = readInstant(in);
+                final ZoneId startZoneId = ZoneId.of(in.readUTF());
+                final Instant end = readInstant(in);
+                final ZoneId endZoneId = ZoneId.of(in.readUTF());
+                final Instant updatedAt = readInstant(in);
+                final boolean isBreak = in.readBoolean();
+                final TimeEntryEntity entry = new TimeEntryEntity(tenantId, id, owner, comment, start, startZoneId, end, endZoneId, updatedAt, isBreak);
+                entry.markArchived();
+                entries.add(entry);
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not decode archived time entries", e);
+        }
+    }
+
+    /**
+     * Comments are not limited in length, they are written as length prefixed UTF-8 bytes instead of
+     * {@link DataOutputStream#writeUTF(String)} which is limited to 65535 bytes. A length of -1 marks a missing comment.
+     */
+    private static void writeComment(DataOutputStream out, @Nullable String comment) throws IOException {
+        if (comment == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = comment.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readComment(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), UTF_8);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
@@ -0,0 +1,9 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TimeEntryArchiveConfigurationProperties.class)
+class TimeEntryArchiveConfiguration {
+}
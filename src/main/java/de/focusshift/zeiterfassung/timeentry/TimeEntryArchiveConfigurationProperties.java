@@ -0,0 +1,40 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.time-entry.archive")
+public class TimeEntryArchiveConfigurationProperties {
+
+    /**
+     * Cron expression of the archival of time entries of closed years of all tenants. Archived time entries are
+     * still part of reports and exports but can not be edited anymore. Use {@code -} to disable it.
+     */
+    @NotBlank
+    private String archiveCron = "-";
+
+    /**
+     * Number of years, including the current one, whose time entries are not archived.
+     */
+    @Min(1)
+    private int retainedYears = 2;
+
+    public String getArchiveCron() {
+        return archiveCron;
+    }
+
+    public void setArchiveCron(String archiveCron) {
+        this.archiveCron = archiveCron;
+    }
+
+    public int getRetainedYears() {
+        return retainedYears;
+    }
+
+    public void setRetainedYears(int retainedYears) {
+        this.retainedYears = retainedYears;
+    }
+}
@@ -0,0 +1,113 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.AbstractTenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Archived time entries of one owner starting within one month (UTC), compressed with {@link TimeEntryArchiveCodec}.
+ */
+@Entity
+@Table(name = "time_entry_archive")
+public class TimeEntryArchiveEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @SequenceGenerator(name = "time_entry_archive_seq", sequenceName = "time_entry_archive_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_entry_archive_seq")
+    private Long id;
+
+    @Column(name = "owner", nullable = false)
+    @NotNull
+    @Size(max = 255)
+    private String owner;
+
+    @Column(name = "month", nullable = false)
+    @NotNull
+    private LocalDate month;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    @Column(name = "entries", nullable = false)
+    @NotNull
+    private byte[] entries;
+
+    @Column(name = "archived_at", nullable = false)
+    @NotNull
+    private Instant archivedAt;
+
+    protected TimeEntryArchiveEntity() {
+        super(null);
+    }
+
+    TimeEntryArchiveEntity(String owner, LocalDate month) {
+        super(null);
+        this.owner = owner;
+        this.month = month;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public byte[] getEntries() {
+        return entries;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    void setEntries(byte[] entries, int entryCount, Instant archivedAt) {
+        this.entries = entries;
+        this.entryCount = entryCount;
+        this.archivedAt = archivedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimeEntryArchiveEntity that = (TimeEntryArchiveEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "TimeEntryArchiveEntity{" +
+            "id=" + id +
+            ", owner='" + owner + '\'' +
+            ", month=" + month +
+            ", entryCount=" + entryCount +
+            '}';
+    }
+}
@@ -0,0 +1,70 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.Tenant;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+import static de.focusshift.zeiterfassung.tenancy.tenant.TenantStatus.ACTIVE;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Moves the time entries of closed years of all active tenants into the {@link TimeEntryArchive} periodically.
+ * Every owner is archived in its own transaction.
+ */
+@Component
+class TimeEntryArchiveJob {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final TenantService tenantService;
+    private final TenantContextHolder tenantContextHolder;
+    private final TimeEntryArchive timeEntryArchive;
+    private final TimeEntryArchiveConfigurationProperties properties;
+
+    TimeEntryArchiveJob(TenantService tenantService, TenantContextHolder tenantContextHolder,
+                        TimeEntryArchive timeEntryArchive, TimeEntryArchiveConfigurationProperties properties) {
+        this.tenantService = tenantService;
+        this.tenantContextHolder = tenantContextHolder;
+        this.timeEntryArchive = timeEntryArchive;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${zeiterfassung.time-entry.archive.archive-cron:-}")
+    void archiveClosedYears() {
+
+        final Instant before = timeEntryArchive.archiveBefore(properties.getRetainedYears());
+
+        for (Tenant tenant : tenantService.findAllTenants()) {
+            if (tenant.status() != ACTIVE) {
+                continue;
+            }
+            try {
+                tenantContextHolder.runInTenantIdContext(tenant.tenantId(), tenantId -> archiveEntriesBefore(tenantId, before));
+            } catch (RuntimeException e) {
+                LOG.error("could not archive time entries of tenantId={}", tenant.tenantId(), e);
+            }
+        }
+    }
+
+    private void archiveEntriesBefore(String tenantId, Instant before) {
+
+        int archived = 0;
+        for (String owner : timeEntryArchive.findOwnersWithEntriesBefore(before)) {
+            try {
+                archived += timeEntryArchive.archiveEntriesOfOwner(owner, before);
+            } catch (RuntimeException e) {
+                LOG.error("could not archive time entries of owner={} of tenantId={}", owner, tenantId, e);
+            }
+        }
+
+        if (archived > 0) {
+            LOG.info("archived {} time entries before {} of tenantId={}", archived, before, tenantId);
+        }
+    }
+}
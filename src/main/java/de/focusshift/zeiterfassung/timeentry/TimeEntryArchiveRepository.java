@@ -0,0 +1,35 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+interface TimeEntryArchiveRepository extends CrudRepository<TimeEntryArchiveEntity, Long> {
+
+    Optional<TimeEntryArchiveEntity> findByOwnerAndMonth(String owner, LocalDate month);
+
+    Optional<TimeEntryArchiveEntity> findFirstByOwnerOrderByMonthAsc(String owner);
+
+    /**
+     * Streams the archived months of the owner, one row holds the compressed time entries of a whole month.
+     * The returned stream must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "12"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<TimeEntryArchiveEntity> streamAllByOwnerOrderByMonthAsc(String owner);
+
+    List<TimeEntryArchiveEntity> findAllByOwnerIsInAndMonthGreaterThanEqualAndMonthLessThanEqual(Collection<String> owners, LocalDate from, LocalDate to);
+
+    List<TimeEntryArchiveEntity> findAllByMonthGreaterThanEqualAndMonthLessThanEqual(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,15 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.user.UserId;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published whenever a time entry has been created, updated or deleted.
+ *
+ * @param userId owner of the time entry
+ * @param dates start dates of the time entry before and after the change
+ */
+public record TimeEntryChangedEvent(UserId userId, Set<LocalDate> dates) {
+}
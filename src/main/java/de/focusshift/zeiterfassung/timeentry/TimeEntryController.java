@@ -1,6 +1,8 @@
 package de.focusshift.zeiterfassung.timeentry;
 
 import de.focus_shift.launchpad.api.HasLaunchpad;
+import de.focusshift.zeiterfassung.overtime.OvertimeBalance;
+import de.focusshift.zeiterfassung.overtime.OvertimeBalanceService;
 import de.focusshift.zeiterfassung.timeclock.HasTimeClock;
 import de.focusshift.zeiterfassung.user.DateFormatter;
 import de.focusshift.zeiterfassung.user.MonthFormat;
@@ -20,6 +22,8 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.math.BigDecimal;
@@ -42,6 +46,7 @@ import static java.time.Month.DECEMBER;
 import static java.time.temporal.IsoFields.WEEK_OF_WEEK_BASED_YEAR;
 import static java.time.temporal.TemporalAdjusters.previousOrSame;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.util.StringUtils.hasText;
 
 @Controller
@@ -49,14 +54,19 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final int HISTORY_PAGE_SIZE = 50;
+
     private final TimeEntryService timeEntryService;
     private final UserSettingsProvider userSettingsProvider;
     private final DateFormatter dateFormatter;
+    private final OvertimeBalanceService overtimeBalanceService;
 
-    public TimeEntryController(TimeEntryService timeEntryService, UserSettingsProvider userSettingsProvider, DateFormatter dateFormatter) {
+    public TimeEntryController(TimeEntryService timeEntryService, UserSettingsProvider userSettingsProvider,
+                               DateFormatter dateFormatter, OvertimeBalanceService overtimeBalanceService) {
         this.timeEntryService = timeEntryService;
         this.userSettingsProvider = userSettingsProvider;
         this.dateFormatter = dateFormatter;
+        this.overtimeBalanceService = overtimeBalanceService;
     }
 
     @GetMapping("/timeentries")
@@ -87,6 +97,27 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
         }
     }
 
+    @GetMapping("/timeentries/history")
+    public String history(@RequestParam(name = "cursor", required = false) String cursor,
+                          @AuthenticationPrincipal OidcUser principal,
+                          @RequestHeader(name = "Turbo-Frame", required = false) String turboFrame,
+                          Model model) {
+
+        final UserId userId = new UserId(principal.getUserInfo().getSubject());
+
+        final TimeEntryHistoryPage historyPage;
+        try {
+            historyPage = timeEntryService.getEntryHistoryPage(userId, cursor, HISTORY_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor.");
+        }
+
+        model.addAttribute("timeEntryHistory", toTimeEntryHistoryDto(historyPage, cursor));
+
+        // "load more" replaces the frame of the requested cursor with the time entries of this page only
+        return hasText(turboFrame) ? "timeentries/history::history-frame" : "timeentries/history";
+    }
+
     private String prepareTimeEntriesView(int year, int weekOfYear, Model model, OidcUser principal, Locale locale) {
         addTimeEntryToModel(model, new TimeEntryDTO());
         addTimeEntriesToModel(year, weekOfYear, model, principal, locale);
@@ -166,7 +197,7 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
                     .findFirst()
                     .orElseThrow(() -> new IllegalStateException("could not find edited timeEntry=%s".formatted(timeEntryDTO.getId())));
 
-                model.addAttribute("turboEditedWeek", toTimeEntryWeekDto(timeEntryWeek, locale));
+                model.addAttribute("turboEditedWeek", toTimeEntryWeekDto(timeEntryWeek, userId, locale));
                 model.addAttribute("turboEditedDay", toTimeEntryDayDto(timeEntryDay, locale));
                 model.addAttribute("turboEditedTimeEntry", toTimeEntryDto(editedTimeEntry));
             }
@@ -185,7 +216,8 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
                          @AuthenticationPrincipal OidcUser principal, Locale locale) {
 
         final TimeEntry timeEntry = timeEntryService.findTimeEntry(id)
-            .orElseThrow(() -> new IllegalStateException("could not find time entry with id=%s".formatted(id)));
+            .filter(entry -> !entry.archived())
+            .orElseThrow(() -> new InvalidTimeEntryException("time entry id=%s does not exist or has been archived".formatted(id)));
 
         timeEntryService.deleteTimeEntry(id);
 
@@ -208,7 +240,7 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
 
         addTimeEntriesToModel(year, weekOfYear, model, principal, locale);
 
-        model.addAttribute("turboEditedWeek", toTimeEntryWeekDto(timeEntryWeek, locale));
+        model.addAttribute("turboEditedWeek", toTimeEntryWeekDto(timeEntryWeek, userId, locale));
         model.addAttribute("turboEditedDay", timeEntryDay.map(entry -> toTimeEntryDayDto(entry, locale)).orElse(null));
         model.addAttribute("turboDeletedTimeEntry", toTimeEntryDto(timeEntry));
 
@@ -316,7 +348,7 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
         final UserId userId = new UserId(principal.getUserInfo().getSubject());
 
         final TimeEntryWeekPage entryWeekPage = timeEntryService.getEntryWeekPage(userId, year, weekOfYear);
-        final TimeEntryWeekDto timeEntryWeekDto = toTimeEntryWeekDto(entryWeekPage.timeEntryWeek(), locale);
+        final TimeEntryWeekDto timeEntryWeekDto = toTimeEntryWeekDto(entryWeekPage.timeEntryWeek(), userId, locale);
 
         final int futureYear = lastWeekOfYear(year) == weekOfYear ? year + 1 : year;
         // using weekOfYear=1 instead of 0 since we need startOfWeek (monday). 0 could be .../friday/saturday/sunday
@@ -336,7 +368,7 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
         model.addAttribute("timeEntryWeeksPage", paginationDto);
     }
 
-    private TimeEntryWeekDto toTimeEntryWeekDto(TimeEntryWeek timeEntryWeek, Locale locale) {
+    private TimeEntryWeekDto toTimeEntryWeekDto(TimeEntryWeek timeEntryWeek, UserId userId, Locale locale) {
 
         final LocalDate firstDateOfWeek = timeEntryWeek.firstDateOfWeek();
         final LocalDate lastDateOfWeek = timeEntryWeek.lastDateOfWeek();
@@ -365,8 +397,14 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
         final String weekOvertime = durationToTimeString(weekOvertimeDuration);
         final double weekRatio = timeEntryWeek.workedHoursRatio().multiply(BigDecimal.valueOf(100), new MathContext(2)).doubleValue();
 
+        // running overtime of every day until the end of the week, like the week delta including its future days
+        final Optional<Duration> overtimeBalance = overtimeBalanceService.getBalance(userId, lastDateOfWeek.plusDays(1))
+            .map(OvertimeBalance::balance);
+
         return new TimeEntryWeekDto(timeEntryWeek.week(), firstDateString, lastDateString, weekHoursWorked,
-            weekHoursWorkedShould, weekOvertime, weekOvertimeDuration.isNegative(), weekRatio, daysDto);
+            weekHoursWorkedShould, weekOvertime, weekOvertimeDuration.isNegative(), weekRatio,
+            overtimeBalance.map(TimeEntryController::durationToTimeString).orElse(null),
+            overtimeBalance.map(Duration::isNegative).orElse(false), daysDto);
     }
 
     private static String durationToTimeString(Duration duration) {
@@ -401,6 +439,17 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
             .build();
     }
 
+    private TimeEntryHistoryDto toTimeEntryHistoryDto(TimeEntryHistoryPage historyPage, String cursor) {
+
+        final List<TimeEntryHistoryEntryDto> timeEntries = historyPage.timeEntries().stream()
+            .map(timeEntry -> new TimeEntryHistoryEntryDto(
+                dateFormatter.formatDate(timeEntry.start().toLocalDate(), MonthFormat.STRING, YearFormat.FULL),
+                toTimeEntryDto(timeEntry)))
+            .toList();
+
+        return new TimeEntryHistoryDto(timeEntries, cursor, historyPage.nextCursor(), historyPage.totalTimeEntries());
+    }
+
     private TimeEntryDTO toTimeEntryDto(TimeEntry timeEntry) {
 
         final ZonedDateTime start = timeEntry.start();
@@ -421,6 +470,7 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad {
             .duration(durationString)
             .comment(timeEntry.comment())
             .isBreak(timeEntry.isBreak())
+            .archived(timeEntry.archived())
             .build();
     }
 
@@ -48,11 +48,14 @@ public class TimeEntryDTO {
 
     private boolean isBreak;
 
+    // archived time entries are shown read-only, not bound from a submitted form
+    private boolean archived;
+
     public TimeEntryDTO() {
         date = LocalDate.now();
     }
 
-    private TimeEntryDTO(Long id, LocalDate date, LocalTime start, LocalTime end, String duration, String comment, boolean isBreak) {
+    private TimeEntryDTO(Long id, LocalDate date, LocalTime start, LocalTime end, String duration, String comment, boolean isBreak, boolean archived) {
         this.id = id;
         this.date = date;
         this.start = start;
@@ -60,6 +63,7 @@ public class TimeEntryDTO {
         this.duration = duration;
         this.comment = comment;
         this.isBreak = isBreak;
+        this.archived = archived;
     }
 
     public Long getId() {
@@ -123,6 +127,10 @@ public class TimeEntryDTO {
         return isBreak;
     }
 
+    public boolean isArchived() {
+        return archived;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -137,7 +145,8 @@ public class TimeEntryDTO {
             && Objects.equals(end, that.end)
             && Objects.equals(duration, that.duration)
             && Objects.equals(comment, that.comment)
-            && Objects.equals(isBreak, that.isBreak);
+            && Objects.equals(isBreak, that.isBreak)
+            && archived == that.archived;
     }
 
     @Override
@@ -155,6 +164,7 @@ public class TimeEntryDTO {
             ", duration='" + duration + '\'' +
             ", comment='" + comment + '\'' +
             ", isBreak='" + isBreak + '\'' +
+            ", archived=" + archived +
             '}';
     }
 
@@ -166,6 +176,7 @@ public class TimeEntryDTO {
         private String duration;
         private String comment;
         private boolean isBreak;
+        private boolean archived;
 
         private Builder() {
         }
@@ -205,8 +216,13 @@ public class TimeEntryDTO {
             return this;
         }
 
+        public Builder archived(boolean archived) {
+            this.archived = archived;
+            return this;
+        }
+
         public TimeEntryDTO build() {
-            return new TimeEntryDTO(id, date, start, end, duration, comment, isBreak);
+            return new TimeEntryDTO(id, date, start, end, duration, comment, isBreak, archived);
         }
     }
 }
@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -21,7 +22,7 @@ public class TimeEntryEntity extends AbstractTenantAwareEntity {
 
     @Id
     @Column(name = "id", unique = true, nullable = false, updatable = false)
-    @SequenceGenerator(name = "time_entry_seq", sequenceName = "time_entry_seq")
+    @SequenceGenerator(name = "time_entry_seq", sequenceName = "time_entry_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_entry_seq")
     protected Long id;
 
@@ -57,6 +58,9 @@ public class TimeEntryEntity extends AbstractTenantAwareEntity {
     @Column(name = "is_break", nullable = false)
     private boolean isBreak;
 
+    @Transient
+    private boolean archived;
+
     protected TimeEntryEntity(String tenantId, Long id, String owner, String comment, Instant start, ZoneId startZoneId, Instant end, ZoneId endZoneId, Instant updatedAt, boolean isBreak) {
         super(tenantId);
         this.id = id;
@@ -150,6 +154,17 @@ public class TimeEntryEntity extends AbstractTenantAwareEntity {
         isBreak = aBreak;
     }
 
+    /**
+     * @return whether this entity has been read from the {@link TimeEntryArchive} and can not be changed anymore
+     */
+    boolean isArchived() {
+        return archived;
+    }
+
+    void markArchived() {
+        this.archived = true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
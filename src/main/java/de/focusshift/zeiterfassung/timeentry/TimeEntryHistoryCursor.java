@@ -0,0 +1,46 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in the time entry history of a user. The history is sorted by start and id descending,
+ * the next page starts with the first time entry before this position.
+ *
+ * <p>
+ * The cursor is handed to clients as opaque string, see {@link #encode()} and {@link #decode(String)}.
+ *
+ * @param start start of the last time entry of a page
+ * @param id id of the last time entry of a page
+ */
+record TimeEntryHistoryCursor(Instant start, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        final String value = start.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException when the given value is not a valid cursor
+     */
+    static TimeEntryHistoryCursor decode(String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separatorIndex = value.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("invalid time entry history cursor=%s".formatted(cursor));
+            }
+            final Instant start = Instant.parse(value.substring(0, separatorIndex));
+            final long id = Long.parseLong(value.substring(separatorIndex + 1));
+            return new TimeEntryHistoryCursor(start, id);
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid time entry history cursor=%s".formatted(cursor), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * One page of the time entry history rendered by the "load more" list of all time entries.
+ *
+ * @param timeEntries time entries of this page, newest is the first item
+ * @param cursor cursor this page has been requested with, {@code null} for the first page
+ * @param nextCursor cursor of the next page, {@code null} when this is the last page
+ * @param totalTimeEntries number of total live time entries of the user, archived time entries are not counted
+ */
+record TimeEntryHistoryDto(List<TimeEntryHistoryEntryDto> timeEntries, @Nullable String cursor,
+                           @Nullable String nextCursor, long totalTimeEntries) {
+}
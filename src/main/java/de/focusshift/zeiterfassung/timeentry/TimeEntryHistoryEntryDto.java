@@ -0,0 +1,8 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+/**
+ * @param date formatted date of the time entry
+ * @param timeEntry the time entry
+ */
+record TimeEntryHistoryEntryDto(String date, TimeEntryDTO timeEntry) {
+}
@@ -0,0 +1,19 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * One page of the time entry history of a user.
+ *
+ * @param timeEntries time entries of this page sorted by {@linkplain TimeEntry#start()}, newest is the first item
+ * @param nextCursor  opaque cursor to request the next page, {@code null} when this is the last page
+ * @param totalTimeEntries number of total live time entries of the user, archived time entries are not counted
+ */
+record TimeEntryHistoryPage(List<TimeEntry> timeEntries, @Nullable String nextCursor, long totalTimeEntries) {
+
+    boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,61 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDate;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Creates the monthly partitions of {@code time_entry} ahead of time, so that new time entries are not written to the
+ * default partition by instances running longer than the partitions created on startup.
+ */
+@Component
+class TimeEntryPartitionJob {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final int MONTHS_AHEAD = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    /**
+     * The partitions are created with the data source of liquibase, the tenant aware data source requires a tenant.
+     */
+    @Autowired
+    TimeEntryPartitionJob(@LiquibaseDataSource ObjectProvider<DataSource> liquibaseDataSource, DataSource dataSource, Clock clock) {
+        this(new JdbcTemplate(liquibaseDataSource.getIfAvailable(() -> dataSource)), clock);
+    }
+
+    TimeEntryPartitionJob(JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${zeiterfassung.time-entry.partition-cron:0 30 3 * * *}")
+    void createUpcomingPartitions() {
+
+        final LocalDate today = LocalDate.now(clock);
+        final LocalDate until = today.plusMonths(MONTHS_AHEAD);
+
+        try {
+            final Integer created = jdbcTemplate.queryForObject("SELECT create_time_entry_partitions(?, ?)", Integer.class, today, until);
+            if (created != null && created > 0) {
+                LOG.info("created {} time entry partitions until {}", created, until);
+            }
+        } catch (DataAccessException e) {
+            LOG.error("could not create time entry partitions until {}", until, e);
+        }
+    }
+}
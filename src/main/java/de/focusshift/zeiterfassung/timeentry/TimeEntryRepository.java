@@ -1,19 +1,79 @@
 package de.focusshift.zeiterfassung.timeentry;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 interface TimeEntryRepository extends CrudRepository<TimeEntryEntity, Long> {
 
     long countAllByOwner(String owner);
 
+    /**
+     * Number of time entries of the given owner. In contrast to {@link #countAllByOwner(String)} the number is not
+     * counted but read from a counter which is maintained by the database on every insert and delete.
+     *
+     * @param owner owner of the time entries
+     * @return number of time entries, empty when the owner never had a time entry
+     */
+    @Query(value = "SELECT entry_count FROM time_entry_owner_count WHERE owner = :owner", nativeQuery = true)
+    Optional<Long> findTimeEntryCountByOwner(String owner);
+
+    /**
+     * Time entries of the owner sorted by start and id descending, starting after the given position.
+     * Backed by the (owner, start, id) index, so the cost of a page does not depend on its position in the history.
+     */
+    Window<TimeEntryEntity> findAllByOwnerOrderByStartDescIdDesc(String owner, ScrollPosition position, Limit limit);
+
+    /**
+     * First time entry of the owner, backed by the (owner, start, id) index.
+     */
+    Optional<TimeEntryEntity> findFirstByOwnerOrderByStartAscIdAsc(String owner);
+
     List<TimeEntryEntity> findAllByStartGreaterThanEqualAndStartLessThan(Instant start, Instant endExclusive);
 
     List<TimeEntryEntity> findAllByOwnerAndStartGreaterThanEqualAndStartLessThan(String owner, Instant start, Instant endExclusive);
 
     List<TimeEntryEntity> findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThan(List<String> owners, Instant start, Instant endExclusive);
+
+    List<TimeEntryEntity> findAllByOwnerAndStartLessThan(String owner, Instant endExclusive);
+
+    /**
+     * Owners having at least one time entry starting before the given instant.
+     */
+    @Query("SELECT DISTINCT t.owner FROM TimeEntryEntity t WHERE t.start < :endExclusive")
+    List<String> findAllOwnersWithStartLessThan(Instant endExclusive);
+
+    /**
+     * Reads all time entries of the given owners with a database cursor ordered by owner and start.
+     * The returned stream must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<TimeEntryEntity> streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByOwnerAscStartAsc(List<String> owners, Instant start, Instant endExclusive);
+
+    /**
+     * Reads all time entries of the owner with a database cursor ordered by start.
+     * The returned stream must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<TimeEntryEntity> streamAllByOwnerOrderByStartAscIdAsc(String owner);
 }
@@ -11,6 +11,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TimeEntryService {
 
@@ -22,6 +23,14 @@ public interface TimeEntryService {
      */
     Optional<TimeEntry> findTimeEntry(long id);
 
+    /**
+     * Find the first {@linkplain TimeEntry} of the user, the one with the earliest {@linkplain TimeEntry#start()}.
+     *
+     * @param userId to get the {@linkplain TimeEntry} for
+     * @return the first {@linkplain TimeEntry} or empty optional when the user has no time entries.
+     */
+    Optional<TimeEntry> findFirstTimeEntry(UserId userId);
+
     /**
      * {@linkplain TimeEntry}s for the given criteria sorted by {@linkplain TimeEntry#start()}, newest is the first item.
      *
@@ -54,6 +63,30 @@ public interface TimeEntryService {
      */
     Map<UserIdComposite, List<TimeEntry>> getEntriesByUserLocalIds(LocalDate from, LocalDate toExclusive, List<UserLocalId> userLocalIds);
 
+    /**
+     * Streams {@linkplain TimeEntry}s for all given users and interval sorted by user and {@linkplain TimeEntry#start()},
+     * oldest is the first item. Entries are read with a database cursor and handed over to the consumer one by one,
+     * they are not collected in memory.
+     *
+     * @param from first date of interval
+     * @param toExclusive last date (exclusive) of interval
+     * @param userLocalIds {@linkplain UserLocalId}s of desired users
+     * @param consumer receiving every {@linkplain TimeEntry}
+     */
+    void streamEntriesByUserLocalIds(LocalDate from, LocalDate toExclusive, List<UserLocalId> userLocalIds, Consumer<TimeEntry> consumer);
+
+    /**
+     * Streams all {@linkplain TimeEntry}s of the given user ordered by {@linkplain TimeEntry#start()}.
+     *
+     * <p>
+     * Entries are read with a database cursor and passed to the consumer one by one, so they are never
+     * held in memory all together.
+     *
+     * @param userId to get the {@linkplain TimeEntry}s for
+     * @param consumer receiving every {@linkplain TimeEntry}
+     */
+    void streamEntries(UserId userId, Consumer<TimeEntry> consumer);
+
     /**
      * {@linkplain TimeEntryWeekPage}s for the given user and week of year with sorted {@linkplain TimeEntry}s
      * by {@linkplain TimeEntry#start()}, newest is the first item.
@@ -66,6 +99,28 @@ public interface TimeEntryService {
      */
     TimeEntryWeekPage getEntryWeekPage(UserId userId, int year, int weekOfYear);
 
+    /**
+     * {@linkplain TimeEntryHistoryPage} for the given user with sorted {@linkplain TimeEntry}s
+     * by {@linkplain TimeEntry#start()}, newest is the first item.
+     *
+     * <p>
+     * Pages are addressed by a cursor instead of an offset, requesting a page does not depend on the
+     * number of time entries before it.
+     *
+     * <p>
+     * Only live time entries are paged. Time entries of closed years which have been moved to the
+     * {@linkplain TimeEntryArchive archive} are neither listed nor counted in {@linkplain TimeEntryHistoryPage#totalTimeEntries()},
+     * the last page ends with the oldest live time entry. Use {@link #streamEntries(UserId, Consumer)} to read archived ones, too.
+     *
+     * @param userId to get the {@linkplain TimeEntryHistoryPage} for
+     * @param cursor {@linkplain TimeEntryHistoryPage#nextCursor()} of the previous page, {@code null} for the first page
+     * @param pageSize maximum number of time entries of the page
+     *
+     * @return {@linkplain TimeEntryHistoryPage} with sorted {@linkplain TimeEntry}s.
+     * @throws IllegalArgumentException when the cursor is not valid
+     */
+    TimeEntryHistoryPage getEntryHistoryPage(UserId userId, @Nullable String cursor, int pageSize);
+
     /**
      * Creates a new {@linkplain TimeEntry}.
      *
@@ -79,6 +134,15 @@ public interface TimeEntryService {
      */
     TimeEntry createTimeEntry(UserId userId, String comment, ZonedDateTime start, ZonedDateTime end, boolean isBreak);
 
+    /**
+     * Creates all given time entries of the user within one transaction. The entries are inserted in JDBC batches
+     * and are not read back, which makes this the method of choice for imports.
+     *
+     * @param userId id of the linked user
+     * @param timeEntries time entries to create
+     */
+    void createTimeEntries(UserId userId, List<NewTimeEntry> timeEntries);
+
     /**
      * Updates the existing {@linkplain TimeEntry}
      *
@@ -14,10 +14,16 @@ import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
 import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -28,12 +34,22 @@ import java.time.LocalDate;
 import java.time.Year;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.time.ZoneOffset.UTC;
@@ -51,25 +67,35 @@ class TimeEntryServiceImpl implements TimeEntryService {
 
     public static final BigDecimal ONE_MINUTE_IN_SECONDS = BigDecimal.valueOf(60);
 
+    private static final Comparator<TimeEntryEntity> BY_START_AND_ID = comparing(TimeEntryEntity::getStart).thenComparing(TimeEntryEntity::getId);
+    private static final Comparator<TimeEntryEntity> BY_OWNER_AND_START = comparing(TimeEntryEntity::getOwner).thenComparing(BY_START_AND_ID);
+
     private final TimeEntryRepository timeEntryRepository;
+    private final TimeEntryArchive timeEntryArchive;
     private final UserManagementService userManagementService;
     private final WorkingTimeCalendarService workingTimeCalendarService;
     private final UserDateService userDateService;
     private final UserSettingsProvider userSettingsProvider;
     private final AbsenceService absenceService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
 
     @Autowired
-    TimeEntryServiceImpl(TimeEntryRepository timeEntryRepository, UserManagementService userManagementService,
+    TimeEntryServiceImpl(TimeEntryRepository timeEntryRepository, TimeEntryArchive timeEntryArchive, UserManagementService userManagementService,
                          WorkingTimeCalendarService workingTimeCalendarService, UserDateService userDateService,
-                         UserSettingsProvider userSettingsProvider, AbsenceService absenceService, Clock clock) {
+                         UserSettingsProvider userSettingsProvider, AbsenceService absenceService,
+                         EntityManager entityManager, ApplicationEventPublisher applicationEventPublisher, Clock clock) {
 
         this.timeEntryRepository = timeEntryRepository;
+        this.timeEntryArchive = timeEntryArchive;
         this.userManagementService = userManagementService;
         this.workingTimeCalendarService = workingTimeCalendarService;
         this.userDateService = userDateService;
         this.userSettingsProvider = userSettingsProvider;
         this.absenceService = absenceService;
+        this.entityManager = entityManager;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
     }
 
@@ -78,6 +104,15 @@ class TimeEntryServiceImpl implements TimeEntryService {
         return timeEntryRepository.findById(id).map(this::toTimeEntry);
     }
 
+    @Override
+    public Optional<TimeEntry> findFirstTimeEntry(UserId userId) {
+        final Optional<TimeEntryEntity> archived = timeEntryArchive.findFirstByOwner(userId.value());
+        final Optional<TimeEntryEntity> live = timeEntryRepository.findFirstByOwnerOrderByStartAscIdAsc(userId.value());
+        return Stream.concat(archived.stream(), live.stream())
+            .min(comparing(TimeEntryEntity::getStart))
+            .map(this::toTimeEntry);
+    }
+
     @Override
     public List<TimeEntry> getEntries(LocalDate from, LocalDate toExclusive, UserId userId) {
 
@@ -87,9 +122,9 @@ class TimeEntryServiceImpl implements TimeEntryService {
 
         final List<TimeEntryEntity> result = timeEntryRepository
             .findAllByOwnerAndStartGreaterThanEqualAndStartLessThan(userId.value(), fromInstant, toInstant);
+        final List<TimeEntryEntity> archived = timeEntryArchive.findAllByOwnerIsIn(List.of(userId.value()), fromInstant, toInstant);
 
-        return result
-            .stream()
+        return Stream.concat(archived.stream(), result.stream())
             .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, user))
             .sorted(comparing(TimeEntry::start).reversed())
             .toList();
@@ -105,8 +140,9 @@ class TimeEntryServiceImpl implements TimeEntryService {
             .stream()
             .collect(toMap(User::userId, identity()));
 
-        return timeEntryRepository.findAllByStartGreaterThanEqualAndStartLessThan(fromInstant, toInstant)
-            .stream()
+        final List<TimeEntryEntity> archived = timeEntryArchive.findAll(fromInstant, toInstant);
+
+        return Stream.concat(archived.stream(), timeEntryRepository.findAllByStartGreaterThanEqualAndStartLessThan(fromInstant, toInstant).stream())
             .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, userByUserId))
             .filter(Objects::nonNull)
             .collect(groupingBy(TimeEntry::userIdComposite));
@@ -127,9 +163,11 @@ class TimeEntryServiceImpl implements TimeEntryService {
             userByUserId.put(user.userId(), user);
         }
 
-        final Map<UserIdComposite, List<TimeEntry>> result = timeEntryRepository
-            .findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThan(userIdValues, fromInstant, toInstant)
-            .stream()
+        final List<TimeEntryEntity> archived = timeEntryArchive.findAllByOwnerIsIn(userIdValues, fromInstant, toInstant);
+        final List<TimeEntryEntity> live = timeEntryRepository
+            .findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThan(userIdValues, fromInstant, toInstant);
+
+        final Map<UserIdComposite, List<TimeEntry>> result = Stream.concat(archived.stream(), live.stream())
             .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, userByUserId))
             .filter(Objects::nonNull)
             .collect(groupingBy(TimeEntry::userIdComposite));
@@ -141,6 +179,87 @@ class TimeEntryServiceImpl implements TimeEntryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamEntriesByUserLocalIds(LocalDate from, LocalDate toExclusive, List<UserLocalId> userLocalIds, Consumer<TimeEntry> consumer) {
+
+        final Instant fromInstant = toInstant(from);
+        final Instant toInstant = toInstant(toExclusive);
+
+        final List<User> users = userManagementService.findAllUsersByLocalIds(userLocalIds);
+        if (users.isEmpty()) {
+            return;
+        }
+
+        final List<String> userIdValues = new ArrayList<>();
+        final Map<UserId, User> userByUserId = new HashMap<>();
+        for (User user : users) {
+            userIdValues.add(user.userIdComposite().id().value());
+            userByUserId.put(user.userId(), user);
+        }
+
+        // archived entries are merged into the ordered stream of live entries
+        final Deque<TimeEntryEntity> archived = new ArrayDeque<>(timeEntryArchive.findAllByOwnerIsIn(userIdValues, fromInstant, toInstant)
+            .stream()
+            .sorted(BY_OWNER_AND_START)
+            .toList());
+        final Consumer<TimeEntryEntity> acceptArchived = archivedEntity -> {
+            final TimeEntry timeEntry = toTimeEntry(archivedEntity, userByUserId);
+            if (timeEntry != null) {
+                consumer.accept(timeEntry);
+            }
+        };
+
+        try (Stream<TimeEntryEntity> entities = timeEntryRepository
+            .streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByOwnerAscStartAsc(userIdValues, fromInstant, toInstant)) {
+
+            entities.forEach(timeEntryEntity -> {
+                while (!archived.isEmpty() && BY_OWNER_AND_START.compare(archived.peek(), timeEntryEntity) < 0) {
+                    acceptArchived.accept(archived.poll());
+                }
+                final TimeEntry timeEntry = toTimeEntry(timeEntryEntity, userByUserId);
+                // entity is not needed anymore, do not let the persistence context grow with every row
+                entityManager.detach(timeEntryEntity);
+                if (timeEntry != null) {
+                    consumer.accept(timeEntry);
+                }
+            });
+        }
+        archived.forEach(acceptArchived);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamEntries(UserId userId, Consumer<TimeEntry> consumer) {
+
+        final User user = findUser(userId);
+
+        // both streams are ordered by start and id, archived entries are merged into the stream of live entries
+        try (Stream<TimeEntryEntity> archivedEntities = timeEntryArchive.streamAllByOwner(userId.value());
+             Stream<TimeEntryEntity> entities = timeEntryRepository.streamAllByOwnerOrderByStartAscIdAsc(userId.value())) {
+
+            final Iterator<TimeEntryEntity> archived = archivedEntities.iterator();
+            TimeEntryEntity nextArchived = archived.hasNext() ? archived.next() : null;
+
+            final Iterator<TimeEntryEntity> live = entities.iterator();
+            while (live.hasNext()) {
+                final TimeEntryEntity timeEntryEntity = live.next();
+                while (nextArchived != null && BY_START_AND_ID.compare(nextArchived, timeEntryEntity) < 0) {
+                    consumer.accept(toTimeEntry(nextArchived, user));
+                    nextArchived = archived.hasNext() ? archived.next() : null;
+                }
+                final TimeEntry timeEntry = toTimeEntry(timeEntryEntity, user);
+                entityManager.detach(timeEntryEntity);
+                consumer.accept(timeEntry);
+            }
+            while (nextArchived != null) {
+                consumer.accept(toTimeEntry(nextArchived, user));
+                nextArchived = archived.hasNext() ? archived.next() : null;
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public TimeEntryWeekPage getEntryWeekPage(UserId userId, int year, int weekOfYear) {
 
         final User user = findUser(userId);
@@ -152,8 +271,10 @@ class TimeEntryServiceImpl implements TimeEntryService {
         final Instant from = Instant.from(fromDateTime);
         final Instant toExclusive = Instant.from(toDateTimeExclusive);
 
-        final Map<LocalDate, List<TimeEntry>> timeEntriesByDate = timeEntryRepository.findAllByOwnerAndStartGreaterThanEqualAndStartLessThan(userId.value(), from, toExclusive)
-            .stream()
+        final List<TimeEntryEntity> archived = timeEntryArchive.findAllByOwnerIsIn(List.of(userId.value()), from, toExclusive);
+        final List<TimeEntryEntity> live = timeEntryRepository.findAllByOwnerAndStartGreaterThanEqualAndStartLessThan(userId.value(), from, toExclusive);
+
+        final Map<LocalDate, List<TimeEntry>> timeEntriesByDate = Stream.concat(archived.stream(), live.stream())
             .sorted(comparing(TimeEntryEntity::getStart).thenComparing(TimeEntryEntity::getUpdatedAt).reversed())
             .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, user))
             .collect(groupingBy(entry -> LocalDate.ofInstant(entry.start().toInstant(), userZoneId)));
@@ -172,11 +293,34 @@ class TimeEntryServiceImpl implements TimeEntryService {
             .plannedWorkingHours(fromLocalDate, toLocalDateExclusive);
 
         final TimeEntryWeek timeEntryWeek = new TimeEntryWeek(fromLocalDate, weekPlannedHours, daysOfWeek);
-        final long totalTimeEntries = timeEntryRepository.countAllByOwner(userId.value());
+        final long totalTimeEntries = countTimeEntries(userId);
 
         return new TimeEntryWeekPage(timeEntryWeek, totalTimeEntries);
     }
 
+    @Override
+    public TimeEntryHistoryPage getEntryHistoryPage(UserId userId, @Nullable String cursor, int pageSize) {
+
+        final ScrollPosition position = cursor == null
+            ? ScrollPosition.keyset()
+            : toScrollPosition(TimeEntryHistoryCursor.decode(cursor));
+
+        final User user = findUser(userId);
+
+        final Window<TimeEntryEntity> window = timeEntryRepository
+            .findAllByOwnerOrderByStartDescIdDesc(userId.value(), position, Limit.of(pageSize));
+
+        final List<TimeEntry> timeEntries = window.stream()
+            .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, user))
+            .toList();
+
+        final String nextCursor = window.hasNext() && !window.isEmpty()
+            ? toHistoryCursor(window.getContent().getLast()).encode()
+            : null;
+
+        return new TimeEntryHistoryPage(timeEntries, nextCursor, countTimeEntries(userId));
+    }
+
     @Override
     public TimeEntry createTimeEntry(UserId userId, String comment, ZonedDateTime start, ZonedDateTime end, boolean isBreak) {
 
@@ -189,7 +333,41 @@ class TimeEntryServiceImpl implements TimeEntryService {
         entity.setEndZoneId(end.getZone().getId());
         entity.setBreak(isBreak);
 
-        return save(entity);
+        final TimeEntry saved = save(entity);
+        publishChanged(entity, startDate(entity));
+
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void createTimeEntries(UserId userId, List<NewTimeEntry> timeEntries) {
+
+        if (timeEntries.isEmpty()) {
+            return;
+        }
+
+        final Instant now = Instant.now(clock);
+        final List<TimeEntryEntity> entities = new ArrayList<>(timeEntries.size());
+        final Set<LocalDate> dates = new HashSet<>();
+
+        for (NewTimeEntry timeEntry : timeEntries) {
+            final TimeEntryEntity entity = new TimeEntryEntity();
+            entity.setOwner(userId.value());
+            entity.setComment(timeEntry.comment().strip());
+            entity.setStart(timeEntry.start().toInstant());
+            entity.setStartZoneId(timeEntry.start().getZone().getId());
+            entity.setEnd(timeEntry.end().toInstant());
+            entity.setEndZoneId(timeEntry.end().getZone().getId());
+            entity.setBreak(timeEntry.isBreak());
+            entity.setUpdatedAt(now);
+            entities.add(entity);
+            dates.add(startDate(entity));
+        }
+
+        // ids are taken from the pooled sequence, hibernate groups the inserts into jdbc batches on flush
+        timeEntryRepository.saveAll(entities);
+        applicationEventPublisher.publishEvent(new TimeEntryChangedEvent(userId, dates));
     }
 
     @Override
@@ -197,14 +375,19 @@ class TimeEntryServiceImpl implements TimeEntryService {
                                      @Nullable Duration duration, boolean isBreak) throws TimeEntryUpdateNotPlausibleException {
 
         final TimeEntryEntity entity = timeEntryRepository.findById(id.value())
-            .orElseThrow(() -> new IllegalStateException("could not find existing timeEntry id=%s".formatted(id)));
+            .orElseThrow(() -> new InvalidTimeEntryException("time entry id=%s does not exist or has been archived".formatted(id.value())));
+
+        final LocalDate previousStartDate = startDate(entity);
 
         updateEntityTimeSpan(entity, start, end, duration);
 
         entity.setComment(comment.strip());
         entity.setBreak(isBreak);
 
-        return save(entity);
+        final TimeEntry saved = save(entity);
+        publishChanged(entity, previousStartDate, startDate(entity));
+
+        return saved;
     }
 
     private static List<TimeEntryDay> createTimeEntryDays(LocalDate from, LocalDate toExclusive,
@@ -316,7 +499,10 @@ class TimeEntryServiceImpl implements TimeEntryService {
 
     @Override
     public void deleteTimeEntry(long timeEntryId) {
-        timeEntryRepository.deleteById(timeEntryId);
+        timeEntryRepository.findById(timeEntryId).ifPresent(entity -> {
+            timeEntryRepository.delete(entity);
+            publishChanged(entity, startDate(entity));
+        });
     }
 
     private TimeEntry save(TimeEntryEntity entity) {
@@ -324,6 +510,29 @@ class TimeEntryServiceImpl implements TimeEntryService {
         return toTimeEntry(timeEntryRepository.save(entity));
     }
 
+    private void publishChanged(TimeEntryEntity entity, LocalDate... dates) {
+        applicationEventPublisher.publishEvent(new TimeEntryChangedEvent(new UserId(entity.getOwner()), Set.copyOf(Arrays.asList(dates))));
+    }
+
+    private static LocalDate startDate(TimeEntryEntity entity) {
+        return LocalDate.ofInstant(entity.getStart(), ZoneId.of(entity.getStartZoneId()));
+    }
+
+    private long countTimeEntries(UserId userId) {
+        return timeEntryRepository.findTimeEntryCountByOwner(userId.value()).orElse(0L);
+    }
+
+    private static ScrollPosition toScrollPosition(TimeEntryHistoryCursor cursor) {
+        final Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("start", cursor.start());
+        keys.put("id", cursor.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    private static TimeEntryHistoryCursor toHistoryCursor(TimeEntryEntity entity) {
+        return new TimeEntryHistoryCursor(entity.getStart(), entity.getId());
+    }
+
     private User findUser(UserId userId) {
         return userManagementService.findUserById(userId)
             .orElseThrow(() -> new IllegalStateException("expected user=%s to exist but got nothing.".formatted(userId)));
@@ -362,7 +571,7 @@ class TimeEntryServiceImpl implements TimeEntryService {
 
         final UserIdComposite userIdComposite = user.userIdComposite();
 
-        return new TimeEntry(new TimeEntryId(entity.getId()), userIdComposite, entity.getComment(), startDateTime, endDateTime, entity.isBreak());
+        return new TimeEntry(new TimeEntryId(entity.getId()), userIdComposite, entity.getComment(), startDateTime, endDateTime, entity.isBreak(), entity.isArchived());
     }
 
     private static Instant toInstant(LocalDate localDate) {
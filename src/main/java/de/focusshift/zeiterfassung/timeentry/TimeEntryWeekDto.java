@@ -11,6 +11,8 @@ record TimeEntryWeekDto(Integer calendarWeek,
                         String hoursDelta,
                         boolean hoursDeltaNegative,
                         double hoursWorkedRatio,
+                        String overtimeBalance,
+                        boolean overtimeBalanceNegative,
                         List<TimeEntryDayDto> days) {
 
     public List<TimeEntryDTO> timeEntries() {
@@ -34,6 +36,8 @@ record TimeEntryWeekDto(Integer calendarWeek,
         private String hoursDelta;
         private boolean hoursDeltaNegative;
         private double hoursWorkedRatio;
+        private String overtimeBalance;
+        private boolean overtimeBalanceNegative;
         private List<TimeEntryDayDto> days;
 
         public Builder calendarWeek(Integer calendarWeek) {
@@ -76,6 +80,16 @@ record TimeEntryWeekDto(Integer calendarWeek,
             return this;
         }
 
+        public Builder overtimeBalance(String overtimeBalance) {
+            this.overtimeBalance = overtimeBalance;
+            return this;
+        }
+
+        public Builder overtimeBalanceNegative(boolean overtimeBalanceNegative) {
+            this.overtimeBalanceNegative = overtimeBalanceNegative;
+            return this;
+        }
+
         public Builder days(List<TimeEntryDayDto> days) {
             this.days = days;
             return this;
@@ -83,7 +97,7 @@ record TimeEntryWeekDto(Integer calendarWeek,
 
         public TimeEntryWeekDto build() {
             return new TimeEntryWeekDto(calendarWeek, from, to, hoursWorked, hoursWorkedShould, hoursDelta,
-                hoursDeltaNegative, hoursWorkedRatio, days);
+                hoursDeltaNegative, hoursWorkedRatio, overtimeBalance, overtimeBalanceNegative, days);
         }
     }
 }
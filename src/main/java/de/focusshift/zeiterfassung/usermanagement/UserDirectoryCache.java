@@ -0,0 +1,237 @@
+package de.focusshift.zeiterfassung.usermanagement;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserCreatedEvent;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserUpdatedEvent;
+import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
+import de.focusshift.zeiterfassung.user.UserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Keeps all {@link User users} of a tenant in memory, indexed by {@link UserId} and {@link UserLocalId}.
+ *
+ * <p>
+ * The directory of a tenant is loaded completely on the first access and reused until it expires,
+ * is evicted as least recently used tenant, or a user of the tenant has been created or deleted.
+ * An updated user, e.g. on every login, replaces the user in the cached directory.
+ *
+ * <p>
+ * Without a tenant context nothing is cached and {@link #directory(Supplier)} returns an empty {@link Optional}.
+ */
+class UserDirectoryCache {
+
+    private final TenantContextHolder tenantContextHolder;
+    private final Clock clock;
+    private final Duration timeToLive;
+    private final Map<TenantId, UserDirectory> directoryByTenantId;
+    private final Counter hits;
+    private final Counter misses;
+
+    // incremented on every change of a user of the tenant, a directory of the tenant loaded meanwhile could already
+    // be outdated and is not cached.
+    private final Map<TenantId, Long> invalidationsByTenantId = new HashMap<>();
+
+    UserDirectoryCache(TenantContextHolder tenantContextHolder, Clock clock, MeterRegistry meterRegistry,
+                       int maxTenants, Duration timeToLive) {
+
+        this.tenantContextHolder = tenantContextHolder;
+        this.clock = clock;
+        this.timeToLive = timeToLive;
+        this.directoryByTenantId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TenantId, UserDirectory> eldest) {
+                return size() > maxTenants;
+            }
+        };
+
+        this.hits = Counter.builder("zeiterfassung.users.directory.cache")
+            .description("lookups of the user directory of a tenant")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("zeiterfassung.users.directory.cache")
+            .description("lookups of the user directory of a tenant")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("zeiterfassung.users.directory.cache.tenants", this, UserDirectoryCache::size)
+            .description("tenants with a cached user directory")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the user directory of the current tenant. The directory is loaded with the given loader when
+     * it is not cached yet or expired.
+     *
+     * @param loader loads all users of the current tenant
+     * @return the directory of the current tenant, empty when there is no tenant context
+     */
+    Optional<UserDirectory> directory(Supplier<List<User>> loader) {
+
+        final Optional<TenantId> maybeTenantId = tenantContextHolder.getCurrentTenantId();
+        if (maybeTenantId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final TenantId tenantId = maybeTenantId.get();
+        final Instant now = clock.instant();
+
+        final long invalidationsBeforeLoading;
+        synchronized (directoryByTenantId) {
+            final UserDirectory cached = directoryByTenantId.get(tenantId);
+            if (cached != null && cached.expiresAt().isAfter(now)) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            invalidationsBeforeLoading = invalidations(tenantId);
+        }
+
+        misses.increment();
+
+        // loading happens outside the lock to not block lookups of other tenants
+        final UserDirectory directory = UserDirectory.of(loader.get(), now.plus(timeToLive));
+
+        synchronized (directoryByTenantId) {
+            if (invalidations(tenantId) == invalidationsBeforeLoading) {
+                directoryByTenantId.put(tenantId, directory);
+            }
+        }
+
+        return Optional.of(directory);
+    }
+
+    @EventListener
+    void on(TenantUserCreatedEvent event) {
+        tenantContextHolder.getCurrentTenantId().ifPresent(this::evict);
+    }
+
+    @EventListener
+    void on(TenantUserUpdatedEvent event) {
+        if (event.tenantUser().status() == UserStatus.DELETED) {
+            tenantContextHolder.getCurrentTenantId().ifPresent(this::evict);
+        } else {
+            final User user = UserManagementServiceImpl.tenantUserToUser(event.tenantUser());
+            tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> replace(tenantId, user));
+        }
+    }
+
+    private void evict(TenantId tenantId) {
+        invalidate(tenantId, directoryByTenantId::remove);
+        // the change is not visible to other transactions yet, which could have cached the old state meanwhile
+        afterCommit(() -> invalidate(tenantId, directoryByTenantId::remove));
+    }
+
+    private void replace(TenantId tenantId, User user) {
+        final Consumer<TenantId> replaceUser = id -> directoryByTenantId.computeIfPresent(id, (key, cached) -> cached.withUser(user));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // directories loaded meanwhile are not cached, the user is replaced once the change is visible to others
+            invalidate(tenantId, id -> {});
+            afterCommit(() -> invalidate(tenantId, replaceUser));
+        } else {
+            invalidate(tenantId, replaceUser);
+        }
+    }
+
+    private void invalidate(TenantId tenantId, Consumer<TenantId> action) {
+        synchronized (directoryByTenantId) {
+            invalidationsByTenantId.merge(tenantId, 1L, Long::sum);
+            action.accept(tenantId);
+        }
+    }
+
+    private static void afterCommit(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        }
+    }
+
+    private long invalidations(TenantId tenantId) {
+        return invalidationsByTenantId.getOrDefault(tenantId, 0L);
+    }
+
+    private int size() {
+        synchronized (directoryByTenantId) {
+            return directoryByTenantId.size();
+        }
+    }
+
+    /**
+     * All users of one tenant.
+     *
+     * @param users all users in the order they have been loaded
+     * @param userById users indexed by {@link UserId}
+     * @param userByLocalId users indexed by {@link UserLocalId}
+     * @param expiresAt point in time the directory has to be loaded again
+     */
+    record UserDirectory(List<User> users, Map<UserId, User> userById, Map<UserLocalId, User> userByLocalId, Instant expiresAt) {
+
+        static UserDirectory of(List<User> users, Instant expiresAt) {
+            final Map<UserId, User> userById = users.stream().collect(toMap(User::userId, identity(), (a, b) -> a, HashMap::new));
+            final Map<UserLocalId, User> userByLocalId = users.stream().collect(toMap(User::userLocalId, identity(), (a, b) -> a, HashMap::new));
+            return new UserDirectory(List.copyOf(users), userById, userByLocalId, expiresAt);
+        }
+
+        /**
+         * Returns a copy of this directory with the given user replacing the user with the same {@link UserId}.
+         * The user is added when it is not part of this directory yet.
+         */
+        UserDirectory withUser(User user) {
+            final List<User> nextUsers = new ArrayList<>(users.size() + 1);
+            boolean replaced = false;
+            for (User existing : users) {
+                if (existing.userId().equals(user.userId())) {
+                    nextUsers.add(user);
+                    replaced = true;
+                } else {
+                    nextUsers.add(existing);
+                }
+            }
+            if (!replaced) {
+                nextUsers.add(user);
+            }
+            return of(nextUsers, expiresAt);
+        }
+
+        Optional<User> findById(UserId userId) {
+            return Optional.ofNullable(userById.get(userId));
+        }
+
+        Optional<User> findByLocalId(UserLocalId userLocalId) {
+            return Optional.ofNullable(userByLocalId.get(userLocalId));
+        }
+
+        List<User> findAllByIds(Collection<UserId> userIds) {
+            return userIds.stream().distinct().map(userById::get).filter(Objects::nonNull).toList();
+        }
+
+        List<User> findAllByLocalIds(Collection<UserLocalId> userLocalIds) {
+            return userLocalIds.stream().distinct().map(userByLocalId::get).filter(Objects::nonNull).toList();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package de.focusshift.zeiterfassung.usermanagement;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.users.directory.cache")
+public class UserDirectoryCacheConfigurationProperties {
+
+    /**
+     * Maximum number of tenants with a cached user directory. The least recently used tenant is evicted first.
+     */
+    @Min(1)
+    private int maxTenants = 100;
+
+    /**
+     * Duration a cached user directory is used until it is loaded again.
+     * Changes of this application instance evict the directory immediately.
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    public int getMaxTenants() {
+        return maxTenants;
+    }
+
+    public void setMaxTenants(int maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+}
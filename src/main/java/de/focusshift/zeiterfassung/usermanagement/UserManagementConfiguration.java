@@ -0,0 +1,20 @@
+package de.focusshift.zeiterfassung.usermanagement;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(UserDirectoryCacheConfigurationProperties.class)
+class UserManagementConfiguration {
+
+    @Bean
+    UserDirectoryCache userDirectoryCache(TenantContextHolder tenantContextHolder, Clock clock, MeterRegistry meterRegistry,
+                                          UserDirectoryCacheConfigurationProperties properties) {
+        return new UserDirectoryCache(tenantContextHolder, clock, meterRegistry, properties.getMaxTenants(), properties.getTimeToLive());
+    }
+}
@@ -16,24 +16,32 @@ import java.util.Set;
 class UserManagementServiceImpl implements UserManagementService {
 
     private final TenantUserService tenantUserService;
+    private final UserDirectoryCache userDirectoryCache;
 
-    UserManagementServiceImpl(TenantUserService tenantUserService) {
+    UserManagementServiceImpl(TenantUserService tenantUserService, UserDirectoryCache userDirectoryCache) {
         this.tenantUserService = tenantUserService;
+        this.userDirectoryCache = userDirectoryCache;
     }
 
     @Override
     public Optional<User> findUserById(UserId userId) {
-        return mapToUser(tenantUserService.findById(userId));
+        return userDirectory()
+            .map(directory -> directory.findById(userId))
+            .orElseGet(() -> mapToUser(tenantUserService.findById(userId)));
     }
 
     @Override
     public Optional<User> findUserByLocalId(UserLocalId userId) {
-        return mapToUser(tenantUserService.findByLocalId(userId));
+        return userDirectory()
+            .map(directory -> directory.findByLocalId(userId))
+            .orElseGet(() -> mapToUser(tenantUserService.findByLocalId(userId)));
     }
 
     @Override
     public List<User> findAllUsers() {
-        return mapToUser(tenantUserService.findAllUsers());
+        return userDirectory()
+            .map(UserDirectoryCache.UserDirectory::users)
+            .orElseGet(this::loadAllUsers);
     }
 
     @Override
@@ -43,12 +51,16 @@ class UserManagementServiceImpl implements UserManagementService {
 
     @Override
     public List<User> findAllUsersByIds(Collection<UserId> userIds) {
-        return mapToUser(tenantUserService.findAllUsersById(userIds));
+        return userDirectory()
+            .map(directory -> directory.findAllByIds(userIds))
+            .orElseGet(() -> mapToUser(tenantUserService.findAllUsersById(userIds)));
     }
 
     @Override
     public List<User> findAllUsersByLocalIds(Collection<UserLocalId> localIds) {
-        return mapToUser(tenantUserService.findAllUsersByLocalId(localIds));
+        return userDirectory()
+            .map(directory -> directory.findAllByLocalIds(localIds))
+            .orElseGet(() -> mapToUser(tenantUserService.findAllUsersByLocalId(localIds)));
     }
 
     @Override
@@ -64,6 +76,14 @@ class UserManagementServiceImpl implements UserManagementService {
         return tenantUserToUser(tenantUserService.updateUser(tenantUserWithNewPermissions));
     }
 
+    private Optional<UserDirectoryCache.UserDirectory> userDirectory() {
+        return userDirectoryCache.directory(this::loadAllUsers);
+    }
+
+    private List<User> loadAllUsers() {
+        return mapToUser(tenantUserService.findAllUsers());
+    }
+
     private static Optional<User> mapToUser(Optional<TenantUser> optional) {
         return optional.map(UserManagementServiceImpl::tenantUserToUser);
     }
@@ -74,7 +94,7 @@ class UserManagementServiceImpl implements UserManagementService {
             .toList();
     }
 
-    private static User tenantUserToUser(TenantUser tenantUser) {
+    static User tenantUserToUser(TenantUser tenantUser) {
 
         final UserId userId = new UserId(tenantUser.id());
         final UserLocalId userLocalId = new UserLocalId(tenantUser.localId());
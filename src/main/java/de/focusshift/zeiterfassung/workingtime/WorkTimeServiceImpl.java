@@ -10,6 +10,7 @@ import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Clock;
@@ -48,13 +49,16 @@ class WorkTimeServiceImpl implements WorkingTimeService {
     private final WorkingTimeRepository repository;
     private final UserManagementService userManagementService;
     private final FederalStateSettingsService federalStateSettingsService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
 
     WorkTimeServiceImpl(WorkingTimeRepository repository, UserManagementService userManagementService,
-                        FederalStateSettingsService federalStateSettingsService, Clock clock) {
+                        FederalStateSettingsService federalStateSettingsService,
+                        ApplicationEventPublisher applicationEventPublisher, Clock clock) {
         this.repository = repository;
         this.userManagementService = userManagementService;
         this.federalStateSettingsService = federalStateSettingsService;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
     }
 
@@ -96,6 +100,22 @@ class WorkTimeServiceImpl implements WorkingTimeService {
         return findWorkingTimesForUsers(from, toExclusive, users);
     }
 
+    @Override
+    public List<UserLocalId> getAllUsersUsingGlobalFederalStateSettings() {
+
+        final List<UserLocalId> userLocalIds = userManagementService.findAllUsers().stream().map(User::userLocalId).toList();
+        final Map<Long, List<WorkingTimeEntity>> entitiesByUserId = repository.findAllByUserIdIsIn(userLocalIds.stream().map(UserLocalId::value).toList())
+            .stream()
+            .collect(groupingBy(WorkingTimeEntity::getUserId));
+
+        return userLocalIds.stream()
+            .filter(userLocalId -> {
+                final List<WorkingTimeEntity> entities = entitiesByUserId.getOrDefault(userLocalId.value(), List.of());
+                return entities.isEmpty() || entities.stream().anyMatch(WorkTimeServiceImpl::usesGlobalFederalStateSettings);
+            })
+            .toList();
+    }
+
     @Override
     public WorkingTime createWorkingTime(UserLocalId userLocalId, LocalDate validFrom, FederalState federalState, @Nullable Boolean worksOnPublicHoliday, EnumMap<DayOfWeek, Duration> workdays) {
 
@@ -109,6 +129,8 @@ class WorkTimeServiceImpl implements WorkingTimeService {
         setWorkDays(entity, workdays);
 
         final WorkingTimeEntity saved = repository.save(entity);
+        publishChanged(userLocalId, validFrom);
+
         final List<WorkingTimeEntity> allEntitiesSorted = findAllWorkingTimeEntitiesSorted(userLocalId);
 
         return entityToWorkingTime(saved, user.userIdComposite(), allEntitiesSorted, new CachedSupplier<>(this::getGlobalFederalStateSettings));
@@ -120,6 +142,8 @@ class WorkTimeServiceImpl implements WorkingTimeService {
         final WorkingTimeEntity entity = repository.findById(workingTimeId.uuid())
             .orElseThrow(() -> new IllegalStateException("could not find working-time with id=%s".formatted(workingTimeId)));
 
+        final LocalDate previousValidFrom = entity.getValidFrom();
+
         if (entity.getValidFrom() == null) {
             LOG.info("ignore updating validFrom of very first workingTime={}", workingTimeId);
         } else if (validFrom != null) {
@@ -136,6 +160,13 @@ class WorkTimeServiceImpl implements WorkingTimeService {
         final User user = findUser(userLocalId);
 
         final WorkingTimeEntity saved = repository.save(entity);
+
+        // moving validFrom affects the dates between the previous and the new validFrom, too
+        final LocalDate affectedFrom = previousValidFrom == null || previousValidFrom.isBefore(entity.getValidFrom())
+            ? previousValidFrom
+            : entity.getValidFrom();
+        publishChanged(userLocalId, affectedFrom);
+
         final List<WorkingTimeEntity> allEntitiesSorted = findAllWorkingTimeEntitiesSorted(userLocalId);
 
         return entityToWorkingTime(saved, user.userIdComposite(), allEntitiesSorted, new CachedSupplier<>(this::getGlobalFederalStateSettings));
@@ -153,9 +184,19 @@ class WorkTimeServiceImpl implements WorkingTimeService {
         }
 
         repository.deleteById(workingTimeId.uuid());
+        publishChanged(new UserLocalId(toDelete.getUserId()), toDelete.getValidFrom());
+
         return true;
     }
 
+    private static boolean usesGlobalFederalStateSettings(WorkingTimeEntity entity) {
+        return FederalState.GLOBAL.equals(entity.getFederalState()) || entity.isWorksOnPublicHoliday() == null;
+    }
+
+    private void publishChanged(UserLocalId userLocalId, @Nullable LocalDate affectedFrom) {
+        applicationEventPublisher.publishEvent(new WorkingTimeChangedEvent(userLocalId, Optional.ofNullable(affectedFrom)));
+    }
+
     private Map<UserIdComposite, List<WorkingTime>> findWorkingTimesForUsers(LocalDate from, LocalDate toExclusive, Collection<User> users) {
         final Map<UserIdComposite, List<WorkingTime>> workingTimesSorted = findWorkingTimesSorted(users);
         return workingTimesSorted.entrySet().stream()
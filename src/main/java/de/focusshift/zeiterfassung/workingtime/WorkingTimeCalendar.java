@@ -2,11 +2,17 @@ package de.focusshift.zeiterfassung.workingtime;
 
 import de.focusshift.zeiterfassung.usermanagement.User;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import static java.time.temporal.ChronoUnit.DAYS;
+
 /**
  * Provides information about the {@link PlannedWorkingHours} on a given {@link LocalDate} including publicHolidays.
  * For instance:
@@ -19,28 +25,73 @@ import java.util.Optional;
  * </ul>
  *
  * Should be used in combination with a {@link Map} to keep relation to a {@link User} for example.
+ *
+ * <p>
+ * The planned working hours are stored as nanos per day offset to the first date of the calendar, accompanied by
+ * prefix sums. Looking up a date is an array access and summing up an interval is a subtraction of two prefix sums.
  */
 public final class WorkingTimeCalendar {
 
-    private final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate;
+    private final LocalDate firstDate;
+    private final long[] plannedNanos;
+    private final long[] plannedNanosPrefixSums;
+    private final BitSet knownDays;
 
     public WorkingTimeCalendar(Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate) {
-        this.plannedWorkingHoursByDate = plannedWorkingHoursByDate;
+        this(fromMap(plannedWorkingHoursByDate));
+    }
+
+    private WorkingTimeCalendar(Builder builder) {
+
+        final int firstKnown = builder.knownDays.nextSetBit(0);
+        final int lastKnown = builder.knownDays.length() - 1;
+
+        if (firstKnown < 0) {
+            this.firstDate = builder.from;
+            this.plannedNanos = new long[0];
+            this.knownDays = new BitSet();
+        } else {
+            // trim unknown days at the beginning and the end, calendars with the same known days are equal then
+            this.firstDate = builder.from.plusDays(firstKnown);
+            this.plannedNanos = Arrays.copyOfRange(builder.plannedNanos, firstKnown, lastKnown + 1);
+            this.knownDays = builder.knownDays.get(firstKnown, lastKnown + 1);
+        }
+
+        this.plannedNanosPrefixSums = new long[plannedNanos.length + 1];
+        for (int index = 0; index < plannedNanos.length; index++) {
+            plannedNanosPrefixSums[index + 1] = plannedNanosPrefixSums[index] + plannedNanos[index];
+        }
+    }
+
+    /**
+     * Creates a {@link Builder} for a calendar covering the given interval.
+     *
+     * @param from first date of the calendar
+     * @param toExclusive last date (exclusive) of the calendar
+     * @return a new {@link Builder}
+     */
+    static Builder builder(LocalDate from, LocalDate toExclusive) {
+        return new Builder(from, toExclusive);
     }
 
     public Optional<PlannedWorkingHours> plannedWorkingHours(LocalDate date) {
-        return Optional.ofNullable(plannedWorkingHoursByDate.get(date));
+        final long offset = DAYS.between(firstDate, date);
+        if (offset < 0 || offset >= plannedNanos.length || !knownDays.get((int) offset)) {
+            return Optional.empty();
+        }
+        return Optional.of(toPlannedWorkingHours(plannedNanos[(int) offset]));
     }
 
     /**
      * calculate {@linkplain PlannedWorkingHours} between the given dates.
      */
     public PlannedWorkingHours plannedWorkingHours(LocalDate from, LocalDate toExclusive) {
-        return plannedWorkingHoursByDate.entrySet()
-            .stream()
-            .filter(entry -> isDateBetween(entry.getKey(), from, toExclusive))
-            .map(Map.Entry::getValue)
-            .reduce(PlannedWorkingHours.ZERO, PlannedWorkingHours::plus);
+        final int fromIndex = clampedOffset(from);
+        final int toIndexExclusive = clampedOffset(toExclusive);
+        if (fromIndex >= toIndexExclusive) {
+            return PlannedWorkingHours.ZERO;
+        }
+        return toPlannedWorkingHours(plannedNanosPrefixSums[toIndexExclusive] - plannedNanosPrefixSums[fromIndex]);
     }
 
     @Override
@@ -48,22 +99,76 @@ public final class WorkingTimeCalendar {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         WorkingTimeCalendar that = (WorkingTimeCalendar) o;
-        return plannedWorkingHoursByDate.equals(that.plannedWorkingHoursByDate);
+        return firstDate.equals(that.firstDate) && Arrays.equals(plannedNanos, that.plannedNanos) && knownDays.equals(that.knownDays);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(plannedWorkingHoursByDate);
+        return Objects.hash(firstDate, Arrays.hashCode(plannedNanos), knownDays);
     }
 
     @Override
     public String toString() {
+        final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = new LinkedHashMap<>();
+        knownDays.stream().forEach(offset -> plannedWorkingHoursByDate.put(firstDate.plusDays(offset), toPlannedWorkingHours(plannedNanos[offset])));
         return "WorkingTimeCalendar{" +
             "plannedWorkingHoursByDate=" + plannedWorkingHoursByDate +
             '}';
     }
 
-    private boolean isDateBetween(LocalDate toCheck, LocalDate from, LocalDate toExclusive) {
-        return toCheck.isBefore(toExclusive) && (toCheck.isEqual(from) || toCheck.isAfter(from));
+    private int clampedOffset(LocalDate date) {
+        final long offset = DAYS.between(firstDate, date);
+        return (int) Math.max(0, Math.min(plannedNanos.length, offset));
+    }
+
+    private static PlannedWorkingHours toPlannedWorkingHours(long nanos) {
+        return nanos == 0 ? PlannedWorkingHours.ZERO : new PlannedWorkingHours(Duration.ofNanos(nanos));
+    }
+
+    private static Builder fromMap(Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate) {
+
+        final LocalDate from = plannedWorkingHoursByDate.keySet().stream().min(LocalDate::compareTo).orElse(LocalDate.EPOCH);
+        final LocalDate to = plannedWorkingHoursByDate.keySet().stream().max(LocalDate::compareTo).orElse(LocalDate.EPOCH.minusDays(1));
+
+        final Builder builder = new Builder(from, to.plusDays(1));
+        plannedWorkingHoursByDate.forEach((date, plannedWorkingHours) -> builder.plannedWorkingHours(date, plannedWorkingHours.duration().toNanos()));
+
+        return builder;
+    }
+
+    /**
+     * Fills a {@link WorkingTimeCalendar} day by day without creating intermediate objects.
+     */
+    static final class Builder {
+
+        private final LocalDate from;
+        private final long[] plannedNanos;
+        private final BitSet knownDays;
+
+        private Builder(LocalDate from, LocalDate toExclusive) {
+            this.from = from;
+            this.plannedNanos = new long[(int) Math.max(0, DAYS.between(from, toExclusive))];
+            this.knownDays = new BitSet(plannedNanos.length);
+        }
+
+        /**
+         * Sets the planned working hours of the given date. Dates outside the calendar interval are ignored.
+         *
+         * @param date date to set planned working hours for
+         * @param nanos planned working hours in nanos
+         * @return this builder
+         */
+        Builder plannedWorkingHours(LocalDate date, long nanos) {
+            final long offset = DAYS.between(from, date);
+            if (offset >= 0 && offset < plannedNanos.length) {
+                plannedNanos[(int) offset] = nanos;
+                knownDays.set((int) offset);
+            }
+            return this;
+        }
+
+        WorkingTimeCalendar build() {
+            return new WorkingTimeCalendar(this);
+        }
     }
 }
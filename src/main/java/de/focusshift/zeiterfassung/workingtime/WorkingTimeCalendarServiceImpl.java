@@ -8,6 +8,7 @@ import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import org.springframework.stereotype.Component;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.HashMap;
@@ -71,19 +72,20 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
 
     private WorkingTimeCalendar toWorkingTimeCalendar(LocalDate from, LocalDate toExclusive, List<WorkingTime> sortedWorkingTimes, BiPredicate<LocalDate, FederalState> isPublicHoliday) {
 
-        final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = new HashMap<>();
+        final WorkingTimeCalendar.Builder calendarBuilder = WorkingTimeCalendar.builder(from, toExclusive);
 
         LocalDate nextEnd = toExclusive.minusDays(1);
 
         for (WorkingTime workingTime : sortedWorkingTimes) {
 
             final DateRange workingTimeDateRange = getDateRange(from, workingTime, nextEnd);
+            final long[] plannedNanosByDayOfWeek = plannedNanosByDayOfWeek(workingTime);
 
             for (LocalDate localDate : workingTimeDateRange) {
                 if (workingTime.worksOnPublicHoliday() || !isPublicHoliday.test(localDate, workingTime.federalState())) {
-                    plannedWorkingHoursByDate.put(localDate, workingTime.getForDayOfWeek(localDate.getDayOfWeek()));
+                    calendarBuilder.plannedWorkingHours(localDate, plannedNanosByDayOfWeek[localDate.getDayOfWeek().ordinal()]);
                 } else {
-                    plannedWorkingHoursByDate.put(localDate, PlannedWorkingHours.ZERO);
+                    calendarBuilder.plannedWorkingHours(localDate, 0);
                 }
             }
 
@@ -95,7 +97,15 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
             }
         }
 
-        return new WorkingTimeCalendar(plannedWorkingHoursByDate);
+        return calendarBuilder.build();
+    }
+
+    private static long[] plannedNanosByDayOfWeek(WorkingTime workingTime) {
+        final long[] plannedNanos = new long[DayOfWeek.values().length];
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            plannedNanos[dayOfWeek.ordinal()] = workingTime.getForDayOfWeek(dayOfWeek).duration().toNanos();
+        }
+        return plannedNanos;
     }
 
     private static DateRange getDateRange(LocalDate from, WorkingTime workingTime, LocalDate nextEnd) {
@@ -0,0 +1,15 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Published whenever a working time has been created, updated or deleted.
+ *
+ * @param userLocalId user of the working time
+ * @param affectedFrom first date whose planned working hours may have changed, empty when all dates are affected
+ */
+public record WorkingTimeChangedEvent(UserLocalId userLocalId, Optional<LocalDate> affectedFrom) {
+}
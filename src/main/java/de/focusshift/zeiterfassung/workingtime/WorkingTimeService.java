@@ -47,6 +47,15 @@ public interface WorkingTimeService {
      */
     Map<UserIdComposite, List<WorkingTime>> getAllWorkingTimes(LocalDate from, LocalDate toExclusive);
 
+    /**
+     * Finds all users with at least one {@linkplain WorkingTime} depending on the global federal-state settings, i.e.
+     * with {@linkplain FederalState#GLOBAL} or {@linkplain WorksOnPublicHoliday#GLOBAL}. Users without any
+     * {@linkplain WorkingTime} are included, their default working time uses the global settings.
+     *
+     * @return users depending on the global federal-state settings
+     */
+    List<UserLocalId> getAllUsersUsingGlobalFederalStateSettings();
+
     /**
      * Create a new {@linkplain WorkingTime} entry for the {@linkplain User}.
      *
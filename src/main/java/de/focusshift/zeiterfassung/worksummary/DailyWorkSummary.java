@@ -0,0 +1,41 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+
+import java.time.LocalDate;
+
+/**
+ * Sums of one day of a user.
+ *
+ * @param userIdComposite user
+ * @param date date
+ * @param workDuration sum of all work time entries starting at this date
+ * @param breakDuration sum of all break time entries starting at this date
+ * @param plannedWorkingHours planned working hours of the working time, considering public holidays
+ * @param absenceFraction sum of the day lengths of all absences at this date, {@code 1.0} at most
+ */
+public record DailyWorkSummary(
+    UserIdComposite userIdComposite,
+    LocalDate date,
+    WorkDuration workDuration,
+    BreakDuration breakDuration,
+    PlannedWorkingHours plannedWorkingHours,
+    double absenceFraction
+) {
+
+    /**
+     * @return planned working hours reduced by absences, same as the time entry week of the user
+     */
+    public ShouldWorkingHours shouldWorkingHours() {
+        if (absenceFraction >= 1.0) {
+            return ShouldWorkingHours.ZERO;
+        } else if (absenceFraction == 0.5) {
+            return new ShouldWorkingHours(plannedWorkingHours.duration().dividedBy(2));
+        }
+        return new ShouldWorkingHours(plannedWorkingHours.duration());
+    }
+}
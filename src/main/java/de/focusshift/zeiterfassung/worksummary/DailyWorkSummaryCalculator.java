@@ -0,0 +1,111 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.absence.AbsenceService;
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Calculates {@link DailyWorkSummary daily summaries} from time entries, absences and working times.
+ */
+@Component
+class DailyWorkSummaryCalculator {
+
+    private final TimeEntryService timeEntryService;
+    private final AbsenceService absenceService;
+    private final WorkingTimeCalendarService workingTimeCalendarService;
+
+    DailyWorkSummaryCalculator(TimeEntryService timeEntryService, AbsenceService absenceService,
+                               WorkingTimeCalendarService workingTimeCalendarService) {
+        this.timeEntryService = timeEntryService;
+        this.absenceService = absenceService;
+        this.workingTimeCalendarService = workingTimeCalendarService;
+    }
+
+    /**
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     * @param userLocalIds users
+     * @return one summary per day sorted by date for every existing user of the given ids
+     */
+    Map<UserIdComposite, List<DailyWorkSummary>> calculate(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+
+        final int days = (int) Math.max(0, DAYS.between(from, toExclusive));
+        final List<UserLocalId> userLocalIdList = List.copyOf(userLocalIds);
+
+        // time entries are summed up at the date they started in their own zone, which may differ from the
+        // UTC date they are queried by. therefore one more day is queried on each side.
+        final Map<UserIdComposite, List<TimeEntry>> timeEntries =
+            timeEntryService.getEntriesByUserLocalIds(from.minusDays(1), toExclusive.plusDays(1), userLocalIdList);
+        final Map<UserIdComposite, List<Absence>> absences =
+            absenceService.getAbsencesByUserIds(userLocalIdList, from, toExclusive);
+        final Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars =
+            workingTimeCalendarService.getWorkingTimeCalendarForUsers(from, toExclusive, userLocalIdList);
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> summaries = new HashMap<>();
+
+        for (Map.Entry<UserIdComposite, List<TimeEntry>> entry : timeEntries.entrySet()) {
+
+            final UserIdComposite userIdComposite = entry.getKey();
+            final long[] workedSeconds = new long[days];
+            final long[] breakSeconds = new long[days];
+            final double[] absenceFractions = new double[days];
+
+            for (TimeEntry timeEntry : entry.getValue()) {
+                final long offset = DAYS.between(from, timeEntry.start().toLocalDate());
+                if (offset >= 0 && offset < days) {
+                    final int day = (int) offset;
+                    if (timeEntry.isBreak()) {
+                        breakSeconds[day] += timeEntry.duration().toSeconds();
+                    } else {
+                        workedSeconds[day] += timeEntry.duration().toSeconds();
+                    }
+                }
+            }
+
+            for (Absence absence : absences.getOrDefault(userIdComposite, List.of())) {
+                final long firstOffset = Math.max(0, DAYS.between(from, absence.startDate().toLocalDate()));
+                final long lastOffset = Math.min(days - 1L, DAYS.between(from, absence.endDate().toLocalDate()));
+                for (int day = (int) firstOffset; day <= lastOffset; day++) {
+                    absenceFractions[day] = Math.min(1.0, absenceFractions[day] + absence.dayLength().getValue());
+                }
+            }
+
+            final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendars.get(userIdComposite);
+
+            final List<DailyWorkSummary> userSummaries = new ArrayList<>(days);
+            for (int day = 0; day < days; day++) {
+                final LocalDate date = from.plusDays(day);
+                final PlannedWorkingHours plannedWorkingHours = workingTimeCalendar == null
+                    ? PlannedWorkingHours.ZERO
+                    : workingTimeCalendar.plannedWorkingHours(date).orElse(PlannedWorkingHours.ZERO);
+                userSummaries.add(new DailyWorkSummary(userIdComposite, date,
+                    new WorkDuration(Duration.ofSeconds(workedSeconds[day])),
+                    new BreakDuration(Duration.ofSeconds(breakSeconds[day])),
+                    plannedWorkingHours, absenceFractions[day]));
+            }
+
+            summaries.put(userIdComposite, userSummaries);
+        }
+
+        return summaries;
+    }
+}
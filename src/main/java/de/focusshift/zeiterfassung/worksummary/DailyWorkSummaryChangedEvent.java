@@ -0,0 +1,14 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+
+import java.time.LocalDate;
+
+/**
+ * Published after already materialised summaries of a user have been recalculated.
+ *
+ * @param userIdComposite user
+ * @param from first date which may have changed, later dates may have changed as well
+ */
+public record DailyWorkSummaryChangedEvent(UserIdComposite userIdComposite, LocalDate from) {
+}
@@ -0,0 +1,56 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.daily-work-summary")
+public class DailyWorkSummaryConfigurationProperties {
+
+    /**
+     * Cron expression of the rebuild of recent daily work summaries of all tenants. The rebuild picks up changes
+     * which do not update the summaries directly, like public holiday settings. Disabled with {@code -} by default,
+     * the rebuild is not coordinated between instances and should be enabled on one instance only.
+     */
+    @NotBlank
+    private String rebuildCron = "-";
+
+    /**
+     * Number of days before today which are rebuilt.
+     */
+    @Min(0)
+    private int rebuildDays = 31;
+
+    /**
+     * Number of days before and after today whose missing summaries are materialised by the rebuild. Reading summaries
+     * does not store them, days which have not been materialised are calculated on every read.
+     */
+    @Min(0)
+    private int backfillDays = 366;
+
+    public String getRebuildCron() {
+        return rebuildCron;
+    }
+
+    public void setRebuildCron(String rebuildCron) {
+        this.rebuildCron = rebuildCron;
+    }
+
+    public int getRebuildDays() {
+        return rebuildDays;
+    }
+
+    public void setRebuildDays(int rebuildDays) {
+        this.rebuildDays = rebuildDays;
+    }
+
+    public int getBackfillDays() {
+        return backfillDays;
+    }
+
+    public void setBackfillDays(int backfillDays) {
+        this.backfillDays = backfillDays;
+    }
+}
@@ -0,0 +1,127 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.AbstractTenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "daily_work_summary")
+public class DailyWorkSummaryEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @SequenceGenerator(name = "daily_work_summary_seq", sequenceName = "daily_work_summary_seq")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_work_summary_seq")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    @NotNull
+    @Size(max = 255)
+    private String userId;
+
+    @Column(name = "date", nullable = false)
+    @NotNull
+    private LocalDate date;
+
+    @Column(name = "worked_seconds", nullable = false)
+    private long workedSeconds;
+
+    @Column(name = "break_seconds", nullable = false)
+    private long breakSeconds;
+
+    @Column(name = "planned_seconds", nullable = false)
+    private long plannedSeconds;
+
+    @Column(name = "absence_fraction", nullable = false)
+    private double absenceFraction;
+
+    protected DailyWorkSummaryEntity() {
+        super(null);
+    }
+
+    DailyWorkSummaryEntity(String userId, LocalDate date) {
+        super(null);
+        this.userId = userId;
+        this.date = date;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getWorkedSeconds() {
+        return workedSeconds;
+    }
+
+    public void setWorkedSeconds(long workedSeconds) {
+        this.workedSeconds = workedSeconds;
+    }
+
+    public long getBreakSeconds() {
+        return breakSeconds;
+    }
+
+    public void setBreakSeconds(long breakSeconds) {
+        this.breakSeconds = breakSeconds;
+    }
+
+    public long getPlannedSeconds() {
+        return plannedSeconds;
+    }
+
+    public void setPlannedSeconds(long plannedSeconds) {
+        this.plannedSeconds = plannedSeconds;
+    }
+
+    public double getAbsenceFraction() {
+        return absenceFraction;
+    }
+
+    public void setAbsenceFraction(double absenceFraction) {
+        this.absenceFraction = absenceFraction;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyWorkSummaryEntity that = (DailyWorkSummaryEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "DailyWorkSummaryEntity{" +
+            "id=" + id +
+            ", userId='" + userId + '\'' +
+            ", date=" + date +
+            ", workedSeconds=" + workedSeconds +
+            ", breakSeconds=" + breakSeconds +
+            ", plannedSeconds=" + plannedSeconds +
+            ", absenceFraction=" + absenceFraction +
+            '}';
+    }
+}
@@ -0,0 +1,76 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.absence.AbsenceChangedEvent;
+import de.focusshift.zeiterfassung.settings.FederalStateSettingsChangedEvent;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryChangedEvent;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeChangedEvent;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.ZoneOffset.UTC;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps the daily work summaries up to date. Only the days affected by a change are recalculated,
+ * after the change has been committed.
+ */
+@Component
+class DailyWorkSummaryEventHandler {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final DailyWorkSummaryServiceImpl dailyWorkSummaryService;
+    private final WorkingTimeService workingTimeService;
+
+    DailyWorkSummaryEventHandler(DailyWorkSummaryServiceImpl dailyWorkSummaryService, WorkingTimeService workingTimeService) {
+        this.dailyWorkSummaryService = dailyWorkSummaryService;
+        this.workingTimeService = workingTimeService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(TimeEntryChangedEvent event) {
+        if (event.dates().isEmpty()) {
+            return;
+        }
+        final LocalDate from = Collections.min(event.dates());
+        final LocalDate toExclusive = Collections.max(event.dates()).plusDays(1);
+        handle(event, () -> dailyWorkSummaryService.refresh(event.userId(), from, toExclusive));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(AbsenceChangedEvent event) {
+        // absences are shown in the zone of the user, one more day on each side covers every zone
+        final LocalDate from = LocalDate.ofInstant(event.startDate(), UTC).minusDays(1);
+        final LocalDate toExclusive = LocalDate.ofInstant(event.endDate(), UTC).plusDays(2);
+        handle(event, () -> dailyWorkSummaryService.refresh(event.userId(), from, toExclusive));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(WorkingTimeChangedEvent event) {
+        handle(event, () -> dailyWorkSummaryService.refreshMaterialised(event.userLocalId(), event.affectedFrom()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(FederalStateSettingsChangedEvent event) {
+        // public holidays and therefore planned working hours of every date may have changed
+        for (UserLocalId userLocalId : workingTimeService.getAllUsersUsingGlobalFederalStateSettings()) {
+            handle(event, () -> dailyWorkSummaryService.refreshMaterialised(userLocalId, Optional.empty()));
+        }
+    }
+
+    private static void handle(Object event, Runnable refresh) {
+        try {
+            refresh.run();
+        } catch (RuntimeException e) {
+            LOG.warn("could not update daily work summaries on {}, they are recalculated with the next rebuild.", event, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+class DailyWorkSummaryReader {
+
+    private final DailyWorkSummaryRepository repository;
+    private final EntityManager entityManager;
+
+    DailyWorkSummaryReader(DailyWorkSummaryRepository repository, EntityManager entityManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Passes the materialised summaries of the given users to the consumer, ordered by user and date.
+     * Rows are read with a database cursor, so memory consumption does not depend on the size of the interval.
+     *
+     * @param userIds users
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     * @param consumer consumer of every summary
+     */
+    @Transactional(readOnly = true)
+    public void stream(Collection<String> userIds, LocalDate from, LocalDate toExclusive, Consumer<DailyWorkSummaryEntity> consumer) {
+        try (Stream<DailyWorkSummaryEntity> entities = repository
+            .streamAllByUserIdIsInAndDateGreaterThanEqualAndDateLessThanOrderByUserIdAscDateAsc(userIds, from, toExclusive)) {
+
+            entities.forEach(entity -> {
+                consumer.accept(entity);
+                // entity is not needed anymore, do not let the persistence context grow with every row
+                entityManager.detach(entity);
+            });
+        }
+    }
+}
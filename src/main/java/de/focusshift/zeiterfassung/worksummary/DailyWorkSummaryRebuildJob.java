@@ -0,0 +1,68 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.Tenant;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import static de.focusshift.zeiterfassung.tenancy.tenant.TenantStatus.ACTIVE;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Rebuilds the recent daily work summaries of all active tenants periodically and materialises missing summaries
+ * of the days around today, which reports only read.
+ *
+ * <p>
+ * Disabled by default, enable it on one instance of the application only.
+ */
+@Component
+class DailyWorkSummaryRebuildJob {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final TenantService tenantService;
+    private final TenantContextHolder tenantContextHolder;
+    private final DailyWorkSummaryService dailyWorkSummaryService;
+    private final DailyWorkSummaryConfigurationProperties properties;
+    private final Clock clock;
+
+    DailyWorkSummaryRebuildJob(TenantService tenantService, TenantContextHolder tenantContextHolder,
+                               DailyWorkSummaryService dailyWorkSummaryService,
+                               DailyWorkSummaryConfigurationProperties properties, Clock clock) {
+        this.tenantService = tenantService;
+        this.tenantContextHolder = tenantContextHolder;
+        this.dailyWorkSummaryService = dailyWorkSummaryService;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${zeiterfassung.daily-work-summary.rebuild-cron:-}")
+    void rebuildRecentDays() {
+
+        final LocalDate today = LocalDate.now(clock);
+        final LocalDate toExclusive = today.plusDays(1);
+        final LocalDate from = toExclusive.minusDays(properties.getRebuildDays() + 1L);
+        final LocalDate backfillFrom = today.minusDays(properties.getBackfillDays());
+        final LocalDate backfillToExclusive = today.plusDays(properties.getBackfillDays() + 1L);
+
+        for (Tenant tenant : tenantService.findAllTenants()) {
+            if (tenant.status() != ACTIVE) {
+                continue;
+            }
+            try {
+                tenantContextHolder.runInTenantIdContext(tenant.tenantId(), tenantId -> {
+                    dailyWorkSummaryService.rebuild(from, toExclusive);
+                    dailyWorkSummaryService.backfill(backfillFrom, backfillToExclusive);
+                });
+            } catch (RuntimeException e) {
+                LOG.error("could not rebuild daily work summaries of tenantId={}", tenant.tenantId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+interface DailyWorkSummaryRepository extends CrudRepository<DailyWorkSummaryEntity, Long> {
+
+    List<DailyWorkSummaryEntity> findAllByUserIdIsInAndDateGreaterThanEqualAndDateLessThan(Collection<String> userIds, LocalDate from, LocalDate toExclusive);
+
+    /**
+     * Ids of the given users having a summary for every one of the given number of days within the interval.
+     */
+    @Query("""
+        SELECT s.userId FROM DailyWorkSummaryEntity s
+        WHERE s.userId IN :userIds AND s.date >= :from AND s.date < :toExclusive
+        GROUP BY s.userId
+        HAVING COUNT(s) = :days
+        """)
+    List<String> findAllUserIdsHavingDays(Collection<String> userIds, LocalDate from, LocalDate toExclusive, long days);
+
+    /**
+     * Reads all summaries of the given users with a database cursor ordered by user and date.
+     * The returned stream must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<DailyWorkSummaryEntity> streamAllByUserIdIsInAndDateGreaterThanEqualAndDateLessThanOrderByUserIdAscDateAsc(Collection<String> userIds, LocalDate from, LocalDate toExclusive);
+
+    Optional<DailyWorkSummaryEntity> findFirstByUserIdOrderByDateAsc(String userId);
+
+    Optional<DailyWorkSummaryEntity> findFirstByUserIdOrderByDateDesc(String userId);
+}
@@ -0,0 +1,76 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Daily sums of worked, break and planned time per user, materialised in the database.
+ *
+ * <p>
+ * The summaries are updated whenever time entries, absences, working times or the global federal-state settings
+ * change. Reading summaries never writes: days which have not been summarised yet are calculated on every access
+ * until they are materialised with {@link #backfill(LocalDate, LocalDate)}.
+ */
+public interface DailyWorkSummaryService {
+
+    /**
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     * @param userLocalIds users
+     * @return one summary per day sorted by date for every existing user of the given ids
+     */
+    Map<UserIdComposite, List<DailyWorkSummary>> getDailyWorkSummaries(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds);
+
+    /**
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     * @return one summary per day sorted by date for every user
+     */
+    Map<UserIdComposite, List<DailyWorkSummary>> getDailyWorkSummariesForAllUsers(LocalDate from, LocalDate toExclusive);
+
+    /**
+     * Passes one summary per day to the consumer for every existing user of the given ids. The summaries of a user
+     * are passed one after another ordered by date.
+     * In contrast to {@link #getDailyWorkSummaries(LocalDate, LocalDate, Collection)} the summaries are not collected,
+     * so memory consumption does not depend on the number of users or days.
+     *
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     * @param userLocalIds users
+     * @param consumer consumer of every summary
+     */
+    void streamDailyWorkSummaries(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds, Consumer<DailyWorkSummary> consumer);
+
+    /**
+     * Passes one summary per day to the consumer for every user, the summaries of a user one after another ordered by date.
+     *
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     * @param consumer consumer of every summary
+     * @see #streamDailyWorkSummaries(LocalDate, LocalDate, Collection, Consumer)
+     */
+    void streamDailyWorkSummariesForAllUsers(LocalDate from, LocalDate toExclusive, Consumer<DailyWorkSummary> consumer);
+
+    /**
+     * Recalculates the summaries of all users of the current tenant within the given interval.
+     *
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     */
+    void rebuild(LocalDate from, LocalDate toExclusive);
+
+    /**
+     * Materialises the summaries of all users of the current tenant who miss days within the given interval.
+     * Users whose summaries exist for every day are skipped, so a repeated backfill only costs one query.
+     *
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     */
+    void backfill(LocalDate from, LocalDate toExclusive);
+}
@@ -0,0 +1,254 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.util.Comparator.comparing;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Service
+class DailyWorkSummaryServiceImpl implements DailyWorkSummaryService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final int USERS_PER_CHUNK = 100;
+
+    private final DailyWorkSummaryRepository repository;
+    private final DailyWorkSummaryCalculator calculator;
+    private final DailyWorkSummaryWriter writer;
+    private final DailyWorkSummaryReader reader;
+    private final UserManagementService userManagementService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    DailyWorkSummaryServiceImpl(DailyWorkSummaryRepository repository, DailyWorkSummaryCalculator calculator,
+                                DailyWorkSummaryWriter writer, DailyWorkSummaryReader reader,
+                                UserManagementService userManagementService, ApplicationEventPublisher applicationEventPublisher) {
+        this.repository = repository;
+        this.calculator = calculator;
+        this.writer = writer;
+        this.reader = reader;
+        this.userManagementService = userManagementService;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public Map<UserIdComposite, List<DailyWorkSummary>> getDailyWorkSummaries(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+        return summaries(from, toExclusive, userManagementService.findAllUsersByLocalIds(userLocalIds));
+    }
+
+    @Override
+    public Map<UserIdComposite, List<DailyWorkSummary>> getDailyWorkSummariesForAllUsers(LocalDate from, LocalDate toExclusive) {
+        return summaries(from, toExclusive, userManagementService.findAllUsers());
+    }
+
+    @Override
+    public void streamDailyWorkSummaries(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds, Consumer<DailyWorkSummary> consumer) {
+        stream(from, toExclusive, userManagementService.findAllUsersByLocalIds(userLocalIds), consumer);
+    }
+
+    @Override
+    public void streamDailyWorkSummariesForAllUsers(LocalDate from, LocalDate toExclusive, Consumer<DailyWorkSummary> consumer) {
+        stream(from, toExclusive, userManagementService.findAllUsers(), consumer);
+    }
+
+    @Override
+    public void rebuild(LocalDate from, LocalDate toExclusive) {
+
+        final List<User> users = userManagementService.findAllUsers();
+        for (int index = 0; index < users.size(); index += USERS_PER_CHUNK) {
+            refreshAndPublish(from, toExclusive, users.subList(index, Math.min(index + USERS_PER_CHUNK, users.size())));
+        }
+
+        LOG.info("rebuilt daily work summaries of {} users from={} toExclusive={}", users.size(), from, toExclusive);
+    }
+
+    @Override
+    public void backfill(LocalDate from, LocalDate toExclusive) {
+
+        final List<User> users = userManagementService.findAllUsers();
+        final Set<String> materialised = materialisedUserIds(from, toExclusive, users);
+        final List<User> notMaterialised = users.stream().filter(user -> !materialised.contains(user.userId().value())).toList();
+        // the values do not change by materialising them, there is nothing to publish
+        for (int index = 0; index < notMaterialised.size(); index += USERS_PER_CHUNK) {
+            refresh(from, toExclusive, notMaterialised.subList(index, Math.min(index + USERS_PER_CHUNK, notMaterialised.size())));
+        }
+
+        if (!notMaterialised.isEmpty()) {
+            LOG.info("backfilled daily work summaries of {} users from={} toExclusive={}", notMaterialised.size(), from, toExclusive);
+        }
+    }
+
+    /**
+     * Recalculates the summaries of the user within the given interval.
+     *
+     * @param userId user
+     * @param from first date
+     * @param toExclusive last date (exclusive)
+     */
+    void refresh(UserId userId, LocalDate from, LocalDate toExclusive) {
+        userManagementService.findUserById(userId)
+            .ifPresent(user -> refreshAndPublish(from, toExclusive, List.of(user)));
+    }
+
+    /**
+     * Recalculates the already materialised summaries of the user, starting at the given date.
+     *
+     * @param userLocalId user
+     * @param affectedFrom first date to recalculate, empty to recalculate all summaries of the user
+     */
+    void refreshMaterialised(UserLocalId userLocalId, Optional<LocalDate> affectedFrom) {
+
+        final Optional<User> maybeUser = userManagementService.findUserByLocalId(userLocalId);
+        if (maybeUser.isEmpty()) {
+            return;
+        }
+
+        final User user = maybeUser.get();
+        final String userId = user.userId().value();
+
+        final Optional<LocalDate> first = repository.findFirstByUserIdOrderByDateAsc(userId).map(DailyWorkSummaryEntity::getDate);
+        final Optional<LocalDate> last = repository.findFirstByUserIdOrderByDateDesc(userId).map(DailyWorkSummaryEntity::getDate);
+        if (first.isEmpty() || last.isEmpty()) {
+            return;
+        }
+
+        final LocalDate from = affectedFrom.filter(date -> date.isAfter(first.get())).orElse(first.get());
+        if (!from.isAfter(last.get())) {
+            refreshAndPublish(from, last.get().plusDays(1), List.of(user));
+        }
+    }
+
+    private Map<UserIdComposite, List<DailyWorkSummary>> summaries(LocalDate from, LocalDate toExclusive, List<User> users) {
+
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+
+        final long days = DAYS.between(from, toExclusive);
+
+        final List<String> userIds = users.stream().map(user -> user.userId().value()).toList();
+        final Map<String, List<DailyWorkSummaryEntity>> entitiesByUserId = repository
+            .findAllByUserIdIsInAndDateGreaterThanEqualAndDateLessThan(userIds, from, toExclusive)
+            .stream()
+            .collect(groupingBy(DailyWorkSummaryEntity::getUserId));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> summaries = new HashMap<>();
+        final List<User> notMaterialised = new ArrayList<>();
+
+        for (User user : users) {
+            final List<DailyWorkSummaryEntity> entities = entitiesByUserId.getOrDefault(user.userId().value(), List.of());
+            if (entities.size() == days) {
+                summaries.put(user.userIdComposite(), entities.stream()
+                    .sorted(comparing(DailyWorkSummaryEntity::getDate))
+                    .map(entity -> toDailyWorkSummary(entity, user.userIdComposite()))
+                    .toList());
+            } else {
+                notMaterialised.add(user);
+            }
+        }
+
+        // days which have not been summarised yet are calculated but not stored, reading must not write
+        for (int index = 0; index < notMaterialised.size(); index += USERS_PER_CHUNK) {
+            summaries.putAll(calculator.calculate(from, toExclusive, userLocalIds(notMaterialised.subList(index, Math.min(index + USERS_PER_CHUNK, notMaterialised.size())))));
+        }
+
+        return summaries;
+    }
+
+    private void stream(LocalDate from, LocalDate toExclusive, List<User> users, Consumer<DailyWorkSummary> consumer) {
+
+        if (users.isEmpty()) {
+            return;
+        }
+
+        // days which have not been summarised yet are calculated but not stored, reading must not write
+        final Set<String> materialised = materialisedUserIds(from, toExclusive, users);
+        final List<User> notMaterialised = users.stream().filter(user -> !materialised.contains(user.userId().value())).toList();
+        for (int index = 0; index < notMaterialised.size(); index += USERS_PER_CHUNK) {
+            calculator.calculate(from, toExclusive, userLocalIds(notMaterialised.subList(index, Math.min(index + USERS_PER_CHUNK, notMaterialised.size()))))
+                .values()
+                .forEach(summaries -> summaries.forEach(consumer));
+        }
+
+        final Map<String, User> materialisedByUserId = users.stream()
+            .filter(user -> materialised.contains(user.userId().value()))
+            .collect(toMap(user -> user.userId().value(), identity()));
+        if (!materialisedByUserId.isEmpty()) {
+            reader.stream(materialisedByUserId.keySet(), from, toExclusive,
+                entity -> consumer.accept(toDailyWorkSummary(entity, materialisedByUserId.get(entity.getUserId()).userIdComposite())));
+        }
+    }
+
+    private Set<String> materialisedUserIds(LocalDate from, LocalDate toExclusive, List<User> users) {
+
+        if (users.isEmpty()) {
+            return Set.of();
+        }
+
+        final Set<String> userIds = users.stream().map(user -> user.userId().value()).collect(toSet());
+        return Set.copyOf(repository.findAllUserIdsHavingDays(userIds, from, toExclusive, DAYS.between(from, toExclusive)));
+    }
+
+    private void refreshAndPublish(LocalDate from, LocalDate toExclusive, List<User> users) {
+        refresh(from, toExclusive, users);
+        for (User user : users) {
+            applicationEventPublisher.publishEvent(new DailyWorkSummaryChangedEvent(user.userIdComposite(), from));
+        }
+    }
+
+    private Map<UserIdComposite, List<DailyWorkSummary>> refresh(LocalDate from, LocalDate toExclusive, List<User> users) {
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> summaries = calculator.calculate(from, toExclusive, userLocalIds(users));
+
+        try {
+            writer.save(from, toExclusive, summaries);
+        } catch (DataIntegrityViolationException e) {
+            // another request materialised the same days meanwhile, calculated summaries are still valid
+            LOG.debug("could not persist daily work summaries from={} toExclusive={}, they have been persisted concurrently.", from, toExclusive, e);
+        }
+
+        return summaries;
+    }
+
+    private static List<UserLocalId> userLocalIds(List<User> users) {
+        return users.stream().map(User::userLocalId).toList();
+    }
+
+    private static DailyWorkSummary toDailyWorkSummary(DailyWorkSummaryEntity entity, UserIdComposite userIdComposite) {
+        return new DailyWorkSummary(
+            userIdComposite,
+            entity.getDate(),
+            new WorkDuration(Duration.ofSeconds(entity.getWorkedSeconds())),
+            new BreakDuration(Duration.ofSeconds(entity.getBreakSeconds())),
+            new PlannedWorkingHours(Duration.ofSeconds(entity.getPlannedSeconds())),
+            entity.getAbsenceFraction()
+        );
+    }
+}
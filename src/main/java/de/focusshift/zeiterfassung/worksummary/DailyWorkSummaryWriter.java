@@ -0,0 +1,65 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+@Component
+class DailyWorkSummaryWriter {
+
+    private record Key(String userId, LocalDate date) {
+    }
+
+    private final DailyWorkSummaryRepository repository;
+
+    DailyWorkSummaryWriter(DailyWorkSummaryRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Inserts or updates the given summaries. Runs in its own transaction, a failing write must not roll back
+     * the change the summaries are derived from.
+     *
+     * @param from first date of the summaries
+     * @param toExclusive last date (exclusive) of the summaries
+     * @param summaries summaries to persist
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    public void save(LocalDate from, LocalDate toExclusive, Map<UserIdComposite, List<DailyWorkSummary>> summaries) {
+
+        if (summaries.isEmpty()) {
+            return;
+        }
+
+        final List<String> userIds = summaries.keySet().stream().map(userIdComposite -> userIdComposite.id().value()).toList();
+
+        final Map<Key, DailyWorkSummaryEntity> existing = new HashMap<>();
+        for (DailyWorkSummaryEntity entity : repository.findAllByUserIdIsInAndDateGreaterThanEqualAndDateLessThan(userIds, from, toExclusive)) {
+            existing.put(new Key(entity.getUserId(), entity.getDate()), entity);
+        }
+
+        final List<DailyWorkSummaryEntity> toSave = new ArrayList<>();
+        for (List<DailyWorkSummary> userSummaries : summaries.values()) {
+            for (DailyWorkSummary summary : userSummaries) {
+                final String userId = summary.userIdComposite().id().value();
+                final DailyWorkSummaryEntity entity = existing.computeIfAbsent(new Key(userId, summary.date()),
+                    key -> new DailyWorkSummaryEntity(key.userId(), key.date()));
+                entity.setWorkedSeconds(summary.workDuration().duration().toSeconds());
+                entity.setBreakSeconds(summary.breakDuration().duration().toSeconds());
+                entity.setPlannedSeconds(summary.plannedWorkingHours().duration().toSeconds());
+                entity.setAbsenceFraction(summary.absenceFraction());
+                toSave.add(entity);
+            }
+        }
+
+        repository.saveAll(toSave);
+    }
+}
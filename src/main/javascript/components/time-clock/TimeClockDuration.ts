@@ -1,9 +1,28 @@
 import { animationInterval } from "./animation-interval";
 
 export class TimeClockDuration extends HTMLSpanElement {
+  static observedAttributes = ["data-started-at"];
+
   #controller: AbortController;
 
   connectedCallback() {
+    this.start();
+    this.classList.add("tabular-nums");
+  }
+
+  disconnectedCallback() {
+    this.#controller?.abort();
+  }
+
+  attributeChangedCallback(name: string, oldValue: string, newValue: string) {
+    // the time clock may be edited in another tab, restart counting from the new start
+    if (this.isConnected && oldValue !== newValue) {
+      this.start();
+    }
+  }
+
+  start() {
+    this.#controller?.abort();
     this.#controller = new AbortController();
 
     const start = Date.now() - new Date(this.dataset.startedAt).getTime();
@@ -11,12 +30,6 @@ export class TimeClockDuration extends HTMLSpanElement {
     animationInterval(1000, this.#controller.signal, (time) => {
       this.render(start + time);
     });
-
-    this.classList.add("tabular-nums");
-  }
-
-  disconnectedCallback() {
-    this.#controller.abort();
   }
 
   render(time) {
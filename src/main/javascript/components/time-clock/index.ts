@@ -1,2 +1,3 @@
 import "./time-clock-edit";
+import "./time-clock-events";
 import "./TimeClockDuration";
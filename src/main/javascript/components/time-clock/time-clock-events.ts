@@ -0,0 +1,118 @@
+import { doGet } from "../../http";
+
+// keeps the time clock of all open tabs in sync.
+// the server pushes the current time clock state whenever it changes.
+// changes of a running time clock are applied to the rendered navigation in place,
+// starting or stopping it replaces the time clock part of the navigation with a freshly rendered one.
+
+interface TimeClockEvent {
+  startedAt: string | null;
+  comment: string;
+  isBreak: boolean;
+}
+
+const container = document.querySelector<HTMLElement>(
+  "[data-time-clock-events]",
+);
+
+if (container && "EventSource" in window) {
+  const eventSource = new EventSource(container.dataset.timeClockEvents);
+
+  eventSource.addEventListener("timeclock", function (event: MessageEvent) {
+    const timeClock: TimeClockEvent = JSON.parse(event.data);
+    const rendered = renderedStartedAt();
+    const pushed = parseStartedAt(timeClock.startedAt);
+
+    if (rendered === undefined && pushed === undefined) {
+      return;
+    }
+
+    if (rendered !== undefined && pushed !== undefined) {
+      updateRunningTimeClock(timeClock.startedAt, timeClock);
+    } else {
+      replaceTimeClockNavigation();
+    }
+  });
+
+  window.addEventListener("pagehide", function () {
+    eventSource.close();
+  });
+}
+
+function timeClockNavigation(): HTMLElement | null {
+  return container.querySelector<HTMLElement>("#nav-time-clock");
+}
+
+function renderedStartedAt(): number | undefined {
+  return parseStartedAt(timeClockNavigation()?.dataset.timeClockStartedAt);
+}
+
+function parseStartedAt(
+  startedAt: string | null | undefined,
+): number | undefined {
+  return startedAt ? Date.parse(startedAt) : undefined;
+}
+
+function updateRunningTimeClock(startedAt: string, timeClock: TimeClockEvent) {
+  const navigation = timeClockNavigation();
+  navigation.dataset.timeClockStartedAt = startedAt;
+
+  const duration = navigation.querySelector<HTMLElement>(
+    "[is='z-time-clock-duration']",
+  );
+  if (duration) {
+    duration.dataset.startedAt = startedAt;
+  }
+
+  // do not overwrite what the user is typing right now
+  const details = navigation.querySelector("details");
+  const form = navigation
+    .querySelector("#input-clock-start-date")
+    ?.closest("form");
+  if (form && !details?.open) {
+    const zoneId = (form.elements.namedItem("zoneId") as HTMLInputElement)
+      .value;
+    const { date, time } = zonedDateAndTime(
+      new Date(startedAt),
+      zoneId,
+    );
+    (form.elements.namedItem("date") as HTMLInputElement).value = date;
+    (form.elements.namedItem("time") as HTMLInputElement).value = time;
+    (form.elements.namedItem("comment") as HTMLTextAreaElement).value =
+      timeClock.comment;
+    (form.elements.namedItem("break") as HTMLInputElement).checked =
+      timeClock.isBreak;
+  }
+}
+
+async function replaceTimeClockNavigation() {
+  const response = await doGet<string>(
+    container.dataset.timeClockNavigation,
+  );
+  if (response.ok) {
+    timeClockNavigation().outerHTML = response.data;
+  }
+}
+
+function zonedDateAndTime(
+  instant: Date,
+  timeZone: string,
+): { date: string; time: string } {
+  const parts = Object.fromEntries(
+    new Intl.DateTimeFormat("en-CA", {
+      timeZone: timeZone || undefined,
+      year: "numeric",
+      month: "2-digit",
+      day: "2-digit",
+      hour: "2-digit",
+      minute: "2-digit",
+      hourCycle: "h23",
+    })
+      .formatToParts(instant)
+      .map((part) => [part.type, part.value]),
+  );
+  return {
+    date: `${parts.year}-${parts.month}-${parts.day}`,
+    time: `${parts.hour}:${parts.minute}`,
+  };
+}
@@ -0,0 +1,15 @@
+package de.focusshift.zeiterfassung;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(properties = "zeiterfassung.tenant.mode=multi")
+@TestPropertySource("classpath:application-dev-multitenant.yaml")
+class MultiTenantApplicationIT extends MultiTenantTestContainersBase {
+
+    @Test
+    void contextLoads() {
+        // ok
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -24,10 +25,12 @@ class AbsenceWriteServiceImplTest {
 
     @Mock
     private AbsenceRepository repository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @BeforeEach
     void setUp() {
-        sut = new AbsenceWriteServiceImpl(repository);
+        sut = new AbsenceWriteServiceImpl(repository, applicationEventPublisher);
     }
 
     @Test
@@ -61,6 +64,8 @@ class AbsenceWriteServiceImplTest {
         assertThat(actualPersistedEntity.getEndDate()).isEqualTo(endDate);
         assertThat(actualPersistedEntity.getDayLength()).isEqualTo(DayLength.FULL);
         assertThat(actualPersistedEntity.getType().getCategory()).isEqualTo(SPECIALLEAVE);
+
+        verify(applicationEventPublisher).publishEvent(new AbsenceChangedEvent(new UserId("user-id"), startDate, endDate));
     }
 
     @Test
@@ -85,4 +90,44 @@ class AbsenceWriteServiceImplTest {
 
         verifyNoMoreInteractions(repository);
     }
+
+    @Test
+    void ensureUpdateAbsencePublishesPreviousAndUpdatedInterval() {
+
+        final Instant previousStartDate = Instant.parse("2023-01-02T00:00:00Z");
+        final Instant previousEndDate = Instant.parse("2023-01-03T00:00:00Z");
+        final Instant startDate = Instant.parse("2023-02-02T00:00:00Z");
+        final Instant endDate = Instant.parse("2023-02-03T00:00:00Z");
+
+        final AbsenceWriteEntity existing = new AbsenceWriteEntity();
+        existing.setUserId("user-id");
+        existing.setStartDate(previousStartDate);
+        existing.setEndDate(previousEndDate);
+
+        when(repository.findBySourceIdAndType_Category(42L, SPECIALLEAVE)).thenReturn(Optional.of(existing));
+
+        sut.updateAbsence(new AbsenceWrite(42L, new UserId("user-id"), startDate, endDate, DayLength.FULL, SPECIALLEAVE));
+
+        verify(applicationEventPublisher).publishEvent(new AbsenceChangedEvent(new UserId("user-id"), previousStartDate, previousEndDate));
+        verify(applicationEventPublisher).publishEvent(new AbsenceChangedEvent(new UserId("user-id"), startDate, endDate));
+    }
+
+    @Test
+    void ensureDeleteAbsencePublishesDeletedInterval() {
+
+        final Instant startDate = Instant.parse("2023-01-02T00:00:00Z");
+        final Instant endDate = Instant.parse("2023-01-03T00:00:00Z");
+
+        final AbsenceWriteEntity existing = new AbsenceWriteEntity();
+        existing.setUserId("user-id");
+        existing.setStartDate(startDate);
+        existing.setEndDate(endDate);
+
+        when(repository.findBySourceIdAndType_Category(42L, SPECIALLEAVE)).thenReturn(Optional.of(existing));
+        when(repository.deleteBySourceIdAndType_Category(42L, SPECIALLEAVE)).thenReturn(1);
+
+        sut.deleteAbsence(new AbsenceWrite(42L, new UserId("user-id"), startDate, endDate, DayLength.FULL, SPECIALLEAVE));
+
+        verify(applicationEventPublisher).publishEvent(new AbsenceChangedEvent(new UserId("user-id"), startDate, endDate));
+    }
 }
@@ -0,0 +1,176 @@
+package de.focusshift.zeiterfassung.development;
+
+import de.focusshift.zeiterfassung.absence.AbsenceTypeService;
+import de.focusshift.zeiterfassung.absence.AbsenceWrite;
+import de.focusshift.zeiterfassung.absence.AbsenceWriteService;
+import de.focusshift.zeiterfassung.security.SecurityRole;
+import de.focusshift.zeiterfassung.tenancy.TenantConfigurationProperties;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
+import de.focusshift.zeiterfassung.timeentry.NewTimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoadTestDataGeneratorTest {
+
+    private static final LocalDate FROM = LocalDate.of(2022, 1, 1);
+    private static final LocalDate UNTIL = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+    @Mock
+    private TenantService tenantService;
+    @Mock
+    private TenantUserService tenantUserService;
+    @Mock
+    private WorkingTimeService workingTimeService;
+    @Mock
+    private AbsenceTypeService absenceTypeService;
+    @Mock
+    private AbsenceWriteService absenceWriteService;
+    @Mock
+    private TimeEntryService timeEntryService;
+
+    @Test
+    void ensureGenerateUserCreatesWorkingTimesAbsencesAndTimeEntries() {
+
+        final LoadTestDataGenerator sut = generator(42L);
+        givenNewUser();
+
+        sut.generateUser(0, 0, FROM, UNTIL);
+
+        verify(tenantUserService).createNewUser(anyString(), eq("Load"), eq("Test 0"), eq(new EMailAddress("loadtest-0-0@example.org")), eq(Set.of(SecurityRole.ZEITERFASSUNG_USER)));
+        verify(workingTimeService).createWorkingTime(eq(new UserLocalId(1L)), isNull(), any(), isNull(), any());
+        verify(workingTimeService).createWorkingTime(eq(new UserLocalId(1L)), eq(LocalDate.of(2023, 1, 1)), any(), isNull(), any());
+        verify(absenceWriteService, atLeastOnce()).addAbsence(any(AbsenceWrite.class));
+
+        final List<NewTimeEntry> timeEntries = createdTimeEntries();
+        assertThat(timeEntries).isNotEmpty().allSatisfy(timeEntry -> {
+            assertThat(timeEntry.start()).isBefore(timeEntry.end());
+            assertThat(timeEntry.start().toLocalDate()).isAfterOrEqualTo(FROM).isBefore(UNTIL);
+        });
+        // three entries per day
+        assertThat(timeEntries.size() % 3).isZero();
+    }
+
+    @Test
+    void ensureGenerateUserCreatesPositiveTimeEntriesWhenManyEntriesSplitAShortDay() {
+
+        // eight hours at most split into 48 entries are ten minutes each at most, less than the jitter of 15 minutes
+        final LoadTestDataGenerator sut = generator(42L, 48);
+        givenNewUser();
+
+        sut.generateUser(0, 0, FROM, UNTIL);
+
+        assertThat(createdTimeEntries()).isNotEmpty()
+            .allSatisfy(timeEntry -> assertThat(timeEntry.start()).isBefore(timeEntry.end()));
+    }
+
+    @Test
+    void ensureGenerateUserIsDeterministic() {
+
+        givenNewUser();
+
+        generator(42L).generateUser(0, 7, FROM, UNTIL);
+        final List<NewTimeEntry> first = createdTimeEntries();
+        final List<AbsenceWrite> firstAbsences = createdAbsences();
+
+        clearInvocations(timeEntryService, absenceWriteService);
+
+        generator(42L).generateUser(0, 7, FROM, UNTIL);
+        assertThat(createdTimeEntries()).isEqualTo(first);
+        assertThat(createdAbsences()).isEqualTo(firstAbsences);
+
+        clearInvocations(timeEntryService, absenceWriteService);
+
+        generator(43L).generateUser(0, 7, FROM, UNTIL);
+        assertThat(createdTimeEntries()).isNotEqualTo(first);
+    }
+
+    @Test
+    void ensureGenerateUserWritesTimeEntriesInBatches() {
+
+        givenNewUser();
+
+        generator(42L).generateUser(0, 0, FROM, UNTIL);
+
+        final ArgumentCaptor<List<NewTimeEntry>> captor = ArgumentCaptor.captor();
+        verify(timeEntryService, atLeastOnce()).createTimeEntries(any(UserId.class), captor.capture());
+        assertThat(captor.getAllValues()).hasSizeGreaterThan(1).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(500));
+    }
+
+    @Test
+    void ensureGenerateUserSkipsExistingUser() {
+
+        when(tenantUserService.findById(any(UserId.class))).thenReturn(Optional.of(tenantUser()));
+
+        generator(42L).generateUser(0, 0, FROM, UNTIL);
+
+        verify(tenantUserService, never()).createNewUser(anyString(), anyString(), anyString(), any(), any());
+        verifyNoInteractions(workingTimeService, absenceWriteService, timeEntryService);
+    }
+
+    private LoadTestDataGenerator generator(long seed) {
+        return generator(seed, 3);
+    }
+
+    private LoadTestDataGenerator generator(long seed, int entriesPerDay) {
+        final LoadTestDataProperties properties = new LoadTestDataProperties(true, 1, 10, 2, entriesPerDay, 0.05, seed, UNTIL, 500);
+        return new LoadTestDataGenerator(tenantContextHolder, tenantService, tenantUserService, workingTimeService,
+            absenceTypeService, absenceWriteService, timeEntryService, new TenantConfigurationProperties(), properties, Clock.systemUTC());
+    }
+
+    private void givenNewUser() {
+        when(tenantUserService.findById(any(UserId.class))).thenReturn(Optional.empty());
+        when(tenantUserService.createNewUser(anyString(), anyString(), anyString(), any(), any())).thenReturn(tenantUser());
+    }
+
+    private List<NewTimeEntry> createdTimeEntries() {
+        final ArgumentCaptor<List<NewTimeEntry>> captor = ArgumentCaptor.captor();
+        verify(timeEntryService, atLeastOnce()).createTimeEntries(any(UserId.class), captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private List<AbsenceWrite> createdAbsences() {
+        final ArgumentCaptor<AbsenceWrite> captor = ArgumentCaptor.forClass(AbsenceWrite.class);
+        verify(absenceWriteService, atLeastOnce()).addAbsence(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static TenantUser tenantUser() {
+        final Instant now = Instant.now();
+        return new TenantUser("uuid", 1L, "Load", "Test 0", new EMailAddress("loadtest-0-0@example.org"), now,
+            Set.of(SecurityRole.ZEITERFASSUNG_USER), now, now, null, null, UserStatus.ACTIVE);
+    }
+}
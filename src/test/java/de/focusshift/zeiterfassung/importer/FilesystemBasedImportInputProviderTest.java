@@ -5,7 +5,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import de.focusshift.zeiterfassung.importer.model.OvertimeAccountDTO;
-import de.focusshift.zeiterfassung.importer.model.TenantExport;
 import de.focusshift.zeiterfassung.importer.model.TimeClockDTO;
 import de.focusshift.zeiterfassung.importer.model.TimeEntryDTO;
 import de.focusshift.zeiterfassung.importer.model.UserDTO;
@@ -13,11 +12,19 @@ import de.focusshift.zeiterfassung.importer.model.UserExport;
 import de.focusshift.zeiterfassung.importer.model.WorkDayDTO;
 import de.focusshift.zeiterfassung.importer.model.WorkingTimeDTO;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_OVERTIME_ACCOUNT_EDIT_ALL;
 import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_USER;
@@ -40,16 +47,16 @@ class FilesystemBasedImportInputProviderTest {
 
         FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(objectMapper(), "src/test/resources/export_file.json");
 
-        Optional<TenantExport> optionalTenantExport = sut.fromExport();
+        Optional<TenantExportHeader> optionalHeader = sut.fromExport();
 
-        assertThat(optionalTenantExport).isPresent();
+        assertThat(optionalHeader).hasValue(new TenantExportHeader("bac98fef", null, 1, 3));
 
-        TenantExport tenantExport = optionalTenantExport.get();
-        assertThat(tenantExport.tenantId()).isEqualTo("bac98fef");
+        List<UserExport> users = new ArrayList<>();
+        sut.users(users::add);
 
-        assertThat(tenantExport.users()).hasSize(1);
+        assertThat(users).hasSize(1);
 
-        UserExport userExport = tenantExport.users().getFirst();
+        UserExport userExport = users.getFirst();
 
         assertThat(userExport.user()).isEqualTo(new UserDTO("58400ef7-1cc9-48cb-93a8-f45c7af186ad", "Marlene", "Muster", "office@example.org", Instant.parse("2023-01-01T12:00:00Z"), Set.of(ZEITERFASSUNG_VIEW_REPORT_ALL.name(), ZEITERFASSUNG_OVERTIME_ACCOUNT_EDIT_ALL.name(), ZEITERFASSUNG_WORKING_TIME_EDIT_ALL.name(), ZEITERFASSUNG_USER.name())));
 
@@ -78,6 +85,71 @@ class FilesystemBasedImportInputProviderTest {
         );
     }
 
+    @Test
+    void readsGzipCompressedExport(@TempDir Path tempDir) throws IOException {
+
+        final Path file = tempDir.resolve("export.json.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+            Files.copy(Path.of("src/test/resources/export_file.json"), outputStream);
+        }
+
+        final FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(objectMapper(), file.toString());
+
+        assertThat(sut.fromExport()).hasValue(new TenantExportHeader("bac98fef", null, 1, 3));
+
+        final List<UserExport> users = new ArrayList<>();
+        sut.users(users::add);
+        assertThat(users).extracting(userExport -> userExport.user().externalId()).containsExactly("58400ef7-1cc9-48cb-93a8-f45c7af186ad");
+        assertThat(users.getFirst().timeEntries()).hasSize(3);
+    }
+
+    @Test
+    void readsUsersOneAfterAnotherRegardlessOfFieldOrder(@TempDir Path tempDir) throws IOException {
+
+        final Path file = tempDir.resolve("export.json");
+        Files.writeString(file, """
+            {
+              "users": [
+                {"user": {"externalId": "batman"}, "timeEntries": [], "timeClocks": []},
+                {"user": {"externalId": "robin"}, "timeClocks": [], "timeEntries": [{"comment": "patrol", "isBreak": false}]}
+              ],
+              "unknown": {"nested": [1, 2, 3]},
+              "exportedAt": "2024-06-05T23:01:07Z",
+              "tenantId": "bac98fef"
+            }
+            """);
+
+        final FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(objectMapper(), file.toString());
+
+        assertThat(sut.fromExport()).hasValue(new TenantExportHeader("bac98fef", Instant.parse("2024-06-05T23:01:07Z"), 2, 1));
+
+        final List<String> externalIds = new ArrayList<>();
+        sut.users(userExport -> externalIds.add(userExport.user().externalId()));
+        assertThat(externalIds).containsExactly("batman", "robin");
+    }
+
+    @Test
+    void handlesZstdCompressedExportWithoutZstdLibrary(@TempDir Path tempDir) throws IOException {
+
+        final Path file = tempDir.resolve("export.json.zst");
+        Files.write(file, new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0x00});
+
+        final FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(objectMapper(), file.toString());
+
+        assertThat(sut.fromExport()).isEmpty();
+    }
+
+    @Test
+    void handlesExportWithoutTenantId(@TempDir Path tempDir) throws IOException {
+
+        final Path file = tempDir.resolve("export.json");
+        Files.writeString(file, "{\"users\": []}");
+
+        final FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(objectMapper(), file.toString());
+
+        assertThat(sut.fromExport()).isEmpty();
+    }
+
     private static ObjectMapper objectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
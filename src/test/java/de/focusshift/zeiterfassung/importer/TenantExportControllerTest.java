@@ -0,0 +1,92 @@
+package de.focusshift.zeiterfassung.importer;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+
+import static java.time.ZoneOffset.UTC;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+@ExtendWith(MockitoExtension.class)
+class TenantExportControllerTest {
+
+    private TenantExportController sut;
+
+    @Mock
+    private TenantExporter tenantExporter;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TenantExportController(tenantExporter, tenantContextHolder, Clock.fixed(Instant.parse("2024-06-05T23:01:07Z"), UTC));
+    }
+
+    @Test
+    void ensureExportStreamsExportOfCurrentTenant() throws Exception {
+
+        final TenantId tenantId = new TenantId("bac98fef");
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(tenantId));
+        doAnswer(invocation -> {
+            final OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("export".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(tenantExporter).export(eq(tenantId), any());
+
+        perform(get("/tenant/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/gzip"))
+            .andExpect(header().string("Content-disposition", "attachment;filename=export_bac98fef-20240605_230107.json.gz"))
+            .andExpect(content().string("export"));
+    }
+
+    @Test
+    void ensureExportRespondsWithNotFoundWithoutTenant() throws Exception {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.empty());
+
+        perform(get("/tenant/export"))
+            .andExpect(status().isNotFound());
+
+        verifyNoInteractions(tenantExporter);
+    }
+
+    @Test
+    void ensureExportRespondsWithInternalServerErrorWhenExportFails() throws Exception {
+
+        final TenantId tenantId = new TenantId("bac98fef");
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(tenantId));
+        doThrow(new UncheckedIOException(new IOException("broken pipe"))).when(tenantExporter).export(eq(tenantId), any());
+
+        perform(get("/tenant/export"))
+            .andExpect(status().isInternalServerError());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
+        return standaloneSetup(sut).build().perform(builder);
+    }
+}
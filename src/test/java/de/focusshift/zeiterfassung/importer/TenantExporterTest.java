@@ -0,0 +1,188 @@
+package de.focusshift.zeiterfassung.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.focusshift.zeiterfassung.importer.model.OvertimeAccountDTO;
+import de.focusshift.zeiterfassung.importer.model.TimeEntryDTO;
+import de.focusshift.zeiterfassung.importer.model.UserDTO;
+import de.focusshift.zeiterfassung.importer.model.UserExport;
+import de.focusshift.zeiterfassung.importer.model.WorkDayDTO;
+import de.focusshift.zeiterfassung.importer.model.WorkingTimeDTO;
+import de.focusshift.zeiterfassung.security.SecurityRole;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
+import de.focusshift.zeiterfassung.timeclock.TimeClock;
+import de.focusshift.zeiterfassung.timeclock.TimeClockService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.OvertimeAccount;
+import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountService;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTime;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantExporterTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-05T21:01:07Z");
+
+    private TenantExporter sut;
+
+    @Mock
+    private TenantUserService tenantUserService;
+    @Mock
+    private OvertimeAccountService overtimeAccountService;
+    @Mock
+    private WorkingTimeService workingTimeService;
+    @Mock
+    private TimeClockService timeClockService;
+    @Mock
+    private TimeEntryService timeEntryService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TenantExporter(objectMapper(), tenantUserService, overtimeAccountService, workingTimeService,
+            timeClockService, timeEntryService, Clock.fixed(NOW, UTC));
+    }
+
+    @Test
+    void ensureExportCanBeImported(@TempDir Path tempDir) throws IOException {
+
+        final UserIdComposite userIdComposite = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+        final Instant firstLoginAt = Instant.parse("2023-01-01T12:00:00Z");
+        final TenantUser batman = new TenantUser("batman", 1L, "Bruce", "Wayne", new EMailAddress("batman@example.org"),
+            firstLoginAt, Set.of(SecurityRole.ZEITERFASSUNG_USER), firstLoginAt, firstLoginAt, null, null, UserStatus.ACTIVE);
+        when(tenantUserService.findAllUsers()).thenReturn(List.of(batman));
+
+        final OvertimeAccount overtimeAccount = mock(OvertimeAccount.class);
+        when(overtimeAccount.isAllowed()).thenReturn(true);
+        when(overtimeAccount.getMaxAllowedOvertime()).thenReturn(Optional.of(Duration.ofHours(100)));
+        when(overtimeAccountService.getOvertimeAccount(new UserLocalId(1L))).thenReturn(overtimeAccount);
+
+        final WorkingTimeId workingTimeId = new WorkingTimeId(UUID.randomUUID());
+        final WorkingTime previous = workingTime(userIdComposite, workingTimeId, false, 4);
+        final WorkingTime current = workingTime(userIdComposite, workingTimeId, true, 8);
+        when(workingTimeService.getAllWorkingTimesByUser(new UserLocalId(1L))).thenReturn(List.of(previous, current));
+
+        final ZonedDateTime start = ZonedDateTime.parse("2024-06-01T08:00:00+02:00");
+        when(timeClockService.findAllTimeClocks(new UserId("batman")))
+            .thenReturn(List.of(new TimeClock(1L, new UserId("batman"), start, "clock", false, Optional.of(start.plusHours(1)))));
+
+        doAnswer(invocation -> {
+            final Consumer<TimeEntry> consumer = invocation.getArgument(1);
+            consumer.accept(new TimeEntry(new TimeEntryId(1L), userIdComposite, "first", start, start.plusHours(4), false));
+            consumer.accept(new TimeEntry(new TimeEntryId(2L), userIdComposite, "second", start.plusHours(4), start.plusHours(5), true));
+            return null;
+        }).when(timeEntryService).streamEntries(eq(new UserId("batman")), any());
+
+        final Path file = tempDir.resolve("export.json.gz");
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            sut.export(new TenantId("bac98fef"), outputStream);
+        }
+
+        final FilesystemBasedImportInputProvider importInputProvider = new FilesystemBasedImportInputProvider(objectMapper(), file.toString());
+        assertThat(importInputProvider.fromExport()).hasValue(new TenantExportHeader("bac98fef", NOW, 1, 2));
+
+        final List<UserExport> users = new ArrayList<>();
+        importInputProvider.users(users::add);
+
+        assertThat(users).hasSize(1);
+        final UserExport actual = users.getFirst();
+        assertThat(actual.user()).isEqualTo(new UserDTO("batman", "Bruce", "Wayne", "batman@example.org", firstLoginAt, Set.of("ZEITERFASSUNG_USER")));
+        assertThat(actual.overtimeAccount()).isEqualTo(new OvertimeAccountDTO(true, Duration.ofHours(100)));
+        assertThat(actual.workingTime()).isEqualTo(new WorkingTimeDTO(
+            new WorkDayDTO("MONDAY", Duration.ofHours(8)),
+            new WorkDayDTO("TUESDAY", Duration.ofHours(8)),
+            new WorkDayDTO("WEDNESDAY", Duration.ofHours(8)),
+            new WorkDayDTO("THURSDAY", Duration.ofHours(8)),
+            new WorkDayDTO("FRIDAY", Duration.ofHours(8)),
+            new WorkDayDTO("SATURDAY", Duration.ZERO),
+            new WorkDayDTO("SUNDAY", Duration.ZERO)
+        ));
+        assertThat(actual.timeClocks()).hasSize(1);
+        assertThat(actual.timeClocks().getFirst()).satisfies(timeClock -> {
+            assertThat(timeClock.startedAt()).isEqualTo(start);
+            assertThat(timeClock.comment()).isEqualTo("clock");
+            assertThat(timeClock.isBreak()).isFalse();
+            assertThat(timeClock.stoppedAt()).hasValueSatisfying(stoppedAt -> assertThat(stoppedAt).isEqualTo(start.plusHours(1)));
+        });
+        assertThat(actual.timeEntries()).extracting(TimeEntryDTO::comment, TimeEntryDTO::isBreak)
+            .containsExactly(tuple("first", false), tuple("second", true));
+        assertThat(actual.timeEntries().get(1).start()).isEqualTo(start.plusHours(4));
+    }
+
+    @Test
+    void ensureExportOfTenantWithoutUsers(@TempDir Path tempDir) throws IOException {
+
+        when(tenantUserService.findAllUsers()).thenReturn(List.of());
+
+        final Path file = tempDir.resolve("export.json.gz");
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            sut.export(new TenantId("bac98fef"), outputStream);
+        }
+
+        final FilesystemBasedImportInputProvider importInputProvider = new FilesystemBasedImportInputProvider(objectMapper(), file.toString());
+        assertThat(importInputProvider.fromExport()).hasValue(new TenantExportHeader("bac98fef", NOW, 0, 0));
+    }
+
+    private static WorkingTime workingTime(UserIdComposite userIdComposite, WorkingTimeId workingTimeId, boolean current, int hours) {
+        return WorkingTime.builder(userIdComposite, workingTimeId)
+            .current(current)
+            .monday(hours)
+            .tuesday(hours)
+            .wednesday(hours)
+            .thursday(hours)
+            .friday(hours)
+            .saturday(0)
+            .sunday(0)
+            .build();
+    }
+
+    private static ObjectMapper objectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.registerModule(new Jdk8Module());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+        return objectMapper;
+    }
+}
@@ -0,0 +1,113 @@
+package de.focusshift.zeiterfassung.importer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantImportCheckpointsTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-05T10:00:00Z");
+
+    private TenantImportCheckpoints sut;
+
+    @Mock
+    private TenantImportStateRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TenantImportCheckpoints(repository, Clock.fixed(NOW, UTC));
+    }
+
+    @Test
+    void ensureStartPersistsNewCheckpoint() {
+
+        when(repository.findByExternalUserId("batman")).thenReturn(Optional.empty());
+        when(repository.save(any(TenantImportStateEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final TenantImportState actual = sut.start("batman");
+
+        assertThat(actual).isEqualTo(new TenantImportState(null, "batman", false, false, 0, false));
+
+        final ArgumentCaptor<TenantImportStateEntity> captor = ArgumentCaptor.forClass(TenantImportStateEntity.class);
+        verify(repository).save(captor.capture());
+        assertThat(captor.getValue().getUpdatedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void ensureStartReturnsExistingCheckpoint() {
+
+        final TenantImportStateEntity entity = new TenantImportStateEntity("batman", NOW);
+        entity.setWorkingTimeImported(true);
+        entity.setImportedTimeEntries(42);
+        when(repository.findByExternalUserId("batman")).thenReturn(Optional.of(entity));
+
+        final TenantImportState actual = sut.start("batman");
+
+        assertThat(actual).isEqualTo(new TenantImportState(null, "batman", true, false, 42, false));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void ensureStepRunsStepAndPersistsCheckpoint() {
+
+        final TenantImportStateEntity entity = new TenantImportStateEntity("batman", Instant.EPOCH);
+        when(repository.findById(1L)).thenReturn(Optional.of(entity));
+        when(repository.save(entity)).thenReturn(entity);
+
+        final List<String> steps = new ArrayList<>();
+        final TenantImportState actual = sut.step(new TenantImportState(1L, "batman", true, true, 100, false), () -> steps.add("step"));
+
+        assertThat(steps).containsExactly("step");
+        assertThat(actual).isEqualTo(new TenantImportState(null, "batman", true, true, 100, false));
+        assertThat(entity.getUpdatedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void ensureStepDoesNotPersistCheckpointWhenStepFails() {
+
+        final TenantImportState next = new TenantImportState(1L, "batman", true, false, 0, false);
+
+        assertThatThrownBy(() -> sut.step(next, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void ensureExists() {
+        when(repository.count()).thenReturn(1L);
+        assertThat(sut.exists()).isTrue();
+    }
+
+    @Test
+    void ensureFindAllByExternalUserId() {
+
+        final TenantImportStateEntity batman = new TenantImportStateEntity("batman", NOW);
+        batman.setCompleted(true);
+        final TenantImportStateEntity robin = new TenantImportStateEntity("robin", NOW);
+        when(repository.findAll()).thenReturn(List.of(batman, robin));
+
+        assertThat(sut.findAll())
+            .containsEntry("batman", new TenantImportState(null, "batman", false, false, 0, true))
+            .containsEntry("robin", new TenantImportState(null, "robin", false, false, 0, false));
+    }
+}
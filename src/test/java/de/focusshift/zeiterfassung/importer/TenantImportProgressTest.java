@@ -0,0 +1,96 @@
+package de.focusshift.zeiterfassung.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantImportProgressTest {
+
+    private static final Instant START = Instant.parse("2024-06-05T10:00:00Z");
+
+    private final MutableClock clock = new MutableClock(START);
+    private final TenantImportProgress sut = new TenantImportProgress(clock);
+
+    @Test
+    void ensureNotStarted() {
+        assertThat(sut.snapshot().status()).isEqualTo(TenantImportProgress.Status.NOT_STARTED);
+    }
+
+    @Test
+    void ensureRunningImportReportsThroughputAndEstimatedFinish() {
+
+        sut.start(new TenantExportHeader("tenant", null, 4, 1_000));
+
+        // resumed user: skipped entries do not count into the throughput
+        sut.timeEntriesSkipped(200);
+        sut.userProcessed();
+
+        sut.timeEntriesImported(300);
+        sut.userProcessed();
+
+        clock.advance(Duration.ofSeconds(10));
+
+        final TenantImportProgress.Snapshot actual = sut.snapshot();
+        assertThat(actual.tenantId()).isEqualTo("tenant");
+        assertThat(actual.status()).isEqualTo(TenantImportProgress.Status.RUNNING);
+        assertThat(actual.startedAt()).isEqualTo(START);
+        assertThat(actual.users()).isEqualTo(4);
+        assertThat(actual.processedUsers()).isEqualTo(2);
+        assertThat(actual.timeEntries()).isEqualTo(1_000);
+        assertThat(actual.processedTimeEntries()).isEqualTo(500);
+        assertThat(actual.timeEntriesPerSecond()).isEqualTo(30.0);
+        // 500 remaining entries with 30 entries per second
+        assertThat(actual.estimatedFinishAt()).isEqualTo(START.plusSeconds(10).plusMillis(16_666));
+    }
+
+    @Test
+    void ensureFinishedImport() {
+
+        sut.start(new TenantExportHeader("tenant", null, 1, 10));
+        sut.timeEntriesImported(10);
+        sut.userProcessed();
+        clock.advance(Duration.ofSeconds(2));
+        sut.finish();
+        clock.advance(Duration.ofMinutes(5));
+
+        final TenantImportProgress.Snapshot actual = sut.snapshot();
+        assertThat(actual.status()).isEqualTo(TenantImportProgress.Status.FINISHED);
+        assertThat(actual.finishedAt()).isEqualTo(START.plusSeconds(2));
+        assertThat(actual.timeEntriesPerSecond()).isEqualTo(5.0);
+        assertThat(actual.estimatedFinishAt()).isEqualTo(START.plusSeconds(2));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
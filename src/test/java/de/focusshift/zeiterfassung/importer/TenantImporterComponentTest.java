@@ -1,5 +1,6 @@
 package de.focusshift.zeiterfassung.importer;
 
+import de.focusshift.zeiterfassung.importer.TenantImportConfigurationProperties.Bulk;
 import de.focusshift.zeiterfassung.importer.model.OvertimeAccountDTO;
 import de.focusshift.zeiterfassung.importer.model.TenantExport;
 import de.focusshift.zeiterfassung.importer.model.TimeClockDTO;
@@ -21,21 +22,23 @@ import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
 import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
 import de.focusshift.zeiterfassung.timeclock.TimeClock;
 import de.focusshift.zeiterfassung.timeclock.TimeClockService;
+import de.focusshift.zeiterfassung.timeentry.NewTimeEntry;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountService;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
 import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.DayOfWeek;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
@@ -45,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static java.time.DayOfWeek.FRIDAY;
 import static java.time.DayOfWeek.MONDAY;
@@ -53,9 +57,15 @@ import static java.time.DayOfWeek.SUNDAY;
 import static java.time.DayOfWeek.THURSDAY;
 import static java.time.DayOfWeek.TUESDAY;
 import static java.time.DayOfWeek.WEDNESDAY;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anySet;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -63,7 +73,6 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class TenantImporterComponentTest {
 
-    @InjectMocks
     private TenantImporterComponent sut;
 
     @Mock(answer = Answers.CALLS_REAL_METHODS)
@@ -82,6 +91,42 @@ class TenantImporterComponentTest {
     private WorkingTimeService workingTimeService;
     @Mock
     private ImportInputProvider importInputProvider;
+    @Mock
+    private TenantImportCheckpoints checkpoints;
+
+    private final TenantImportProgress progress = new TenantImportProgress(Clock.systemUTC());
+
+    @BeforeEach
+    void setUp() {
+        sut = new TenantImporterComponent(tenantContextHolder, tenantService, tenantUserService, overtimeAccountService,
+            timeClockService, timeEntryService, workingTimeService, importInputProvider, checkpoints, progress, new Bulk(false, 1000, 4));
+    }
+
+    private void givenExport(TenantExport tenantExport) {
+        when(importInputProvider.fromExport()).thenReturn(Optional.of(header(tenantExport)));
+        doAnswer(invocation -> {
+            final Consumer<UserExport> consumer = invocation.getArgument(0);
+            tenantExport.users().forEach(consumer);
+            return null;
+        }).when(importInputProvider).users(any());
+    }
+
+    private static TenantExportHeader header(TenantExport tenantExport) {
+        final long timeEntries = tenantExport.users().stream().mapToLong(userExport -> userExport.timeEntries().size()).sum();
+        return new TenantExportHeader(tenantExport.tenantId(), tenantExport.exportedAt(), tenantExport.users().size(), timeEntries);
+    }
+
+    private void givenCheckpointsRunSteps() {
+        when(checkpoints.start(anyString())).thenAnswer(invocation -> new TenantImportState(1L, invocation.getArgument(0), false, false, 0, false));
+        givenCheckpointStepsAreExecuted();
+    }
+
+    private void givenCheckpointStepsAreExecuted() {
+        when(checkpoints.step(any(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return invocation.getArgument(0);
+        });
+    }
 
     private static TenantExport exportedData() {
         UserExport userExport = new UserExport(
@@ -111,7 +156,9 @@ class TenantImporterComponentTest {
 
         TenantExport tenantExport = exportedData();
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        givenExport(tenantExport);
+
+        givenCheckpointsRunSteps();
         Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
         when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
         when(tenantUserService.findAllUsers()).thenReturn(List.of());
@@ -160,12 +207,130 @@ class TenantImporterComponentTest {
 
     }
 
+    @Test
+    void whenBulkIsEnabledTimeEntriesAreCreatedInSortedChunks() {
+
+        sut = new TenantImporterComponent(tenantContextHolder, tenantService, tenantUserService, overtimeAccountService,
+            timeClockService, timeEntryService, workingTimeService, importInputProvider, checkpoints, progress, new Bulk(true, 2, 2));
+
+        final TenantExport exportedData = exportedData();
+        final UserExport userExport = exportedData.users().getFirst();
+        final UserExport userWithManyEntries = new UserExport(userExport.user(), userExport.overtimeAccount(), userExport.workingTime(), List.of(),
+            List.of(
+                new TimeEntryDTO("third", ZonedDateTime.parse("2024-06-03T06:00:00Z"), ZonedDateTime.parse("2024-06-03T10:00:00Z"), false),
+                new TimeEntryDTO("first", ZonedDateTime.parse("2024-06-01T06:00:00Z"), ZonedDateTime.parse("2024-06-01T10:00:00Z"), false),
+                new TimeEntryDTO("second", ZonedDateTime.parse("2024-06-02T06:00:00Z"), ZonedDateTime.parse("2024-06-02T10:00:00Z"), true)
+            )
+        );
+
+        givenExport(new TenantExport("tenantId", Instant.now(), List.of(userWithManyEntries)));
+
+        givenCheckpointsRunSteps();
+        Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
+        when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
+        when(tenantUserService.findAllUsers()).thenReturn(List.of());
+        when(tenantUserService.createNewUser(anyString(), anyString(), anyString(), any(EMailAddress.class), anySet())).thenReturn(
+            new TenantUser("externalId", 1L, "marlene", "muster", new EMailAddress("my.name@example.org"), firstLoginAt, Set.of(SecurityRole.ZEITERFASSUNG_USER), firstLoginAt, firstLoginAt, null, null, UserStatus.ACTIVE)
+        );
+
+        sut.runImport();
+
+        // once for the whole import and once for the imported user
+        verify(tenantContextHolder, times(2)).setTenantId(new TenantId("tenantId"));
+        verify(tenantContextHolder, times(2)).clear();
+
+        verify(overtimeAccountService).updateOvertimeAccount(new UserLocalId(1L), true, Duration.ofHours(8));
+
+        final InOrder inOrder = Mockito.inOrder(timeEntryService);
+        inOrder.verify(timeEntryService).createTimeEntries(new UserId("externalId"), List.of(
+            new NewTimeEntry("first", ZonedDateTime.parse("2024-06-01T08:00:00+02:00[Europe/Berlin]"), ZonedDateTime.parse("2024-06-01T12:00:00+02:00[Europe/Berlin]"), false),
+            new NewTimeEntry("second", ZonedDateTime.parse("2024-06-02T08:00:00+02:00[Europe/Berlin]"), ZonedDateTime.parse("2024-06-02T12:00:00+02:00[Europe/Berlin]"), true)
+        ));
+        inOrder.verify(timeEntryService).createTimeEntries(new UserId("externalId"), List.of(
+            new NewTimeEntry("third", ZonedDateTime.parse("2024-06-03T08:00:00+02:00[Europe/Berlin]"), ZonedDateTime.parse("2024-06-03T12:00:00+02:00[Europe/Berlin]"), false)
+        ));
+        verify(timeEntryService, never()).createTimeEntry(any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void whenBulkIsEnabledFailingUserDoesNotAbortImportOfOthers() {
+
+        sut = new TenantImporterComponent(tenantContextHolder, tenantService, tenantUserService, overtimeAccountService,
+            timeClockService, timeEntryService, workingTimeService, importInputProvider, checkpoints, progress, new Bulk(true, 1000, 1));
+
+        final UserExport userExport = exportedData().users().getFirst();
+        final UserDTO failingUser = new UserDTO("failing", "bruce", "wayne", "bruce@example.org", Instant.now(), Set.of(SecurityRole.ZEITERFASSUNG_USER.name()));
+        final UserExport failingUserExport = new UserExport(failingUser, userExport.overtimeAccount(), userExport.workingTime(), List.of(), List.of());
+
+        givenExport(new TenantExport("tenantId", Instant.now(), List.of(failingUserExport, userExport)));
+
+        givenCheckpointsRunSteps();
+        Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
+        when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
+        when(tenantUserService.findAllUsers()).thenReturn(List.of());
+        when(tenantUserService.createNewUser(eq("failing"), anyString(), anyString(), any(EMailAddress.class), anySet())).thenThrow(new IllegalStateException("boom"));
+        when(tenantUserService.createNewUser(eq("externalId"), anyString(), anyString(), any(EMailAddress.class), anySet())).thenReturn(
+            new TenantUser("externalId", 1L, "marlene", "muster", new EMailAddress("my.name@example.org"), firstLoginAt, Set.of(SecurityRole.ZEITERFASSUNG_USER), firstLoginAt, firstLoginAt, null, null, UserStatus.ACTIVE)
+        );
+
+        sut.runImport();
+
+        verify(overtimeAccountService).updateOvertimeAccount(new UserLocalId(1L), true, Duration.ofHours(8));
+        verify(timeEntryService).createTimeEntries(eq(new UserId("externalId")), any());
+    }
+
+    @Test
+    void whenImportHasBeenInterruptedItResumesAfterLastCheckpoint() {
+
+        final UserExport userExport = exportedData().users().getFirst();
+        final UserDTO completedUser = new UserDTO("completed", "bruce", "wayne", "bruce@example.org", Instant.now(), Set.of(SecurityRole.ZEITERFASSUNG_USER.name()));
+        final UserExport completedUserExport = new UserExport(completedUser, userExport.overtimeAccount(), userExport.workingTime(), List.of(), List.of());
+        final UserExport partialUserExport = new UserExport(userExport.user(), userExport.overtimeAccount(), userExport.workingTime(), userExport.timeClocks(),
+            List.of(
+                new TimeEntryDTO("second", ZonedDateTime.parse("2024-06-02T06:00:00Z"), ZonedDateTime.parse("2024-06-02T10:00:00Z"), false),
+                new TimeEntryDTO("first", ZonedDateTime.parse("2024-06-01T06:00:00Z"), ZonedDateTime.parse("2024-06-01T10:00:00Z"), false)
+            )
+        );
+
+        givenExport(new TenantExport("tenantId", Instant.now(), List.of(completedUserExport, partialUserExport)));
+        givenCheckpointStepsAreExecuted();
+
+        Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
+        final TenantUser existingUser = new TenantUser("externalId", 1L, "marlene", "muster", new EMailAddress("my.name@example.org"), firstLoginAt, Set.of(SecurityRole.ZEITERFASSUNG_USER), firstLoginAt, firstLoginAt, null, null, UserStatus.ACTIVE);
+        when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
+        when(tenantUserService.findAllUsers()).thenReturn(List.of(existingUser));
+        when(tenantUserService.findById(new UserId("externalId"))).thenReturn(Optional.of(existingUser));
+        when(checkpoints.exists()).thenReturn(true);
+        when(checkpoints.findAll()).thenReturn(Map.of(
+            "completed", new TenantImportState(1L, "completed", true, true, 0, true),
+            "externalId", new TenantImportState(2L, "externalId", true, true, 1, false)
+        ));
+
+        sut.runImport();
+
+        verify(tenantUserService, never()).createNewUser(anyString(), anyString(), anyString(), any(EMailAddress.class), anySet());
+        verify(checkpoints, never()).start(anyString());
+        verifyNoInteractions(overtimeAccountService, workingTimeService, timeClockService);
+
+        verify(timeEntryService).createTimeEntry(new UserId("externalId"), "second", ZonedDateTime.parse("2024-06-02T08:00:00+02:00[Europe/Berlin]"), ZonedDateTime.parse("2024-06-02T12:00:00+02:00[Europe/Berlin]"), false);
+        verify(timeEntryService, never()).createTimeEntry(any(), eq("first"), any(), any(), anyBoolean());
+        verify(checkpoints).step(eq(new TenantImportState(2L, "externalId", true, true, 2, false)), any());
+        verify(checkpoints).step(eq(new TenantImportState(2L, "externalId", true, true, 2, true)), any());
+
+        assertThat(progress.snapshot()).satisfies(snapshot -> {
+            assertThat(snapshot.status()).isEqualTo(TenantImportProgress.Status.FINISHED);
+            assertThat(snapshot.processedUsers()).isEqualTo(2);
+            assertThat(snapshot.timeEntries()).isEqualTo(2);
+            assertThat(snapshot.processedTimeEntries()).isEqualTo(2);
+        });
+    }
+
     @Test
     void whenTenantNotFoundInDBNothingIsImported() {
 
         TenantExport tenantExport = exportedData();
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.fromExport()).thenReturn(Optional.of(header(tenantExport)));
         when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.empty());
 
         sut.runImport();
@@ -183,7 +348,7 @@ class TenantImporterComponentTest {
 
         TenantExport tenantExport = exportedData();
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.fromExport()).thenReturn(Optional.of(header(tenantExport)));
         Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
         when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
         when(tenantUserService.findAllUsers()).thenReturn(List.of(new TenantUser("externalId", 1L, "marlene", "muster", new EMailAddress("my.name@example.org"), firstLoginAt, Set.of(SecurityRole.ZEITERFASSUNG_USER), firstLoginAt, firstLoginAt, null, null, UserStatus.ACTIVE)));
@@ -205,7 +370,7 @@ class TenantImporterComponentTest {
 
         TenantExport tenantExport = new TenantExport("default", Instant.now(), List.of());
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.fromExport()).thenReturn(Optional.of(header(tenantExport)));
 
         sut.runImport();
 
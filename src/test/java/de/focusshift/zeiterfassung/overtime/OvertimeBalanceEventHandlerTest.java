@@ -0,0 +1,49 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OvertimeBalanceEventHandlerTest {
+
+    private static final UserIdComposite BATMAN = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+
+    private OvertimeBalanceEventHandler sut;
+
+    @Mock
+    private OvertimeBalanceServiceImpl overtimeBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new OvertimeBalanceEventHandler(overtimeBalanceService);
+    }
+
+    @Test
+    void ensureDailyWorkSummaryChangedInvalidatesSnapshots() {
+
+        sut.on(new DailyWorkSummaryChangedEvent(BATMAN, LocalDate.of(2023, 1, 2)));
+
+        verify(overtimeBalanceService).invalidate(BATMAN, LocalDate.of(2023, 1, 2));
+    }
+
+    @Test
+    void ensureFailingInvalidationIsNotPropagated() {
+
+        doThrow(new IllegalStateException("database down")).when(overtimeBalanceService).invalidate(BATMAN, LocalDate.of(2023, 1, 2));
+
+        assertThatNoException().isThrownBy(() -> sut.on(new DailyWorkSummaryChangedEvent(BATMAN, LocalDate.of(2023, 1, 2))));
+    }
+}
@@ -0,0 +1,276 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummary;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OvertimeBalanceServiceImplTest {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin");
+    private static final UserLocalId BATMAN_LOCAL_ID = new UserLocalId(1L);
+    private static final UserIdComposite BATMAN = new UserIdComposite(new UserId("batman"), BATMAN_LOCAL_ID);
+
+    private OvertimeBalanceServiceImpl sut;
+
+    @Mock
+    private OvertimeBalanceSnapshotRepository repository;
+    @Mock
+    private OvertimeBalanceSnapshotWriter writer;
+    @Mock
+    private DailyWorkSummaryService dailyWorkSummaryService;
+    @Mock
+    private TimeEntryService timeEntryService;
+    @Mock
+    private UserManagementService userManagementService;
+
+    @Captor
+    private ArgumentCaptor<List<OvertimeBalanceSnapshotEntity>> snapshotsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        final Clock clock = Clock.fixed(Instant.parse("2023-04-10T10:00:00Z"), ZONE_ID);
+        sut = new OvertimeBalanceServiceImpl(repository, writer, dailyWorkSummaryService, timeEntryService, userManagementService, clock);
+    }
+
+    @Test
+    void ensureGetBalanceIsEmptyForUnknownUser() {
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.empty());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, LocalDate.of(2023, 4, 11))).isEmpty();
+        verifyNoInteractions(dailyWorkSummaryService, writer);
+    }
+
+    @Test
+    void ensureGetBalanceIsZeroWithoutTimeEntries() {
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.empty());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, LocalDate.of(2023, 4, 11)))
+            .hasValue(new OvertimeBalance(BATMAN, LocalDate.of(2023, 4, 11), Duration.ZERO));
+        verifyNoInteractions(dailyWorkSummaryService, writer);
+    }
+
+    @Test
+    void ensureGetBalanceByUserId() {
+
+        when(userManagementService.findUserById(BATMAN.id())).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.empty());
+
+        assertThat(sut.getBalance(BATMAN.id(), LocalDate.of(2023, 4, 11)))
+            .hasValue(new OvertimeBalance(BATMAN, LocalDate.of(2023, 4, 11), Duration.ZERO));
+    }
+
+    @Test
+    void ensureGetBalanceStartsAtFirstTimeEntryAndStoresSnapshotsOfClosedMonths() {
+
+        final LocalDate toExclusive = LocalDate.of(2023, 4, 11);
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.of(timeEntry(LocalDate.of(2023, 1, 16))));
+        when(repository.findFirstByUserIdAndMonthLessThanOrderByMonthDesc("batman", LocalDate.of(2023, 4, 1))).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummary> consumer = invocation.getArgument(3);
+            consumer.accept(summary(LocalDate.of(2023, 1, 16), Duration.ofHours(9), 0.0));
+            consumer.accept(summary(LocalDate.of(2023, 2, 1), Duration.ofHours(6), 0.0));
+            consumer.accept(summary(LocalDate.of(2023, 3, 31), Duration.ofHours(3), 1.0));
+            consumer.accept(summary(LocalDate.of(2023, 4, 10), Duration.ofMinutes(270), 0.5));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummaries(eq(LocalDate.of(2023, 1, 16)), eq(toExclusive), eq(List.of(BATMAN_LOCAL_ID)), any());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, toExclusive))
+            .hasValue(new OvertimeBalance(BATMAN, toExclusive, Duration.ofMinutes(150)));
+
+        verify(writer).save(snapshotsCaptor.capture());
+        assertThat(snapshotsCaptor.getValue())
+            .extracting(OvertimeBalanceSnapshotEntity::getUserId, OvertimeBalanceSnapshotEntity::getMonth, OvertimeBalanceSnapshotEntity::getBalanceSeconds)
+            .containsExactly(
+                tuple("batman", LocalDate.of(2023, 1, 1), 3600L),
+                tuple("batman", LocalDate.of(2023, 2, 1), -3600L),
+                tuple("batman", LocalDate.of(2023, 3, 1), 7200L)
+            );
+    }
+
+    @Test
+    void ensureGetBalanceContinuesLatestSnapshot() {
+
+        final LocalDate toExclusive = LocalDate.of(2023, 4, 11);
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.of(timeEntry(LocalDate.of(2020, 5, 4))));
+        when(repository.findFirstByUserIdAndMonthLessThanOrderByMonthDesc("batman", LocalDate.of(2023, 4, 1)))
+            .thenReturn(Optional.of(new OvertimeBalanceSnapshotEntity("batman", LocalDate.of(2023, 2, 1), 3600)));
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummary> consumer = invocation.getArgument(3);
+            consumer.accept(summary(LocalDate.of(2023, 3, 1), Duration.ofHours(9), 0.0));
+            consumer.accept(summary(LocalDate.of(2023, 4, 3), Duration.ofHours(9), 0.0));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummaries(eq(LocalDate.of(2023, 3, 1)), eq(toExclusive), eq(List.of(BATMAN_LOCAL_ID)), any());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, toExclusive))
+            .hasValue(new OvertimeBalance(BATMAN, toExclusive, Duration.ofHours(3)));
+
+        verify(writer).save(snapshotsCaptor.capture());
+        assertThat(snapshotsCaptor.getValue())
+            .extracting(OvertimeBalanceSnapshotEntity::getMonth, OvertimeBalanceSnapshotEntity::getBalanceSeconds)
+            .containsExactly(tuple(LocalDate.of(2023, 3, 1), 7200L));
+    }
+
+    @Test
+    void ensureGetBalanceDoesNotStoreSnapshotsOfCurrentAndFutureMonths() {
+
+        final LocalDate toExclusive = LocalDate.of(2023, 6, 1);
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.of(timeEntry(LocalDate.of(2023, 3, 1))));
+        when(repository.findFirstByUserIdAndMonthLessThanOrderByMonthDesc("batman", LocalDate.of(2023, 5, 1))).thenReturn(Optional.empty());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, toExclusive))
+            .hasValue(new OvertimeBalance(BATMAN, toExclusive, Duration.ZERO));
+
+        verify(writer).save(snapshotsCaptor.capture());
+        assertThat(snapshotsCaptor.getValue())
+            .extracting(OvertimeBalanceSnapshotEntity::getMonth)
+            .containsExactly(LocalDate.of(2023, 3, 1));
+    }
+
+    @Test
+    void ensureGetBalanceWithoutClosedMonthsDoesNotStoreSnapshots() {
+
+        final LocalDate toExclusive = LocalDate.of(2023, 4, 11);
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.of(timeEntry(LocalDate.of(2023, 4, 3))));
+        when(repository.findFirstByUserIdAndMonthLessThanOrderByMonthDesc("batman", LocalDate.of(2023, 4, 1))).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummary> consumer = invocation.getArgument(3);
+            consumer.accept(summary(LocalDate.of(2023, 4, 3), Duration.ofHours(7), 0.0));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummaries(eq(LocalDate.of(2023, 4, 3)), eq(toExclusive), eq(List.of(BATMAN_LOCAL_ID)), any());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, toExclusive))
+            .hasValue(new OvertimeBalance(BATMAN, toExclusive, Duration.ofHours(-1)));
+
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void ensureGetBalanceReturnsCalculatedBalanceWhenSnapshotsPersistedConcurrently() {
+
+        final LocalDate toExclusive = LocalDate.of(2023, 4, 11);
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.of(timeEntry(LocalDate.of(2023, 3, 1))));
+        when(repository.findFirstByUserIdAndMonthLessThanOrderByMonthDesc("batman", LocalDate.of(2023, 4, 1))).thenReturn(Optional.empty());
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(writer).save(any());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, toExclusive))
+            .hasValue(new OvertimeBalance(BATMAN, toExclusive, Duration.ZERO));
+    }
+
+    @Test
+    void ensureGetBalanceDoesNotStoreSnapshotsInvalidatedWhileCalculating() {
+
+        final LocalDate toExclusive = LocalDate.of(2023, 4, 11);
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.of(timeEntry(LocalDate.of(2023, 1, 16))));
+        when(repository.findFirstByUserIdAndMonthLessThanOrderByMonthDesc("batman", LocalDate.of(2023, 4, 1))).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummary> consumer = invocation.getArgument(3);
+            consumer.accept(summary(LocalDate.of(2023, 1, 16), Duration.ofHours(9), 0.0));
+            // the summaries change after they have been read
+            sut.invalidate(BATMAN, LocalDate.of(2023, 2, 1));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummaries(eq(LocalDate.of(2023, 1, 16)), eq(toExclusive), eq(List.of(BATMAN_LOCAL_ID)), any());
+
+        assertThat(sut.getBalance(BATMAN_LOCAL_ID, toExclusive))
+            .hasValue(new OvertimeBalance(BATMAN, toExclusive, Duration.ofHours(1)));
+
+        verify(writer).deleteFrom("batman", LocalDate.of(2023, 2, 1));
+        verify(writer, never()).save(any());
+    }
+
+    @Test
+    void ensureGetBalanceStoresSnapshotsWhenOtherUserHasBeenInvalidated() {
+
+        final LocalDate toExclusive = LocalDate.of(2023, 4, 11);
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(timeEntryService.findFirstTimeEntry(BATMAN.id())).thenReturn(Optional.of(timeEntry(LocalDate.of(2023, 3, 1))));
+        when(repository.findFirstByUserIdAndMonthLessThanOrderByMonthDesc("batman", LocalDate.of(2023, 4, 1))).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            sut.invalidate(new UserIdComposite(new UserId("robin"), new UserLocalId(2L)), LocalDate.of(2023, 2, 1));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummaries(eq(LocalDate.of(2023, 3, 1)), eq(toExclusive), eq(List.of(BATMAN_LOCAL_ID)), any());
+
+        sut.getBalance(BATMAN_LOCAL_ID, toExclusive);
+
+        verify(writer).save(any());
+    }
+
+    @Test
+    void ensureInvalidateDeletesSnapshotsStartingWithMonthOfDate() {
+
+        sut.invalidate(BATMAN, LocalDate.of(2023, 3, 15));
+
+        verify(writer).deleteFrom("batman", LocalDate.of(2023, 3, 1));
+    }
+
+    private static User user() {
+        return new User(BATMAN, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+    }
+
+    private static TimeEntry timeEntry(LocalDate date) {
+        final ZonedDateTime start = ZonedDateTime.of(date, LocalTime.of(8, 0), ZONE_ID);
+        return new TimeEntry(new TimeEntryId(1L), BATMAN, "", start, start.plusHours(1), false);
+    }
+
+    private static DailyWorkSummary summary(LocalDate date, Duration worked, double absenceFraction) {
+        return new DailyWorkSummary(BATMAN, date, new WorkDuration(worked), BreakDuration.ZERO, PlannedWorkingHours.EIGHT, absenceFraction);
+    }
+}
@@ -0,0 +1,98 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import de.focus_shift.jollyday.core.HolidayManager;
+import de.focus_shift.jollyday.core.ManagerParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+
+import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BADEN_WUERTTEMBERG;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BERLIN;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.NONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PublicHolidaysCacheTest {
+
+    @Mock
+    private HolidayManager holidayManagerMock;
+
+    @Test
+    void ensureHolidaysSlicesRequestedInterval() {
+
+        final PublicHolidaysCache sut = new PublicHolidaysCache(Map.of("de", getHolidayManager("de")), 10);
+
+        final Map<LocalDate, List<PublicHoliday>> actual = sut.holidays(GERMANY_BADEN_WUERTTEMBERG, LocalDate.of(2023, 12, 24), LocalDate.of(2024, 1, 6));
+
+        assertThat(actual).containsOnlyKeys(
+            LocalDate.of(2023, 12, 25),
+            LocalDate.of(2023, 12, 26),
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 1, 6)
+        );
+    }
+
+    @Test
+    void ensureHolidaysCalculatesEveryYearOnlyOnce() {
+
+        final HolidayManager holidayManager = spy(getHolidayManager("de"));
+        final PublicHolidaysCache sut = new PublicHolidaysCache(Map.of("de", holidayManager), 10);
+
+        sut.holidays(GERMANY_BADEN_WUERTTEMBERG, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31));
+        sut.holidays(GERMANY_BADEN_WUERTTEMBERG, LocalDate.of(2023, 5, 1), LocalDate.of(2023, 5, 31));
+        sut.holidays(GERMANY_BADEN_WUERTTEMBERG, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 31));
+
+        verify(holidayManager, times(2)).getHolidays(any(LocalDate.class), any(LocalDate.class), any(), any(String[].class));
+    }
+
+    @Test
+    void ensureLeastRecentlyUsedYearIsEvicted() {
+
+        final HolidayManager holidayManager = spy(getHolidayManager("de"));
+        final PublicHolidaysCache sut = new PublicHolidaysCache(Map.of("de", holidayManager), 1);
+
+        sut.holidays(GERMANY_BADEN_WUERTTEMBERG, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31));
+        sut.holidays(GERMANY_BERLIN, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31));
+        sut.holidays(GERMANY_BADEN_WUERTTEMBERG, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31));
+
+        verify(holidayManager, times(3)).getHolidays(any(LocalDate.class), any(LocalDate.class), any(), any(String[].class));
+    }
+
+    @Test
+    void ensureHolidaysOfNoneIsEmpty() {
+
+        final PublicHolidaysCache sut = new PublicHolidaysCache(Map.of("de", holidayManagerMock), 10);
+
+        assertThat(sut.holidays(NONE, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31))).isEmpty();
+        verifyNoInteractions(holidayManagerMock);
+    }
+
+    @Test
+    void ensureWarmUpCalculatesYearsOfAllFederalStatesOfConfiguredCountries() {
+
+        final PublicHolidaysCache sut = new PublicHolidaysCache(Map.of("de", holidayManagerMock), 1024);
+
+        sut.warmUp(List.of(Year.of(2023)));
+
+        final long germanFederalStates = FederalState.federalStatesTypesByCountry().get("de").size();
+        verify(holidayManagerMock, times((int) germanFederalStates))
+            .getHolidays(eq(LocalDate.of(2023, 1, 1)), eq(LocalDate.of(2023, 12, 31)), eq(PUBLIC_HOLIDAY), any(String[].class));
+    }
+
+    private HolidayManager getHolidayManager(String country) {
+        return HolidayManager.getInstance(ManagerParameters.create(country));
+    }
+}
@@ -35,7 +35,7 @@ class PublicHolidaysServiceTest {
 
     @BeforeEach
     void setUp() {
-        sut = new PublicHolidaysServiceImpl(Map.of("de", getHolidayManager("de")), federalStateSettingsService);
+        sut = new PublicHolidaysServiceImpl(new PublicHolidaysCache(Map.of("de", getHolidayManager("de")), 10), federalStateSettingsService);
     }
 
     @Test
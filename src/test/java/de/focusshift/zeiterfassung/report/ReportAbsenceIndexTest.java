@@ -0,0 +1,87 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static de.focusshift.zeiterfassung.absence.AbsenceColor.PINK;
+import static de.focusshift.zeiterfassung.absence.AbsenceColor.RED;
+import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.HOLIDAY;
+import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.SICK;
+import static de.focusshift.zeiterfassung.absence.DayLength.FULL;
+import static de.focusshift.zeiterfassung.absence.DayLength.MORNING;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportAbsenceIndexTest {
+
+    private static final ZoneId ZONE_ID_BERLIN = ZoneId.of("Europe/Berlin");
+
+    private static final UserIdComposite BATMAN = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+    private static final UserIdComposite ROBIN = new UserIdComposite(new UserId("robin"), new UserLocalId(2L));
+
+    @Test
+    void ensureAbsencesAtReturnsAbsencesIntersectingTheDate() {
+
+        final Absence holiday = absence(BATMAN, LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 3));
+        final Absence sick = new Absence(BATMAN.id(), startOfDay(LocalDate.of(2023, 2, 3)), startOfDay(LocalDate.of(2023, 2, 3)), MORNING, locale -> "", RED, SICK);
+
+        final ReportAbsenceIndex sut = ReportAbsenceIndex.of(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 8),
+            Map.of(BATMAN, List.of(holiday, sick)));
+
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 2, 1))).containsExactly(holiday);
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 2, 2))).containsExactly(holiday);
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 2, 3))).containsExactly(holiday, sick);
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 2, 4))).isEmpty();
+    }
+
+    @Test
+    void ensureAbsencesAtClampsAbsencesStartingBeforeAndEndingAfterInterval() {
+
+        final Absence holiday = absence(BATMAN, LocalDate.of(2023, 1, 20), LocalDate.of(2023, 3, 10));
+
+        final ReportAbsenceIndex sut = ReportAbsenceIndex.of(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 8),
+            Map.of(BATMAN, List.of(holiday)));
+
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 2, 1))).containsExactly(holiday);
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 2, 7))).containsExactly(holiday);
+    }
+
+    @Test
+    void ensureAbsencesAtOutsideOfIntervalFallsBackToFiltering() {
+
+        final Absence holiday = absence(BATMAN, LocalDate.of(2023, 1, 30), LocalDate.of(2023, 2, 2));
+
+        final ReportAbsenceIndex sut = ReportAbsenceIndex.of(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 8),
+            Map.of(BATMAN, List.of(holiday)));
+
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 1, 31))).containsExactly(holiday);
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 1, 29))).isEmpty();
+        assertThat(sut.absencesAt(BATMAN, LocalDate.of(2023, 2, 8))).isEmpty();
+    }
+
+    @Test
+    void ensureAbsencesAtReturnsEmptyListForUnknownUser() {
+
+        final ReportAbsenceIndex sut = ReportAbsenceIndex.of(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 8),
+            Map.of(BATMAN, List.of(absence(BATMAN, LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 1)))));
+
+        assertThat(sut.absencesAt(ROBIN, LocalDate.of(2023, 2, 1))).isEmpty();
+        assertThat(sut.absencesAt(ROBIN, LocalDate.of(2023, 1, 1))).isEmpty();
+    }
+
+    private static Absence absence(UserIdComposite user, LocalDate start, LocalDate end) {
+        return new Absence(user.id(), startOfDay(start), startOfDay(end), FULL, locale -> "", PINK, HOLIDAY);
+    }
+
+    private static ZonedDateTime startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZONE_ID_BERLIN);
+    }
+}
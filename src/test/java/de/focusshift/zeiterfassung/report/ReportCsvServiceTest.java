@@ -1,11 +1,18 @@
 package de.focusshift.zeiterfassung.report;
 
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
 import de.focusshift.zeiterfassung.user.DateFormatter;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +24,7 @@ import org.springframework.context.MessageSource;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Year;
@@ -28,9 +36,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +55,15 @@ class ReportCsvServiceTest {
     @Mock
     private ReportService reportService;
 
+    @Mock
+    private ReportPermissionService reportPermissionService;
+
+    @Mock
+    private TimeEntryService timeEntryService;
+
+    @Mock
+    private UserManagementService userManagementService;
+
     @Mock
     private DateFormatter dateFormatter;
 
@@ -56,7 +77,7 @@ class ReportCsvServiceTest {
         when(messageSource.getMessage(any(), any(), any()))
             .thenAnswer((Answer<String>) invocationOnMock -> invocationOnMock.getArgument(0));
 
-        sut = new ReportCsvService(reportService, dateFormatter, messageSource);
+        sut = new ReportCsvService(reportService, reportPermissionService, timeEntryService, userManagementService, dateFormatter, messageSource);
     }
 
     // ------------------------------------------------------------
@@ -252,6 +273,130 @@ class ReportCsvServiceTest {
             """);
     }
 
+    @Test
+    void ensureMonthReportCsvForUserLocalIdsWithoutPermittedUsers() {
+
+        final List<UserLocalId> userLocalIds = List.of(new UserLocalId(1L));
+        when(reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userLocalIds)).thenReturn(List.of());
+
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+        sut.writeMonthReportCsvForUserLocalIds(YearMonth.of(2021, 1), Locale.GERMAN, userLocalIds, printWriter);
+
+        assertThat(stringWriter).hasToString("""
+            report.csv.header.date;report.csv.header.person.givenName;report.csv.header.person.familyName;report.csv.header.start;report.csv.header.end;report.csv.header.workedHours;report.csv.header.comment;report.csv.header.break
+            """);
+
+        verifyNoInteractions(timeEntryService);
+    }
+
+    @Test
+    void ensureMonthReportCsvForUserLocalIdsStreamsTimeEntriesOfMonth() {
+
+        mockDateFormatter("dd.MM.yyyy");
+
+        final UserId batmanId = new UserId("batman");
+        final UserLocalId batmanLocalId = new UserLocalId(1L);
+        final UserIdComposite batmanIdComposite = new UserIdComposite(batmanId, batmanLocalId);
+        final User batman = new User(batmanIdComposite, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+
+        final UserId robinId = new UserId("robin");
+        final UserLocalId robinLocalId = new UserLocalId(2L);
+        final UserIdComposite robinIdComposite = new UserIdComposite(robinId, robinLocalId);
+        final User robin = new User(robinIdComposite, "Dick", "Grayson", new EMailAddress("robin@example.org"), Set.of());
+
+        final List<UserLocalId> userLocalIds = List.of(batmanLocalId, robinLocalId);
+        when(reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userLocalIds)).thenReturn(userLocalIds);
+        when(userManagementService.findAllUsersByLocalIds(userLocalIds)).thenReturn(List.of(batman, robin));
+
+        final TimeEntry batmanEntry = new TimeEntry(new TimeEntryId(1L), batmanIdComposite, "hard work",
+            ZonedDateTime.of(LocalDateTime.of(2021, 1, 4, 10, 0), ZONE_ID_BERLIN),
+            ZonedDateTime.of(LocalDateTime.of(2021, 1, 4, 10, 30), ZONE_ID_BERLIN), false);
+        final TimeEntry robinEntry = new TimeEntry(new TimeEntryId(2L), robinIdComposite, "coffee",
+            ZonedDateTime.of(LocalDateTime.of(2021, 1, 5, 9, 0), ZONE_ID_BERLIN),
+            ZonedDateTime.of(LocalDateTime.of(2021, 1, 5, 9, 15), ZONE_ID_BERLIN), true);
+        // starts in february in the users zone and must not be part of the january csv
+        final TimeEntry robinEntryNextMonth = new TimeEntry(new TimeEntryId(3L), robinIdComposite, "night shift",
+            ZonedDateTime.of(LocalDateTime.of(2021, 2, 1, 0, 30), ZONE_ID_BERLIN),
+            ZonedDateTime.of(LocalDateTime.of(2021, 2, 1, 1, 30), ZONE_ID_BERLIN), false);
+
+        doAnswer(invocation -> {
+            final Consumer<TimeEntry> consumer = invocation.getArgument(3);
+            consumer.accept(batmanEntry);
+            consumer.accept(robinEntry);
+            consumer.accept(robinEntryNextMonth);
+            return null;
+        }).when(timeEntryService).streamEntriesByUserLocalIds(eq(LocalDate.of(2021, 1, 1)), eq(LocalDate.of(2021, 2, 1)), eq(userLocalIds), any());
+
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+        sut.writeMonthReportCsvForUserLocalIds(YearMonth.of(2021, 1), Locale.GERMAN, userLocalIds, printWriter);
+
+        assertThat(stringWriter).hasToString("""
+            report.csv.header.date;report.csv.header.person.givenName;report.csv.header.person.familyName;report.csv.header.start;report.csv.header.end;report.csv.header.workedHours;report.csv.header.comment;report.csv.header.break
+            04.01.2021;Bruce;Wayne;10:00;10:30;0,500;hard work;false
+            05.01.2021;Dick;Grayson;09:00;09:15;0,000;coffee;true
+            """);
+    }
+
+    // ------------------------------------------------------------
+    // RANGE report csv
+    // ------------------------------------------------------------
+
+    @Test
+    void ensureRangeReportCsvForAllUsersContainsBucketsAndTotalPerUser() {
+
+        mockDateFormatter("dd.MM.yyyy");
+
+        final UserIdComposite batmanIdComposite = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+        final User batman = new User(batmanIdComposite, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+
+        final LocalDate from = LocalDate.of(2021, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2021, 3, 1);
+        final ReportRange reportRange = new ReportRange(from, toExclusive, ReportRangeGranularity.MONTH, List.of(
+            new ReportRangeUser(batman, List.of(
+                new ReportRangeBucket(from, LocalDate.of(2021, 2, 1), new WorkDuration(Duration.ofMinutes(90)), new BreakDuration(Duration.ofMinutes(30)), PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT),
+                new ReportRangeBucket(LocalDate.of(2021, 2, 1), toExclusive, WorkDuration.EIGHT, BreakDuration.ZERO, PlannedWorkingHours.EIGHT, ShouldWorkingHours.ZERO)
+            ))
+        ));
+
+        when(reportService.getReportRangeForAllUsers(from, toExclusive, ReportRangeGranularity.MONTH)).thenReturn(reportRange);
+
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+        sut.writeRangeReportCsv(from, toExclusive, ReportRangeGranularity.MONTH, Locale.GERMAN, List.of(), printWriter);
+
+        assertThat(stringWriter).hasToString("""
+            report.csv.header.person.givenName;report.csv.header.person.familyName;report.csv.header.start;report.csv.header.end;report.csv.header.workedHours;report.csv.header.breakHours;report.csv.header.plannedHours;report.csv.header.shouldHours;report.csv.header.deltaHours
+            Bruce;Wayne;01.01.2021;31.01.2021;1,500;0,500;8,000;8,000;-6,500
+            Bruce;Wayne;01.02.2021;28.02.2021;8,000;0,000;8,000;0,000;8,000
+            Bruce;Wayne;01.01.2021;28.02.2021;9,500;0,500;16,000;8,000;1,500
+            """);
+    }
+
+    @Test
+    void ensureRangeReportCsvForGivenUsersWithoutPermittedUsers() {
+
+        final LocalDate from = LocalDate.of(2021, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2021, 4, 1);
+        final List<UserLocalId> userLocalIds = List.of(new UserLocalId(1L));
+
+        when(reportService.getReportRange(from, toExclusive, ReportRangeGranularity.WEEK, userLocalIds))
+            .thenReturn(new ReportRange(from, toExclusive, ReportRangeGranularity.WEEK, List.of()));
+
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+        sut.writeRangeReportCsv(from, toExclusive, ReportRangeGranularity.WEEK, Locale.GERMAN, userLocalIds, printWriter);
+
+        assertThat(stringWriter).hasToString("""
+            report.csv.header.person.givenName;report.csv.header.person.familyName;report.csv.header.start;report.csv.header.end;report.csv.header.workedHours;report.csv.header.breakHours;report.csv.header.plannedHours;report.csv.header.shouldHours;report.csv.header.deltaHours
+            """);
+    }
+
     private void mockDateFormatter(String datePattern) {
         when(dateFormatter.formatDate(any()))
             .thenAnswer(invocation -> DateTimeFormatter.ofPattern(datePattern).format(invocation.getArgument(0)));
@@ -0,0 +1,182 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserDateService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummary;
+import de.focusshift.zeiterfassung.worksummary.DailyWorkSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.temporal.TemporalAdjusters.previousOrSame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportRangeAggregatorTest {
+
+    private static final UserIdComposite BATMAN = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+    private static final UserIdComposite ROBIN = new UserIdComposite(new UserId("robin"), new UserLocalId(2L));
+
+    private ReportRangeAggregator sut;
+
+    @Mock
+    private DailyWorkSummaryService dailyWorkSummaryService;
+    @Mock
+    private UserManagementService userManagementService;
+    @Mock
+    private UserDateService userDateService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new ReportRangeAggregator(dailyWorkSummaryService, userManagementService, userDateService);
+    }
+
+    @Test
+    void ensureAggregateByMonth() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 30);
+        final LocalDate toExclusive = LocalDate.of(2023, 2, 3);
+        final List<UserLocalId> userLocalIds = List.of(BATMAN.localId(), ROBIN.localId());
+
+        when(userManagementService.findAllUsersByLocalIds(userLocalIds)).thenReturn(List.of(user(BATMAN), user(ROBIN)));
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummary> consumer = invocation.getArgument(3);
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 1, 30), 8, 0.0));
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 1, 31), 6, 0.5));
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 2, 1), 0, 1.0));
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 2, 2), 9, 0.0));
+            consumer.accept(summary(ROBIN, LocalDate.of(2023, 2, 2), 4, 0.0));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummaries(eq(from), eq(toExclusive), eq(userLocalIds), any());
+
+        final ReportRange actual = sut.aggregate(from, toExclusive, ReportRangeGranularity.MONTH, userLocalIds);
+
+        assertThat(actual.from()).isEqualTo(from);
+        assertThat(actual.toExclusive()).isEqualTo(toExclusive);
+        assertThat(actual.granularity()).isEqualTo(ReportRangeGranularity.MONTH);
+        assertThat(actual.users()).hasSize(2);
+
+        assertThat(actual.users().get(0)).satisfies(batman -> {
+            assertThat(batman.user()).isEqualTo(user(BATMAN));
+            assertThat(batman.buckets()).containsExactly(
+                bucket(LocalDate.of(2023, 1, 30), LocalDate.of(2023, 2, 1), 14, 16, 12),
+                bucket(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 3), 9, 16, 8)
+            );
+            assertThat(batman.total()).isEqualTo(bucket(from, toExclusive, 23, 32, 20));
+            assertThat(batman.total().deltaDuration()).isEqualTo(Duration.ofHours(3));
+        });
+
+        assertThat(actual.users().get(1)).satisfies(robin -> {
+            assertThat(robin.user()).isEqualTo(user(ROBIN));
+            assertThat(robin.buckets()).containsExactly(
+                bucket(LocalDate.of(2023, 1, 30), LocalDate.of(2023, 2, 1), 0, 0, 0),
+                bucket(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 3), 4, 8, 8)
+            );
+        });
+    }
+
+    @Test
+    void ensureAggregateForAllUsersByWeekCutsWeeksToRange() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 4);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 18);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user(BATMAN)));
+        when(userDateService.localDateToFirstDateOfWeek(any()))
+            .thenAnswer(invocation -> invocation.<LocalDate>getArgument(0).with(previousOrSame(MONDAY)));
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummary> consumer = invocation.getArgument(2);
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 1, 8), 2, 0.0));
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 1, 9), 3, 0.0));
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 1, 17), 5, 0.0));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummariesForAllUsers(eq(from), eq(toExclusive), any());
+
+        final ReportRange actual = sut.aggregateForAllUsers(from, toExclusive, ReportRangeGranularity.WEEK);
+
+        assertThat(actual.users()).hasSize(1);
+        assertThat(actual.users().getFirst().buckets()).containsExactly(
+            bucket(LocalDate.of(2023, 1, 4), LocalDate.of(2023, 1, 9), 2, 8, 8),
+            bucket(LocalDate.of(2023, 1, 9), LocalDate.of(2023, 1, 16), 3, 8, 8),
+            bucket(LocalDate.of(2023, 1, 16), LocalDate.of(2023, 1, 18), 5, 8, 8)
+        );
+    }
+
+    @Test
+    void ensureAggregateByDayIgnoresUnknownUsers() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 4);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user(BATMAN)));
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummary> consumer = invocation.getArgument(2);
+            consumer.accept(summary(BATMAN, LocalDate.of(2023, 1, 3), 2, 0.0));
+            consumer.accept(summary(ROBIN, LocalDate.of(2023, 1, 3), 3, 0.0));
+            return null;
+        }).when(dailyWorkSummaryService).streamDailyWorkSummariesForAllUsers(eq(from), eq(toExclusive), any());
+
+        final ReportRange actual = sut.aggregateForAllUsers(from, toExclusive, ReportRangeGranularity.DAY);
+
+        assertThat(actual.users()).hasSize(1);
+        assertThat(actual.users().getFirst().buckets()).containsExactly(
+            bucket(LocalDate.of(2023, 1, 2), LocalDate.of(2023, 1, 3), 0, 0, 0),
+            bucket(LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 4), 2, 8, 8)
+        );
+        verifyNoInteractions(userDateService);
+    }
+
+    @Test
+    void ensureAggregateThrowsForEmptyRange() {
+
+        final LocalDate date = LocalDate.of(2023, 1, 2);
+
+        assertThatThrownBy(() -> sut.aggregateForAllUsers(date, date, ReportRangeGranularity.DAY))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(dailyWorkSummaryService);
+    }
+
+    private static User user(UserIdComposite userIdComposite) {
+        final String name = userIdComposite.id().value();
+        return new User(userIdComposite, name, name, new EMailAddress(name + "@example.org"), Set.of());
+    }
+
+    private static DailyWorkSummary summary(UserIdComposite userIdComposite, LocalDate date, long workedHours, double absenceFraction) {
+        return new DailyWorkSummary(userIdComposite, date, new WorkDuration(Duration.ofHours(workedHours)),
+            new BreakDuration(Duration.ofMinutes(30)), PlannedWorkingHours.EIGHT, absenceFraction);
+    }
+
+    private static ReportRangeBucket bucket(LocalDate from, LocalDate toExclusive, long workedHours, long plannedHours, long shouldHours) {
+        final long days = plannedHours / 8;
+        return new ReportRangeBucket(from, toExclusive,
+            new WorkDuration(Duration.ofHours(workedHours)),
+            new BreakDuration(Duration.ofMinutes(30 * days)),
+            new PlannedWorkingHours(Duration.ofHours(plannedHours)),
+            new ShouldWorkingHours(Duration.ofHours(shouldHours)));
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,11 +28,13 @@ class ReportServicePermissionAwareTest {
     @Mock
     private ReportServiceRaw reportServiceRaw;
     @Mock
+    private ReportRangeAggregator reportRangeAggregator;
+    @Mock
     private UserDateService userDateService;
 
     @BeforeEach
     void setUp() {
-        sut = new ReportServicePermissionAware(reportPermissionService, reportServiceRaw, userDateService);
+        sut = new ReportServicePermissionAware(reportPermissionService, reportServiceRaw, reportRangeAggregator, userDateService);
     }
 
     @Test
@@ -145,4 +148,63 @@ class ReportServicePermissionAwareTest {
             );
         });
     }
+
+    @Test
+    void getReportRangeForMultipleUsersWhenCurrentUserHasNoPermissionForAnyGivenOne() {
+
+        final List<UserLocalId> userIds = List.of(new UserLocalId(1L), new UserLocalId(2L));
+
+        when(reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userIds)).thenReturn(List.of());
+
+        final ReportRange actual = sut.getReportRange(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 4, 1), ReportRangeGranularity.MONTH, userIds);
+
+        assertThat(actual).isEqualTo(new ReportRange(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 4, 1), ReportRangeGranularity.MONTH, List.of()));
+        verifyNoInteractions(reportRangeAggregator);
+    }
+
+    @Test
+    void getReportRangeForMultipleUsersAggregatesPermittedUsersOnly() {
+
+        final UserLocalId localId_1 = new UserLocalId(1L);
+        final UserLocalId localId_2 = new UserLocalId(2L);
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2023, 4, 1);
+
+        when(reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(List.of(localId_1, localId_2))).thenReturn(List.of(localId_2));
+
+        final ReportRange reportRange = new ReportRange(from, toExclusive, ReportRangeGranularity.WEEK, List.of());
+        when(reportRangeAggregator.aggregate(from, toExclusive, ReportRangeGranularity.WEEK, List.of(localId_2))).thenReturn(reportRange);
+
+        assertThat(sut.getReportRange(from, toExclusive, ReportRangeGranularity.WEEK, List.of(localId_1, localId_2))).isSameAs(reportRange);
+    }
+
+    @Test
+    void getReportRangeForAllUsersWhenCurrentUserHasPermissionForAllUsers() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2024, 1, 1);
+
+        when(reportPermissionService.currentUserHasPermissionForAllUsers()).thenReturn(true);
+
+        final ReportRange reportRange = new ReportRange(from, toExclusive, ReportRangeGranularity.MONTH, List.of());
+        when(reportRangeAggregator.aggregateForAllUsers(from, toExclusive, ReportRangeGranularity.MONTH)).thenReturn(reportRange);
+
+        assertThat(sut.getReportRangeForAllUsers(from, toExclusive, ReportRangeGranularity.MONTH)).isSameAs(reportRange);
+    }
+
+    @Test
+    void getReportRangeForAllUsersWhenCurrentUserHasPermissionForSomeUsers() {
+
+        final UserLocalId localId = new UserLocalId(1L);
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2024, 1, 1);
+
+        when(reportPermissionService.currentUserHasPermissionForAllUsers()).thenReturn(false);
+        when(reportPermissionService.findAllPermittedUserLocalIdsForCurrentUser()).thenReturn(List.of(localId));
+
+        final ReportRange reportRange = new ReportRange(from, toExclusive, ReportRangeGranularity.MONTH, List.of());
+        when(reportRangeAggregator.aggregate(from, toExclusive, ReportRangeGranularity.MONTH, List.of(localId))).thenReturn(reportRange);
+
+        assertThat(sut.getReportRangeForAllUsers(from, toExclusive, ReportRangeGranularity.MONTH)).isSameAs(reportRange);
+    }
 }
@@ -1,5 +1,6 @@
 package de.focusshift.zeiterfassung.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.context.SecurityContext;
@@ -10,9 +11,14 @@ import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.session.MapSession;
 import org.springframework.session.Session;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.mock;
@@ -25,7 +31,7 @@ class IndexNameMapSessionRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        sut = new IndexNameMapSessionRepository();
+        sut = new IndexNameMapSessionRepository(Set.of(PRINCIPAL_NAME_INDEX_NAME), 100, Clock.systemUTC());
     }
 
     @Test
@@ -77,6 +83,61 @@ class IndexNameMapSessionRepositoryTest {
         assertThat(sut.findByIndexNameAndIndexValue("SomeAttributeName", "camelcasevalue")).isEmpty();
     }
 
+    @Test
+    void ensureFindByIndexNameAndIndexValueOnlyKnowsIndexedAttributes() {
+
+        final MapSession session = new MapSession("id");
+        session.setAttribute("SomeAttributeName", "value");
+        sut.save(session);
+
+        assertThat(sut.findByIndexNameAndIndexValue("SomeAttributeName", "value")).isEmpty();
+        assertThat(sut.indexSize("SomeAttributeName")).isZero();
+    }
+
+    @Test
+    void ensureFindByIndexNameAndIndexValueWithCustomIndexedAttribute() {
+
+        sut = new IndexNameMapSessionRepository(Set.of("SomeAttributeName"), 100, Clock.systemUTC());
+
+        final MapSession session = new MapSession("id");
+        session.setAttribute("SomeAttributeName", "value");
+        sut.save(session);
+
+        assertThat(sut.findByIndexNameAndIndexValue("SomeAttributeName", "value")).containsExactlyEntriesOf(Map.of("id", session));
+    }
+
+    @Test
+    void ensureIndexIsUpdatedWhenIndexedValueChanges() {
+
+        final SecurityContext context = SecurityContextHolder.getContext();
+        context.setAuthentication(prepareOAuth2Authentication("user1"));
+        final MapSession session = new MapSession("id");
+        sut.save(session);
+
+        context.setAuthentication(prepareOAuth2Authentication("user2"));
+        sut.save(session);
+
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user1")).isEmpty();
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user2")).containsExactlyEntriesOf(Map.of("id", session));
+        assertThat(sut.indexSize(PRINCIPAL_NAME_INDEX_NAME)).isOne();
+    }
+
+    @Test
+    void ensureIndexIsUpdatedWhenIndexedValueIsRemoved() {
+
+        final SecurityContext context = SecurityContextHolder.getContext();
+        context.setAuthentication(prepareOAuth2Authentication("user"));
+        final MapSession session = new MapSession("id");
+        sut.save(session);
+
+        context.setAuthentication(null);
+        session.removeAttribute(PRINCIPAL_NAME_INDEX_NAME);
+        sut.save(session);
+
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).isEmpty();
+        assertThat(sut.indexSize(PRINCIPAL_NAME_INDEX_NAME)).isZero();
+    }
+
     @Test
     void deleteById() {
 
@@ -93,6 +154,85 @@ class IndexNameMapSessionRepositoryTest {
 
         assertThat(sut.findById("id")).isNull();
         assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).isEmpty();
+        assertThat(sut.indexSize(PRINCIPAL_NAME_INDEX_NAME)).isZero();
+    }
+
+    @Test
+    void ensureFindByIdRemovesExpiredSession() {
+
+        final Instant now = Instant.parse("2024-11-12T10:00:00Z");
+        sut = new IndexNameMapSessionRepository(Set.of(PRINCIPAL_NAME_INDEX_NAME), 100, Clock.fixed(now, UTC));
+
+        final SecurityContext context = SecurityContextHolder.getContext();
+        context.setAuthentication(prepareOAuth2Authentication("user"));
+        final MapSession session = new MapSession("id");
+        session.setMaxInactiveInterval(Duration.ofMinutes(30));
+        session.setLastAccessedTime(now.minus(Duration.ofMinutes(30)));
+        sut.save(session);
+
+        assertThat(sut.findById("id")).isNull();
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).isEmpty();
+    }
+
+    @Test
+    void ensureRemoveExpiredSessions() {
+
+        final Instant now = Instant.parse("2024-11-12T10:00:00Z");
+        sut = new IndexNameMapSessionRepository(Set.of(PRINCIPAL_NAME_INDEX_NAME), 100, Clock.fixed(now, UTC));
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sut.bindTo(meterRegistry);
+
+        final MapSession expired = new MapSession("expired");
+        expired.setMaxInactiveInterval(Duration.ofMinutes(30));
+        expired.setLastAccessedTime(now.minus(Duration.ofMinutes(31)));
+        sut.save(expired);
+
+        final MapSession active = new MapSession("active");
+        active.setMaxInactiveInterval(Duration.ofMinutes(30));
+        active.setLastAccessedTime(now.minus(Duration.ofMinutes(29)));
+        sut.save(active);
+
+        final MapSession neverExpiring = new MapSession("never-expiring");
+        neverExpiring.setMaxInactiveInterval(Duration.ofSeconds(-1));
+        neverExpiring.setLastAccessedTime(now.minus(Duration.ofDays(365)));
+        sut.save(neverExpiring);
+
+        sut.removeExpiredSessions();
+
+        assertThat(sut.findById("expired")).isNull();
+        assertThat(sut.findById("active")).isEqualTo(active);
+        assertThat(sut.findById("never-expiring")).isEqualTo(neverExpiring);
+
+        assertThat(meterRegistry.get("zeiterfassung.sessions").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("zeiterfassung.sessions.removed").tag("reason", "expired").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("zeiterfassung.sessions.retained").gauge().value()).isPositive();
+    }
+
+    @Test
+    void ensureLeastRecentlyAccessedSessionsAreEvictedWhenLimitIsExceeded() {
+
+        final Instant now = Instant.parse("2024-11-12T10:00:00Z");
+        sut = new IndexNameMapSessionRepository(Set.of(PRINCIPAL_NAME_INDEX_NAME), 2, Clock.fixed(now, UTC));
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sut.bindTo(meterRegistry);
+
+        final MapSession first = new MapSession("first");
+        first.setLastAccessedTime(now.minus(Duration.ofMinutes(3)));
+        final MapSession second = new MapSession("second");
+        second.setLastAccessedTime(now.minus(Duration.ofMinutes(1)));
+        final MapSession third = new MapSession("third");
+        third.setLastAccessedTime(now.minus(Duration.ofMinutes(2)));
+
+        sut.save(first);
+        sut.save(second);
+        sut.save(third);
+
+        assertThat(sut.findById("first")).isNull();
+        assertThat(sut.findById("second")).isEqualTo(second);
+        assertThat(sut.findById("third")).isEqualTo(third);
+        assertThat(meterRegistry.get("zeiterfassung.sessions.removed").tag("reason", "evicted").functionCounter().count()).isEqualTo(1);
     }
 
     private OAuth2AuthenticationToken prepareOAuth2Authentication(String subject) {
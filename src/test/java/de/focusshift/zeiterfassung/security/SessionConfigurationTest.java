@@ -0,0 +1,90 @@
+package de.focusshift.zeiterfassung.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.session.Session;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.session.FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME;
+
+class SessionConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(SessionConfiguration.class, SchedulingConfiguration.class)
+        .withBean(Clock.class, Clock::systemUTC);
+
+    @BeforeEach
+    void setUp() {
+        // saving a session indexes the subject of an authenticated oidc user as principal name
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ensureExpiredSessionsAreRemovedEveryMinuteByDefault() {
+        contextRunner
+            .run(context -> assertThat(expirySweepInterval(context.getBean(ScheduledTaskHolder.class))).isEqualTo(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void ensureExpirySweepIntervalIsReadFromProperties() {
+        contextRunner
+            .withPropertyValues("zeiterfassung.security.session.expiry-sweep-interval=30s")
+            .run(context -> assertThat(expirySweepInterval(context.getBean(ScheduledTaskHolder.class))).isEqualTo(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void ensureSessionsAreIndexedByPrincipalNameByDefault() {
+        contextRunner
+            .run(context -> {
+                final IndexNameMapSessionRepository sut = context.getBean(IndexNameMapSessionRepository.class);
+
+                final Session session = sut.createSession();
+                session.setAttribute(PRINCIPAL_NAME_INDEX_NAME, "batman");
+                session.setAttribute("tenant", "gotham");
+                sut.save(session);
+
+                assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "batman")).containsOnlyKeys(session.getId());
+                assertThat(sut.findByIndexNameAndIndexValue("tenant", "gotham")).isEmpty();
+            });
+    }
+
+    @Test
+    void ensureIndexedAttributesAreReadFromProperties() {
+        contextRunner
+            .withPropertyValues("zeiterfassung.security.session.indexed-attributes=" + PRINCIPAL_NAME_INDEX_NAME + ",tenant")
+            .run(context -> {
+                final IndexNameMapSessionRepository sut = context.getBean(IndexNameMapSessionRepository.class);
+
+                final Session session = sut.createSession();
+                session.setAttribute(PRINCIPAL_NAME_INDEX_NAME, "batman");
+                session.setAttribute("tenant", "gotham");
+                sut.save(session);
+
+                assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "batman")).containsOnlyKeys(session.getId());
+                assertThat(sut.findByIndexNameAndIndexValue("tenant", "gotham")).containsOnlyKeys(session.getId());
+            });
+    }
+
+    private static Duration expirySweepInterval(ScheduledTaskHolder scheduledTaskHolder) {
+        return scheduledTaskHolder.getScheduledTasks().stream()
+            .map(ScheduledTask::getTask)
+            .filter(FixedDelayTask.class::isInstance)
+            .map(FixedDelayTask.class::cast)
+            .findFirst()
+            .map(FixedDelayTask::getIntervalDuration)
+            .orElseThrow();
+    }
+
+    @EnableScheduling
+    static class SchedulingConfiguration {
+    }
+}
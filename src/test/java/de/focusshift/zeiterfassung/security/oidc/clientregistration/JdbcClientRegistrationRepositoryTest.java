@@ -0,0 +1,126 @@
+package de.focusshift.zeiterfassung.security.oidc.clientregistration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcClientRegistrationRepositoryTest {
+
+    private JdbcClientRegistrationRepository sut;
+
+    @Mock
+    private OidcClientEntityRepository oidcClientEntityRepository;
+    @Mock
+    private OidcClientEntityToClientRegistrationConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        sut = new JdbcClientRegistrationRepository(oidcClientEntityRepository, converter);
+    }
+
+    @Test
+    void ensureFindByRegistrationIdLoadsClientRegistrationOnce() {
+
+        final OidcClientEntity entity = new OidcClientEntity(1L, "tenant", "secret");
+        when(oidcClientEntityRepository.findByTenantId("tenant")).thenReturn(entity);
+
+        final ClientRegistration clientRegistration = mock(ClientRegistration.class);
+        when(converter.convert(entity)).thenReturn(clientRegistration);
+
+        assertThat(sut.findByRegistrationId("tenant")).isSameAs(clientRegistration);
+        assertThat(sut.findByRegistrationId("tenant")).isSameAs(clientRegistration);
+        assertThat(sut.existsClient("tenant")).isTrue();
+
+        verify(oidcClientEntityRepository, times(1)).findByTenantId("tenant");
+        verify(converter, times(1)).convert(entity);
+    }
+
+    @Test
+    void ensureFindByRegistrationIdDoesNotCacheUnknownTenant() {
+
+        assertThat(sut.findByRegistrationId("unknown")).isNull();
+        assertThat(sut.existsClient("unknown")).isFalse();
+
+        verify(oidcClientEntityRepository, times(2)).findByTenantId("unknown");
+    }
+
+    @Test
+    void ensureWarmUpCachesClientRegistrationsOfAllTenants() {
+
+        final OidcClientEntity one = new OidcClientEntity(1L, "one", "secret-one");
+        final OidcClientEntity two = new OidcClientEntity(2L, "two", "secret-two");
+        when(oidcClientEntityRepository.findAll()).thenReturn(List.of(one, two));
+
+        final ClientRegistration clientRegistrationOne = mock(ClientRegistration.class);
+        final ClientRegistration clientRegistrationTwo = mock(ClientRegistration.class);
+        when(converter.convert(one)).thenReturn(clientRegistrationOne);
+        when(converter.convert(two)).thenReturn(clientRegistrationTwo);
+
+        sut.warmUp();
+
+        assertThat(sut.findByRegistrationId("one")).isSameAs(clientRegistrationOne);
+        assertThat(sut.findByRegistrationId("two")).isSameAs(clientRegistrationTwo);
+
+        verify(oidcClientEntityRepository).findAll();
+        verifyNoMoreInteractions(oidcClientEntityRepository);
+    }
+
+    @Test
+    void ensureAddNewClientCachesClientRegistration() {
+
+        final OidcClientEntity saved = new OidcClientEntity(1L, "tenant", "secret");
+        when(oidcClientEntityRepository.save(any(OidcClientEntity.class))).thenReturn(saved);
+
+        final ClientRegistration clientRegistration = mock(ClientRegistration.class);
+        when(converter.convert(saved)).thenReturn(clientRegistration);
+
+        assertThat(sut.addNewClient("tenant", "secret")).isSameAs(clientRegistration);
+        assertThat(sut.findByRegistrationId("tenant")).isSameAs(clientRegistration);
+
+        // only the existence check before saving
+        verify(oidcClientEntityRepository, times(1)).findByTenantId("tenant");
+    }
+
+    @Test
+    void ensureDeleteExistingClientEvictsClientRegistration() {
+
+        final OidcClientEntity entity = new OidcClientEntity(1L, "tenant", "secret");
+        when(oidcClientEntityRepository.findByTenantId("tenant")).thenReturn(entity, entity, null);
+        when(converter.convert(entity)).thenReturn(mock(ClientRegistration.class));
+
+        assertThat(sut.findByRegistrationId("tenant")).isNotNull();
+
+        sut.deleteExistingClient("tenant");
+
+        verify(oidcClientEntityRepository).delete(entity);
+        assertThat(sut.findByRegistrationId("tenant")).isNull();
+    }
+
+    @Test
+    void ensureClientRegistrationLoadedDuringDeletionIsNotCached() {
+
+        final OidcClientEntity entity = new OidcClientEntity(1L, "tenant", "secret");
+        when(oidcClientEntityRepository.findByTenantId("tenant")).thenReturn(entity, (OidcClientEntity) null);
+        when(converter.convert(entity)).thenAnswer(invocation -> {
+            sut.deleteExistingClient("tenant");
+            return mock(ClientRegistration.class);
+        });
+
+        assertThat(sut.findByRegistrationId("tenant")).isNotNull();
+        assertThat(sut.findByRegistrationId("tenant")).isNull();
+    }
+}
@@ -0,0 +1,133 @@
+package de.focusshift.zeiterfassung.settings;
+
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BAYERN;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BERLIN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettingsServiceTest {
+
+    private SettingsService sut;
+
+    @Mock
+    private FederalStateSettingsRepository federalStateSettingsRepository;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        sut = new SettingsService(federalStateSettingsRepository, tenantContextHolder, Clock.systemUTC(), new SettingsCacheConfigurationProperties(), applicationEventPublisher);
+    }
+
+    @Test
+    void ensureFederalStateSettingsAreLoadedOncePerTenant() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(federalStateSettingsRepository.findAll()).thenReturn(List.of(entity(GERMANY_BERLIN)));
+
+        assertThat(sut.getFederalStateSettings()).isEqualTo(new FederalStateSettings(GERMANY_BERLIN, false));
+        assertThat(sut.getFederalStateSettings()).isEqualTo(new FederalStateSettings(GERMANY_BERLIN, false));
+
+        verify(federalStateSettingsRepository, times(1)).findAll();
+    }
+
+    @Test
+    void ensureFederalStateSettingsAreLoadedAgainWhenExpired() {
+
+        final Instant now = Instant.parse("2024-11-12T10:00:00Z");
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now, now.plus(Duration.ofMinutes(4)), now.plus(Duration.ofMinutes(5)));
+        sut = new SettingsService(federalStateSettingsRepository, tenantContextHolder, clock, new SettingsCacheConfigurationProperties(), applicationEventPublisher);
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(federalStateSettingsRepository.findAll()).thenReturn(List.of(entity(GERMANY_BERLIN)));
+
+        sut.getFederalStateSettings();
+        sut.getFederalStateSettings();
+        verify(federalStateSettingsRepository, times(1)).findAll();
+
+        sut.getFederalStateSettings();
+        verify(federalStateSettingsRepository, times(2)).findAll();
+    }
+
+    @Test
+    void ensureUpdateEvictsCachedFederalStateSettings() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        final FederalStateSettingsEntity entity = entity(GERMANY_BERLIN);
+        when(federalStateSettingsRepository.findAll()).thenReturn(List.of(entity));
+        when(federalStateSettingsRepository.save(any(FederalStateSettingsEntity.class))).thenAnswer(returnsFirstArg());
+
+        assertThat(sut.getFederalStateSettings().federalState()).isEqualTo(GERMANY_BERLIN);
+
+        sut.updateFederalStateSettings(GERMANY_BAYERN, true);
+
+        assertThat(sut.getFederalStateSettings()).isEqualTo(new FederalStateSettings(GERMANY_BAYERN, true));
+    }
+
+    @Test
+    void ensureFederalStateSettingsLoadedDuringUpdateAreNotCached() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(federalStateSettingsRepository.save(any(FederalStateSettingsEntity.class))).thenAnswer(returnsFirstArg());
+
+        final FederalStateSettingsEntity entity = entity(GERMANY_BERLIN);
+        final AtomicBoolean updating = new AtomicBoolean(false);
+        when(federalStateSettingsRepository.findAll()).thenAnswer(invocation -> {
+            // the settings are updated while they are loaded, the loaded ones are outdated already
+            if (updating.compareAndSet(false, true)) {
+                final List<FederalStateSettingsEntity> outdated = List.of(entity(GERMANY_BERLIN));
+                sut.updateFederalStateSettings(GERMANY_BAYERN, false);
+                return outdated;
+            }
+            return List.of(entity);
+        });
+
+        assertThat(sut.getFederalStateSettings().federalState()).isEqualTo(GERMANY_BERLIN);
+        assertThat(sut.getFederalStateSettings().federalState()).isEqualTo(GERMANY_BAYERN);
+    }
+
+    @Test
+    void ensureUpdatePublishesFederalStateSettingsChangedEvent() {
+
+        when(federalStateSettingsRepository.findAll()).thenReturn(List.of(entity(GERMANY_BERLIN)));
+        when(federalStateSettingsRepository.save(any(FederalStateSettingsEntity.class))).thenAnswer(returnsFirstArg());
+
+        sut.updateFederalStateSettings(GERMANY_BAYERN, true);
+
+        verify(applicationEventPublisher).publishEvent(new FederalStateSettingsChangedEvent(new FederalStateSettings(GERMANY_BAYERN, true)));
+    }
+
+    private static FederalStateSettingsEntity entity(FederalState federalState) {
+        final FederalStateSettingsEntity entity = new FederalStateSettingsEntity();
+        entity.setId(1L);
+        entity.setFederalState(federalState);
+        entity.setWorksOnPublicHoliday(false);
+        return entity;
+    }
+}
@@ -0,0 +1,132 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecentWritesTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-05T21:01:07Z");
+
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+
+    @BeforeEach
+    void setUp() {
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("a154bc4e")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ensureHasRecentWriteWithinWindow() {
+
+        authenticate("batman");
+
+        final RecentWrites sut = new RecentWrites(tenantContextHolder, Duration.ofSeconds(5), Clock.fixed(NOW, ZoneId.of("UTC")));
+        assertThat(sut.hasRecentWrite()).isFalse();
+
+        sut.recordWrite();
+        assertThat(sut.hasRecentWrite()).isTrue();
+    }
+
+    @Test
+    void ensureHasNoRecentWriteAfterWindow() {
+
+        authenticate("batman");
+
+        final MutableClock clock = new MutableClock(NOW);
+        final RecentWrites sut = new RecentWrites(tenantContextHolder, Duration.ofSeconds(5), clock);
+
+        sut.recordWrite();
+
+        clock.instant = NOW.plusSeconds(5);
+        assertThat(sut.hasRecentWrite()).isTrue();
+
+        clock.instant = NOW.plusSeconds(6);
+        assertThat(sut.hasRecentWrite()).isFalse();
+    }
+
+    @Test
+    void ensureWriteOfOtherUserIsNotRecentWrite() {
+
+        final RecentWrites sut = new RecentWrites(tenantContextHolder, Duration.ofSeconds(5), Clock.fixed(NOW, ZoneId.of("UTC")));
+
+        authenticate("batman");
+        sut.recordWrite();
+
+        authenticate("robin");
+        assertThat(sut.hasRecentWrite()).isFalse();
+    }
+
+    @Test
+    void ensureWriteWithoutUserIsRecentWriteOfEveryUserOfTheTenant() {
+
+        final RecentWrites sut = new RecentWrites(tenantContextHolder, Duration.ofSeconds(5), Clock.fixed(NOW, ZoneId.of("UTC")));
+
+        sut.recordWrite();
+
+        authenticate("robin");
+        assertThat(sut.hasRecentWrite()).isTrue();
+    }
+
+    @Test
+    void ensureWriteWithoutUserOfOtherTenantIsNotRecentWrite() {
+
+        final RecentWrites sut = new RecentWrites(tenantContextHolder, Duration.ofSeconds(5), Clock.fixed(NOW, ZoneId.of("UTC")));
+
+        sut.recordWrite();
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("b254bc4e")));
+        authenticate("robin");
+        assertThat(sut.hasRecentWrite()).isFalse();
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(name, null));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private RecentWrites recentWrites;
+    @Mock
+    private Connection connection;
+
+    @Test
+    void ensureUsesReplica() throws SQLException {
+
+        final ReplicaRoutingDataSource sut = new ReplicaRoutingDataSource(primary, replica, recentWrites);
+
+        when(recentWrites.hasRecentWrite()).thenReturn(false);
+        when(replica.getConnection()).thenReturn(connection);
+
+        assertThat(sut.getConnection()).isSameAs(connection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void ensureUsesPrimaryAfterRecentWrite() throws SQLException {
+
+        final ReplicaRoutingDataSource sut = new ReplicaRoutingDataSource(primary, replica, recentWrites);
+
+        when(recentWrites.hasRecentWrite()).thenReturn(true);
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertThat(sut.getConnection()).isSameAs(connection);
+        verifyNoInteractions(replica);
+    }
+}
@@ -0,0 +1,201 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantAwareDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Test
+    void ensureSetsTenantIdOnCheckoutAndResetsItOnClose() throws SQLException {
+
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("a154bc4e")));
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement("RESET app.tenant_id")).thenReturn(preparedStatement);
+
+        final Connection actual = sut.getConnection();
+        assertThat(actual).isInstanceOf(ConnectionProxy.class);
+        assertThat(((ConnectionProxy) actual).getTargetConnection()).isSameAs(connection);
+
+        actual.close();
+        actual.close();
+
+        final InOrder inOrder = inOrder(statement, preparedStatement, connection);
+        inOrder.verify(statement).execute("SET app.tenant_id TO 'a154bc4e'");
+        inOrder.verify(preparedStatement).execute();
+        inOrder.verify(connection).close();
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void ensureTaggedConnectionSetsTenantIdOnlyWhenTenantChanges() throws SQLException {
+
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, true);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(
+            Optional.of(new TenantId("a154bc4e")),
+            Optional.of(new TenantId("a154bc4e")),
+            Optional.of(new TenantId("b265cd5f"))
+        );
+
+        sut.getConnection().close();
+        sut.getConnection().close();
+        sut.getConnection().close();
+
+        verify(statement, times(1)).execute("SET app.tenant_id TO 'a154bc4e'");
+        verify(statement, times(1)).execute("SET app.tenant_id TO 'b265cd5f'");
+        verify(connection, never()).prepareStatement("RESET app.tenant_id");
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void ensureTaggedConnectionDoesNotRememberTenantIdSetWithinTransaction() throws SQLException {
+
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, true);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(connection.createStatement()).thenReturn(statement);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("a154bc4e")));
+
+        sut.getConnection().close();
+        sut.getConnection().close();
+
+        verify(statement, times(2)).execute("SET app.tenant_id TO 'a154bc4e'");
+    }
+
+    @Test
+    void ensureClosesConnectionWhenSettingTenantIdFails() throws SQLException {
+
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, true);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute("SET app.tenant_id TO 'a154bc4e'")).thenThrow(new SQLException("broken"));
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("a154bc4e")));
+
+        assertThatThrownBy(sut::getConnection).isInstanceOf(SQLException.class);
+
+        verify(connection).close();
+    }
+
+    @Test
+    void ensurePartitionedHoldsConnectionSlotOfTenantUntilClose() throws SQLException {
+
+        final TenantConnectionQuota quota = new TenantConnectionQuota(1, Duration.ZERO, new SimpleMeterRegistry());
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, false, quota);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement("RESET app.tenant_id")).thenReturn(preparedStatement);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("a154bc4e")));
+
+        final Connection first = sut.getConnection();
+        assertThat(quota.activeConnections("a154bc4e")).isOne();
+        assertThat(CompletableFuture.supplyAsync(() -> catchThrowable(sut::getConnection)).join())
+            .isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        assertThat(quota.activeConnections("a154bc4e")).isZero();
+
+        sut.getConnection().close();
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void ensurePartitionedNestedCheckoutSharesConnectionSlotOfThread() throws SQLException {
+
+        final TenantConnectionQuota quota = new TenantConnectionQuota(1, Duration.ZERO, new SimpleMeterRegistry());
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, false, quota);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement("RESET app.tenant_id")).thenReturn(preparedStatement);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("a154bc4e")));
+
+        final Connection outer = sut.getConnection();
+        final Connection nested = sut.getConnection();
+        assertThat(quota.activeConnections("a154bc4e")).isEqualTo(2);
+
+        nested.close();
+        outer.close();
+        assertThat(quota.activeConnections("a154bc4e")).isZero();
+    }
+
+    @Test
+    void ensurePartitionedReleasesConnectionSlotWhenCheckoutFails() throws SQLException {
+
+        final TenantConnectionQuota quota = new TenantConnectionQuota(1, Duration.ZERO, new SimpleMeterRegistry());
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, false, quota);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute("SET app.tenant_id TO 'a154bc4e'")).thenThrow(new SQLException("broken"));
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("a154bc4e")));
+
+        assertThatThrownBy(sut::getConnection).hasMessage("broken");
+
+        verify(connection).close();
+        assertThat(quota.activeConnections("a154bc4e")).isZero();
+    }
+
+    @Test
+    void ensureUsesFallbackTenantIdWithoutTenantContext() throws SQLException {
+
+        final TenantAwareDataSource sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder);
+
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.empty());
+
+        sut.getConnection();
+
+        verify(statement).execute("SET app.tenant_id TO 'DEFAULT'");
+    }
+}
@@ -0,0 +1,41 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.AbstractTenantAwareEntity;
+import jakarta.persistence.Entity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantAwareDatabaseConfigurationTest {
+
+    @Test
+    void ensureRepositoriesOfAllTenantAwareEntitiesAreEnabled() {
+
+        final ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        final AssignableTypeFilter tenantAware = new AssignableTypeFilter(AbstractTenantAwareEntity.class);
+        scanner.addIncludeFilter((reader, factory) ->
+            reader.getAnnotationMetadata().hasAnnotation(Entity.class.getName()) && tenantAware.match(reader, factory));
+
+        final Set<String> entityPackages = scanner.findCandidateComponents("de.focusshift.zeiterfassung").stream()
+            .map(BeanDefinition::getBeanClassName)
+            .map(ClassUtils::getPackageName)
+            .collect(toSet());
+
+        final EnableJpaRepositories enableJpaRepositories = TenantAwareDatabaseConfiguration.class.getAnnotation(EnableJpaRepositories.class);
+        final Set<String> repositoryPackages = Arrays.stream(enableJpaRepositories.basePackageClasses())
+            .map(Class::getPackageName)
+            .collect(toSet());
+
+        assertThat(entityPackages).isNotEmpty();
+        assertThat(repositoryPackages).containsAll(entityPackages);
+    }
+}
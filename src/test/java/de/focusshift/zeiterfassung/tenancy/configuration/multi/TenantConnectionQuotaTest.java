@@ -0,0 +1,109 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantConnectionQuotaTest {
+
+    private TenantConnectionQuota sut;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new TenantConnectionQuota(2, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void ensureRejectsCheckoutBeyondQuotaOfTenant() throws Exception {
+
+        acquireInOtherThread(sut, "tenant");
+        acquireInOtherThread(sut, "tenant");
+
+        assertThatThrownBy(() -> sut.acquire("tenant"))
+            .isInstanceOf(SQLTransientConnectionException.class)
+            .hasMessageContaining("tenantId=tenant holds 2 connections");
+
+        assertThat(meterRegistry.get("zeiterfassung.datasource.tenant.connections.rejected").tag("tenant", "tenant").counter().count()).isOne();
+        assertThat(meterRegistry.get("zeiterfassung.datasource.tenant.connections.active").tag("tenant", "tenant").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("zeiterfassung.datasource.tenant.connections.wait").tag("tenant", "tenant").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void ensureQuotaOfOneTenantDoesNotAffectOthers() throws Exception {
+
+        acquireInOtherThread(sut, "heavy");
+        acquireInOtherThread(sut, "heavy");
+
+        sut.acquire("other");
+
+        assertThat(sut.activeConnections("heavy")).isEqualTo(2);
+        assertThat(sut.activeConnections("other")).isOne();
+    }
+
+    @Test
+    void ensureReleaseHandsSlotToWaitingCheckout() throws Exception {
+
+        final TenantConnectionQuota quota = new TenantConnectionQuota(1, Duration.ofSeconds(10), meterRegistry);
+        final TenantConnectionQuota.Permit permit = quota.acquire("tenant");
+
+        final CompletableFuture<TenantConnectionQuota.Permit> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return quota.acquire("tenant");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        permit.release();
+        // releasing twice must not grant an additional slot
+        permit.release();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(quota.activeConnections("tenant")).isOne();
+    }
+
+    @Test
+    void ensureNestedCheckoutsOfThreadShareSlot() throws Exception {
+
+        final TenantConnectionQuota quota = new TenantConnectionQuota(1, Duration.ofMillis(50), meterRegistry);
+
+        final TenantConnectionQuota.Permit outer = quota.acquire("tenant");
+        final TenantConnectionQuota.Permit nested = quota.acquire("tenant");
+        assertThat(quota.activeConnections("tenant")).isEqualTo(2);
+
+        assertThatThrownBy(() -> acquireInOtherThread(quota, "tenant")).hasCauseInstanceOf(SQLTransientConnectionException.class);
+
+        nested.release();
+        assertThatThrownBy(() -> acquireInOtherThread(quota, "tenant")).hasCauseInstanceOf(SQLTransientConnectionException.class);
+
+        outer.release();
+        assertThat(acquireInOtherThread(quota, "tenant")).isNotNull();
+        assertThat(quota.activeConnections("tenant")).isOne();
+    }
+
+    private static TenantConnectionQuota.Permit acquireInOtherThread(TenantConnectionQuota quota, String tenantId) throws Exception {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return quota.acquire(tenantId);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+}
@@ -286,6 +286,8 @@ class TenantUserServiceImplTest {
                     assertThat(updatedUser.updatedAt()).isEqualTo(now);
                     assertThat(updatedUser.status()).isEqualTo(UserStatus.ACTIVE);
                 });
+
+                verify(publisher).publishEvent(new TenantUserUpdatedEvent(result));
             }
 
             @Test
@@ -312,6 +314,7 @@ class TenantUserServiceImplTest {
                 final TenantUserEntity existing = activeUserEntityOne(now);
 
                 when(repository.findById(any())).thenReturn(Optional.of(existing));
+                when(repository.save(any(TenantUserEntity.class))).thenAnswer(returnsFirstArg());
 
                 sut.deleteUser(existing.getId());
 
@@ -332,6 +335,8 @@ class TenantUserServiceImplTest {
                     assertThat(entity.getDeletedAt()).isEqualTo(now);
                     assertThat(entity.getStatus()).isEqualTo(UserStatus.DELETED);
                 });
+
+                verify(publisher).publishEvent(any(TenantUserUpdatedEvent.class));
             }
 
             @Test
@@ -365,6 +370,7 @@ class TenantUserServiceImplTest {
 
                 verify(repository).findById(id);
                 verify(repository).save(activatedEntity);
+                verify(publisher).publishEvent(any(TenantUserUpdatedEvent.class));
             }
 
             @Test
@@ -399,6 +405,7 @@ class TenantUserServiceImplTest {
 
                 verify(repository).findById(id);
                 verify(repository).save(deactivatedEntity);
+                verify(publisher).publishEvent(any(TenantUserUpdatedEvent.class));
             }
 
             @Test
@@ -0,0 +1,42 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TimeClockCacheInvalidationEventHandlerRabbitmqTest {
+
+    private TimeClockCacheInvalidationEventHandlerRabbitmq sut;
+
+    @Mock
+    private TimeClockCache timeClockCache;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TimeClockCacheInvalidationEventHandlerRabbitmq(timeClockCache, "this-instance");
+    }
+
+    @Test
+    void ensureTimeClockChangedByAnotherInstanceIsEvicted() {
+
+        sut.handleEvent(new TimeClockCacheInvalidatedEventDTO("other-instance", "tenant", "batman"));
+
+        verify(timeClockCache).evictLocally(new TenantId("tenant"), new UserId("batman"));
+    }
+
+    @Test
+    void ensureTimeClockChangedByThisInstanceIsIgnored() {
+
+        sut.handleEvent(new TimeClockCacheInvalidatedEventDTO("this-instance", "tenant", "batman"));
+
+        verifyNoInteractions(timeClockCache);
+    }
+}
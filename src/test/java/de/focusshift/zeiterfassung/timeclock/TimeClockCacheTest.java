@@ -0,0 +1,159 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeClockCacheTest {
+
+    private static final UserId BATMAN = new UserId("batman");
+    private static final TimeClock RUNNING = new TimeClock(1L, BATMAN, ZonedDateTime.of(2024, 11, 12, 8, 0, 0, 0, ZoneId.of("UTC")), "", false, Optional.empty());
+
+    private TimeClockCache sut;
+
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+    @Mock
+    private TimeClockCacheInvalidationBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TimeClockCache(tenantContextHolder, broadcaster, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void ensureNothingIsCachedWithoutTenantContext() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.empty());
+
+        final CountingLoader loader = new CountingLoader(Optional.of(RUNNING));
+
+        sut.runningTimeClock(BATMAN, loader);
+        sut.runningTimeClock(BATMAN, loader);
+
+        assertThat(loader.count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureNoRunningTimeClockIsCachedPerTenant() {
+
+        final CountingLoader loader = new CountingLoader(Optional.empty());
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("one")));
+        assertThat(sut.runningTimeClock(BATMAN, loader)).isEmpty();
+        assertThat(sut.runningTimeClock(BATMAN, loader)).isEmpty();
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("two")));
+        assertThat(sut.runningTimeClock(BATMAN, loader)).isEmpty();
+
+        assertThat(loader.count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensurePutReplacesCachedTimeClockAndBroadcasts() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final CountingLoader loader = new CountingLoader(Optional.empty());
+
+        sut.runningTimeClock(BATMAN, loader);
+        sut.put(BATMAN, Optional.of(RUNNING));
+
+        assertThat(sut.runningTimeClock(BATMAN, loader)).hasValue(RUNNING);
+        assertThat(loader.count()).isOne();
+        verify(broadcaster).broadcast(new TenantId("tenant"), BATMAN);
+    }
+
+    @Test
+    void ensureTimeClockLoadedDuringChangeIsNotCached() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        sut.runningTimeClock(BATMAN, () -> {
+            sut.evictLocally(new TenantId("tenant"), BATMAN);
+            return Optional.of(RUNNING);
+        });
+
+        final CountingLoader loader = new CountingLoader(Optional.empty());
+        assertThat(sut.runningTimeClock(BATMAN, loader)).isEmpty();
+        assertThat(loader.count()).isOne();
+    }
+
+    @Test
+    void ensureBroadcastAfterCommit() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        sut.put(BATMAN, Optional.of(RUNNING));
+
+        verifyNoInteractions(broadcaster);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(broadcaster).broadcast(new TenantId("tenant"), BATMAN);
+    }
+
+    @Test
+    void ensureRollbackEvictsCachedTimeClock() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        sut.put(BATMAN, Optional.of(RUNNING));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        final CountingLoader loader = new CountingLoader(Optional.empty());
+        assertThat(sut.runningTimeClock(BATMAN, loader)).isEmpty();
+        assertThat(loader.count()).isOne();
+        verifyNoInteractions(broadcaster);
+    }
+
+    private static final class CountingLoader implements Supplier<Optional<TimeClock>> {
+
+        private final Optional<TimeClock> timeClock;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private CountingLoader(Optional<TimeClock> timeClock) {
+            this.timeClock = timeClock;
+        }
+
+        @Override
+        public Optional<TimeClock> get() {
+            count.incrementAndGet();
+            return timeClock;
+        }
+
+        int count() {
+            return count.get();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.AllOf.allOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -63,7 +64,6 @@ class TimeClockControllerTest {
             .andExpect(status().is3xxRedirection())
             .andExpect(redirectedUrl("referer-url"));
 
-        verify(timeClockService).getCurrentTimeClock(new UserId("batman"));
         verify(timeClockService).startTimeClock(new UserId("batman"));
         verifyNoMoreInteractions(timeClockService);
     }
@@ -71,9 +71,8 @@ class TimeClockControllerTest {
     @Test
     void ensureStartTimeClockThrowsWhenClockIsRunningAlready() throws Exception {
 
-        final ZonedDateTime startedAt = ZonedDateTime.of(2023, 1, 11, 13, 37, 0, 0, ZONE_EUROPE_BERLIN);
-        final TimeClock timeClock = new TimeClock(1L, new UserId("batman"), startedAt, "awesome comment", false, Optional.empty());
-        when(timeClockService.getCurrentTimeClock(new UserId("batman"))).thenReturn(Optional.of(timeClock));
+        doThrow(new TimeClockAlreadyStartedException(new UserId("batman")))
+            .when(timeClockService).startTimeClock(new UserId("batman"));
 
         perform(
             post("/timeclock/start")
@@ -81,7 +80,7 @@ class TimeClockControllerTest {
         )
             .andExpect(status().isConflict());
 
-        verify(timeClockService).getCurrentTimeClock(new UserId("batman"));
+        verify(timeClockService).startTimeClock(new UserId("batman"));
         verifyNoMoreInteractions(timeClockService);
     }
 
@@ -100,6 +99,19 @@ class TimeClockControllerTest {
         verifyNoMoreInteractions(timeClockService);
     }
 
+    @Test
+    void ensureTimeClockNavigation() throws Exception {
+
+        perform(
+            get("/timeclock/navigation")
+                .with(oidcLogin().userInfoToken(builder -> builder.subject("batman")))
+        )
+            .andExpect(status().isOk())
+            .andExpect(view().name("_navigation::time-clock"));
+
+        verifyNoMoreInteractions(timeClockService);
+    }
+
     @Test
     void ensureEditTimeClockGetMappingWithoutRunningTimeClock() throws Exception {
 
@@ -0,0 +1,108 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.web.context.SecurityContextPersistenceFilter;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+@ExtendWith(MockitoExtension.class)
+class TimeClockEventControllerTest {
+
+    private TimeClockEventController sut;
+
+    @Mock
+    private TimeClockService timeClockService;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+
+    private TimeClockEventEmitters timeClockEventEmitters;
+
+    @BeforeEach
+    void setUp() {
+        timeClockEventEmitters = new TimeClockEventEmitters(tenantContextHolder, 2, Duration.ofMinutes(30));
+        sut = new TimeClockEventController(timeClockService, timeClockEventEmitters);
+    }
+
+    @Test
+    void ensureTimeClockEventsSendsCurrentTimeClock() throws Exception {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final ZonedDateTime startedAt = ZonedDateTime.of(2023, 1, 11, 13, 37, 0, 0, ZoneId.of("Europe/Berlin"));
+        final TimeClock timeClock = new TimeClock(1L, new UserId("batman"), startedAt, "awesome comment", false, Optional.empty());
+        when(timeClockService.getCurrentTimeClock(new UserId("batman"))).thenReturn(Optional.of(timeClock));
+
+        perform(get("/timeclock/events").with(oidcLogin().userInfoToken(builder -> builder.subject("batman"))))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted())
+            .andExpect(content().string(containsString("event:timeclock")))
+            .andExpect(content().string(containsString("\"startedAt\":\"2023-01-11T12:37:00Z\"")))
+            .andExpect(content().string(containsString("\"comment\":\"awesome comment\"")));
+    }
+
+    @Test
+    void ensureTimeClockEventsPushesChangedTimeClock() throws Exception {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(timeClockService.getCurrentTimeClock(new UserId("batman"))).thenReturn(Optional.empty());
+
+        final ResultActions resultActions = perform(get("/timeclock/events").with(oidcLogin().userInfoToken(builder -> builder.subject("batman"))));
+
+        final ZonedDateTime startedAt = ZonedDateTime.of(2023, 1, 11, 13, 37, 0, 0, ZoneId.of("UTC"));
+        final TimeClock timeClock = new TimeClock(1L, new UserId("batman"), startedAt, "", true, Optional.empty());
+        timeClockEventEmitters.on(new TimeClockChangedEvent(new TenantId("tenant"), new UserId("batman"), Optional.of(timeClock)));
+
+        resultActions
+            .andExpect(content().string(containsString("\"startedAt\":null")))
+            .andExpect(content().string(containsString("\"startedAt\":\"2023-01-11T13:37:00Z\"")))
+            .andExpect(content().string(containsString("\"isBreak\":true")));
+    }
+
+    @Test
+    void ensureTimeClockEventsDoesNotPushChangedTimeClockOfSameUserIdInOtherTenant() throws Exception {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(timeClockService.getCurrentTimeClock(new UserId("batman"))).thenReturn(Optional.empty());
+
+        final ResultActions resultActions = perform(get("/timeclock/events").with(oidcLogin().userInfoToken(builder -> builder.subject("batman"))));
+
+        final ZonedDateTime startedAt = ZonedDateTime.of(2023, 1, 11, 13, 37, 0, 0, ZoneId.of("UTC"));
+        final TimeClock timeClock = new TimeClock(1L, new UserId("batman"), startedAt, "", true, Optional.empty());
+        timeClockEventEmitters.on(new TimeClockChangedEvent(new TenantId("other-tenant"), new UserId("batman"), Optional.of(timeClock)));
+
+        resultActions
+            .andExpect(content().string(containsString("\"startedAt\":null")))
+            .andExpect(content().string(not(containsString("\"startedAt\":\"2023-01-11T13:37:00Z\""))));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
+        return standaloneSetup(sut)
+            .addFilters(new SecurityContextPersistenceFilter())
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .build()
+            .perform(builder);
+    }
+}
@@ -0,0 +1,93 @@
+package de.focusshift.zeiterfassung.timeclock;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.user.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeClockEventEmittersTest {
+
+    private static final TimeClockEventDto NOT_RUNNING = TimeClockEventDto.of(Optional.empty());
+
+    private TimeClockEventEmitters sut;
+
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TimeClockEventEmitters(tenantContextHolder, 2, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void ensureEmittersPerUserAreBounded() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        sut.register(new UserId("batman"), NOT_RUNNING);
+        sut.register(new UserId("batman"), NOT_RUNNING);
+        sut.register(new UserId("batman"), NOT_RUNNING);
+        sut.register(new UserId("robin"), NOT_RUNNING);
+
+        assertThat(sut.size()).isEqualTo(3);
+    }
+
+    @Test
+    void ensureEmittersPerUserAreBoundedPerTenant() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(
+            Optional.of(new TenantId("tenant-a")), Optional.of(new TenantId("tenant-a")),
+            Optional.of(new TenantId("tenant-b")), Optional.of(new TenantId("tenant-b")));
+
+        sut.register(new UserId("batman"), NOT_RUNNING);
+        sut.register(new UserId("batman"), NOT_RUNNING);
+        sut.register(new UserId("batman"), NOT_RUNNING);
+        sut.register(new UserId("batman"), NOT_RUNNING);
+
+        assertThat(sut.size()).isEqualTo(4);
+    }
+
+    @Test
+    void ensureRegisterRequiresTenantContext() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.empty());
+
+        final UserId batman = new UserId("batman");
+        assertThatIllegalStateException().isThrownBy(() -> sut.register(batman, NOT_RUNNING));
+    }
+
+    @Test
+    void ensureEmittersAreExposedAsMetric() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sut.bindTo(meterRegistry);
+
+        sut.register(new UserId("batman"), NOT_RUNNING);
+
+        assertThat(meterRegistry.get("zeiterfassung.timeclock.events.emitters").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureChangedTimeClockOfUserWithoutEmittersIsIgnored() {
+
+        sut.on(new TimeClockChangedEvent(new TenantId("tenant"), new UserId("batman"), Optional.empty()));
+        sut.heartbeat();
+
+        assertThat(sut.size()).isZero();
+    }
+}
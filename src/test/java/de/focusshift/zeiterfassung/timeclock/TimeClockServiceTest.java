@@ -1,5 +1,7 @@
 package de.focusshift.zeiterfassung.timeclock;
 
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserSettingsProvider;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.time.ZoneId;
@@ -20,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -38,10 +43,15 @@ class TimeClockServiceTest {
     private TimeEntryService timeEntryService;
     @Mock
     private UserSettingsProvider userSettingsProvider;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @BeforeEach
     void setUp() {
-        sut = new TimeClockService(timeClockRepository, timeEntryService, userSettingsProvider);
+        final TimeClockCache timeClockCache = new TimeClockCache(tenantContextHolder, TimeClockCacheInvalidationBroadcaster.NONE, 100);
+        sut = new TimeClockService(timeClockRepository, timeEntryService, userSettingsProvider, timeClockCache, tenantContextHolder, applicationEventPublisher);
     }
 
     @Test
@@ -83,9 +93,10 @@ class TimeClockServiceTest {
     }
 
     @Test
-    void ensureStartTimeClockPersistsNewEntity() {
+    void ensureStartTimeClockPersistsNewEntity() throws Exception {
 
         when(userSettingsProvider.zoneId()).thenReturn(ZoneId.of("UTC"));
+        when(timeClockRepository.save(any(TimeClockEntity.class))).thenAnswer(returnsFirstArg());
 
         sut.startTimeClock(new UserId("batman"));
 
@@ -243,4 +254,117 @@ class TimeClockServiceTest {
         assertThatExceptionOfType(TimeClockNotStartedException.class)
             .isThrownBy(() -> sut.updateTimeClock(userId, timeClockUpdate));
     }
+
+    @Test
+    void ensureCurrentTimeClockIsLoadedOncePerTenant() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(timeClockRepository.findByOwnerAndStoppedAtIsNull("batman")).thenReturn(Optional.empty());
+
+        assertThat(sut.getCurrentTimeClock(new UserId("batman"))).isEmpty();
+        assertThat(sut.getCurrentTimeClock(new UserId("batman"))).isEmpty();
+
+        verify(timeClockRepository, times(1)).findByOwnerAndStoppedAtIsNull("batman");
+    }
+
+    @Test
+    void ensureStartTimeClockThrowsWhenClockIsRunningAlreadyOnAnotherNode() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(timeClockRepository.findByOwnerAndStoppedAtIsNull("batman")).thenReturn(Optional.empty());
+
+        // no running time clock is cached on this node
+        assertThat(sut.getCurrentTimeClock(new UserId("batman"))).isEmpty();
+
+        final TimeClockEntity runningTimeClockEntity = TimeClockEntity.builder()
+            .id(1L)
+            .owner("batman")
+            .startedAt(Instant.now())
+            .startedAtZoneId(ZoneId.of("UTC"))
+            .build();
+        when(timeClockRepository.findByOwnerAndStoppedAtIsNull("batman")).thenReturn(Optional.of(runningTimeClockEntity));
+
+        assertThatExceptionOfType(TimeClockAlreadyStartedException.class)
+            .isThrownBy(() -> sut.startTimeClock(new UserId("batman")));
+
+        verify(timeClockRepository, never()).save(any(TimeClockEntity.class));
+    }
+
+    @Test
+    void ensureUpdateTimeClockIsBasedOnTheRunningTimeClockOfTheDatabase() throws Exception {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final TimeClockEntity cachedTimeClockEntity = TimeClockEntity.builder()
+            .id(1L)
+            .owner("batman")
+            .startedAt(Instant.now().minusSeconds(3600))
+            .startedAtZoneId(ZoneId.of("UTC"))
+            .build();
+        when(timeClockRepository.findByOwnerAndStoppedAtIsNull("batman")).thenReturn(Optional.of(cachedTimeClockEntity));
+        assertThat(sut.getCurrentTimeClock(new UserId("batman"))).isPresent();
+
+        // stopped and started again on another node
+        final TimeClockEntity runningTimeClockEntity = TimeClockEntity.builder()
+            .id(2L)
+            .owner("batman")
+            .startedAt(Instant.now())
+            .startedAtZoneId(ZoneId.of("UTC"))
+            .build();
+        when(timeClockRepository.findByOwnerAndStoppedAtIsNull("batman")).thenReturn(Optional.of(runningTimeClockEntity));
+        when(timeClockRepository.save(any(TimeClockEntity.class))).thenAnswer(returnsFirstArg());
+
+        final UserId userId = new UserId("batman");
+        final ZonedDateTime date = ZonedDateTime.of(2023, 1, 11, 13, 37, 0, 0, ZoneId.of("Europe/Berlin"));
+
+        final TimeClock actualUpdatedTimeClock = sut.updateTimeClock(userId, new TimeClockUpdate(userId, date, "awesome comment", false));
+
+        assertThat(actualUpdatedTimeClock.id()).isEqualTo(2L);
+        assertThat(sut.getCurrentTimeClock(userId)).hasValue(actualUpdatedTimeClock);
+    }
+
+    @Test
+    void ensureStartTimeClockCachesStartedTimeClock() throws Exception {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(userSettingsProvider.zoneId()).thenReturn(ZoneId.of("UTC"));
+        when(timeClockRepository.save(any(TimeClockEntity.class))).thenAnswer(returnsFirstArg());
+
+        sut.startTimeClock(new UserId("batman"));
+
+        assertThat(sut.getCurrentTimeClock(new UserId("batman"))).hasValueSatisfying(timeClock -> {
+            assertThat(timeClock.userId()).isEqualTo(new UserId("batman"));
+            assertThat(timeClock.stoppedAt()).isEmpty();
+        });
+        // once for starting, the current time clock is served from the cache afterwards
+        verify(timeClockRepository, times(1)).findByOwnerAndStoppedAtIsNull("batman");
+        verify(applicationEventPublisher).publishEvent(new TimeClockChangedEvent(new TenantId("tenant"), new UserId("batman"), sut.getCurrentTimeClock(new UserId("batman"))));
+    }
+
+    @Test
+    void ensureStopTimeClockCachesNoRunningTimeClock() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+        when(userSettingsProvider.zoneId()).thenReturn(ZoneId.of("UTC"));
+
+        final TimeClockEntity runningTimeClockEntity = TimeClockEntity.builder()
+            .id(1L)
+            .owner("batman")
+            .startedAt(Instant.now().minusSeconds(120))
+            .startedAtZoneId(ZoneId.of("UTC"))
+            .comment("")
+            .build();
+
+        when(timeClockRepository.findByOwnerAndStoppedAtIsNull("batman")).thenReturn(Optional.of(runningTimeClockEntity));
+        when(timeClockRepository.save(any(TimeClockEntity.class))).thenAnswer(returnsFirstArg());
+
+        assertThat(sut.getCurrentTimeClock(new UserId("batman"))).isPresent();
+
+        sut.stopTimeClock(new UserId("batman"));
+
+        assertThat(sut.getCurrentTimeClock(new UserId("batman"))).isEmpty();
+        // once for the current time clock, once for stopping it
+        verify(timeClockRepository, times(2)).findByOwnerAndStoppedAtIsNull("batman");
+        verify(applicationEventPublisher).publishEvent(new TimeClockChangedEvent(new TenantId("tenant"), new UserId("batman"), Optional.empty()));
+    }
 }
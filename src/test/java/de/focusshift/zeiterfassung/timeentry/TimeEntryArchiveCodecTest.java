@@ -0,0 +1,70 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeEntryArchiveCodecTest {
+
+    @Test
+    void ensureEncodedEntriesAreDecodedUnchanged() {
+
+        final Instant start = Instant.parse("2022-03-01T08:00:00.123456789Z");
+        final TimeEntryEntity work = new TimeEntryEntity(1L, "batman", "hard work", start, ZoneId.of("Europe/Berlin"),
+            start.plusSeconds(3600), ZoneId.of("Europe/Berlin"), start.plusSeconds(3700), false);
+        final TimeEntryEntity pause = new TimeEntryEntity(2L, "batman", null, start.plusSeconds(3600), ZoneId.of("UTC"),
+            start.plusSeconds(4500), ZoneId.of("America/New_York"), start.plusSeconds(4600), true);
+
+        final byte[] encoded = TimeEntryArchiveCodec.encode(List.of(work, pause));
+        final List<TimeEntryEntity> actual = TimeEntryArchiveCodec.decode("tenant", "batman", encoded);
+
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(0)).usingRecursiveComparison().ignoringFields("tenantId", "archived").isEqualTo(work);
+        assertThat(actual.get(0).getTenantId()).isEqualTo("tenant");
+        assertThat(actual.get(0).isArchived()).isTrue();
+        assertThat(actual.get(1)).usingRecursiveComparison().ignoringFields("tenantId", "archived").isEqualTo(pause);
+    }
+
+    @Test
+    void ensureCommentsLongerThanModifiedUtf8LimitAreEncoded() {
+
+        final String comment = "ä".repeat(40_000);
+        final Instant start = Instant.parse("2022-03-01T08:00:00Z");
+        final TimeEntryEntity work = new TimeEntryEntity(1L, "batman", comment, start, ZoneId.of("Europe/Berlin"),
+            start.plusSeconds(3600), ZoneId.of("Europe/Berlin"), start.plusSeconds(3700), false);
+
+        final byte[] encoded = TimeEntryArchiveCodec.encode(List.of(work));
+        final List<TimeEntryEntity> actual = TimeEntryArchiveCodec.decode("tenant", "batman", encoded);
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getComment()).isEqualTo(comment);
+    }
+
+    @Test
+    void ensureDecodeFailsForUnknownVersion() {
+
+        final byte[] unknownVersion = gzip(new byte[]{2, 0, 0, 0, 0});
+
+        assertThatThrownBy(() -> TimeEntryArchiveCodec.decode("tenant", "batman", unknownVersion))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.Tenant;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeEntryArchiveJobTest {
+
+    private TimeEntryArchiveJob sut;
+
+    @Mock
+    private TenantService tenantService;
+    @Mock
+    private TimeEntryArchive timeEntryArchive;
+
+    private final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+    };
+
+    @BeforeEach
+    void setUp() {
+        final TimeEntryArchiveConfigurationProperties properties = new TimeEntryArchiveConfigurationProperties();
+        properties.setRetainedYears(3);
+        sut = new TimeEntryArchiveJob(tenantService, tenantContextHolder, timeEntryArchive, properties);
+    }
+
+    @Test
+    void ensureArchiveClosedYearsOfActiveTenants() {
+
+        final Instant before = Instant.parse("2022-01-01T00:00:00Z");
+        when(timeEntryArchive.archiveBefore(3)).thenReturn(before);
+
+        when(tenantService.findAllTenants()).thenReturn(List.of(
+            new Tenant("active", Instant.now(), Instant.now(), TenantStatus.ACTIVE),
+            new Tenant("disabled", Instant.now(), Instant.now(), TenantStatus.DISABLED)
+        ));
+        when(timeEntryArchive.findOwnersWithEntriesBefore(before)).thenReturn(List.of("batman", "robin"));
+        when(timeEntryArchive.archiveEntriesOfOwner("batman", before)).thenThrow(new IllegalStateException("broken"));
+
+        sut.archiveClosedYears();
+
+        verify(timeEntryArchive, times(1)).findOwnersWithEntriesBefore(before);
+        verify(timeEntryArchive).archiveEntriesOfOwner("robin", before);
+    }
+}
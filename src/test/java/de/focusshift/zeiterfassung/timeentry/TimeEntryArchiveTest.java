@@ -0,0 +1,168 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeEntryArchiveTest {
+
+    private TimeEntryArchive sut;
+
+    @Mock
+    private TimeEntryArchiveRepository timeEntryArchiveRepository;
+    @Mock
+    private TimeEntryRepository timeEntryRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        final Clock clock = Clock.fixed(Instant.parse("2024-06-15T10:00:00Z"), UTC);
+        sut = new TimeEntryArchive(timeEntryArchiveRepository, timeEntryRepository, entityManager, clock);
+    }
+
+    @Test
+    void ensureArchiveBeforeKeepsRetainedYears() {
+        assertThat(sut.archiveBefore(1)).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+        assertThat(sut.archiveBefore(2)).isEqualTo(Instant.parse("2023-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void ensureFindAllByOwnerIsInDoesNotReadArchiveForCurrentYear() {
+
+        final List<TimeEntryEntity> actual = sut.findAllByOwnerIsIn(List.of("batman"),
+            Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00Z"));
+
+        assertThat(actual).isEmpty();
+        verifyNoInteractions(timeEntryArchiveRepository);
+    }
+
+    @Test
+    void ensureFindAllByOwnerIsInReturnsArchivedEntriesWithinRange() {
+
+        final TimeEntryEntity before = entry(1L, "2022-02-28T10:00:00Z");
+        final TimeEntryEntity within = entry(2L, "2022-03-01T10:00:00Z");
+        final TimeEntryEntity after = entry(3L, "2022-03-08T10:00:00Z");
+
+        final TimeEntryArchiveEntity february = archive(LocalDate.of(2022, 2, 1), List.of(before));
+        final TimeEntryArchiveEntity march = archive(LocalDate.of(2022, 3, 1), List.of(within, after));
+        when(timeEntryArchiveRepository.findAllByOwnerIsInAndMonthGreaterThanEqualAndMonthLessThanEqual(List.of("batman"),
+            LocalDate.of(2022, 2, 1), LocalDate.of(2022, 3, 1))).thenReturn(List.of(february, march));
+
+        final List<TimeEntryEntity> actual = sut.findAllByOwnerIsIn(List.of("batman"),
+            Instant.parse("2022-02-28T12:00:00Z"), Instant.parse("2022-03-07T00:00:00Z"));
+
+        assertThat(actual).extracting(TimeEntryEntity::getId).containsExactly(2L);
+    }
+
+    @Test
+    void ensureStreamAllByOwnerDecodesArchivedMonthsInOrder() {
+
+        final TimeEntryEntity first = entry(1L, "2022-02-01T10:00:00Z");
+        final TimeEntryEntity second = entry(2L, "2022-03-01T08:00:00Z");
+        final TimeEntryEntity third = entry(3L, "2022-03-02T10:00:00Z");
+
+        final TimeEntryArchiveEntity february = archive(LocalDate.of(2022, 2, 1), List.of(first));
+        final TimeEntryArchiveEntity march = archive(LocalDate.of(2022, 3, 1), List.of(third, second));
+        when(timeEntryArchiveRepository.streamAllByOwnerOrderByMonthAsc("batman")).thenReturn(Stream.of(february, march));
+
+        try (Stream<TimeEntryEntity> actual = sut.streamAllByOwner("batman")) {
+            final Iterator<TimeEntryEntity> iterator = actual.iterator();
+
+            assertThat(iterator.next().getId()).isEqualTo(1L);
+            // months are decoded lazily, march is not read before its first entry is requested
+            verify(entityManager).detach(same(february));
+            verifyNoMoreInteractions(entityManager);
+
+            assertThat(iterator.next().getId()).isEqualTo(2L);
+            assertThat(iterator.next().getId()).isEqualTo(3L);
+            assertThat(iterator.hasNext()).isFalse();
+            verify(entityManager).detach(same(march));
+        }
+    }
+
+    @Test
+    void ensureArchiveEntriesOfOwnerAddsEntriesToArchivedMonth() {
+
+        final Instant before = Instant.parse("2023-01-01T00:00:00Z");
+
+        final TimeEntryEntity archived = entry(1L, "2022-03-01T10:00:00Z");
+        final TimeEntryEntity march = entry(2L, "2022-03-02T10:00:00Z");
+        final TimeEntryEntity april = entry(3L, "2022-04-01T10:00:00Z");
+        when(timeEntryRepository.findAllByOwnerAndStartLessThan("batman", before)).thenReturn(List.of(march, april));
+
+        final TimeEntryArchiveEntity marchArchive = archive(LocalDate.of(2022, 3, 1), List.of(archived));
+        when(timeEntryArchiveRepository.findByOwnerAndMonth("batman", LocalDate.of(2022, 3, 1))).thenReturn(Optional.of(marchArchive));
+        when(timeEntryArchiveRepository.findByOwnerAndMonth("batman", LocalDate.of(2022, 4, 1))).thenReturn(Optional.empty());
+
+        final int actual = sut.archiveEntriesOfOwner("batman", before);
+
+        assertThat(actual).isEqualTo(2);
+
+        final ArgumentCaptor<TimeEntryArchiveEntity> captor = ArgumentCaptor.forClass(TimeEntryArchiveEntity.class);
+        verify(timeEntryArchiveRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).satisfiesExactly(
+            marchEntity -> {
+                assertThat(marchEntity.getMonth()).isEqualTo(LocalDate.of(2022, 3, 1));
+                assertThat(marchEntity.getEntryCount()).isEqualTo(2);
+                assertThat(decode(marchEntity)).extracting(TimeEntryEntity::getId).containsExactly(1L, 2L);
+            },
+            aprilEntity -> {
+                assertThat(aprilEntity.getMonth()).isEqualTo(LocalDate.of(2022, 4, 1));
+                assertThat(aprilEntity.getEntryCount()).isEqualTo(1);
+                assertThat(aprilEntity.getArchivedAt()).isEqualTo(Instant.parse("2024-06-15T10:00:00Z"));
+                assertThat(decode(aprilEntity)).extracting(TimeEntryEntity::getId).containsExactly(3L);
+            }
+        );
+
+        verify(timeEntryRepository).deleteAll(List.of(march, april));
+    }
+
+    @Test
+    void ensureArchiveEntriesOfOwnerDoesNothingWithoutEntries() {
+
+        final Instant before = Instant.parse("2023-01-01T00:00:00Z");
+        when(timeEntryRepository.findAllByOwnerAndStartLessThan("batman", before)).thenReturn(List.of());
+
+        assertThat(sut.archiveEntriesOfOwner("batman", before)).isZero();
+        verifyNoInteractions(timeEntryArchiveRepository);
+    }
+
+    private static TimeEntryEntity entry(Long id, String start) {
+        final Instant startInstant = Instant.parse(start);
+        return new TimeEntryEntity(id, "batman", "", startInstant, ZoneId.of("UTC"), startInstant.plusSeconds(3600), ZoneId.of("UTC"), startInstant, false);
+    }
+
+    private static TimeEntryArchiveEntity archive(LocalDate month, List<TimeEntryEntity> entries) {
+        final TimeEntryArchiveEntity archive = new TimeEntryArchiveEntity("batman", month);
+        archive.setEntries(TimeEntryArchiveCodec.encode(entries), entries.size(), Instant.parse("2024-01-01T00:00:00Z"));
+        return archive;
+    }
+
+    private static List<TimeEntryEntity> decode(TimeEntryArchiveEntity archive) {
+        return TimeEntryArchiveCodec.decode(archive.getTenantId(), archive.getOwner(), archive.getEntries());
+    }
+}
@@ -2,6 +2,8 @@ package de.focusshift.zeiterfassung.timeentry;
 
 import de.focusshift.zeiterfassung.absence.Absence;
 import de.focusshift.zeiterfassung.absence.DayLength;
+import de.focusshift.zeiterfassung.overtime.OvertimeBalance;
+import de.focusshift.zeiterfassung.overtime.OvertimeBalanceService;
 import de.focusshift.zeiterfassung.user.DateFormatter;
 import de.focusshift.zeiterfassung.user.MonthFormat;
 import de.focusshift.zeiterfassung.user.UserId;
@@ -58,10 +60,12 @@ class TimeEntryControllerTest {
     private UserSettingsProvider userSettingsProvider;
     @Mock
     private DateFormatter dateFormatter;
+    @Mock
+    private OvertimeBalanceService overtimeBalanceService;
 
     @BeforeEach
     void setUp() {
-        sut = new TimeEntryController(timeEntryService, userSettingsProvider, dateFormatter);
+        sut = new TimeEntryController(timeEntryService, userSettingsProvider, dateFormatter, overtimeBalanceService);
     }
 
     @Test
@@ -149,6 +153,45 @@ class TimeEntryControllerTest {
             .andExpect(model().attribute("timeEntryWeeksPage", is(expectedPage)));
     }
 
+    @Test
+    void ensureTimeEntriesForYearAndWeekOfYearWithOvertimeBalanceAtTheEndOfTheWeek() throws Exception {
+
+        final UserId userId = new UserId("batman");
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, new UserLocalId(42L));
+
+        final TimeEntryDay timeEntryDay = new TimeEntryDay(LocalDate.of(2022, 9, 19), PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of());
+        final TimeEntryWeek timeEntryWeek = new TimeEntryWeek(LocalDate.of(2022, 9, 19), PlannedWorkingHours.EIGHT, List.of(timeEntryDay));
+        when(timeEntryService.getEntryWeekPage(userId, 2022, 38)).thenReturn(new TimeEntryWeekPage(timeEntryWeek, 0));
+
+        when(dateFormatter.formatDate(LocalDate.of(2022, 9, 19), MonthFormat.NONE, YearFormat.NONE)).thenReturn("formatted-2022-9-19");
+        when(dateFormatter.formatDate(LocalDate.of(2022, 9, 25), MonthFormat.STRING, YearFormat.FULL)).thenReturn("formatted-2022-9-25");
+
+        final OvertimeBalance overtimeBalance = new OvertimeBalance(userIdComposite, LocalDate.of(2022, 9, 26), Duration.ofHours(-12).minusMinutes(30));
+        when(overtimeBalanceService.getBalance(userId, LocalDate.of(2022, 9, 26))).thenReturn(Optional.of(overtimeBalance));
+
+        final TimeEntryWeekDto expectedTimeEntryWeekDto = TimeEntryWeekDto.builder()
+            .calendarWeek(38)
+            .from("formatted-2022-9-19")
+            .to("formatted-2022-9-25")
+            .hoursWorked("00:00")
+            .hoursWorkedShould("08:00")
+            .hoursDelta("08:00")
+            .hoursDeltaNegative(true)
+            .hoursWorkedRatio(0.0)
+            .overtimeBalance("12:30")
+            .overtimeBalanceNegative(true)
+            .days(List.of())
+            .build();
+
+        perform(
+            get("/timeentries/2022/38")
+                .with(oidcLogin().userInfoToken(userInfo -> userInfo.subject("batman")))
+        )
+            .andExpect(view().name("timeentries/index"))
+            .andExpect(model().attribute("timeEntryWeeksPage", is(new TimeEntryWeeksPageDto(
+                2022, 39, 2022, 37, expectedTimeEntryWeekDto, 0))));
+    }
+
     @Test
     void ensureTimeEntriesForYearAndWeekOfYearWithTurboFrame() throws Exception {
 
@@ -789,6 +832,32 @@ class TimeEntryControllerTest {
         verify(timeEntryService).deleteTimeEntry(1337);
     }
 
+    @Test
+    void ensureDeleteOfArchivedTimeEntryIsRejected() throws Exception {
+
+        final UserId userId = new UserId("batman");
+        final UserLocalId userLocalId = new UserLocalId(42L);
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, userLocalId);
+
+        final ZoneId zoneIdBerlin = ZoneId.of("Europe/Berlin");
+
+        final ZonedDateTime start = ZonedDateTime.of(2022, 9, 28, 20, 30, 0, 0, zoneIdBerlin);
+        final ZonedDateTime end = ZonedDateTime.of(2022, 9, 28, 21, 15, 0, 0, zoneIdBerlin);
+        final TimeEntry timeEntry = new TimeEntry(new TimeEntryId(1337L), userIdComposite, "hard work extended", start, end, false, true);
+
+        when(timeEntryService.findTimeEntry(1337)).thenReturn(Optional.of(timeEntry));
+
+        perform(
+            post("/timeentries/1337")
+                .with(oidcLogin().userInfoToken(userInfo -> userInfo.subject("batman")))
+                .param("delete", "")
+        )
+            .andExpect(status().isBadRequest());
+
+        verify(timeEntryService).findTimeEntry(1337);
+        verifyNoMoreInteractions(timeEntryService);
+    }
+
     @Test
     void ensureDeleteWithAjax() throws Exception {
 
@@ -927,6 +996,67 @@ class TimeEntryControllerTest {
         verify(timeEntryService).deleteTimeEntry(1);
     }
 
+    @Test
+    void ensureHistoryFirstPage() throws Exception {
+
+        final UserIdComposite userIdComposite = new UserIdComposite(new UserId("batman"), new UserLocalId(42L));
+        final ZonedDateTime start = ZonedDateTime.of(2022, 9, 22, 14, 30, 0, 0, ZoneId.of("Europe/Berlin"));
+        final TimeEntry timeEntry = new TimeEntry(new TimeEntryId(1L), userIdComposite, "hack the planet", start, start.plusMinutes(30), false);
+
+        when(timeEntryService.getEntryHistoryPage(new UserId("batman"), null, 50))
+            .thenReturn(new TimeEntryHistoryPage(List.of(timeEntry), "next-cursor", 1337));
+        when(dateFormatter.formatDate(LocalDate.of(2022, 9, 22), MonthFormat.STRING, YearFormat.FULL)).thenReturn("formatted-2022-9-22");
+
+        final TimeEntryDTO expectedTimeEntryDto = TimeEntryDTO.builder()
+            .id(1L)
+            .date(LocalDate.of(2022, 9, 22))
+            .start(LocalTime.of(14, 30))
+            .end(LocalTime.of(15, 0))
+            .duration("00:30")
+            .comment("hack the planet")
+            .build();
+
+        perform(
+            get("/timeentries/history")
+                .with(oidcLogin().userInfoToken(userInfo -> userInfo.subject("batman")))
+        )
+            .andExpect(status().isOk())
+            .andExpect(view().name("timeentries/history"))
+            .andExpect(model().attribute("timeEntryHistory", new TimeEntryHistoryDto(
+                List.of(new TimeEntryHistoryEntryDto("formatted-2022-9-22", expectedTimeEntryDto)), null, "next-cursor", 1337)));
+    }
+
+    @Test
+    void ensureHistoryLoadMoreRendersTheNextPageOnly() throws Exception {
+
+        when(timeEntryService.getEntryHistoryPage(new UserId("batman"), "next-cursor", 50))
+            .thenReturn(new TimeEntryHistoryPage(List.of(), null, 1337));
+
+        perform(
+            get("/timeentries/history")
+                .param("cursor", "next-cursor")
+                .header("Turbo-Frame", "frame-time-entry-history-next-cursor")
+                .with(oidcLogin().userInfoToken(userInfo -> userInfo.subject("batman")))
+        )
+            .andExpect(status().isOk())
+            .andExpect(view().name("timeentries/history::history-frame"))
+            .andExpect(model().attribute("timeEntryHistory", new TimeEntryHistoryDto(List.of(), "next-cursor", null, 1337)));
+    }
+
+    @Test
+    void ensureHistoryWithInvalidCursorIsBadRequest() throws Exception {
+
+        when(timeEntryService.getEntryHistoryPage(new UserId("batman"), "not-a-cursor", 50))
+            .thenThrow(new IllegalArgumentException("invalid time entry history cursor=not-a-cursor"));
+
+        perform(
+            get("/timeentries/history")
+                .param("cursor", "not-a-cursor")
+                .with(oidcLogin().userInfoToken(userInfo -> userInfo.subject("batman")))
+        )
+            .andExpect(status().isBadRequest());
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut)
             .addFilters(new SecurityContextHolderFilter(new HttpSessionSecurityContextRepository()))
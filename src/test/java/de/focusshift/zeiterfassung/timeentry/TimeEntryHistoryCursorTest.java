@@ -0,0 +1,31 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeEntryHistoryCursorTest {
+
+    @Test
+    void ensureEncodeAndDecode() {
+
+        final TimeEntryHistoryCursor cursor = new TimeEntryHistoryCursor(Instant.parse("2023-02-24T10:15:30.123456Z"), 42L);
+
+        final String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(TimeEntryHistoryCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor", "MjAyMy0wMi0yNFQxMDoxNTozMFo", "bm90LWFuLWluc3RhbnR8NDI"})
+    void ensureDecodeThrowsForInvalidCursor(String cursor) {
+        assertThatThrownBy(() -> TimeEntryHistoryCursor.decode(cursor))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeEntryPartitionJobTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-05T21:01:07Z"), UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ensureCreatesPartitionsOfTheNextThreeMonths() {
+
+        final TimeEntryPartitionJob sut = new TimeEntryPartitionJob(jdbcTemplate, CLOCK);
+
+        sut.createUpcomingPartitions();
+
+        verify(jdbcTemplate).queryForObject("SELECT create_time_entry_partitions(?, ?)", Integer.class,
+            LocalDate.of(2024, 6, 5), LocalDate.of(2024, 9, 5));
+    }
+
+    @Test
+    void ensureFailureIsNotPropagated() {
+
+        final TimeEntryPartitionJob sut = new TimeEntryPartitionJob(jdbcTemplate, CLOCK);
+
+        when(jdbcTemplate.queryForObject("SELECT create_time_entry_partitions(?, ?)", Integer.class,
+            LocalDate.of(2024, 6, 5), LocalDate.of(2024, 9, 5))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThatNoException().isThrownBy(sut::createUpcomingPartitions);
+    }
+}
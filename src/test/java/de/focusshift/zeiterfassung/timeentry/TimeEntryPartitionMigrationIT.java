@@ -0,0 +1,191 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.MultiTenantPostgreSQLContainer;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a populated unpartitioned {@code time_entry} table to the partitioned one.
+ */
+class TimeEntryPartitionMigrationIT {
+
+    private static final String CHANGELOG = "db/changelog/db.changelog-main.xml";
+    private static final String FIRST_PARTITION_CHANGESET = "add-create-time-entry-partitions-function";
+
+    private static final MultiTenantPostgreSQLContainer postgres = new MultiTenantPostgreSQLContainer();
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        postgres.start();
+
+        try (Connection connection = adminConnection()) {
+            final Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            final Liquibase liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database);
+
+            final List<ChangeSet> changeSets = liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression());
+            final int beforePartitioning = indexOf(changeSets, FIRST_PARTITION_CHANGESET);
+            liquibase.update(beforePartitioning, new Contexts(), new LabelExpression());
+
+            insertTimeEntries(connection);
+
+            liquibase.update(new Contexts(), new LabelExpression());
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        postgres.stop();
+    }
+
+    @Test
+    void ensureAllTimeEntriesAreMigrated() throws SQLException {
+        try (Connection connection = adminConnection()) {
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry")).isEqualTo(7);
+            assertThat(queryLong(connection, "SELECT count(*) FROM pg_tables WHERE tablename = 'time_entry_unpartitioned'")).isZero();
+            assertThat(queryLong(connection, "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = 'time_entry'::regclass")).isOne();
+            // the oldest entries got their own monthly partition, nothing is left in the default partition
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry_2019_03")).isEqualTo(2);
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry_default")).isZero();
+        }
+    }
+
+    @Test
+    void ensureOwnerCountsAreNotChangedByMigration() throws SQLException {
+        try (Connection connection = adminConnection()) {
+            final Map<String, Long> ownerCounts = new HashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT owner, entry_count FROM time_entry_owner_count")) {
+                while (resultSet.next()) {
+                    ownerCounts.put(resultSet.getString("owner"), resultSet.getLong("entry_count"));
+                }
+            }
+            assertThat(ownerCounts).containsOnly(Map.entry("batman", 4L), Map.entry("robin", 3L));
+        }
+    }
+
+    @Test
+    void ensureOwnerCountIsMaintainedAfterMigration() throws SQLException {
+        try (Connection connection = adminConnection()) {
+            insertTimeEntry(connection, 100L, "tenant_b", "robin", Instant.now().minusSeconds(3600));
+            assertThat(queryLong(connection, "SELECT entry_count FROM time_entry_owner_count WHERE owner = 'robin'")).isEqualTo(4);
+
+            execute(connection, "DELETE FROM time_entry WHERE id = 100");
+            assertThat(queryLong(connection, "SELECT entry_count FROM time_entry_owner_count WHERE owner = 'robin'")).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void ensureRowLevelSecurityIsEnabledOnEveryPartition() throws SQLException {
+        try (Connection connection = adminConnection()) {
+            assertThat(queryLong(connection, """
+                SELECT count(*) FROM pg_inherits
+                JOIN pg_class partition ON partition.oid = pg_inherits.inhrelid
+                WHERE pg_inherits.inhparent = 'time_entry'::regclass AND NOT partition.relrowsecurity
+                """)).isZero();
+        }
+    }
+
+    @Test
+    void ensureApplicationUserOnlySeesTimeEntriesOfItsTenant() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), "app_user", "app_password")) {
+
+            execute(connection, "SET app.tenant_id = 'tenant_a'");
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry")).isEqualTo(4);
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry WHERE tenant_id = 'tenant_b'")).isZero();
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry_owner_count")).isOne();
+            // partitions are only readable through time_entry and its tenant isolation policy
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry_2019_03")).isZero();
+
+            execute(connection, "SET app.tenant_id = 'tenant_b'");
+            assertThat(queryLong(connection, "SELECT count(*) FROM time_entry")).isEqualTo(3);
+        }
+    }
+
+    private static void insertTimeEntries(Connection connection) throws SQLException {
+
+        execute(connection, """
+            INSERT INTO tenant (id, tenant_id, status, created_at) VALUES (1, 'tenant_a', 'ACTIVE', now()), (2, 'tenant_b', 'ACTIVE', now())
+            """);
+        execute(connection, """
+            INSERT INTO tenant_user (id, tenant_id, uuid, first_login_at, last_login_at, given_name, family_name, email, created_at, status)
+            VALUES (1, 'tenant_a', 'batman', now(), now(), 'Bruce', 'Wayne', 'batman@example.org', now(), 'ACTIVE'),
+                   (2, 'tenant_b', 'robin', now(), now(), 'Dick', 'Grayson', 'robin@example.org', now(), 'ACTIVE')
+            """);
+
+        final Instant currentMonth = LocalDate.now(UTC).withDayOfMonth(1).atStartOfDay(UTC).toInstant();
+
+        insertTimeEntry(connection, 1L, "tenant_a", "batman", Instant.parse("2019-03-01T08:00:00Z"));
+        insertTimeEntry(connection, 2L, "tenant_a", "batman", Instant.parse("2019-03-31T23:30:00Z"));
+        insertTimeEntry(connection, 3L, "tenant_a", "batman", Instant.parse("2019-04-01T00:00:00Z"));
+        insertTimeEntry(connection, 4L, "tenant_a", "batman", currentMonth);
+        insertTimeEntry(connection, 5L, "tenant_b", "robin", Instant.parse("2021-12-31T22:00:00Z"));
+        insertTimeEntry(connection, 6L, "tenant_b", "robin", Instant.parse("2022-01-01T10:00:00Z"));
+        insertTimeEntry(connection, 7L, "tenant_b", "robin", currentMonth.plusSeconds(3600));
+    }
+
+    private static void insertTimeEntry(Connection connection, long id, String tenantId, String owner, Instant start) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+            INSERT INTO time_entry (id, tenant_id, owner, comment, start, start_zone_id, "end", end_zone_id, updated_at, is_break)
+            VALUES (?, ?, ?, '', ?, 'UTC', ?, 'UTC', now(), false)
+            """)) {
+            statement.setLong(1, id);
+            statement.setString(2, tenantId);
+            statement.setString(3, owner);
+            statement.setTimestamp(4, Timestamp.from(start));
+            statement.setTimestamp(5, Timestamp.from(start.plusSeconds(1800)));
+            statement.executeUpdate();
+        }
+    }
+
+    private static int indexOf(List<ChangeSet> changeSets, String id) {
+        final List<String> ids = new ArrayList<>();
+        changeSets.forEach(changeSet -> ids.add(changeSet.getId()));
+        final int index = ids.indexOf(id);
+        assertThat(index).isPositive();
+        return index;
+    }
+
+    private static Connection adminConnection() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -9,6 +9,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +27,7 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -107,6 +111,50 @@ class TimeEntryRepositoryIT extends SingleTenantTestContainersBase {
         assertThat(actualEntries.get(1).getComment()).isEqualTo("hard work in between");
     }
 
+    @Test
+    void ensureFindTimeEntryCountByOwnerIsMaintainedOnInsertAndDelete() {
+
+        final TenantUser batman = tenantUserService.createNewUser("1a432ba3-cb93-463b-813b-8e065c1e0a24", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+        final TenantUser superman = tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Kent", "Clark", new EMailAddress("Clark@example.org"), Set.of());
+
+        final LocalDateTime anyDate = LocalDateTime.of(2022, 9, 24, 14, 0, 0, 0);
+
+        final TimeEntryEntity timeEntryOneBatman = sut.save(createTimeEntryEntity(batman.id(), "hard work", anyDate, anyDate));
+        sut.save(createTimeEntryEntity(batman.id(), "even more hard work", anyDate, anyDate));
+        sut.save(createTimeEntryEntity(superman.id(), "", anyDate, anyDate));
+        sut.delete(timeEntryOneBatman);
+
+        assertThat(sut.findTimeEntryCountByOwner(batman.id())).hasValue(1L);
+        assertThat(sut.findTimeEntryCountByOwner(superman.id())).hasValue(1L);
+        assertThat(sut.findTimeEntryCountByOwner("unknown")).isEmpty();
+    }
+
+    @Test
+    void ensureFindAllByOwnerOrderByStartDescIdDescPagesWithKeyset() {
+
+        final TenantUser batman = tenantUserService.createNewUser("1a432ba3-cb93-463b-813b-8e065c1e0a24", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+        final TenantUser superman = tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Kent", "Clark", new EMailAddress("Clark@example.org"), Set.of());
+
+        final LocalDateTime first = LocalDateTime.of(2022, 9, 24, 8, 0, 0, 0);
+        final LocalDateTime second = LocalDateTime.of(2022, 9, 24, 10, 0, 0, 0);
+
+        final TimeEntryEntity oldest = createTimeEntryEntity(batman.id(), "oldest", first, first.plusHours(1));
+        final TimeEntryEntity sameStartOne = createTimeEntryEntity(batman.id(), "same start one", second, second.plusHours(1));
+        final TimeEntryEntity sameStartTwo = createTimeEntryEntity(batman.id(), "same start two", second, second.plusHours(2));
+        final TimeEntryEntity otherOwner = createTimeEntryEntity(superman.id(), "other owner", second, second.plusHours(1));
+        sut.saveAll(List.of(oldest, sameStartOne, sameStartTwo, otherOwner));
+
+        final Window<TimeEntryEntity> firstPage = sut.findAllByOwnerOrderByStartDescIdDesc(batman.id(), ScrollPosition.keyset(), Limit.of(2));
+        assertThat(firstPage.getContent()).extracting(TimeEntryEntity::getComment).containsExactly("same start two", "same start one");
+        assertThat(firstPage.hasNext()).isTrue();
+
+        final TimeEntryEntity last = firstPage.getContent().getLast();
+        final ScrollPosition position = ScrollPosition.forward(Map.of("start", last.getStart(), "id", last.getId()));
+        final Window<TimeEntryEntity> secondPage = sut.findAllByOwnerOrderByStartDescIdDesc(batman.id(), position, Limit.of(2));
+        assertThat(secondPage.getContent()).extracting(TimeEntryEntity::getComment).containsExactly("oldest");
+        assertThat(secondPage.hasNext()).isFalse();
+    }
+
     private static TimeEntryEntity createTimeEntryEntity(String owner, String comment, LocalDateTime start, LocalDateTime end) {
         return new TimeEntryEntity(null, owner, comment, start.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"), end.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"), Instant.now(), false);
     }
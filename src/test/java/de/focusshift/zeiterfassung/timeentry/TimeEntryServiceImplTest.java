@@ -12,6 +12,7 @@ import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +22,10 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.time.Clock;
 import java.time.Duration;
@@ -31,6 +36,7 @@ import java.time.LocalTime;
 import java.time.Year;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,9 +46,12 @@ import java.util.stream.Stream;
 import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,6 +64,8 @@ class TimeEntryServiceImplTest {
     @Mock
     private TimeEntryRepository timeEntryRepository;
     @Mock
+    private TimeEntryArchive timeEntryArchive;
+    @Mock
     private UserDateService userDateService;
     @Mock
     private WorkingTimeCalendarService workingTimeCalendarService;
@@ -64,13 +75,17 @@ class TimeEntryServiceImplTest {
     private UserSettingsProvider userSettingsProvider;
     @Mock
     private AbsenceService absenceService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private static final Clock clockFixed = Clock.fixed(Instant.now(), UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new TimeEntryServiceImpl(timeEntryRepository, userManagementService, workingTimeCalendarService,
-            userDateService, userSettingsProvider, absenceService, clockFixed);
+        sut = new TimeEntryServiceImpl(timeEntryRepository, timeEntryArchive, userManagementService, workingTimeCalendarService,
+            userDateService, userSettingsProvider, absenceService, entityManager, applicationEventPublisher, clockFixed);
     }
 
     @Test
@@ -117,6 +132,34 @@ class TimeEntryServiceImplTest {
         assertThat(sut.findTimeEntry(42L)).isEmpty();
     }
 
+    @Test
+    void ensureFindFirstTimeEntry() {
+
+        final LocalDateTime entryStart = LocalDateTime.of(LocalDate.of(2021, 3, 1), LocalTime.of(8, 0, 0));
+        final LocalDateTime entryEnd = LocalDateTime.of(LocalDate.of(2021, 3, 1), LocalTime.of(9, 0, 0));
+
+        final TimeEntryEntity entity = new TimeEntryEntity(1L, "batman", "", entryStart.toInstant(UTC), ZONE_ID_UTC,
+            entryEnd.toInstant(UTC), ZONE_ID_UTC, Instant.now(), false);
+
+        when(timeEntryRepository.findFirstByOwnerOrderByStartAscIdAsc("batman")).thenReturn(Optional.of(entity));
+
+        final UserId userId = new UserId("batman");
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, new UserLocalId(42L));
+        final User user = new User(userIdComposite, "Bruce", "Wayne", new EMailAddress(""), Set.of());
+        when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
+
+        assertThat(sut.findFirstTimeEntry(userId)).hasValueSatisfying(timeEntry -> {
+            assertThat(timeEntry.id()).isEqualTo(new TimeEntryId(1L));
+            assertThat(timeEntry.start()).isEqualTo(ZonedDateTime.of(entryStart, ZONE_ID_UTC));
+        });
+    }
+
+    @Test
+    void ensureFindFirstTimeEntryReturnsEmptyOptional() {
+        when(timeEntryRepository.findFirstByOwnerOrderByStartAscIdAsc("batman")).thenReturn(Optional.empty());
+        assertThat(sut.findFirstTimeEntry(new UserId("batman"))).isEmpty();
+    }
+
     @Test
     void ensureCreateTimeEntry() {
 
@@ -158,12 +201,82 @@ class TimeEntryServiceImplTest {
             assertThat(entity.getUpdatedAt()).isEqualTo(Instant.now(clockFixed));
             assertThat(entity.isBreak()).isFalse();
         });
+
+        verify(applicationEventPublisher).publishEvent(new TimeEntryChangedEvent(userId, Set.of(LocalDate.of(2023, 1, 1))));
+    }
+
+    @Test
+    void ensureCreateTimeEntries() {
+
+        final UserId userId = new UserId("batman");
+        final ZonedDateTime start = ZonedDateTime.of(2023, 1, 1, 23, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+
+        sut.createTimeEntries(userId, List.of(
+            new NewTimeEntry(" hard work ", start, start.plusHours(2), false),
+            new NewTimeEntry("", start.plusDays(2), start.plusDays(2).plusMinutes(30), true)
+        ));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<TimeEntryEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(timeEntryRepository).saveAll(captor.capture());
+
+        assertThat(captor.getValue()).satisfiesExactly(
+            entity -> {
+                assertThat(entity.getId()).isNull();
+                assertThat(entity.getOwner()).isEqualTo("batman");
+                assertThat(entity.getComment()).isEqualTo("hard work");
+                assertThat(entity.getStart()).isEqualTo(start.toInstant());
+                assertThat(entity.getStartZoneId()).isEqualTo("Europe/Berlin");
+                assertThat(entity.getEnd()).isEqualTo(start.plusHours(2).toInstant());
+                assertThat(entity.getEndZoneId()).isEqualTo("Europe/Berlin");
+                assertThat(entity.getUpdatedAt()).isEqualTo(Instant.now(clockFixed));
+                assertThat(entity.isBreak()).isFalse();
+            },
+            entity -> {
+                assertThat(entity.getStart()).isEqualTo(start.plusDays(2).toInstant());
+                assertThat(entity.isBreak()).isTrue();
+            }
+        );
+
+        verify(applicationEventPublisher).publishEvent(new TimeEntryChangedEvent(userId, Set.of(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 3))));
+        verifyNoInteractions(userManagementService);
+    }
+
+    @Test
+    void ensureCreateTimeEntriesDoesNothingWithoutTimeEntries() {
+
+        sut.createTimeEntries(new UserId("batman"), List.of());
+
+        verifyNoInteractions(timeEntryRepository, applicationEventPublisher);
+    }
+
+    @Test
+    void ensureDeleteTimeEntryPublishesChangedEvent() {
+
+        final TimeEntryEntity entity = new TimeEntryEntity("tenant", 1L, "batman", "", Instant.parse("2023-01-01T23:30:00Z"), ZoneId.of("Europe/Berlin"),
+            Instant.parse("2023-01-02T01:00:00Z"), ZoneId.of("Europe/Berlin"), Instant.now(clockFixed), false);
+        when(timeEntryRepository.findById(1L)).thenReturn(Optional.of(entity));
+
+        sut.deleteTimeEntry(1L);
+
+        verify(timeEntryRepository).delete(entity);
+        verify(applicationEventPublisher).publishEvent(new TimeEntryChangedEvent(new UserId("batman"), Set.of(LocalDate.of(2023, 1, 2))));
+    }
+
+    @Test
+    void ensureDeleteTimeEntryDoesNothingWhenTimeEntryIsUnknown() {
+
+        when(timeEntryRepository.findById(1L)).thenReturn(Optional.empty());
+
+        sut.deleteTimeEntry(1L);
+
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     @Test
     void ensureUpdateTimeEntryThrowsWhenTimeEntryIsUnknown() {
         final TimeEntryId id = new TimeEntryId(42L);
-        assertThatExceptionOfType(IllegalStateException.class)
+        assertThatExceptionOfType(InvalidTimeEntryException.class)
             .isThrownBy(() -> sut.updateTimeEntry(id, "", null, null, null, false));
     }
 
@@ -937,6 +1050,111 @@ class TimeEntryServiceImplTest {
             });
     }
 
+    @Test
+    void ensureStreamEntriesByUserLocalIds() {
+
+        final UserId batmanId = new UserId("uuid-1");
+        final UserLocalId batmanLocalId = new UserLocalId(1L);
+        final UserIdComposite batmanIdComposite = new UserIdComposite(batmanId, batmanLocalId);
+        final User batman = new User(batmanIdComposite, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+
+        when(userManagementService.findAllUsersByLocalIds(List.of(batmanLocalId))).thenReturn(List.of(batman));
+
+        final Instant now = Instant.now();
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2023, 2, 1);
+
+        final LocalDateTime entryStart = LocalDateTime.of(from, LocalTime.of(10, 0, 0));
+        final LocalDateTime entryEnd = LocalDateTime.of(from, LocalTime.of(12, 0, 0));
+        final TimeEntryEntity timeEntryEntity = new TimeEntryEntity(1L, "uuid-1", "hard work", entryStart.toInstant(UTC), ZONE_ID_UTC, entryEnd.toInstant(UTC), ZONE_ID_UTC, now, false);
+        // owner unknown to user management -> ignored
+        final TimeEntryEntity unknownOwnerEntity = new TimeEntryEntity(2L, "uuid-unknown", "", entryStart.toInstant(UTC), ZONE_ID_UTC, entryEnd.toInstant(UTC), ZONE_ID_UTC, now, false);
+
+        when(timeEntryRepository.streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByOwnerAscStartAsc(List.of("uuid-1"), from.atStartOfDay(UTC).toInstant(), toExclusive.atStartOfDay(UTC).toInstant()))
+            .thenReturn(Stream.of(timeEntryEntity, unknownOwnerEntity));
+
+        final List<TimeEntry> actual = new ArrayList<>();
+        sut.streamEntriesByUserLocalIds(from, toExclusive, List.of(batmanLocalId), actual::add);
+
+        assertThat(actual).containsExactly(
+            new TimeEntry(new TimeEntryId(1L), batmanIdComposite, "hard work", ZonedDateTime.of(entryStart, ZONE_ID_UTC), ZonedDateTime.of(entryEnd, ZONE_ID_UTC), false)
+        );
+
+        verify(entityManager).detach(timeEntryEntity);
+        verify(entityManager).detach(unknownOwnerEntity);
+    }
+
+    @Test
+    void ensureStreamEntriesByUserLocalIdsDoesNotQueryWithoutUsers() {
+
+        final UserLocalId userLocalId = new UserLocalId(1L);
+        when(userManagementService.findAllUsersByLocalIds(List.of(userLocalId))).thenReturn(List.of());
+
+        final List<TimeEntry> actual = new ArrayList<>();
+        sut.streamEntriesByUserLocalIds(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 2, 1), List.of(userLocalId), actual::add);
+
+        assertThat(actual).isEmpty();
+        verifyNoInteractions(timeEntryRepository);
+    }
+
+    @Test
+    void ensureStreamEntries() {
+
+        final UserId batmanId = new UserId("uuid-1");
+        final UserIdComposite batmanIdComposite = new UserIdComposite(batmanId, new UserLocalId(1L));
+        final User batman = new User(batmanIdComposite, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+
+        when(userManagementService.findUserById(batmanId)).thenReturn(Optional.of(batman));
+
+        final Instant now = Instant.now();
+        final LocalDateTime entryStart = LocalDateTime.of(2023, 1, 1, 10, 0, 0);
+        final LocalDateTime entryEnd = LocalDateTime.of(2023, 1, 1, 12, 0, 0);
+        final TimeEntryEntity first = new TimeEntryEntity(1L, "uuid-1", "hard work", entryStart.toInstant(UTC), ZONE_ID_UTC, entryEnd.toInstant(UTC), ZONE_ID_UTC, now, false);
+        final TimeEntryEntity second = new TimeEntryEntity(2L, "uuid-1", "", entryEnd.toInstant(UTC), ZONE_ID_UTC, entryEnd.plusHours(1).toInstant(UTC), ZONE_ID_UTC, now, true);
+
+        when(timeEntryRepository.streamAllByOwnerOrderByStartAscIdAsc("uuid-1")).thenReturn(Stream.of(first, second));
+
+        final List<TimeEntry> actual = new ArrayList<>();
+        sut.streamEntries(batmanId, actual::add);
+
+        assertThat(actual).containsExactly(
+            new TimeEntry(new TimeEntryId(1L), batmanIdComposite, "hard work", ZonedDateTime.of(entryStart, ZONE_ID_UTC), ZonedDateTime.of(entryEnd, ZONE_ID_UTC), false),
+            new TimeEntry(new TimeEntryId(2L), batmanIdComposite, "", ZonedDateTime.of(entryEnd, ZONE_ID_UTC), ZonedDateTime.of(entryEnd.plusHours(1), ZONE_ID_UTC), true)
+        );
+
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void ensureStreamEntriesMergesArchivedEntriesByStart() {
+
+        final UserId batmanId = new UserId("uuid-1");
+        final UserIdComposite batmanIdComposite = new UserIdComposite(batmanId, new UserLocalId(1L));
+        final User batman = new User(batmanIdComposite, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+
+        when(userManagementService.findUserById(batmanId)).thenReturn(Optional.of(batman));
+
+        final Instant now = Instant.now();
+        final LocalDateTime firstStart = LocalDateTime.of(2021, 1, 1, 10, 0, 0);
+        final LocalDateTime secondStart = LocalDateTime.of(2022, 1, 1, 10, 0, 0);
+        final LocalDateTime thirdStart = LocalDateTime.of(2023, 1, 1, 10, 0, 0);
+        final TimeEntryEntity archivedFirst = new TimeEntryEntity(1L, "uuid-1", "", firstStart.toInstant(UTC), ZONE_ID_UTC, firstStart.plusHours(1).toInstant(UTC), ZONE_ID_UTC, now, false);
+        final TimeEntryEntity live = new TimeEntryEntity(2L, "uuid-1", "", secondStart.toInstant(UTC), ZONE_ID_UTC, secondStart.plusHours(1).toInstant(UTC), ZONE_ID_UTC, now, false);
+        final TimeEntryEntity archivedThird = new TimeEntryEntity(3L, "uuid-1", "", thirdStart.toInstant(UTC), ZONE_ID_UTC, thirdStart.plusHours(1).toInstant(UTC), ZONE_ID_UTC, now, false);
+
+        when(timeEntryArchive.streamAllByOwner("uuid-1")).thenReturn(Stream.of(archivedFirst, archivedThird));
+        when(timeEntryRepository.streamAllByOwnerOrderByStartAscIdAsc("uuid-1")).thenReturn(Stream.of(live));
+
+        final List<TimeEntry> actual = new ArrayList<>();
+        sut.streamEntries(batmanId, actual::add);
+
+        assertThat(actual).extracting(TimeEntry::id).containsExactly(new TimeEntryId(1L), new TimeEntryId(2L), new TimeEntryId(3L));
+
+        verify(entityManager).detach(live);
+        verifyNoMoreInteractions(entityManager);
+    }
+
     @Test
     void ensureGetEntriesSortedByStart_NewestFirst() {
 
@@ -1008,7 +1226,7 @@ class TimeEntryServiceImplTest {
         when(timeEntryRepository.findAllByOwnerAndStartGreaterThanEqualAndStartLessThan("batman", from, to))
             .thenReturn(List.of(timeEntryEntity, timeEntryBreakEntity));
 
-        when(timeEntryRepository.countAllByOwner("batman")).thenReturn(3L);
+        when(timeEntryRepository.findTimeEntryCountByOwner("batman")).thenReturn(Optional.of(3L));
 
         final UserId userId = new UserId("batman");
         final UserLocalId userLocalId = new UserLocalId(1337L);
@@ -1119,7 +1337,7 @@ class TimeEntryServiceImplTest {
         when(timeEntryRepository.findAllByOwnerAndStartGreaterThanEqualAndStartLessThan("batman", from, to))
             .thenReturn(List.of(lastDayOfWeekTimeEntry, firstDayOfWeekTimeEntry));
 
-        when(timeEntryRepository.countAllByOwner("batman")).thenReturn(6L);
+        when(timeEntryRepository.findTimeEntryCountByOwner("batman")).thenReturn(Optional.of(6L));
 
         final UserId userId = new UserId("batman");
         final UserLocalId userLocalId = new UserLocalId(1337L);
@@ -1222,7 +1440,7 @@ class TimeEntryServiceImplTest {
         when(timeEntryRepository.findAllByOwnerAndStartGreaterThanEqualAndStartLessThan("batman", from, to))
             .thenReturn(List.of());
 
-        when(timeEntryRepository.countAllByOwner("batman")).thenReturn(6L);
+        when(timeEntryRepository.findTimeEntryCountByOwner("batman")).thenReturn(Optional.of(6L));
 
         final UserId userId = new UserId("batman");
         final UserLocalId userLocalId = new UserLocalId(1337L);
@@ -1305,4 +1523,62 @@ class TimeEntryServiceImplTest {
             )
         );
     }
+
+    @Test
+    void ensureGetEntryHistoryPageFirstPage() {
+
+        final UserId userId = new UserId("batman");
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, new UserLocalId(1337L));
+        final User user = new User(userIdComposite, "Bruce", "Wayne", new EMailAddress(""), Set.of());
+        when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
+
+        final Instant newerStart = Instant.parse("2023-02-25T10:00:00Z");
+        final Instant olderStart = Instant.parse("2023-02-24T10:00:00Z");
+        final TimeEntryEntity newer = new TimeEntryEntity(2L, "batman", "newer", newerStart, ZONE_ID_UTC, newerStart.plusSeconds(3600), ZONE_ID_UTC, Instant.now(), false);
+        final TimeEntryEntity older = new TimeEntryEntity(1L, "batman", "older", olderStart, ZONE_ID_UTC, olderStart.plusSeconds(3600), ZONE_ID_UTC, Instant.now(), false);
+
+        when(timeEntryRepository.findAllByOwnerOrderByStartDescIdDesc("batman", ScrollPosition.keyset(), Limit.of(2)))
+            .thenReturn(Window.from(List.of(newer, older), index -> ScrollPosition.keyset(), true));
+        when(timeEntryRepository.findTimeEntryCountByOwner("batman")).thenReturn(Optional.of(5L));
+
+        final TimeEntryHistoryPage actual = sut.getEntryHistoryPage(userId, null, 2);
+
+        assertThat(actual.timeEntries()).extracting(TimeEntry::comment).containsExactly("newer", "older");
+        assertThat(actual.totalTimeEntries()).isEqualTo(5);
+        assertThat(actual.hasNext()).isTrue();
+        assertThat(TimeEntryHistoryCursor.decode(actual.nextCursor())).isEqualTo(new TimeEntryHistoryCursor(olderStart, 1L));
+    }
+
+    @Test
+    void ensureGetEntryHistoryPageContinuesAtCursor() {
+
+        final UserId userId = new UserId("batman");
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, new UserLocalId(1337L));
+        final User user = new User(userIdComposite, "Bruce", "Wayne", new EMailAddress(""), Set.of());
+        when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
+
+        final Instant cursorStart = Instant.parse("2023-02-24T10:00:00Z");
+        final Instant start = Instant.parse("2023-02-23T10:00:00Z");
+        final TimeEntryEntity entity = new TimeEntryEntity(3L, "batman", "last", start, ZONE_ID_UTC, start.plusSeconds(3600), ZONE_ID_UTC, Instant.now(), false);
+
+        final ScrollPosition expectedPosition = ScrollPosition.forward(Map.of("start", cursorStart, "id", 1L));
+        when(timeEntryRepository.findAllByOwnerOrderByStartDescIdDesc("batman", expectedPosition, Limit.of(2)))
+            .thenReturn(Window.from(List.of(entity), index -> ScrollPosition.keyset(), false));
+        when(timeEntryRepository.findTimeEntryCountByOwner("batman")).thenReturn(Optional.empty());
+
+        final String cursor = new TimeEntryHistoryCursor(cursorStart, 1L).encode();
+        final TimeEntryHistoryPage actual = sut.getEntryHistoryPage(userId, cursor, 2);
+
+        assertThat(actual.timeEntries()).extracting(TimeEntry::comment).containsExactly("last");
+        assertThat(actual.totalTimeEntries()).isZero();
+        assertThat(actual.hasNext()).isFalse();
+        assertThat(actual.nextCursor()).isNull();
+    }
+
+    @Test
+    void ensureGetEntryHistoryPageThrowsForInvalidCursor() {
+        assertThatThrownBy(() -> sut.getEntryHistoryPage(new UserId("batman"), "not-a-cursor", 2))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(timeEntryRepository);
+    }
 }
@@ -0,0 +1,250 @@
+package de.focusshift.zeiterfassung.usermanagement;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserCreatedEvent;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserUpdatedEvent;
+import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryCacheTest {
+
+    private static final User BATMAN = new User(new UserIdComposite(new UserId("batman"), new UserLocalId(1L)), "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+    private static final User ROBIN = new User(new UserIdComposite(new UserId("robin"), new UserLocalId(2L)), "Dick", "Grayson", new EMailAddress("robin@example.org"), Set.of());
+
+    private UserDirectoryCache sut;
+
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new UserDirectoryCache(tenantContextHolder, Clock.systemUTC(), meterRegistry, 2, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void ensureDirectoryIsEmptyWithoutTenantContext() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.empty());
+
+        assertThat(sut.directory(() -> List.of(BATMAN))).isEmpty();
+    }
+
+    @Test
+    void ensureDirectoryIsLoadedOncePerTenantAndIndexesUsers() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN, ROBIN));
+
+        sut.directory(loader);
+        final Optional<UserDirectoryCache.UserDirectory> actual = sut.directory(loader);
+
+        assertThat(loader.count()).isOne();
+        assertThat(actual).hasValueSatisfying(directory -> {
+            assertThat(directory.users()).containsExactly(BATMAN, ROBIN);
+            assertThat(directory.findById(new UserId("robin"))).hasValue(ROBIN);
+            assertThat(directory.findByLocalId(new UserLocalId(1L))).hasValue(BATMAN);
+            assertThat(directory.findAllByLocalIds(List.of(new UserLocalId(2L), new UserLocalId(42L), new UserLocalId(2L)))).containsExactly(ROBIN);
+        });
+
+        assertThat(meterRegistry.get("zeiterfassung.users.directory.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("zeiterfassung.users.directory.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureDirectoryIsLoadedAgainWhenExpired() {
+
+        final Instant now = Instant.parse("2024-11-12T10:00:00Z");
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now, now.plus(Duration.ofMinutes(4)), now.plus(Duration.ofMinutes(5)));
+        sut = new UserDirectoryCache(tenantContextHolder, clock, meterRegistry, 2, Duration.ofMinutes(5));
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN));
+
+        sut.directory(loader);
+        sut.directory(loader);
+        assertThat(loader.count()).isOne();
+
+        sut.directory(loader);
+
+        assertThat(loader.count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureDirectoryIsEvictedOnUserCreatedAndDeleted() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN));
+
+        sut.directory(loader);
+        sut.on(new TenantUserCreatedEvent(tenantUser("robin", 2L, "Dick", UserStatus.ACTIVE)));
+        sut.directory(loader);
+        sut.on(new TenantUserUpdatedEvent(tenantUser("batman", 1L, "Bruce", UserStatus.DELETED)));
+        sut.directory(loader);
+
+        assertThat(loader.count()).isEqualTo(3);
+    }
+
+    @Test
+    void ensureUpdatedUserReplacesUserInCachedDirectory() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN, ROBIN));
+
+        sut.directory(loader);
+        sut.on(new TenantUserUpdatedEvent(tenantUser("batman", 1L, "Bruno", UserStatus.ACTIVE)));
+        final Optional<UserDirectoryCache.UserDirectory> actual = sut.directory(loader);
+
+        assertThat(loader.count()).isOne();
+        assertThat(actual).hasValueSatisfying(directory -> {
+            assertThat(directory.users()).extracting(User::givenName).containsExactly("Bruno", "Dick");
+            assertThat(directory.findById(new UserId("batman"))).hasValueSatisfying(user -> assertThat(user.givenName()).isEqualTo("Bruno"));
+            assertThat(directory.findByLocalId(new UserLocalId(1L))).hasValueSatisfying(user -> assertThat(user.givenName()).isEqualTo("Bruno"));
+        });
+    }
+
+    @Test
+    void ensureUpdatedUserReplacesUserInCachedDirectoryAfterCommit() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN));
+        sut.directory(loader);
+
+        TransactionSynchronizationManager.initSynchronization();
+        sut.on(new TenantUserUpdatedEvent(tenantUser("batman", 1L, "Bruno", UserStatus.ACTIVE)));
+
+        assertThat(sut.directory(loader)).hasValueSatisfying(directory -> assertThat(directory.users()).containsExactly(BATMAN));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(sut.directory(loader)).hasValueSatisfying(directory -> assertThat(directory.users()).extracting(User::givenName).containsExactly("Bruno"));
+        assertThat(loader.count()).isOne();
+    }
+
+    @Test
+    void ensureDirectoryLoadedDuringUpdateIsNotCached() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN));
+
+        sut.directory(() -> {
+            sut.on(new TenantUserUpdatedEvent(tenantUser("batman", 1L, "Bruno", UserStatus.ACTIVE)));
+            return List.of(BATMAN);
+        });
+        sut.directory(loader);
+
+        assertThat(loader.count()).isOne();
+    }
+
+    @Test
+    void ensureDirectoryLoadedDuringUpdateOfOtherTenantIsCached() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("one")));
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN));
+
+        sut.directory(() -> {
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("two")));
+            sut.on(new TenantUserCreatedEvent(tenantUser("robin", 2L, "Dick", UserStatus.ACTIVE)));
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("one")));
+            return List.of(BATMAN);
+        });
+        sut.directory(loader);
+
+        assertThat(loader.count()).isZero();
+    }
+
+    @Test
+    void ensureLeastRecentlyUsedTenantIsEvicted() {
+
+        final CountingLoader loader = new CountingLoader(List.of(BATMAN));
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("one")));
+        sut.directory(loader);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("two")));
+        sut.directory(loader);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("one")));
+        sut.directory(loader);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("three")));
+        sut.directory(loader);
+
+        assertThat(loader.count()).isEqualTo(3);
+        assertThat(meterRegistry.get("zeiterfassung.users.directory.cache.tenants").gauge().value()).isEqualTo(2);
+
+        // "two" has been evicted, "one" is still cached
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("one")));
+        sut.directory(loader);
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("two")));
+        sut.directory(loader);
+
+        assertThat(loader.count()).isEqualTo(4);
+    }
+
+    private static TenantUser tenantUser(String id, Long localId, String givenName, UserStatus status) {
+        return new TenantUser(id, localId, givenName, "Wayne", new EMailAddress(id + "@example.org"), Instant.EPOCH, Set.of(),
+            Instant.EPOCH, Instant.EPOCH, null, null, status);
+    }
+
+    private static final class CountingLoader implements Supplier<List<User>> {
+
+        private final List<User> users;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private CountingLoader(List<User> users) {
+            this.users = users;
+        }
+
+        @Override
+        public List<User> get() {
+            count.incrementAndGet();
+            return users;
+        }
+
+        int count() {
+            return count.get();
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package de.focusshift.zeiterfassung.usermanagement;
 
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
 import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +26,9 @@ import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_PE
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,10 +38,32 @@ class UserManagementServiceImplTest {
 
     @Mock
     private TenantUserService tenantUserService;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
 
     @BeforeEach
     void setUp() {
-        sut = new UserManagementServiceImpl(tenantUserService);
+        final UserDirectoryCache userDirectoryCache = new UserDirectoryCache(tenantContextHolder, Clock.systemUTC(), new SimpleMeterRegistry(), 10, Duration.ofMinutes(5));
+        sut = new UserManagementServiceImpl(tenantUserService, userDirectoryCache);
+    }
+
+    @Test
+    void ensureFindUserByIdUsesUserDirectoryOfTenant() {
+
+        when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+        final Instant now = Instant.now();
+        final TenantUser tenantUser = activeTenantUserOne(now);
+        final User user = activeUserOne(now);
+        when(tenantUserService.findAllUsers()).thenReturn(List.of(tenantUser));
+
+        assertThat(sut.findUserById(user.userId())).hasValue(user);
+        assertThat(sut.findUserByLocalId(user.userLocalId())).hasValue(user);
+        assertThat(sut.findAllUsersByIds(List.of(user.userId(), new UserId("unknown")))).containsExactly(user);
+        assertThat(sut.findAllUsers()).containsExactly(user);
+
+        verify(tenantUserService, times(1)).findAllUsers();
+        verifyNoMoreInteractions(tenantUserService);
     }
 
     @Test
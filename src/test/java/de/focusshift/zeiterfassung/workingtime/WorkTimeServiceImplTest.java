@@ -19,6 +19,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Clock;
 import java.time.DayOfWeek;
@@ -62,12 +63,14 @@ class WorkTimeServiceImplTest {
     private UserManagementService userManagementService;
     @Mock
     private FederalStateSettingsService federalStateSettingsService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private static final Clock clockFixed = Clock.fixed(Clock.systemUTC().instant(), UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new WorkTimeServiceImpl(workingTimeRepository, userManagementService, federalStateSettingsService, clockFixed);
+        sut = new WorkTimeServiceImpl(workingTimeRepository, userManagementService, federalStateSettingsService, applicationEventPublisher, clockFixed);
     }
 
     @Nested
@@ -145,6 +148,30 @@ class WorkTimeServiceImplTest {
         }
     }
 
+    @Test
+    void ensureGetAllUsersUsingGlobalFederalStateSettings() {
+
+        final User batman = user("batman", 1L);
+        final User robin = user("robin", 2L);
+        final User alfred = user("alfred", 3L);
+        final User joker = user("joker", 4L);
+        when(userManagementService.findAllUsers()).thenReturn(List.of(batman, robin, alfred, joker));
+
+        final WorkingTimeEntity batmanFirst = anyWorkingTimeEntity(UUID.randomUUID(), 1L, null);
+        final WorkingTimeEntity batmanGlobalFederalState = anyWorkingTimeEntity(UUID.randomUUID(), 1L, LocalDate.of(2024, 1, 1));
+        batmanGlobalFederalState.setFederalState(GLOBAL);
+        final WorkingTimeEntity robinGlobalWorksOnPublicHoliday = anyWorkingTimeEntity(UUID.randomUUID(), 2L, null);
+        robinGlobalWorksOnPublicHoliday.setWorksOnPublicHoliday(null);
+        final WorkingTimeEntity jokerIndividual = anyWorkingTimeEntity(UUID.randomUUID(), 4L, null);
+        when(workingTimeRepository.findAllByUserIdIsIn(List.of(1L, 2L, 3L, 4L)))
+            .thenReturn(List.of(batmanFirst, batmanGlobalFederalState, robinGlobalWorksOnPublicHoliday, jokerIndividual));
+
+        final List<UserLocalId> actual = sut.getAllUsersUsingGlobalFederalStateSettings();
+
+        // alfred has no working time yet and gets the default one, which uses the global settings
+        assertThat(actual).containsExactly(new UserLocalId(1L), new UserLocalId(2L), new UserLocalId(3L));
+    }
+
     @Nested
     class GetAllWorkingTimesByUser {
 
@@ -850,6 +877,8 @@ class WorkTimeServiceImplTest {
 
         final boolean actual = sut.deleteWorkingTime(workingTimeId);
         assertThat(actual).isTrue();
+
+        verify(applicationEventPublisher).publishEvent(new WorkingTimeChangedEvent(new UserLocalId(42L), Optional.of(givenValidFromDate)));
     }
 
     private FederalStateSettings federalStateSettings(FederalState globalFederalState) {
@@ -863,6 +892,11 @@ class WorkTimeServiceImplTest {
         return new User(userIdComposite, "Bruce", "Wayne", new EMailAddress(""), Set.of());
     }
 
+    private User user(String id, Long localId) {
+        final UserIdComposite userIdComposite = new UserIdComposite(new UserId(id), new UserLocalId(localId));
+        return new User(userIdComposite, id, id, new EMailAddress(""), Set.of());
+    }
+
     private WorkingTimeEntity anyWorkingTimeEntity(UUID id, Long userId, LocalDate validFrom) {
         final WorkingTimeEntity entity = new WorkingTimeEntity();
         entity.setId(id);
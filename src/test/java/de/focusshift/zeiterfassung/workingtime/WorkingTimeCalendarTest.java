@@ -54,4 +54,54 @@ class WorkingTimeCalendarTest {
         final PlannedWorkingHours actual = sut.plannedWorkingHours(now, now.plusDays(2));
         assertThat(actual).isEqualTo(new PlannedWorkingHours(Duration.ofHours(16)));
     }
+
+    @Test
+    void ensurePlannedWorkingHoursBetweenDatesExceedingCalendar() {
+
+        final LocalDate now = LocalDate.now();
+
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(Map.of(
+            now, PlannedWorkingHours.EIGHT,
+            now.plusDays(1), new PlannedWorkingHours(Duration.ofMinutes(30)),
+            now.plusDays(3), PlannedWorkingHours.EIGHT
+        ));
+
+        final PlannedWorkingHours actual = sut.plannedWorkingHours(now.minusDays(10), now.plusDays(10));
+        assertThat(actual).isEqualTo(new PlannedWorkingHours(Duration.ofHours(16).plusMinutes(30)));
+    }
+
+    @Test
+    void ensurePlannedWorkingHoursForDate() {
+
+        final LocalDate now = LocalDate.now();
+
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(Map.of(
+            now, PlannedWorkingHours.EIGHT,
+            now.plusDays(2), PlannedWorkingHours.ZERO
+        ));
+
+        assertThat(sut.plannedWorkingHours(now)).hasValue(PlannedWorkingHours.EIGHT);
+        assertThat(sut.plannedWorkingHours(now.plusDays(1))).isEmpty();
+        assertThat(sut.plannedWorkingHours(now.plusDays(2))).hasValue(PlannedWorkingHours.ZERO);
+        assertThat(sut.plannedWorkingHours(now.minusDays(1))).isEmpty();
+        assertThat(sut.plannedWorkingHours(now.plusDays(3))).isEmpty();
+    }
+
+    @Test
+    void ensureBuilderCreatesCalendarEqualToCalendarCreatedFromMap() {
+
+        final LocalDate now = LocalDate.now();
+
+        final WorkingTimeCalendar actual = WorkingTimeCalendar.builder(now.minusDays(5), now.plusDays(5))
+            .plannedWorkingHours(now, Duration.ofHours(8).toNanos())
+            .plannedWorkingHours(now.plusDays(1), 0)
+            // out of range is ignored
+            .plannedWorkingHours(now.plusDays(5), Duration.ofHours(8).toNanos())
+            .build();
+
+        assertThat(actual).isEqualTo(new WorkingTimeCalendar(Map.of(
+            now, PlannedWorkingHours.EIGHT,
+            now.plusDays(1), PlannedWorkingHours.ZERO
+        )));
+    }
 }
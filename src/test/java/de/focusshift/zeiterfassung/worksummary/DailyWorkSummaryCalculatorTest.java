@@ -0,0 +1,127 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.absence.AbsenceColor;
+import de.focusshift.zeiterfassung.absence.AbsenceService;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeCategory;
+import de.focusshift.zeiterfassung.absence.DayLength;
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyWorkSummaryCalculatorTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    private DailyWorkSummaryCalculator sut;
+
+    @Mock
+    private TimeEntryService timeEntryService;
+    @Mock
+    private AbsenceService absenceService;
+    @Mock
+    private WorkingTimeCalendarService workingTimeCalendarService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new DailyWorkSummaryCalculator(timeEntryService, absenceService, workingTimeCalendarService);
+    }
+
+    @Test
+    void ensureCalculate() {
+
+        final UserLocalId userLocalId = new UserLocalId(1L);
+        final UserIdComposite batman = new UserIdComposite(new UserId("batman"), userLocalId);
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 5);
+
+        when(timeEntryService.getEntriesByUserLocalIds(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 6), List.of(userLocalId)))
+            .thenReturn(Map.of(batman, List.of(
+                timeEntry(1, batman, LocalDateTime.of(2023, 1, 1, 10, 0), Duration.ofHours(1), false),
+                timeEntry(2, batman, LocalDateTime.of(2023, 1, 2, 8, 0), Duration.ofHours(2), false),
+                timeEntry(3, batman, LocalDateTime.of(2023, 1, 2, 10, 0), Duration.ofMinutes(30), true),
+                timeEntry(4, batman, LocalDateTime.of(2023, 1, 3, 0, 30), Duration.ofHours(1), false)
+            )));
+
+        when(absenceService.getAbsencesByUserIds(List.of(userLocalId), from, toExclusive))
+            .thenReturn(Map.of(batman, List.of(
+                absence(LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 3), DayLength.MORNING),
+                absence(LocalDate.of(2023, 1, 4), LocalDate.of(2023, 1, 4), DayLength.FULL),
+                absence(LocalDate.of(2023, 1, 4), LocalDate.of(2023, 1, 10), DayLength.NOON)
+            )));
+
+        final Map<LocalDate, PlannedWorkingHours> plannedWorkingHours = new HashMap<>();
+        plannedWorkingHours.put(LocalDate.of(2023, 1, 2), PlannedWorkingHours.EIGHT);
+        plannedWorkingHours.put(LocalDate.of(2023, 1, 3), PlannedWorkingHours.EIGHT);
+        plannedWorkingHours.put(LocalDate.of(2023, 1, 4), PlannedWorkingHours.EIGHT);
+        when(workingTimeCalendarService.getWorkingTimeCalendarForUsers(from, toExclusive, List.of(userLocalId)))
+            .thenReturn(Map.of(batman, new WorkingTimeCalendar(plannedWorkingHours)));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> actual = sut.calculate(from, toExclusive, List.of(userLocalId));
+
+        assertThat(actual).containsOnlyKeys(batman);
+        assertThat(actual.get(batman)).containsExactly(
+            new DailyWorkSummary(batman, LocalDate.of(2023, 1, 2), new WorkDuration(Duration.ofHours(2)), new BreakDuration(Duration.ofMinutes(30)), PlannedWorkingHours.EIGHT, 0.0),
+            new DailyWorkSummary(batman, LocalDate.of(2023, 1, 3), new WorkDuration(Duration.ofHours(1)), BreakDuration.ZERO, PlannedWorkingHours.EIGHT, 0.5),
+            new DailyWorkSummary(batman, LocalDate.of(2023, 1, 4), WorkDuration.ZERO, BreakDuration.ZERO, PlannedWorkingHours.EIGHT, 1.0)
+        );
+    }
+
+    @Test
+    void ensureCalculateWithoutWorkingTimeCalendar() {
+
+        final UserLocalId userLocalId = new UserLocalId(1L);
+        final UserIdComposite batman = new UserIdComposite(new UserId("batman"), userLocalId);
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 3);
+
+        when(timeEntryService.getEntriesByUserLocalIds(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 4), List.of(userLocalId)))
+            .thenReturn(Map.of(batman, List.of()));
+        when(absenceService.getAbsencesByUserIds(List.of(userLocalId), from, toExclusive)).thenReturn(Map.of());
+        when(workingTimeCalendarService.getWorkingTimeCalendarForUsers(from, toExclusive, List.of(userLocalId))).thenReturn(Map.of());
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> actual = sut.calculate(from, toExclusive, List.of(userLocalId));
+
+        assertThat(actual.get(batman)).containsExactly(
+            new DailyWorkSummary(batman, from, WorkDuration.ZERO, BreakDuration.ZERO, PlannedWorkingHours.ZERO, 0.0)
+        );
+    }
+
+    private static TimeEntry timeEntry(long id, UserIdComposite userIdComposite, LocalDateTime start, Duration duration, boolean isBreak) {
+        final ZonedDateTime startDateTime = start.atZone(BERLIN);
+        return new TimeEntry(new TimeEntryId(id), userIdComposite, "", startDateTime, startDateTime.plus(duration), isBreak);
+    }
+
+    private static Absence absence(LocalDate start, LocalDate end, DayLength dayLength) {
+        return new Absence(new UserId("batman"), start.atStartOfDay(BERLIN), end.atStartOfDay(BERLIN), dayLength,
+            locale -> "", AbsenceColor.YELLOW, AbsenceTypeCategory.HOLIDAY);
+    }
+}
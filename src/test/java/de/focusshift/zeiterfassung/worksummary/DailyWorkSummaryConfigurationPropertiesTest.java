@@ -0,0 +1,14 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyWorkSummaryConfigurationPropertiesTest {
+
+    @Test
+    void ensureRebuildIsDisabledByDefault() {
+        final DailyWorkSummaryConfigurationProperties properties = new DailyWorkSummaryConfigurationProperties();
+        assertThat(properties.getRebuildCron()).isEqualTo("-");
+    }
+}
@@ -0,0 +1,89 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.absence.AbsenceChangedEvent;
+import de.focusshift.zeiterfassung.settings.FederalStateSettings;
+import de.focusshift.zeiterfassung.settings.FederalStateSettingsChangedEvent;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryChangedEvent;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeChangedEvent;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.doThrow;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BAYERN;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyWorkSummaryEventHandlerTest {
+
+    private DailyWorkSummaryEventHandler sut;
+
+    @Mock
+    private DailyWorkSummaryServiceImpl dailyWorkSummaryService;
+    @Mock
+    private WorkingTimeService workingTimeService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new DailyWorkSummaryEventHandler(dailyWorkSummaryService, workingTimeService);
+    }
+
+    @Test
+    void ensureTimeEntryChangedRefreshesAffectedDates() {
+
+        sut.on(new TimeEntryChangedEvent(new UserId("batman"), Set.of(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 2))));
+
+        verify(dailyWorkSummaryService).refresh(new UserId("batman"), LocalDate.of(2023, 1, 2), LocalDate.of(2023, 1, 6));
+    }
+
+    @Test
+    void ensureAbsenceChangedRefreshesAffectedDatesOfEveryZone() {
+
+        sut.on(new AbsenceChangedEvent(new UserId("batman"), Instant.parse("2023-01-02T00:00:00Z"), Instant.parse("2023-01-04T00:00:00Z")));
+
+        verify(dailyWorkSummaryService).refresh(new UserId("batman"), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 6));
+    }
+
+    @Test
+    void ensureWorkingTimeChangedRefreshesMaterialisedSummaries() {
+
+        sut.on(new WorkingTimeChangedEvent(new UserLocalId(1L), Optional.of(LocalDate.of(2023, 1, 2))));
+
+        verify(dailyWorkSummaryService).refreshMaterialised(new UserLocalId(1L), Optional.of(LocalDate.of(2023, 1, 2)));
+    }
+
+    @Test
+    void ensureFederalStateSettingsChangedRefreshesMaterialisedSummariesOfUsersUsingGlobalSettings() {
+
+        when(workingTimeService.getAllUsersUsingGlobalFederalStateSettings()).thenReturn(List.of(new UserLocalId(1L), new UserLocalId(2L)));
+        doThrow(new IllegalStateException("database gone"))
+            .when(dailyWorkSummaryService).refreshMaterialised(new UserLocalId(1L), Optional.empty());
+
+        sut.on(new FederalStateSettingsChangedEvent(new FederalStateSettings(GERMANY_BAYERN, true)));
+
+        verify(dailyWorkSummaryService).refreshMaterialised(new UserLocalId(2L), Optional.empty());
+    }
+
+    @Test
+    void ensureFailingRefreshDoesNotFailTheChange() {
+
+        doThrow(new IllegalStateException("database gone"))
+            .when(dailyWorkSummaryService).refresh(new UserId("batman"), LocalDate.of(2023, 1, 2), LocalDate.of(2023, 1, 3));
+
+        assertThatNoException().isThrownBy(() ->
+            sut.on(new TimeEntryChangedEvent(new UserId("batman"), Set.of(LocalDate.of(2023, 1, 2)))));
+    }
+}
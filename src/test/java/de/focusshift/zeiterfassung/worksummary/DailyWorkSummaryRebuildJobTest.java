@@ -0,0 +1,58 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.Tenant;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyWorkSummaryRebuildJobTest {
+
+    private DailyWorkSummaryRebuildJob sut;
+
+    @Mock
+    private TenantService tenantService;
+    @Mock
+    private DailyWorkSummaryService dailyWorkSummaryService;
+
+    private final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+    };
+
+    @BeforeEach
+    void setUp() {
+        final DailyWorkSummaryConfigurationProperties properties = new DailyWorkSummaryConfigurationProperties();
+        properties.setRebuildDays(7);
+        properties.setBackfillDays(30);
+        final Clock clock = Clock.fixed(Instant.parse("2023-01-10T03:15:00Z"), ZoneOffset.UTC);
+        sut = new DailyWorkSummaryRebuildJob(tenantService, tenantContextHolder, dailyWorkSummaryService, properties, clock);
+    }
+
+    @Test
+    void ensureRebuildRecentDaysOfActiveTenants() {
+
+        when(tenantService.findAllTenants()).thenReturn(List.of(
+            new Tenant("active", Instant.now(), Instant.now(), TenantStatus.ACTIVE),
+            new Tenant("disabled", Instant.now(), Instant.now(), TenantStatus.DISABLED)
+        ));
+
+        sut.rebuildRecentDays();
+
+        verify(dailyWorkSummaryService, times(1)).rebuild(LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 11));
+        verify(dailyWorkSummaryService, times(1)).backfill(LocalDate.of(2022, 12, 11), LocalDate.of(2023, 2, 10));
+    }
+}
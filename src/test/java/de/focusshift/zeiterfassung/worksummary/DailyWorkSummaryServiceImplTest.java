@@ -0,0 +1,338 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyWorkSummaryServiceImplTest {
+
+    private static final UserLocalId BATMAN_LOCAL_ID = new UserLocalId(1L);
+    private static final UserIdComposite BATMAN = new UserIdComposite(new UserId("batman"), BATMAN_LOCAL_ID);
+
+    private DailyWorkSummaryServiceImpl sut;
+
+    @Mock
+    private DailyWorkSummaryRepository repository;
+    @Mock
+    private DailyWorkSummaryCalculator calculator;
+    @Mock
+    private DailyWorkSummaryWriter writer;
+    @Mock
+    private DailyWorkSummaryReader reader;
+    @Mock
+    private UserManagementService userManagementService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        sut = new DailyWorkSummaryServiceImpl(repository, calculator, writer, reader, userManagementService, applicationEventPublisher);
+    }
+
+    @Test
+    void ensureGetDailyWorkSummariesReadsMaterialisedSummaries() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 4);
+
+        when(userManagementService.findAllUsersByLocalIds(List.of(BATMAN_LOCAL_ID))).thenReturn(List.of(user()));
+        when(repository.findAllByUserIdIsInAndDateGreaterThanEqualAndDateLessThan(List.of("batman"), from, toExclusive))
+            .thenReturn(List.of(entity(LocalDate.of(2023, 1, 3), 3600), entity(from, 7200)));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> actual = sut.getDailyWorkSummaries(from, toExclusive, List.of(BATMAN_LOCAL_ID));
+
+        assertThat(actual.get(BATMAN)).containsExactly(
+            summary(from, Duration.ofHours(2)),
+            summary(LocalDate.of(2023, 1, 3), Duration.ofHours(1))
+        );
+        verifyNoInteractions(calculator, writer);
+    }
+
+    @Test
+    void ensureGetDailyWorkSummariesCalculatesMissingSummariesWithoutPersisting() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 4);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user()));
+        when(repository.findAllByUserIdIsInAndDateGreaterThanEqualAndDateLessThan(List.of("batman"), from, toExclusive))
+            .thenReturn(List.of(entity(from, 7200)));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of(
+            summary(from, Duration.ofHours(2)),
+            summary(LocalDate.of(2023, 1, 3), Duration.ofHours(1))
+        ));
+        when(calculator.calculate(from, toExclusive, List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> actual = sut.getDailyWorkSummariesForAllUsers(from, toExclusive);
+
+        assertThat(actual).isEqualTo(calculated);
+        verifyNoInteractions(writer, applicationEventPublisher);
+    }
+
+    @Test
+    void ensureStreamDailyWorkSummariesPassesMaterialisedSummaries() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 4);
+
+        when(userManagementService.findAllUsersByLocalIds(List.of(BATMAN_LOCAL_ID))).thenReturn(List.of(user()));
+        when(repository.findAllUserIdsHavingDays(Set.of("batman"), from, toExclusive, 2)).thenReturn(List.of("batman"));
+        doAnswer(invocation -> {
+            final Consumer<DailyWorkSummaryEntity> consumer = invocation.getArgument(3);
+            consumer.accept(entity(from, 7200));
+            consumer.accept(entity(LocalDate.of(2023, 1, 3), 3600));
+            return null;
+        }).when(reader).stream(eq(Set.of("batman")), eq(from), eq(toExclusive), any());
+
+        final List<DailyWorkSummary> actual = new ArrayList<>();
+        sut.streamDailyWorkSummaries(from, toExclusive, List.of(BATMAN_LOCAL_ID), actual::add);
+
+        assertThat(actual).containsExactly(
+            summary(from, Duration.ofHours(2)),
+            summary(LocalDate.of(2023, 1, 3), Duration.ofHours(1))
+        );
+        verifyNoInteractions(calculator, writer);
+    }
+
+    @Test
+    void ensureStreamDailyWorkSummariesCalculatesMissingSummariesWithoutPersisting() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 3);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user()));
+        when(repository.findAllUserIdsHavingDays(Set.of("batman"), from, toExclusive, 1)).thenReturn(List.of());
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of(summary(from, Duration.ofHours(2))));
+        when(calculator.calculate(from, toExclusive, List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+
+        final List<DailyWorkSummary> actual = new ArrayList<>();
+        sut.streamDailyWorkSummariesForAllUsers(from, toExclusive, actual::add);
+
+        assertThat(actual).containsExactly(summary(from, Duration.ofHours(2)));
+        verifyNoInteractions(writer, reader, applicationEventPublisher);
+    }
+
+    @Test
+    void ensureStreamDailyWorkSummariesStreamsMaterialisedUsersOnly() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 3);
+
+        final User robin = new User(new UserIdComposite(new UserId("robin"), new UserLocalId(2L)), "Robin", "", new EMailAddress("robin@example.org"), Set.of());
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user(), robin));
+        when(repository.findAllUserIdsHavingDays(Set.of("batman", "robin"), from, toExclusive, 1)).thenReturn(List.of("batman"));
+
+        final DailyWorkSummary robinsSummary = new DailyWorkSummary(robin.userIdComposite(), from, WorkDuration.ZERO, BreakDuration.ZERO, PlannedWorkingHours.ZERO, 0.0);
+        when(calculator.calculate(from, toExclusive, List.of(new UserLocalId(2L)))).thenReturn(Map.of(robin.userIdComposite(), List.of(robinsSummary)));
+
+        final List<DailyWorkSummary> actual = new ArrayList<>();
+        sut.streamDailyWorkSummariesForAllUsers(from, toExclusive, actual::add);
+
+        assertThat(actual).containsExactly(robinsSummary);
+        verify(reader).stream(eq(Set.of("batman")), eq(from), eq(toExclusive), any());
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void ensureStreamDailyWorkSummariesWithoutUsers() {
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of());
+
+        sut.streamDailyWorkSummariesForAllUsers(LocalDate.of(2023, 1, 2), LocalDate.of(2023, 1, 3), summary -> {});
+
+        verifyNoInteractions(repository, calculator, writer, reader);
+    }
+
+    @Test
+    void ensureRebuild() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2024, 1, 1);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user()));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of());
+        when(calculator.calculate(from, toExclusive, List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+
+        sut.rebuild(from, toExclusive);
+
+        verify(writer).save(from, toExclusive, calculated);
+        verify(applicationEventPublisher).publishEvent(new DailyWorkSummaryChangedEvent(BATMAN, from));
+    }
+
+    @Test
+    void ensureBackfillPersistsMissingSummariesWithoutPublishing() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 3);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user()));
+        when(repository.findAllUserIdsHavingDays(Set.of("batman"), from, toExclusive, 2)).thenReturn(List.of());
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of());
+        when(calculator.calculate(from, toExclusive, List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+
+        sut.backfill(from, toExclusive);
+
+        verify(writer).save(from, toExclusive, calculated);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void ensureBackfillSkipsMaterialisedUsers() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 3);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user()));
+        when(repository.findAllUserIdsHavingDays(Set.of("batman"), from, toExclusive, 2)).thenReturn(List.of("batman"));
+
+        sut.backfill(from, toExclusive);
+
+        verifyNoInteractions(calculator, writer);
+    }
+
+    @Test
+    void ensureBackfillIgnoresSummariesPersistedConcurrently() {
+
+        final LocalDate from = LocalDate.of(2023, 1, 2);
+        final LocalDate toExclusive = LocalDate.of(2023, 1, 3);
+
+        when(userManagementService.findAllUsers()).thenReturn(List.of(user()));
+        when(repository.findAllUserIdsHavingDays(Set.of("batman"), from, toExclusive, 1)).thenReturn(List.of());
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of(summary(from, Duration.ofHours(2))));
+        when(calculator.calculate(from, toExclusive, List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(writer).save(from, toExclusive, calculated);
+
+        sut.backfill(from, toExclusive);
+
+        verify(writer).save(from, toExclusive, calculated);
+    }
+
+    @Test
+    void ensureRefreshPublishesChangedEvent() {
+
+        final LocalDate from = LocalDate.of(2023, 3, 1);
+        final LocalDate toExclusive = LocalDate.of(2023, 3, 3);
+
+        when(userManagementService.findUserById(new UserId("batman"))).thenReturn(Optional.of(user()));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of());
+        when(calculator.calculate(from, toExclusive, List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+
+        sut.refresh(new UserId("batman"), from, toExclusive);
+
+        final InOrder inOrder = inOrder(writer, applicationEventPublisher);
+        inOrder.verify(writer).save(from, toExclusive, calculated);
+        inOrder.verify(applicationEventPublisher).publishEvent(new DailyWorkSummaryChangedEvent(BATMAN, from));
+    }
+
+    @Test
+    void ensureRefreshMaterialisedStartsAtAffectedDate() {
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(repository.findFirstByUserIdOrderByDateAsc("batman")).thenReturn(Optional.of(entity(LocalDate.of(2023, 1, 1), 0)));
+        when(repository.findFirstByUserIdOrderByDateDesc("batman")).thenReturn(Optional.of(entity(LocalDate.of(2023, 12, 31), 0)));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of());
+        when(calculator.calculate(LocalDate.of(2023, 6, 1), LocalDate.of(2024, 1, 1), List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+
+        sut.refreshMaterialised(BATMAN_LOCAL_ID, Optional.of(LocalDate.of(2023, 6, 1)));
+
+        verify(writer).save(LocalDate.of(2023, 6, 1), LocalDate.of(2024, 1, 1), calculated);
+        verify(applicationEventPublisher).publishEvent(new DailyWorkSummaryChangedEvent(BATMAN, LocalDate.of(2023, 6, 1)));
+    }
+
+    @Test
+    void ensureRefreshMaterialisedWithoutAffectedDateStartsAtFirstSummary() {
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(repository.findFirstByUserIdOrderByDateAsc("batman")).thenReturn(Optional.of(entity(LocalDate.of(2023, 1, 1), 0)));
+        when(repository.findFirstByUserIdOrderByDateDesc("batman")).thenReturn(Optional.of(entity(LocalDate.of(2023, 12, 31), 0)));
+
+        final Map<UserIdComposite, List<DailyWorkSummary>> calculated = Map.of(BATMAN, List.of());
+        when(calculator.calculate(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1), List.of(BATMAN_LOCAL_ID))).thenReturn(calculated);
+
+        sut.refreshMaterialised(BATMAN_LOCAL_ID, Optional.empty());
+
+        verify(writer).save(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1), calculated);
+    }
+
+    @Test
+    void ensureRefreshMaterialisedDoesNothingWithoutSummaries() {
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(repository.findFirstByUserIdOrderByDateAsc("batman")).thenReturn(Optional.empty());
+        when(repository.findFirstByUserIdOrderByDateDesc("batman")).thenReturn(Optional.empty());
+
+        sut.refreshMaterialised(BATMAN_LOCAL_ID, Optional.of(LocalDate.of(2023, 6, 1)));
+
+        verifyNoInteractions(calculator, writer);
+    }
+
+    @Test
+    void ensureRefreshMaterialisedDoesNothingWhenAffectedDateIsAfterLastSummary() {
+
+        when(userManagementService.findUserByLocalId(BATMAN_LOCAL_ID)).thenReturn(Optional.of(user()));
+        when(repository.findFirstByUserIdOrderByDateAsc("batman")).thenReturn(Optional.of(entity(LocalDate.of(2023, 1, 1), 0)));
+        when(repository.findFirstByUserIdOrderByDateDesc("batman")).thenReturn(Optional.of(entity(LocalDate.of(2023, 12, 31), 0)));
+
+        sut.refreshMaterialised(BATMAN_LOCAL_ID, Optional.of(LocalDate.of(2024, 1, 1)));
+
+        verify(calculator, never()).calculate(any(), any(), any());
+        verifyNoInteractions(writer);
+    }
+
+    private static User user() {
+        return new User(BATMAN, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+    }
+
+    private static DailyWorkSummaryEntity entity(LocalDate date, long workedSeconds) {
+        final DailyWorkSummaryEntity entity = new DailyWorkSummaryEntity("batman", date);
+        entity.setWorkedSeconds(workedSeconds);
+        entity.setPlannedSeconds(Duration.ofHours(8).toSeconds());
+        return entity;
+    }
+
+    private static DailyWorkSummary summary(LocalDate date, Duration worked) {
+        return new DailyWorkSummary(BATMAN, date, new WorkDuration(worked), BreakDuration.ZERO, PlannedWorkingHours.EIGHT, 0.0);
+    }
+}
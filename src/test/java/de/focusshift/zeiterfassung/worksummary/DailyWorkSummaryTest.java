@@ -0,0 +1,34 @@
+package de.focusshift.zeiterfassung.worksummary;
+
+import de.focusshift.zeiterfassung.timeentry.BreakDuration;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.WorkDuration;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyWorkSummaryTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "0.0,PT8H",
+        "0.5,PT4H",
+        "1.0,PT0S",
+    })
+    void ensureShouldWorkingHoursConsidersAbsences(double absenceFraction, Duration expected) {
+
+        final UserIdComposite userIdComposite = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+        final DailyWorkSummary sut = new DailyWorkSummary(userIdComposite, LocalDate.of(2023, 1, 2), WorkDuration.ZERO,
+            BreakDuration.ZERO, PlannedWorkingHours.EIGHT, absenceFraction);
+
+        assertThat(sut.shouldWorkingHours()).isEqualTo(new ShouldWorkingHours(expected));
+    }
+}